@@ -0,0 +1,344 @@
+package com.linkedpipes.etl.component.api.utils;
+
+import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openrdf.model.BNode;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.model.Value;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.rio.RDFFormat;
+import org.openrdf.rio.RDFHandler;
+import org.openrdf.rio.RDFHandlerException;
+import org.openrdf.rio.RDFParseException;
+import org.openrdf.rio.RDFParser;
+import org.openrdf.rio.Rio;
+import org.openrdf.rio.helpers.AbstractRDFHandler;
+import org.openrdf.rio.helpers.BasicParserSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parse a single N-Triples or N-Quads file in parallel. The file is split
+ * into chunks at line boundaries, each chunk is memory mapped and parsed
+ * by own parser. Parsed statements are passed through a bounded queue to
+ * the calling thread, that is the only one to use the output handler.
+ *
+ * Blank node labels are preserved by the parsers and prefixed by
+ * a prefix unique for the file, so the same label in different chunks
+ * is the same blank node.
+ *
+ * @author Petr Škoda
+ */
+public final class ChunkedFileParser {
+
+    /**
+     * Parsed statements of a chunk are collected into batches.
+     */
+    private class ChunkHandler extends AbstractRDFHandler {
+
+        private final String prefix;
+
+        private List<Statement> statements = new ArrayList<>(BATCH_SIZE);
+
+        ChunkHandler(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public void endRDF() throws RDFHandlerException {
+            if (!statements.isEmpty()) {
+                putBatch();
+            }
+        }
+
+        @Override
+        public void handleStatement(Statement st) throws RDFHandlerException {
+            final Resource subject = st.getSubject();
+            final Value object = st.getObject();
+            if (subject instanceof BNode || object instanceof BNode) {
+                statements.add(VALUE_FACTORY.createStatement(
+                        (Resource) scopeBlankNode(subject),
+                        st.getPredicate(), scopeBlankNode(object),
+                        st.getContext()));
+            } else {
+                statements.add(st);
+            }
+            if (statements.size() >= BATCH_SIZE) {
+                putBatch();
+            }
+        }
+
+        private Value scopeBlankNode(Value value) {
+            if (value instanceof BNode) {
+                return VALUE_FACTORY.createBNode(
+                        prefix + ((BNode) value).getID());
+            } else {
+                return value;
+            }
+        }
+
+        private void putBatch() throws RDFHandlerException {
+            try {
+                queue.put(statements);
+            } catch (InterruptedException ex) {
+                throw new RDFHandlerException("Interrupted.", ex);
+            }
+            statements = new ArrayList<>(BATCH_SIZE);
+        }
+
+    }
+
+    /**
+     * Read content of a mapped chunk.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int size = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, size);
+            return size;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+    }
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(ChunkedFileParser.class);
+
+    private static final ValueFactory VALUE_FACTORY
+            = SimpleValueFactory.getInstance();
+
+    /**
+     * Default approximate size of a chunk in bytes, the chunk is extended
+     * to the end of the line.
+     */
+    private static final long CHUNK_SIZE = 32 * 1024 * 1024;
+
+    /**
+     * Number of statements passed from a parser thread to the writer
+     * at once.
+     */
+    private static final int BATCH_SIZE = 10000;
+
+    /**
+     * Time in milliseconds the writer waits for a batch before it checks
+     * the state of the parser threads.
+     */
+    private static final long WRITER_WAIT_TIME = 100;
+
+    private final int threads;
+
+    private final long chunkSize;
+
+    private final ExceptionFactory exceptionFactory;
+
+    private final BlockingQueue<List<Statement>> queue;
+
+    public ChunkedFileParser(int threads, ExceptionFactory exceptionFactory) {
+        this(threads, CHUNK_SIZE, exceptionFactory);
+    }
+
+    /**
+     * @param threads
+     * @param chunkSize Approximate size of a chunk in bytes.
+     * @param exceptionFactory
+     */
+    ChunkedFileParser(int threads, long chunkSize,
+            ExceptionFactory exceptionFactory) {
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.exceptionFactory = exceptionFactory;
+        this.queue = new ArrayBlockingQueue<>(threads * 2);
+    }
+
+    /**
+     * @param file
+     * @param format
+     * @return True if the file is in a line based format and is big enough
+     * to be split into chunks.
+     */
+    public static boolean canSplit(File file, RDFFormat format) {
+        return (format == RDFFormat.NTRIPLES || format == RDFFormat.NQUADS)
+                && file.length() > CHUNK_SIZE;
+    }
+
+    /**
+     * @param file
+     * @param format
+     * @param handler Used only from the calling thread.
+     */
+    public void parse(File file, RDFFormat format, RDFHandler handler)
+            throws LpException {
+        final String prefix = "f" + UUID.randomUUID().toString()
+                .replace("-", "") + "_";
+        try (final FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ)) {
+            final List<Long> boundaries = split(channel);
+            LOG.info("Parsing {} in {} chunks with {} threads.",
+                    file.getName(), boundaries.size() - 1, threads);
+            parseChunks(channel, boundaries, format, prefix, handler);
+        } catch (IOException ex) {
+            throw exceptionFactory.failure("Can't read file: {}",
+                    file.getName(), ex);
+        }
+        queue.clear();
+    }
+
+    /**
+     * @param channel
+     * @return Start positions of chunks, the last value is the file size.
+     */
+    private List<Long> split(FileChannel channel) throws IOException {
+        final long size = channel.size();
+        final List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0l);
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = chunkSize;
+        while (position < size) {
+            position = findLineEnd(channel, position, buffer);
+            if (position >= size) {
+                break;
+            }
+            boundaries.add(position);
+            position += chunkSize;
+        }
+        boundaries.add(size);
+        return boundaries;
+    }
+
+    /**
+     * @param channel
+     * @param position
+     * @param buffer
+     * @return Position after the first end of line at or after given
+     * position, or file size.
+     */
+    private static long findLineEnd(FileChannel channel, long position,
+            ByteBuffer buffer) throws IOException {
+        while (true) {
+            buffer.clear();
+            final int read = channel.read(buffer, position);
+            if (read == -1) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; ++i) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private void parseChunks(FileChannel channel, List<Long> boundaries,
+            RDFFormat format, String prefix, RDFHandler handler)
+            throws LpException {
+        final int chunks = boundaries.size() - 1;
+        final int workers = Math.min(threads, chunks);
+        final AtomicInteger next = new AtomicInteger(0);
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(workers, exceptionFactory,
+                        "Can't parse file.")) {
+            for (int i = 0; i < workers; ++i) {
+                execution.submit(() -> {
+                    int index = next.getAndIncrement();
+                    while (index < chunks) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw exceptionFactory.failure("Interrupted.");
+                        }
+                        parseChunk(channel, boundaries.get(index),
+                                boundaries.get(index + 1), format, prefix);
+                        index = next.getAndIncrement();
+                    }
+                    return null;
+                });
+            }
+            // Insert the batches until all parsers are done and the queue
+            // is empty.
+            while (!execution.isFinished() || !queue.isEmpty()) {
+                final List<Statement> batch = queue.poll(
+                        WRITER_WAIT_TIME, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    for (Statement statement : batch) {
+                        handler.handleStatement(statement);
+                    }
+                }
+                execution.check();
+            }
+        } catch (InterruptedException ex) {
+            throw exceptionFactory.failure("Interrupted.", ex);
+        } catch (RDFHandlerException ex) {
+            throw exceptionFactory.failure("Can't insert statements.", ex);
+        }
+    }
+
+    private void parseChunk(FileChannel channel, long start, long end,
+            RDFFormat format, String prefix) throws LpException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw exceptionFactory.failure(
+                    "Line is too long at position: {}", start);
+        }
+        final MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    end - start);
+        } catch (IOException ex) {
+            throw exceptionFactory.failure(
+                    "Can't map chunk at position: {}", start, ex);
+        }
+        final RDFParser parser = Rio.createParser(format);
+        parser.getParserConfig().set(
+                BasicParserSettings.PRESERVE_BNODE_IDS, true);
+        parser.setRDFHandler(new ChunkHandler(prefix));
+        try {
+            parser.parse(new ByteBufferInputStream(buffer),
+                    "http://localhost/base/");
+        } catch (IOException | RDFHandlerException | RDFParseException ex) {
+            // Line numbers are relative to the start of the chunk.
+            throw exceptionFactory.failure(
+                    "Can't parse chunk at position: {}", start, ex);
+        }
+    }
+
+}
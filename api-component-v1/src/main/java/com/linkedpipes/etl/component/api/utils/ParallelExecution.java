@@ -0,0 +1,147 @@
+package com.linkedpipes.etl.component.api.utils;
+
+import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Execute tasks on a fixed thread pool. The results and failures of
+ * the tasks are reported in the calling thread in the order the tasks
+ * finish. The first failure is thrown, an {@link LpException} as it is,
+ * other exceptions are wrapped. The execution must be closed, that
+ * interrupts the tasks that are still running, so the first failure
+ * stops the other tasks.
+ *
+ * Long running tasks should check the interrupted flag of their thread.
+ *
+ * @author Petr Škoda
+ * @param <T> Result of a task.
+ */
+public final class ParallelExecution<T> implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface ResultHandler<T> {
+
+        /**
+         * Called in the calling thread for the result of each
+         * finished task.
+         *
+         * @param result
+         */
+        public void handle(T result) throws LpException;
+
+    }
+
+    private final ExecutorService executor;
+
+    private final CompletionService<T> completionService;
+
+    private final ExceptionFactory exceptionFactory;
+
+    private final String failureMessage;
+
+    private int submitted = 0;
+
+    private int finished = 0;
+
+    /**
+     * @param threads
+     * @param exceptionFactory
+     * @param failureMessage Used for exceptions other than
+     * {@link LpException} thrown by the tasks.
+     */
+    public ParallelExecution(int threads, ExceptionFactory exceptionFactory,
+            String failureMessage) {
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.completionService = new ExecutorCompletionService<>(executor);
+        this.exceptionFactory = exceptionFactory;
+        this.failureMessage = failureMessage;
+    }
+
+    public void submit(Callable<T> task) {
+        completionService.submit(task);
+        ++submitted;
+    }
+
+    /**
+     * @return True if all the submitted tasks finished and were checked.
+     */
+    public boolean isFinished() {
+        return finished == submitted;
+    }
+
+    /**
+     * Check the finished tasks, does not wait for the running tasks.
+     */
+    public void check() throws LpException {
+        check(null);
+    }
+
+    /**
+     * Check the finished tasks, does not wait for the running tasks.
+     *
+     * @param handler Can be null.
+     */
+    public void check(ResultHandler<T> handler) throws LpException {
+        Future<T> future = completionService.poll();
+        while (future != null) {
+            onFinished(future, handler);
+            future = completionService.poll();
+        }
+    }
+
+    /**
+     * Wait for all the submitted tasks.
+     */
+    public void awaitAll() throws LpException {
+        awaitAll(null);
+    }
+
+    /**
+     * Wait for all the submitted tasks.
+     *
+     * @param handler Can be null.
+     */
+    public void awaitAll(ResultHandler<T> handler) throws LpException {
+        while (finished < submitted) {
+            final Future<T> future;
+            try {
+                future = completionService.take();
+            } catch (InterruptedException ex) {
+                throw exceptionFactory.failure("Interrupted.", ex);
+            }
+            onFinished(future, handler);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void onFinished(Future<T> future, ResultHandler<T> handler)
+            throws LpException {
+        ++finished;
+        final T result;
+        try {
+            result = future.get();
+        } catch (InterruptedException ex) {
+            throw exceptionFactory.failure("Interrupted.", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof LpException) {
+                throw (LpException) ex.getCause();
+            }
+            throw exceptionFactory.failure(failureMessage, ex.getCause());
+        }
+        if (handler != null) {
+            handler.handle(result);
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.linkedpipes.etl.component.api.utils;
+
+import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openrdf.model.BNode;
+import org.openrdf.model.Model;
+import org.openrdf.model.Statement;
+import org.openrdf.model.impl.LinkedHashModel;
+import org.openrdf.model.util.Models;
+import org.openrdf.rio.RDFFormat;
+import org.openrdf.rio.Rio;
+import org.openrdf.rio.helpers.StatementCollector;
+
+/**
+ * The chunk size used in the tests is smaller than a line, so every line
+ * is in own chunk and the chunk boundaries are in the middle of lines.
+ *
+ * @author Petr Škoda
+ */
+public class ChunkedFileParserTest {
+
+    private static final ExceptionFactory EXCEPTION_FACTORY
+            = (message, args) -> new LpException(message, args) {
+            };
+
+    private static final String CONTENT
+            = "<http://localhost/s1> <http://localhost/p> \"a\" .\n"
+            + "_:b1 <http://localhost/p> <http://localhost/o1> .\n"
+            + "<http://localhost/s2> <http://localhost/p> _:b1 .\n"
+            + "\n"
+            + "_:b2 <http://localhost/p> \"line with\\n escape\" .\n"
+            + "<http://localhost/s3> <http://localhost/p> _:b2 .\n"
+            + "<http://localhost/s4> <http://localhost/p> "
+            + "\"a literal longer than a chunk of the file\" .\n"
+            + "_:b1 <http://localhost/p> \"last\" .";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void smallChunks() throws Exception {
+        final File file = createFile(CONTENT);
+        final Model actual = parse(new ChunkedFileParser(3, 16,
+                EXCEPTION_FACTORY), file);
+        Assert.assertEquals(7, actual.size());
+        Assert.assertTrue(Models.isomorphic(parse(file), actual));
+        // Same label in different chunks is the same blank node.
+        Assert.assertEquals(2, getBlankNodes(actual).size());
+    }
+
+    @Test
+    public void singleChunk() throws Exception {
+        final File file = createFile(CONTENT);
+        final Model actual = parse(new ChunkedFileParser(3,
+                file.length() * 2, EXCEPTION_FACTORY), file);
+        Assert.assertTrue(Models.isomorphic(parse(file), actual));
+    }
+
+    @Test
+    public void blankNodesScopedToFile() throws Exception {
+        final File file = createFile(CONTENT);
+        final ChunkedFileParser parser
+                = new ChunkedFileParser(2, 16, EXCEPTION_FACTORY);
+        final Model actual = new LinkedHashModel();
+        parser.parse(file, RDFFormat.NTRIPLES,
+                new StatementCollector(actual));
+        parser.parse(file, RDFFormat.NTRIPLES,
+                new StatementCollector(actual));
+        Assert.assertEquals(14, actual.size());
+        Assert.assertEquals(4, getBlankNodes(actual).size());
+    }
+
+    @Test(expected = LpException.class)
+    public void invalidLine() throws Exception {
+        final File file = createFile(CONTENT + "\n<http://localhost/s5> .\n");
+        parse(new ChunkedFileParser(2, 16, EXCEPTION_FACTORY), file);
+    }
+
+    private File createFile(String content) throws IOException {
+        final File file = folder.newFile("input.nt");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static Model parse(ChunkedFileParser parser, File file)
+            throws LpException {
+        final Model model = new LinkedHashModel();
+        parser.parse(file, RDFFormat.NTRIPLES, new StatementCollector(model));
+        return model;
+    }
+
+    private static Model parse(File file) throws Exception {
+        try (InputStream stream = new FileInputStream(file)) {
+            return Rio.parse(stream, "http://localhost/base/",
+                    RDFFormat.NTRIPLES);
+        }
+    }
+
+    private static Set<BNode> getBlankNodes(Model model) {
+        final Set<BNode> blankNodes = new HashSet<>();
+        for (Statement statement : model) {
+            if (statement.getSubject() instanceof BNode) {
+                blankNodes.add((BNode) statement.getSubject());
+            }
+            if (statement.getObject() instanceof BNode) {
+                blankNodes.add((BNode) statement.getObject());
+            }
+        }
+        return blankNodes;
+    }
+
+}
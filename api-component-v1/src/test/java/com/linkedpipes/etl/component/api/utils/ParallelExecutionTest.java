@@ -0,0 +1,97 @@
+package com.linkedpipes.etl.component.api.utils;
+
+import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Petr Škoda
+ */
+public class ParallelExecutionTest {
+
+    private static final ExceptionFactory EXCEPTION_FACTORY
+            = (message, args) -> new LpException(message, args) {
+            };
+
+    @Test
+    public void awaitAllResults() throws Exception {
+        final List<Integer> results = new ArrayList<>();
+        try (final ParallelExecution<Integer> execution
+                = new ParallelExecution<>(2, EXCEPTION_FACTORY, "Failed.")) {
+            for (int i = 0; i < 5; ++i) {
+                final int value = i;
+                execution.submit(() -> value);
+            }
+            Assert.assertFalse(execution.isFinished());
+            execution.awaitAll(results::add);
+            Assert.assertTrue(execution.isFinished());
+        }
+        Collections.sort(results);
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4), results);
+    }
+
+    @Test
+    public void lpExceptionIsRethrown() throws Exception {
+        final LpException failure = EXCEPTION_FACTORY.failure("Task.");
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(2, EXCEPTION_FACTORY, "Failed.")) {
+            execution.submit(() -> {
+                throw failure;
+            });
+            execution.awaitAll();
+            Assert.fail();
+        } catch (LpException ex) {
+            Assert.assertSame(failure, ex);
+        }
+    }
+
+    @Test
+    public void otherExceptionIsWrapped() throws Exception {
+        final RuntimeException failure = new RuntimeException();
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(2, EXCEPTION_FACTORY, "Failed.")) {
+            execution.submit(() -> {
+                throw failure;
+            });
+            execution.awaitAll();
+            Assert.fail();
+        } catch (LpException ex) {
+            Assert.assertSame(failure, ex.getCause());
+        }
+    }
+
+    @Test
+    public void closeInterruptsRunningTasks() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(2, EXCEPTION_FACTORY, "Failed.")) {
+            execution.submit(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(60000);
+                } catch (InterruptedException ex) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            execution.submit(() -> {
+                started.await();
+                throw new RuntimeException();
+            });
+            execution.awaitAll();
+            Assert.fail();
+        } catch (LpException ex) {
+            // Expected, the first failure closes the execution.
+        }
+        interrupted.await();
+    }
+
+}
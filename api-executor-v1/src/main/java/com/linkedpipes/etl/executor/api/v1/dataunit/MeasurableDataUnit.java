@@ -0,0 +1,31 @@
+package com.linkedpipes.etl.executor.api.v1.dataunit;
+
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+
+import java.util.Map;
+
+/**
+ * Data unit that can report size of its content. The size is used
+ * to collect execution metrics.
+ *
+ * @author Petr Škoda
+ */
+public interface MeasurableDataUnit extends ManageableDataUnit {
+
+    /**
+     * Names should be usable as a local name of an IRI, ie. "triples",
+     * "files" or "bytes".
+     *
+     * @return Named sizes of the content.
+     */
+    public Map<String, Long> getContentSize() throws LpException;
+
+    /**
+     * Called when a component that uses this data unit finished. The
+     * component could change the content in a way the data unit can not
+     * observe, so sizes cached till now must not be used. Sizes computed
+     * after this call describe the content as left by the component.
+     */
+    public void onComponentEnd();
+
+}
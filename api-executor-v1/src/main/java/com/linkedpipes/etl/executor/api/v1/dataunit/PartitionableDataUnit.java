@@ -0,0 +1,45 @@
+package com.linkedpipes.etl.executor.api.v1.dataunit;
+
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+
+import java.util.List;
+
+/**
+ * Data unit that support partitioned execution. In such execution multiple
+ * instances of a single component run in parallel, each with a part
+ * of the input and with its own output.
+ *
+ * All methods are called on an initialized data unit.
+ *
+ * @author Petr Škoda
+ */
+public interface PartitionableDataUnit extends ManageableDataUnit {
+
+    /**
+     * Split content of this data unit into given number of partitions,
+     * some of them can be empty. The returned data units are initialized
+     * and provide read only access to the part of the content.
+     *
+     * @param count
+     * @return Null if the content can not be split.
+     */
+    public List<ManageableDataUnit> split(int count) throws LpException;
+
+    /**
+     * Create an empty initialized data unit of the same type that is used
+     * as an output of a single partition.
+     *
+     * @param index Index of the partition.
+     * @return
+     */
+    public ManageableDataUnit createPartition(int index) throws LpException;
+
+    /**
+     * Add content of given partitions, created by
+     * {@link #createPartition(int)}, to this data unit.
+     *
+     * @param partitions
+     */
+    public void merge(List<ManageableDataUnit> partitions) throws LpException;
+
+}
@@ -0,0 +1,37 @@
+package com.linkedpipes.etl.executor.api.v1.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing value.
+ *
+ * @author Petr Škoda
+ */
+public final class Counter extends Metric {
+
+    private final AtomicLong value = new AtomicLong();
+
+    Counter(String name, String help) {
+        super(name, help, "counter");
+    }
+
+    public void inc() {
+        value.incrementAndGet();
+    }
+
+    public void inc(long amount) {
+        value.addAndGet(amount);
+    }
+
+    public long get() {
+        return value.get();
+    }
+
+    @Override
+    protected void writeSamples(Writer writer) throws IOException {
+        writer.write(name + " " + value.get() + "\n");
+    }
+
+}
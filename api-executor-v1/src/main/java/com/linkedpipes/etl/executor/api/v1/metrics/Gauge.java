@@ -0,0 +1,62 @@
+package com.linkedpipes.etl.executor.api.v1.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Value computed when the metrics are written.
+ *
+ * @author Petr Škoda
+ */
+public final class Gauge extends Metric {
+
+    /**
+     * Provide values of the gauge.
+     */
+    @FunctionalInterface
+    public interface Supplier {
+
+        /**
+         * @return Values indexed by value of the label.
+         */
+        public Map<String, ? extends Number> get();
+
+    }
+
+    /**
+     * Name of the label, if null the gauge has a single value stored
+     * under an empty string.
+     */
+    private final String label;
+
+    private final Supplier supplier;
+
+    Gauge(String name, String help, String label, Supplier supplier) {
+        super(name, help, "gauge");
+        this.label = label;
+        this.supplier = supplier;
+    }
+
+    @Override
+    protected void writeSamples(Writer writer) throws IOException {
+        Map<String, ? extends Number> values;
+        try {
+            values = supplier.get();
+        } catch (RuntimeException ex) {
+            // We do not want to fail the whole report.
+            values = Collections.EMPTY_MAP;
+        }
+        for (Map.Entry<String, ? extends Number> entry : values.entrySet()) {
+            if (label == null) {
+                writer.write(name);
+            } else {
+                writer.write(name + "{" + label + "=\""
+                        + entry.getKey().replace("\"", "\\\"") + "\"}");
+            }
+            writer.write(" " + format(entry.getValue().doubleValue()) + "\n");
+        }
+    }
+
+}
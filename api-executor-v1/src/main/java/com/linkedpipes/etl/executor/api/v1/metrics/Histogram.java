@@ -0,0 +1,66 @@
+package com.linkedpipes.etl.executor.api.v1.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Count observed values in buckets given by upper bounds.
+ *
+ * @author Petr Škoda
+ */
+public final class Histogram extends Metric {
+
+    /**
+     * Sorted upper bounds, the last one is always +Inf.
+     */
+    private final double[] bounds;
+
+    private final long[] counts;
+
+    private double sum = 0;
+
+    private long count = 0;
+
+    Histogram(String name, String help, double[] buckets) {
+        super(name, help, "histogram");
+        this.bounds = Arrays.copyOf(buckets, buckets.length + 1);
+        this.bounds[buckets.length] = Double.POSITIVE_INFINITY;
+        Arrays.sort(this.bounds);
+        this.counts = new long[bounds.length];
+    }
+
+    public synchronized void observe(double value) {
+        for (int i = 0; i < bounds.length; ++i) {
+            if (value <= bounds[i]) {
+                ++counts[i];
+                break;
+            }
+        }
+        sum += value;
+        ++count;
+    }
+
+    /**
+     * Observe time in seconds since given start time.
+     *
+     * @param start Start time in milliseconds.
+     */
+    public void observeSince(long start) {
+        observe((System.currentTimeMillis() - start) / 1000.0);
+    }
+
+    @Override
+    protected synchronized void writeSamples(Writer writer)
+            throws IOException {
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; ++i) {
+            cumulative += counts[i];
+            writer.write(name + "_bucket{le=\"" + format(bounds[i]) + "\"} "
+                    + cumulative + "\n");
+        }
+        writer.write(name + "_sum " + format(sum) + "\n");
+        writer.write(name + "_count " + count + "\n");
+    }
+
+}
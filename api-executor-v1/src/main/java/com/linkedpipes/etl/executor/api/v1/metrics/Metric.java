@@ -0,0 +1,48 @@
+package com.linkedpipes.etl.executor.api.v1.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Base class for metrics in {@link MetricsRegistry}.
+ *
+ * @author Petr Škoda
+ */
+abstract class Metric {
+
+    protected final String name;
+
+    private final String help;
+
+    private final String type;
+
+    protected Metric(String name, String help, String type) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+    }
+
+    /**
+     * Write metric in the text exposition format.
+     *
+     * @param writer
+     */
+    void write(Writer writer) throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " " + type + "\n");
+        writeSamples(writer);
+    }
+
+    protected abstract void writeSamples(Writer writer) throws IOException;
+
+    protected static String format(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        } else if (value == (long) value) {
+            return Long.toString((long) value);
+        } else {
+            return Double.toString(value);
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.linkedpipes.etl.executor.api.v1.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hold metrics of an application and write them in the text exposition
+ * format, so they can be collected by a scraper.
+ *
+ * Metrics are registered by name, registration of an existing name
+ * returns the existing metric. So the metrics can be obtained
+ * where they are used.
+ *
+ * @author Petr Škoda
+ */
+public final class MetricsRegistry {
+
+    /**
+     * Buckets for durations in seconds.
+     */
+    public static final double[] TIME_BUCKETS = {
+            0.005, 0.01, 0.05, 0.1, 0.5, 1, 5, 10, 60, 300, 900, 3600, 14400};
+
+    /**
+     * Buckets for sizes, ie. number of triples.
+     */
+    public static final double[] SIZE_BUCKETS = {
+            0, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000};
+
+    public static final String CONTENT_TYPE
+            = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    static {
+        DEFAULT.registerJvmMetrics();
+    }
+
+    private final Map<String, Metric> metrics = new LinkedHashMap<>();
+
+    public MetricsRegistry() {
+    }
+
+    /**
+     * @return Registry shared by the application and its plugins.
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public synchronized Counter counter(String name, String help) {
+        return (Counter) metrics.computeIfAbsent(name,
+                (key) -> new Counter(name, help));
+    }
+
+    public synchronized Histogram histogram(String name, String help,
+            double[] buckets) {
+        return (Histogram) metrics.computeIfAbsent(name,
+                (key) -> new Histogram(name, help, buckets));
+    }
+
+    /**
+     * Register gauge with single value.
+     *
+     * @param name
+     * @param help
+     * @param supplier
+     */
+    public synchronized void gauge(String name, String help,
+            java.util.function.Supplier<? extends Number> supplier) {
+        metrics.put(name, new Gauge(name, help, null,
+                () -> Collections.singletonMap("", supplier.get())));
+    }
+
+    /**
+     * Register gauge with values for different values of given label.
+     *
+     * @param name
+     * @param help
+     * @param label
+     * @param supplier
+     */
+    public synchronized void gauge(String name, String help, String label,
+            Gauge.Supplier supplier) {
+        metrics.put(name, new Gauge(name, help, label, supplier));
+    }
+
+    public void write(Writer writer) throws IOException {
+        final List<Metric> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(metrics.values());
+        }
+        for (Metric metric : snapshot) {
+            metric.write(writer);
+        }
+        writer.flush();
+    }
+
+    private void registerJvmMetrics() {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        gauge("jvm_memory_bytes_used", "Used memory.", "area",
+                () -> getMemory(memory, MemoryUsage::getUsed));
+        gauge("jvm_memory_bytes_committed", "Committed memory.", "area",
+                () -> getMemory(memory, MemoryUsage::getCommitted));
+        gauge("jvm_memory_bytes_max", "Max memory.", "area",
+                () -> getMemory(memory, MemoryUsage::getMax));
+        gauge("jvm_gc_collections_total", "Number of collections.", "gc",
+                () -> {
+                    final Map<String, Long> result = new HashMap<>();
+                    for (GarbageCollectorMXBean bean
+                            : ManagementFactory.getGarbageCollectorMXBeans()) {
+                        result.put(bean.getName(), bean.getCollectionCount());
+                    }
+                    return result;
+                });
+        gauge("jvm_gc_collection_seconds_total", "Time spent in collections.",
+                "gc", () -> {
+                    final Map<String, Double> result = new HashMap<>();
+                    for (GarbageCollectorMXBean bean
+                            : ManagementFactory.getGarbageCollectorMXBeans()) {
+                        result.put(bean.getName(),
+                                bean.getCollectionTime() / 1000.0);
+                    }
+                    return result;
+                });
+        gauge("jvm_threads_current", "Number of live threads.",
+                () -> ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    private static Map<String, Long> getMemory(MemoryMXBean memory,
+            java.util.function.Function<MemoryUsage, Long> getter) {
+        final Map<String, Long> result = new HashMap<>();
+        result.put("heap", getter.apply(memory.getHeapMemoryUsage()));
+        result.put("nonheap", getter.apply(memory.getNonHeapMemoryUsage()));
+        return result;
+    }
+
+}
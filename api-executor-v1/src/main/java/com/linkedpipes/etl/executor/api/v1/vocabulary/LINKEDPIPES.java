@@ -56,6 +56,12 @@ public final class LINKEDPIPES {
 
     public static final String HAS_TARGET_COMPONENT = PREFIX_ONTOLOGY + "execution/targetComponent";
 
+    /**
+     * Number of partitions used to execute a component, if not set the
+     * component is executed in a single instance.
+     */
+    public static final String HAS_PARTITIONS = PREFIX_ONTOLOGY + "partitions";
+
     public static class CONFIGURATION {
 
         private static final String PREFIX_ONTOLOGY = LINKEDPIPES.PREFIX_ONTOLOGY + "configuration/";
@@ -0,0 +1,65 @@
+package com.linkedpipes.etl.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import org.openrdf.repository.Repository;
+import org.openrdf.repository.sail.SailRepository;
+import org.openrdf.sail.memory.MemoryStore;
+import org.openrdf.sail.nativerdf.NativeStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Create repositories used by benchmarks. The store is selected by name
+ * so it can be used as a JMH parameter.
+ *
+ * @author Petr Škoda
+ */
+public final class Stores {
+
+    public static final String MEMORY = "memory";
+
+    public static final String NATIVE = "native";
+
+    private Stores() {
+    }
+
+    /**
+     * @param store Name of the store.
+     * @param directory Data directory, used only by the native store.
+     * @return Initialized repository.
+     */
+    public static Repository create(String store, File directory) {
+        final Repository repository;
+        switch (store) {
+            case MEMORY:
+                repository = new SailRepository(new MemoryStore());
+                break;
+            case NATIVE:
+                repository = new SailRepository(new NativeStore(directory));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown store: " + store);
+        }
+        repository.initialize();
+        return repository;
+    }
+
+    public static void shutDown(Repository repository) {
+        if (repository != null && repository.isInitialized()) {
+            repository.shutDown();
+        }
+    }
+
+    public static File createTempDirectory() throws IOException {
+        return Files.createTempDirectory("lp-benchmark-").toFile();
+    }
+
+    public static void deleteDirectory(File directory) throws IOException {
+        if (directory != null) {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+}
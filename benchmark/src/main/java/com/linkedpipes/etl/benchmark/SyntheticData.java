@@ -0,0 +1,323 @@
+package com.linkedpipes.etl.benchmark;
+
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.model.Value;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.model.vocabulary.XMLSchema;
+import org.openrdf.rio.RDFFormat;
+import org.openrdf.rio.RDFWriter;
+import org.openrdf.rio.Rio;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generate synthetic content for benchmarks. The generation is
+ * deterministic so runs can be compared.
+ *
+ * @author Petr Škoda
+ */
+public final class SyntheticData {
+
+    public static final String PREFIX = "http://localhost/benchmark/";
+
+    public static final String QUOTE_NONE = "none";
+
+    public static final String QUOTE_ALL = "all";
+
+    public static final String QUOTE_ESCAPED = "escaped";
+
+    private static final int PREDICATES = 10;
+
+    /**
+     * Number of statements generated at once when writing into a file.
+     */
+    private static final int STATEMENTS_CHUNK = 10000;
+
+    private static final ValueFactory VALUE_FACTORY
+            = SimpleValueFactory.getInstance();
+
+    private final Random random;
+
+    public SyntheticData() {
+        this.random = new Random(42);
+    }
+
+    /**
+     * Create statements that resemble an output of a tabular like
+     * transformer: every resource has {@link #PREDICATES} properties,
+     * string, integer and IRI values are mixed.
+     *
+     * @param count
+     * @param graph
+     * @return
+     */
+    public List<Statement> statements(int count, IRI graph) {
+        return statements(count, graph, 0);
+    }
+
+    private List<Statement> statements(int count, IRI graph, int offset) {
+        final List<Statement> result = new ArrayList<>(count);
+        for (int i = offset; i < offset + count; ++i) {
+            final Resource subject = VALUE_FACTORY.createIRI(
+                    PREFIX + "resource/" + (i / PREDICATES));
+            final IRI predicate = VALUE_FACTORY.createIRI(
+                    PREFIX + "ontology/p" + (i % PREDICATES));
+            result.add(VALUE_FACTORY.createStatement(subject, predicate,
+                    value(i), graph));
+        }
+        return result;
+    }
+
+    /**
+     * Create files in given directory, files are spread to sub-directories.
+     *
+     * @param directory
+     * @param count
+     * @param size Size of each file in bytes.
+     */
+    public void files(File directory, int count, int size) throws IOException {
+        final byte[] content = new byte[size];
+        for (int i = 0; i < count; ++i) {
+            random.nextBytes(content);
+            final File file = new File(directory,
+                    "dir-" + (i % 16) + File.separator + "file-" + i + ".bin");
+            file.getParentFile().mkdirs();
+            try (OutputStream stream = Files.newOutputStream(file.toPath())) {
+                stream.write(content);
+            }
+        }
+    }
+
+    /**
+     * Create CSV file with a header and given number of data rows.
+     *
+     * Supported quoting:
+     * <ul>
+     * <li>{@link #QUOTE_NONE} - no quotes, values contains no delimiter</li>
+     * <li>{@link #QUOTE_ALL} - all values are quoted</li>
+     * <li>{@link #QUOTE_ESCAPED} - every third value contains a delimiter,
+     * quote or a new line, so it is quoted and escaped</li>
+     * </ul>
+     *
+     * @param file
+     * @param rows
+     * @param columns
+     * @param quoting
+     * @param encoding Values contains non-ASCII characters.
+     */
+    public void csv(File file, int rows, int columns, String quoting,
+            String encoding) throws IOException {
+        file.getParentFile().mkdirs();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), encoding))) {
+            final List<String> row = new ArrayList<>(columns);
+            for (int column = 0; column < columns; ++column) {
+                row.add("column_" + (column + 1));
+            }
+            writeCsvRow(writer, row, quoting);
+            for (int i = 0; i < rows; ++i) {
+                row.clear();
+                for (int column = 0; column < columns; ++column) {
+                    row.add(cell(i, column, quoting));
+                }
+                writeCsvRow(writer, row, quoting);
+            }
+        }
+    }
+
+    /**
+     * Write statements created by {@link #statements(int, IRI)} into
+     * a file, the statements are not held in memory.
+     *
+     * @param file
+     * @param count
+     * @param format
+     */
+    public void rdf(File file, int count, RDFFormat format)
+            throws IOException {
+        file.getParentFile().mkdirs();
+        try (OutputStream stream = new FileOutputStream(file)) {
+            final RDFWriter writer = Rio.createWriter(format, stream);
+            writer.startRDF();
+            for (int i = 0; i < count; i += STATEMENTS_CHUNK) {
+                final int size = Math.min(STATEMENTS_CHUNK, count - i);
+                for (Statement statement : statements(size, null, i)) {
+                    writer.handleStatement(statement);
+                }
+            }
+            writer.endRDF();
+        }
+    }
+
+    /**
+     * Create XML file with given number of records, each record has
+     * an attribute, text elements and a nested element.
+     *
+     * @param file
+     * @param records
+     */
+    public void xml(File file, int records) throws IOException {
+        file.getParentFile().mkdirs();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writer.write("<records xmlns=\"" + PREFIX + "xml\">\n");
+            for (int i = 0; i < records; ++i) {
+                writer.write("  <record id=\"" + i + "\">\n");
+                writer.write("    <name>Příliš žluťoučký kůň " + i
+                        + "</name>\n");
+                writer.write("    <value>" + random.nextInt(1000000)
+                        + "</value>\n");
+                writer.write("    <link href=\"" + PREFIX + "resource/"
+                        + random.nextInt(records) + "\"/>\n");
+                writer.write("  </record>\n");
+            }
+            writer.write("</records>\n");
+        }
+    }
+
+    /**
+     * Create HTML page with a table of given number of rows.
+     *
+     * @param file
+     * @param rows
+     */
+    public void html(File file, int rows) throws IOException {
+        file.getParentFile().mkdirs();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("<!DOCTYPE html>\n<html>\n<head>\n"
+                    + "<meta charset=\"UTF-8\">\n"
+                    + "<title>Benchmark</title>\n</head>\n<body>\n"
+                    + "<table>\n<tr><th>id</th><th>name</th>"
+                    + "<th>value</th><th>link</th></tr>\n");
+            for (int i = 0; i < rows; ++i) {
+                final String link = PREFIX + "resource/"
+                        + random.nextInt(rows);
+                writer.write("<tr><td>" + i + "</td>"
+                        + "<td>Příliš žluťoučký kůň " + i + "</td>"
+                        + "<td>" + random.nextInt(1000000) + "</td>"
+                        + "<td><a href=\"" + link + "\">" + link
+                        + "</a></td></tr>\n");
+            }
+            writer.write("</table>\n</body>\n</html>\n");
+        }
+    }
+
+    /**
+     * Create ZIP archive with given files, files are stored under
+     * their names.
+     *
+     * @param archive
+     * @param files
+     */
+    public void zip(File archive, List<File> files) throws IOException {
+        archive.getParentFile().mkdirs();
+        final byte[] buffer = new byte[64 * 1024];
+        try (ZipOutputStream stream = new ZipOutputStream(
+                new FileOutputStream(archive))) {
+            for (File file : files) {
+                stream.putNextEntry(new ZipEntry(file.getName()));
+                try (InputStream input = new FileInputStream(file)) {
+                    int length;
+                    while ((length = input.read(buffer)) > 0) {
+                        stream.write(buffer, 0, length);
+                    }
+                }
+                stream.closeEntry();
+            }
+        }
+    }
+
+    public static IRI iri(String suffix) {
+        return VALUE_FACTORY.createIRI(PREFIX + suffix);
+    }
+
+    private String cell(int row, int column, String quoting) {
+        switch (column % 4) {
+            case 0:
+                return Integer.toString(row);
+            case 1:
+                return Integer.toString(random.nextInt(1000000));
+            case 2:
+                if (QUOTE_ESCAPED.equals(quoting) && row % 3 == 0) {
+                    return "Příliš, \"žluťoučký\"\nkůň " + row;
+                }
+                return "Příliš žluťoučký kůň " + row;
+            default:
+                return "value-" + Long.toHexString(random.nextLong());
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, List<String> row,
+            String quoting) throws IOException {
+        boolean first = true;
+        for (String value : row) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            switch (quoting) {
+                case QUOTE_NONE:
+                    writer.write(value);
+                    break;
+                case QUOTE_ALL:
+                    writeQuoted(writer, value);
+                    break;
+                case QUOTE_ESCAPED:
+                    if (value.contains(",") || value.contains("\"")
+                            || value.contains("\n")) {
+                        writeQuoted(writer, value);
+                    } else {
+                        writer.write(value);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            "Unknown quoting: " + quoting);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static void writeQuoted(Writer writer, String value)
+            throws IOException {
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private Value value(int index) {
+        switch (index % 3) {
+            case 0:
+                return VALUE_FACTORY.createLiteral(
+                        "value " + Long.toHexString(random.nextLong()));
+            case 1:
+                return VALUE_FACTORY.createLiteral(
+                        Integer.toString(random.nextInt(1000000)),
+                        XMLSchema.INTEGER);
+            default:
+                return VALUE_FACTORY.createIRI(PREFIX + "resource/"
+                        + random.nextInt(Math.max(index / PREDICATES, 1)));
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.linkedpipes.etl.benchmark.dataunit;
+
+import com.linkedpipes.etl.benchmark.Stores;
+import com.linkedpipes.etl.benchmark.SyntheticData;
+import com.linkedpipes.etl.dataunit.system.FilesDataUnitConfiguration;
+import com.linkedpipes.etl.dataunit.system.FilesDataUnitImpl;
+import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iteration over content of {@link FilesDataUnitImpl}. The data unit is
+ * file system based, so there is no store parameter.
+ *
+ * @author Petr Škoda
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FilesDataUnitBenchmark {
+
+    @Param({"100", "10000"})
+    public int files;
+
+    @Param({"1024"})
+    public int fileSize;
+
+    private File directory;
+
+    private FilesDataUnitImpl dataUnit;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LpException {
+        directory = Stores.createTempDirectory();
+        final File root = new File(directory, "files");
+        dataUnit = new FilesDataUnitImpl(new FilesDataUnitConfiguration(
+                SyntheticData.PREFIX + "files", "files",
+                root.toURI().toString()));
+        dataUnit.initialize(Collections.EMPTY_MAP);
+        new SyntheticData().files(root, files, fileSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Stores.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void iterator(Blackhole blackhole) {
+        for (FilesDataUnit.Entry entry : dataUnit) {
+            blackhole.consume(entry.toFile());
+        }
+    }
+
+    @Benchmark
+    public long size() {
+        return dataUnit.size();
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.linkedpipes.etl.benchmark.dataunit;
+
+import com.linkedpipes.etl.benchmark.Stores;
+import com.linkedpipes.etl.benchmark.SyntheticData;
+import com.linkedpipes.etl.dataunit.sesame.GraphListDataUnitImpl;
+import com.linkedpipes.etl.dataunit.sesame.RdfDataUnitConfiguration;
+import com.linkedpipes.etl.executor.api.v1.RdfException;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Statement;
+import org.openrdf.repository.Repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read operations of {@link GraphListDataUnitImpl}, the graph list is
+ * resolved for every access so it is measured for different number
+ * of graphs.
+ *
+ * @author Petr Škoda
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphListDataUnitBenchmark {
+
+    private static final String QUERY
+            = "SELECT ?s ?o WHERE { ?s <" + SyntheticData.PREFIX
+            + "ontology/p0> ?o }";
+
+    @Param({Stores.MEMORY, Stores.NATIVE})
+    public String store;
+
+    @Param({"10", "1000"})
+    public int graphs;
+
+    @Param({"100000"})
+    public int triples;
+
+    private File directory;
+
+    private Repository repository;
+
+    private GraphListDataUnitImpl dataUnit;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LpException {
+        directory = Stores.createTempDirectory();
+        repository = Stores.create(store, new File(directory, "store"));
+        final IRI metadataGraph = SyntheticData.iri("graphList");
+        dataUnit = new GraphListDataUnitImpl(metadataGraph, repository,
+                new RdfDataUnitConfiguration(metadataGraph.stringValue(),
+                        "graphList"));
+        dataUnit.initialize(Collections.EMPTY_MAP);
+        // Spread the triples evenly into the graphs.
+        final SyntheticData data = new SyntheticData();
+        final int triplesPerGraph = Math.max(triples / graphs, 1);
+        for (int i = 0; i < graphs; ++i) {
+            final IRI graph = dataUnit.createGraph();
+            final List<Statement> statements =
+                    data.statements(triplesPerGraph, graph);
+            dataUnit.execute((connection) -> {
+                connection.add(statements, graph);
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Stores.shutDown(repository);
+        Stores.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public Collection<IRI> getGraphs() throws LpException {
+        return dataUnit.getGraphs();
+    }
+
+    @Benchmark
+    public List<Map<String, String>> executeSelect() throws RdfException {
+        return dataUnit.executeSelect(QUERY);
+    }
+
+}
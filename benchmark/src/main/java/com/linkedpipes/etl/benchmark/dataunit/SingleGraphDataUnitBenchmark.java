@@ -0,0 +1,140 @@
+package com.linkedpipes.etl.benchmark.dataunit;
+
+import com.linkedpipes.etl.benchmark.Stores;
+import com.linkedpipes.etl.benchmark.SyntheticData;
+import com.linkedpipes.etl.dataunit.sesame.RdfDataUnitConfiguration;
+import com.linkedpipes.etl.dataunit.sesame.SingleGraphDataUnitImpl;
+import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Statement;
+import org.openrdf.repository.Repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations of {@link SingleGraphDataUnitImpl} executed by the executor
+ * before and after each component.
+ *
+ * @author Petr Škoda
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SingleGraphDataUnitBenchmark {
+
+    @Param({Stores.MEMORY, Stores.NATIVE})
+    public String store;
+
+    @Param({"10000", "100000"})
+    public int triples;
+
+    private File directory;
+
+    private Repository repository;
+
+    /**
+     * Data unit with the synthetic content.
+     */
+    private SingleGraphDataUnitImpl source;
+
+    /**
+     * Empty data unit with {@link #source} as a source.
+     */
+    private SingleGraphDataUnitImpl target;
+
+    private Map<String, ManageableDataUnit> dataUnits;
+
+    /**
+     * Directory with saved content of {@link #source}.
+     */
+    private File saveDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LpException {
+        directory = Stores.createTempDirectory();
+        repository = Stores.create(store, new File(directory, "store"));
+        //
+        final IRI sourceGraph = SyntheticData.iri("source");
+        source = new SingleGraphDataUnitImpl(sourceGraph, repository,
+                new RdfDataUnitConfiguration(sourceGraph.stringValue(),
+                        "source"));
+        source.initialize(Collections.EMPTY_MAP);
+        final List<Statement> statements = new SyntheticData().statements(
+                triples, sourceGraph);
+        source.execute((connection) -> {
+            connection.add(statements, sourceGraph);
+        });
+        //
+        final IRI targetGraph = SyntheticData.iri("target");
+        final RdfDataUnitConfiguration configuration =
+                new RdfDataUnitConfiguration(targetGraph.stringValue(),
+                        "target");
+        configuration.getSourceDataUnitIris().add(source.getResourceIri());
+        target = new SingleGraphDataUnitImpl(targetGraph, repository,
+                configuration);
+        dataUnits = new HashMap<>();
+        dataUnits.put(source.getResourceIri(), source);
+        //
+        saveDirectory = new File(directory, "save");
+        saveDirectory.mkdirs();
+        source.save(saveDirectory);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTarget() throws LpException {
+        target.execute((connection) -> {
+            connection.clear(target.getGraph());
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Stores.shutDown(repository);
+        Stores.deleteDirectory(directory);
+    }
+
+    /**
+     * Merge of an input into a data unit, as done for connected ports.
+     */
+    @Benchmark
+    public void merge() throws LpException {
+        target.initialize(dataUnits);
+    }
+
+    @Benchmark
+    public List<File> save() throws LpException {
+        return source.save(saveDirectory);
+    }
+
+    /**
+     * Load of a saved data unit, as done for resumed executions.
+     */
+    @Benchmark
+    public void initialize() throws LpException {
+        target.initialize(saveDirectory);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.linkedpipes.etl.benchmark.pipeline;
+
+import com.linkedpipes.etl.executor.api.v1.event.Event;
+import com.linkedpipes.etl.executor.event.ComponentBegin;
+import com.linkedpipes.etl.executor.event.ComponentFailed;
+import com.linkedpipes.etl.executor.event.ComponentFinished;
+import com.linkedpipes.etl.executor.event.EventManager;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record peak heap usage for each executed component. Peak usage of
+ * heap memory pools is reset when a component starts and read when
+ * the component ends. As the peaks of pools are summed the value
+ * is an upper bound of the real peak.
+ *
+ * @author Petr Škoda
+ */
+final class HeapMonitor implements EventManager.EventListener {
+
+    private final Map<String, Long> peaks = new HashMap<>();
+
+    @Override
+    public synchronized void onEvent(Event event) {
+        if (event instanceof ComponentBegin) {
+            for (MemoryPoolMXBean pool : getHeapPools()) {
+                pool.resetPeakUsage();
+            }
+        } else if (event instanceof ComponentFinished) {
+            peaks.put(((ComponentFinished) event).getComponentUri(),
+                    getPeak());
+        } else if (event instanceof ComponentFailed) {
+            peaks.put(((ComponentFailed) event).getComponentUri(),
+                    getPeak());
+        }
+    }
+
+    /**
+     * @param component
+     * @return Peak heap usage in bytes or -1 if not available.
+     */
+    public synchronized long getPeak(String component) {
+        return peaks.getOrDefault(component, -1L);
+    }
+
+    private static long getPeak() {
+        long result = 0;
+        for (MemoryPoolMXBean pool : getHeapPools()) {
+            result += pool.getPeakUsage().getUsed();
+        }
+        return result;
+    }
+
+    private static List<MemoryPoolMXBean> getHeapPools() {
+        final List<MemoryPoolMXBean> result = new ArrayList<>(4);
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                result.add(pool);
+            }
+        }
+        return result;
+    }
+
+}
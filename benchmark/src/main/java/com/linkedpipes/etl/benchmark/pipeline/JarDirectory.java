@@ -0,0 +1,100 @@
+package com.linkedpipes.etl.benchmark.pipeline;
+
+import org.apache.commons.io.FileUtils;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Model;
+import org.openrdf.model.Resource;
+import org.openrdf.model.impl.LinkedHashModel;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.model.vocabulary.RDF;
+import org.openrdf.rio.RDFFormat;
+import org.openrdf.rio.RDFParser;
+import org.openrdf.rio.Rio;
+import org.openrdf.rio.helpers.StatementCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Map IRIs of component jar files to local files, as the storage does
+ * when it serves the jar files to the executor.
+ *
+ * @author Petr Škoda
+ */
+final class JarDirectory {
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(JarDirectory.class);
+
+    private static final IRI JAR_FILE = SimpleValueFactory.getInstance()
+            .createIRI("http://etl.linkedpipes.com/ontology/JarFile");
+
+    private final Map<String, File> jars = new HashMap<>();
+
+    /**
+     * @param directory Directory with jar files, ie. deploy/jars.
+     */
+    public JarDirectory(File directory) throws IOException {
+        for (File file : FileUtils.listFiles(directory,
+                new String[]{"jar"}, true)) {
+            final String iri = readIri(file);
+            if (iri != null) {
+                jars.put(iri, file);
+            }
+        }
+        LOG.info("Detected {} jar files in: {}", jars.size(), directory);
+    }
+
+    /**
+     * @param iri
+     * @return Null if there is no file for given IRI.
+     */
+    public File getFile(String iri) {
+        return jars.get(iri);
+    }
+
+    private static String readIri(File file) throws IOException {
+        try (JarFile jar = new JarFile(file)) {
+            for (Enumeration<JarEntry> entries = jar.entries();
+                    entries.hasMoreElements(); ) {
+                final JarEntry entry = entries.nextElement();
+                if (entry.getName().startsWith("LP-ETL/jar/definition")) {
+                    return readIri(jar, entry);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String readIri(JarFile jar, JarEntry entry)
+            throws IOException {
+        final Optional<RDFFormat> format
+                = Rio.getParserFormatForFileName(entry.getName());
+        if (!format.isPresent()) {
+            LOG.warn("Unknown format of {} in {}", entry.getName(),
+                    jar.getName());
+            return null;
+        }
+        final Model model = new LinkedHashModel();
+        final RDFParser parser = Rio.createParser(format.get());
+        parser.setRDFHandler(new StatementCollector(model));
+        try (InputStream stream = jar.getInputStream(entry)) {
+            parser.parse(stream, "http://localhost/base");
+        }
+        for (Resource resource
+                : model.filter(null, RDF.TYPE, JAR_FILE).subjects()) {
+            return resource.stringValue();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.linkedpipes.etl.benchmark.pipeline;
+
+import com.linkedpipes.etl.executor.execution.ComponentMetrics;
+import com.linkedpipes.etl.executor.execution.ExecutionModel;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-component throughput and memory of a single pipeline execution.
+ * Throughput is computed from the content added to the output data units
+ * and the component wall time.
+ *
+ * @author Petr Škoda
+ */
+final class PipelineReport {
+
+    private static final String[] HEADER = {"component", "wallTimeMs",
+            "cpuTimeMs", "threadAllocatedBytes", "peakHeapBytes",
+            "dataUnitInitTimeMs", "dataUnitSaveTimeMs", "outputTriples",
+            "outputFiles", "outputBytes", "triplesPerSecond",
+            "bytesPerSecond"};
+
+    private static class Row {
+
+        private final String label;
+
+        private final ComponentMetrics metrics;
+
+        private final long peakHeap;
+
+        private long triples = 0;
+
+        private long files = 0;
+
+        private long bytes = 0;
+
+        Row(String label, ComponentMetrics metrics, long peakHeap) {
+            this.label = label;
+            this.metrics = metrics;
+            this.peakHeap = peakHeap;
+        }
+
+        private void addOutput(ExecutionModel.DataUnit dataUnit) {
+            triples += getAdded(dataUnit, "triples");
+            files += getAdded(dataUnit, "files");
+            bytes += getAdded(dataUnit, "bytes");
+        }
+
+        private List<String> getValues() {
+            final List<String> values = new ArrayList<>(HEADER.length);
+            values.add(label);
+            values.add(Long.toString(metrics.getWallTime()));
+            values.add(Long.toString(metrics.getCpuTime()));
+            values.add(Long.toString(metrics.getThreadAllocatedBytes()));
+            values.add(Long.toString(peakHeap));
+            values.add(Long.toString(metrics.getDataUnitInitTime()));
+            values.add(Long.toString(metrics.getDataUnitSaveTime()));
+            values.add(Long.toString(triples));
+            values.add(Long.toString(files));
+            values.add(Long.toString(bytes));
+            values.add(perSecond(triples));
+            values.add(perSecond(bytes));
+            return values;
+        }
+
+        private String perSecond(long value) {
+            if (metrics.getWallTime() <= 0) {
+                return "-1";
+            }
+            return Long.toString(value * 1000 / metrics.getWallTime());
+        }
+
+    }
+
+    private final List<Row> rows = new ArrayList<>();
+
+    /**
+     * @param execution
+     * @param labels Component labels, component IRI is used if missing.
+     * @param heap
+     */
+    public PipelineReport(ExecutionModel execution,
+            Map<String, String> labels, HeapMonitor heap) {
+        for (ExecutionModel.Component component : execution.getComponents()) {
+            if (component.isMapped()) {
+                continue;
+            }
+            final Row row = new Row(
+                    labels.getOrDefault(component.getIri(),
+                            component.getIri()),
+                    component.getMetrics(),
+                    heap.getPeak(component.getIri()));
+            for (ExecutionModel.DataUnit dataUnit
+                    : component.getDataUnits()) {
+                if (!dataUnit.isInput()) {
+                    row.addOutput(dataUnit);
+                }
+            }
+            rows.add(row);
+        }
+    }
+
+    /**
+     * Write report as a CSV file.
+     *
+     * @param file
+     */
+    public void write(File file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.println(String.join(",", HEADER));
+            for (Row row : rows) {
+                final List<String> values = row.getValues();
+                values.set(0, "\"" + row.label.replace("\"", "\"\"") + "\"");
+                writer.println(String.join(",", values));
+            }
+        }
+    }
+
+    /**
+     * Print report as a human readable table.
+     *
+     * @param stream
+     */
+    public void print(PrintStream stream) {
+        final String format = "%-30.30s %10s %10s %14s %14s %12s %10s "
+                + "%14s %14s%n";
+        stream.printf(format, "Component", "Wall [ms]", "CPU [ms]",
+                "Thr.alloc [MB]", "Heap [MB]", "Triples", "Files",
+                "Triples/s", "Bytes/s");
+        for (Row row : rows) {
+            final List<String> values = row.getValues();
+            stream.printf(format, row.label, values.get(1), values.get(2),
+                    toMegaBytes(row.metrics.getThreadAllocatedBytes()),
+                    toMegaBytes(row.peakHeap), values.get(7), values.get(8),
+                    values.get(10), values.get(11));
+        }
+    }
+
+    private static long getAdded(ExecutionModel.DataUnit dataUnit,
+            String name) {
+        final Map<String, Long> after = dataUnit.getSizeAfter();
+        if (after == null || !after.containsKey(name)) {
+            return 0;
+        }
+        final Map<String, Long> before = dataUnit.getSizeBefore();
+        if (before == null || !before.containsKey(name)) {
+            return after.get(name);
+        }
+        return Math.max(after.get(name) - before.get(name), 0);
+    }
+
+    private static String toMegaBytes(long value) {
+        if (value < 0) {
+            return "-1";
+        }
+        return Long.toString(value / (1024 * 1024));
+    }
+
+}
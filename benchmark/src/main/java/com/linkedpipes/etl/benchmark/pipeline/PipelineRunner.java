@@ -0,0 +1,255 @@
+package com.linkedpipes.etl.benchmark.pipeline;
+
+import com.linkedpipes.etl.executor.api.v1.event.Event;
+import com.linkedpipes.etl.executor.api.v1.vocabulary.LINKEDPIPES;
+import com.linkedpipes.etl.executor.event.EventManager;
+import com.linkedpipes.etl.executor.event.ExecutionFailed;
+import com.linkedpipes.etl.executor.execution.ExecutionTrace;
+import com.linkedpipes.etl.executor.module.ModuleFacade;
+import com.linkedpipes.etl.executor.pipeline.PipelineExecutor;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Model;
+import org.openrdf.model.Statement;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.model.vocabulary.SKOS;
+import org.openrdf.rio.RDFFormat;
+import org.openrdf.rio.RDFParseException;
+import org.openrdf.rio.Rio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Execute a pipeline in-process with the executor, data units and
+ * components, but without the storage and executor-monitor. Print
+ * and save a report with per-component throughput and memory.
+ *
+ * The pipeline definition must be ready for execution, ie. as send by
+ * the storage to the executor. The jar files of components are loaded
+ * from a local directory instead of the storage.
+ *
+ * Usage: PipelineRunner [definition] [jars directory]
+ * [osgi lib directory] [working directory] [report file]?
+ *
+ * @author Petr Škoda
+ */
+public final class PipelineRunner {
+
+    public static class BenchmarkFailed extends Exception {
+
+        public BenchmarkFailed(String message) {
+            super(message);
+        }
+
+        public BenchmarkFailed(String message, Throwable cause) {
+            super(message, cause);
+        }
+
+    }
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(PipelineRunner.class);
+
+    private final File workingDirectory;
+
+    private final JarDirectory jars;
+
+    private final File osgiLibDirectory;
+
+    private final HeapMonitor heapMonitor = new HeapMonitor();
+
+    /**
+     * Must be a member as the events listeners are weak references.
+     */
+    private final EventManager.EventListener failureListener;
+
+    private boolean failed = false;
+
+    private final Map<String, String> labels = new HashMap<>();
+
+    private AbstractApplicationContext context;
+
+    public PipelineRunner(File workingDirectory, File jarsDirectory,
+            File osgiLibDirectory) throws IOException {
+        this.workingDirectory = workingDirectory;
+        this.jars = new JarDirectory(jarsDirectory);
+        this.osgiLibDirectory = osgiLibDirectory;
+        this.failureListener = (event) -> onEvent(event);
+    }
+
+    /**
+     * Start the executor modules, ie. the OSGI framework with libraries.
+     */
+    public void start() throws IOException {
+        final File configuration = new File(workingDirectory,
+                "configuration.properties");
+        writeConfiguration(configuration);
+        System.setProperty("configFileLocation", configuration.getPath());
+        context = new ClassPathXmlApplicationContext(
+                "spring/context-benchmark.xml");
+        context.start();
+    }
+
+    public void stop() {
+        if (context != null) {
+            context.stop();
+            context.close();
+        }
+    }
+
+    /**
+     * Execute given pipeline and return the report.
+     *
+     * @param definition
+     * @return
+     */
+    public PipelineReport execute(File definition)
+            throws IOException, BenchmarkFailed {
+        final String id = "benchmark-" + System.currentTimeMillis();
+        final File executionDirectory = new File(workingDirectory,
+                "executions" + File.separator + id);
+        prepareDefinition(definition, new File(executionDirectory,
+                "definition" + File.separator + "definition.jsonld"));
+        //
+        final PipelineExecutor executor = new PipelineExecutor(
+                executionDirectory, context.getBean(ModuleFacade.class),
+                "http://localhost/executions/" + id, new ExecutionTrace(id));
+        // The report contains size of the outputs.
+        executor.setMeasureDataUnitSize(true);
+        failed = false;
+        executor.initialize();
+        if (executor.getExecution().getComponents().isEmpty()) {
+            throw new BenchmarkFailed("Can't initialize execution, see: "
+                    + new File(executionDirectory, "log"));
+        }
+        executor.addListener(heapMonitor);
+        executor.addListener(failureListener);
+        LOG.info("Executing pipeline: {}", definition);
+        final long start = System.currentTimeMillis();
+        executor.execute();
+        LOG.info("Executing pipeline ... done in {} ms",
+                System.currentTimeMillis() - start);
+        if (failed) {
+            throw new BenchmarkFailed("Execution failed, see: "
+                    + new File(executionDirectory, "log"));
+        }
+        return new PipelineReport(executor.getExecution(), labels,
+                heapMonitor);
+    }
+
+    private void onEvent(Event event) {
+        if (event instanceof ExecutionFailed) {
+            failed = true;
+        }
+    }
+
+    private void writeConfiguration(File file) throws IOException {
+        final Properties properties = new Properties();
+        // The web server is not started, yet the property is required.
+        properties.setProperty("executor.webserver.port", "0");
+        properties.setProperty("executor.log.directory",
+                new File(workingDirectory, "log").getPath());
+        properties.setProperty("executor.log.core.level", "INFO");
+        properties.setProperty("executor.osgi.lib.directory",
+                osgiLibDirectory.getPath());
+        properties.setProperty("executor.osgi.working.directory",
+                new File(workingDirectory, "felix").getPath());
+        // All jar files are local so the storage is not used.
+        properties.setProperty("storage.uri", "");
+        properties.setProperty("executor.osgi.local_jars", "true");
+        workingDirectory.mkdirs();
+        try (OutputStream stream = new FileOutputStream(file)) {
+            properties.store(stream, "Generated by PipelineRunner");
+        }
+    }
+
+    /**
+     * Copy the definition and replace jar IRIs with local files, also
+     * collect labels of components.
+     *
+     * @param source
+     * @param target
+     */
+    private void prepareDefinition(File source, File target)
+            throws IOException, BenchmarkFailed {
+        final RDFFormat format = Rio.getParserFormatForFileName(
+                source.getName()).orElseThrow(() -> new BenchmarkFailed(
+                "Can't determine format of: " + source));
+        final Model model;
+        try (InputStream stream = Files.newInputStream(source.toPath())) {
+            model = Rio.parse(stream, "http://localhost/", format);
+        } catch (RDFParseException ex) {
+            throw new BenchmarkFailed("Can't read definition.", ex);
+        }
+        //
+        final ValueFactory valueFactory = SimpleValueFactory.getInstance();
+        final IRI hasJar = valueFactory.createIRI(LINKEDPIPES.HAS_JAR);
+        final List<Statement> jarStatements = new ArrayList<>(
+                model.filter(null, hasJar, null));
+        for (Statement statement : jarStatements) {
+            final String iri = statement.getObject().stringValue();
+            final File file = jars.getFile(iri);
+            if (file == null) {
+                throw new BenchmarkFailed("Missing jar file for: " + iri);
+            }
+            model.remove(statement.getSubject(), hasJar,
+                    statement.getObject(), statement.getContext());
+            model.add(statement.getSubject(), hasJar,
+                    valueFactory.createIRI(file.toURI().toString()),
+                    statement.getContext());
+        }
+        //
+        for (Statement statement : model.filter(null, SKOS.PREF_LABEL, null)) {
+            labels.put(statement.getSubject().stringValue(),
+                    statement.getObject().stringValue());
+        }
+        //
+        target.getParentFile().mkdirs();
+        try (OutputStream stream = new FileOutputStream(target)) {
+            Rio.write(model, stream, RDFFormat.JSONLD);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4 || args.length > 5) {
+            System.err.println("Usage: PipelineRunner [definition] "
+                    + "[jars directory] [osgi lib directory] "
+                    + "[working directory] [report file]?");
+            System.exit(1);
+        }
+        final File workingDirectory = new File(args[3]);
+        final File reportFile;
+        if (args.length == 5) {
+            reportFile = new File(args[4]);
+        } else {
+            reportFile = new File(workingDirectory, "report.csv");
+        }
+        final PipelineRunner runner = new PipelineRunner(workingDirectory,
+                new File(args[1]), new File(args[2]));
+        final PipelineReport report;
+        try {
+            runner.start();
+            report = runner.execute(new File(args[0]));
+        } finally {
+            runner.stop();
+        }
+        report.print(System.out);
+        report.write(reportFile);
+        LOG.info("Report saved to: {}", reportFile);
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.linkedpipes.etl.benchmark.pipeline;
+
+import com.linkedpipes.etl.benchmark.SyntheticData;
+import org.openrdf.rio.RDFFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Generate input files for pipeline benchmarks. Size of all the files
+ * is linear to given scale, the content is deterministic so the same
+ * workload can be used to compare releases.
+ *
+ * Usage: WorkloadGenerator [output directory] [scale]
+ *
+ * @author Petr Škoda
+ */
+public final class WorkloadGenerator {
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(WorkloadGenerator.class);
+
+    /**
+     * CSV rows for scale 1.
+     */
+    private static final int CSV_ROWS = 10000;
+
+    private static final int CSV_COLUMNS = 20;
+
+    /**
+     * RDF statements for scale 1.
+     */
+    private static final int STATEMENTS = 100000;
+
+    /**
+     * XML records for scale 1.
+     */
+    private static final int XML_RECORDS = 10000;
+
+    /**
+     * HTML table rows for scale 1.
+     */
+    private static final int HTML_ROWS = 1000;
+
+    /**
+     * Number of binary files for scale 1.
+     */
+    private static final int FILES = 100;
+
+    private static final int FILE_SIZE = 16 * 1024;
+
+    private final SyntheticData data = new SyntheticData();
+
+    private final File directory;
+
+    private final int scale;
+
+    public WorkloadGenerator(File directory, int scale) {
+        this.directory = directory;
+        this.scale = scale;
+    }
+
+    public void generate() throws IOException {
+        LOG.info("Generating workload with scale {} into: {}", scale,
+                directory);
+        final File csv = new File(directory, "csv/data.csv");
+        data.csv(csv, CSV_ROWS * scale, CSV_COLUMNS,
+                SyntheticData.QUOTE_ESCAPED, "UTF-8");
+        data.csv(new File(directory, "csv/data-windows-1250.csv"),
+                CSV_ROWS * scale, CSV_COLUMNS, SyntheticData.QUOTE_NONE,
+                "windows-1250");
+        //
+        data.rdf(new File(directory, "rdf/data.ttl"), STATEMENTS * scale,
+                RDFFormat.TURTLE);
+        data.rdf(new File(directory, "rdf/data.nt"), STATEMENTS * scale,
+                RDFFormat.NTRIPLES);
+        //
+        final File xml = new File(directory, "xml/data.xml");
+        data.xml(xml, XML_RECORDS * scale);
+        //
+        final File html = new File(directory, "html/data.html");
+        data.html(html, HTML_ROWS * scale);
+        //
+        data.files(new File(directory, "files"), FILES * scale, FILE_SIZE);
+        //
+        data.zip(new File(directory, "archive/data.zip"),
+                Arrays.asList(csv, xml, html));
+        LOG.info("Generating workload ... done");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println(
+                    "Usage: WorkloadGenerator [output directory] [scale]");
+            System.exit(1);
+        }
+        new WorkloadGenerator(new File(args[0]),
+                Integer.parseInt(args[1])).generate();
+    }
+
+}
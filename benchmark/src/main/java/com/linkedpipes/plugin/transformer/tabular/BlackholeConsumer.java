@@ -0,0 +1,48 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Value;
+
+/**
+ * Consume statements without storing them.
+ *
+ * @author Petr Škoda
+ */
+class BlackholeConsumer implements StatementConsumer {
+
+    private final Blackhole blackhole;
+
+    BlackholeConsumer(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void onRowStart() {
+        // No operation here.
+    }
+
+    @Override
+    public void onRowEnd() {
+        // No operation here.
+    }
+
+    @Override
+    public void onFileStart() {
+        // No operation here.
+    }
+
+    @Override
+    public void onFileEnd() {
+        // No operation here.
+    }
+
+    @Override
+    public void submit(Resource subject, IRI predicate, Value object) {
+        blackhole.consume(subject);
+        blackhole.consume(predicate);
+        blackhole.consume(object);
+    }
+
+}
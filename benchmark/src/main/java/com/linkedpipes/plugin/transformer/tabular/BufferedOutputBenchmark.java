@@ -0,0 +1,105 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import com.linkedpipes.etl.benchmark.Stores;
+import com.linkedpipes.etl.benchmark.SyntheticData;
+import com.linkedpipes.etl.dataunit.sesame.RdfDataUnitConfiguration;
+import com.linkedpipes.etl.dataunit.sesame.SingleGraphDataUnitImpl;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Statement;
+import org.openrdf.repository.Repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write of statements through the {@link BufferedOutput} into a data unit.
+ * The benchmark is in the plugin package as the output is not visible
+ * outside of it.
+ *
+ * The output inserts the statements in batches, so the submit and the
+ * close of the output are measured together. The graph is cleared
+ * before every invocation.
+ *
+ * @author Petr Škoda
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BufferedOutputBenchmark {
+
+    @Param({Stores.MEMORY, Stores.NATIVE})
+    public String store;
+
+    /**
+     * Number of written statements, the smaller number fit into a single
+     * batch inserted on close, the larger one is inserted in more batches.
+     */
+    @Param({"1000", "45000"})
+    public int statements;
+
+    private File directory;
+
+    private Repository repository;
+
+    private SingleGraphDataUnitImpl dataUnit;
+
+    private List<Statement> content;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LpException {
+        directory = Stores.createTempDirectory();
+        repository = Stores.create(store, new File(directory, "store"));
+        final IRI graph = SyntheticData.iri("output");
+        dataUnit = new SingleGraphDataUnitImpl(graph, repository,
+                new RdfDataUnitConfiguration(graph.stringValue(), "output"));
+        dataUnit.initialize(Collections.EMPTY_MAP);
+        content = new SyntheticData().statements(statements, graph);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearGraph() throws LpException {
+        dataUnit.execute((connection) -> {
+            connection.clear(dataUnit.getGraph());
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, LpException {
+        dataUnit.close();
+        Stores.shutDown(repository);
+        Stores.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void writeOutput() throws LpException {
+        try (final BufferedOutput output = new BufferedOutput(dataUnit)) {
+            output.onFileStart();
+            for (Statement statement : content) {
+                output.submit(statement.getSubject(),
+                        statement.getPredicate(), statement.getObject());
+            }
+            output.onFileEnd();
+        }
+    }
+
+}
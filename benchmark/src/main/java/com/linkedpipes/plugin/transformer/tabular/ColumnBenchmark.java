@@ -0,0 +1,117 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import com.linkedpipes.etl.benchmark.SyntheticData;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrdf.model.Resource;
+import org.openrdf.model.vocabulary.XMLSchema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Template expansion and value creation for a single row, as done by
+ * {@link ColumnAbstract#emit(StatementConsumer, List, int)}.
+ *
+ * @author Petr Škoda
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ColumnBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private static final List<String> HEADER
+            = Arrays.asList("id", "name", "path", "value");
+
+    private final List<List<String>> rows = new ArrayList<>(ROWS);
+
+    private StringTemplate template;
+
+    private ColumnTyped typedColumn;
+
+    private ColumnTyped languageColumn;
+
+    private ColumnUrl urlColumn;
+
+    private int rowNumber = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        for (int i = 0; i < ROWS; ++i) {
+            rows.add(Arrays.asList(Integer.toString(i),
+                    "Příliš žluťoučký kůň " + i,
+                    "a/b/c?d=" + i,
+                    Integer.toString(i * 31)));
+        }
+        template = new StringTemplate(SyntheticData.PREFIX
+                + "{id}/{name}/{+path}{#value}");
+        template.initialize(null, HEADER);
+        //
+        final String prefix = SyntheticData.PREFIX;
+        typedColumn = new ColumnTyped(XMLSchema.INTEGER, null, "value",
+                true, new ResourceTemplate(prefix + "row/{id}"),
+                new UrlTemplate(prefix + "ontology/value"));
+        typedColumn.initialize(null, HEADER);
+        languageColumn = new ColumnTyped(XMLSchema.STRING, "cs", "name",
+                true, new ResourceTemplate(prefix + "row/{id}"),
+                new UrlTemplate(prefix + "ontology/name"));
+        languageColumn.initialize(null, HEADER);
+        urlColumn = new ColumnUrl(new UrlTemplate(prefix + "path/{path}"),
+                "path", true, new ResourceTemplate(prefix + "row/{id}"),
+                new UrlTemplate(prefix + "ontology/path"));
+        urlColumn.initialize(null, HEADER);
+    }
+
+    @Benchmark
+    public String expandTemplate() {
+        return template.process(nextRow());
+    }
+
+    @Benchmark
+    public Resource emitTypedLiteral(Blackhole blackhole)
+            throws LpException, ColumnAbstract.MissingColumnValue {
+        return typedColumn.emit(new BlackholeConsumer(blackhole), nextRow(),
+                rowNumber);
+    }
+
+    @Benchmark
+    public Resource emitLanguageLiteral(Blackhole blackhole)
+            throws LpException, ColumnAbstract.MissingColumnValue {
+        return languageColumn.emit(new BlackholeConsumer(blackhole),
+                nextRow(), rowNumber);
+    }
+
+    @Benchmark
+    public Resource emitIri(Blackhole blackhole) throws LpException {
+        return urlColumn.emit(new BlackholeConsumer(blackhole), nextRow(),
+                rowNumber);
+    }
+
+    /**
+     * Row number is part of the state, as {@link ResourceTemplate} caches
+     * resource for the same row.
+     */
+    private List<String> nextRow() {
+        ++rowNumber;
+        return rows.get(rowNumber % ROWS);
+    }
+
+}
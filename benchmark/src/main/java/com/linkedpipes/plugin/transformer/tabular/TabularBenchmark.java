@@ -0,0 +1,165 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import com.linkedpipes.etl.benchmark.Stores;
+import com.linkedpipes.etl.benchmark.SyntheticData;
+import com.linkedpipes.etl.component.test.MockedExceptionFactory;
+import com.linkedpipes.etl.dataunit.sesame.RdfDataUnitConfiguration;
+import com.linkedpipes.etl.dataunit.sesame.SingleGraphDataUnitImpl;
+import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrdf.model.IRI;
+import org.openrdf.repository.Repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV to RDF path of the t-tabular. One operation is one CSV row, so the
+ * score is in rows per second and "gc.alloc.rate.norm" reported
+ * by "-prof gc" is allocation per row.
+ *
+ * @author Petr Škoda
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(TabularBenchmark.ROWS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TabularBenchmark {
+
+    static final int ROWS = 10000;
+
+    @Param({"5", "20", "50"})
+    public int columns;
+
+    @Param({SyntheticData.QUOTE_NONE, SyntheticData.QUOTE_ALL,
+            SyntheticData.QUOTE_ESCAPED})
+    public String quoting;
+
+    @Param({"UTF-8", "windows-1250"})
+    public String encoding;
+
+    private File directory;
+
+    private FilesDataUnit.Entry entry;
+
+    private Repository repository;
+
+    private SingleGraphDataUnitImpl dataUnit;
+
+    private final MockedExceptionFactory exceptionFactory =
+            new MockedExceptionFactory();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LpException {
+        directory = Stores.createTempDirectory();
+        final File file = new File(directory, "input.csv");
+        new SyntheticData().csv(file, ROWS, columns, quoting, encoding);
+        entry = new FilesDataUnit.Entry() {
+
+            @Override
+            public File toFile() {
+                return file;
+            }
+
+            @Override
+            public String getFileName() {
+                return file.getName();
+            }
+
+        };
+        //
+        repository = Stores.create(Stores.MEMORY, null);
+        final IRI graph = SyntheticData.iri("output");
+        dataUnit = new SingleGraphDataUnitImpl(graph, repository,
+                new RdfDataUnitConfiguration(graph.stringValue(), "output"));
+        dataUnit.initialize(Collections.EMPTY_MAP);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearOutput() throws LpException {
+        dataUnit.execute((connection) -> {
+            connection.clear(dataUnit.getGraph());
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Stores.shutDown(repository);
+        Stores.deleteDirectory(directory);
+    }
+
+    /**
+     * Only read and tokenize the file, there are no columns to map.
+     */
+    @Benchmark
+    public void tokenize(Blackhole blackhole) throws Exception {
+        final TabularConfiguration configuration = createConfiguration();
+        configuration.setFullMapping(false);
+        execute(configuration, new BlackholeConsumer(blackhole));
+    }
+
+    /**
+     * Full mapping with template expansion and values creation, the
+     * statements are not stored.
+     */
+    @Benchmark
+    public void map(Blackhole blackhole) throws Exception {
+        execute(createConfiguration(), new BlackholeConsumer(blackhole));
+    }
+
+    /**
+     * Full mapping with statements buffered into the output data unit.
+     */
+    @Benchmark
+    public void mapToDataUnit() throws Exception {
+        final BufferedOutput output = new BufferedOutput(dataUnit);
+        output.onFileStart();
+        execute(createConfiguration(), output);
+        output.onFileEnd();
+    }
+
+    private void execute(TabularConfiguration configuration,
+            StatementConsumer consumer) throws Exception {
+        final Parser parser = new Parser(configuration, exceptionFactory);
+        final Mapper mapper = new Mapper(consumer, configuration,
+                ColumnFactory.createColumnList(configuration, exceptionFactory),
+                exceptionFactory);
+        mapper.initialize(null);
+        mapper.onTableStart("file://" + entry.getFileName(), null);
+        parser.parse(entry, mapper);
+        mapper.onTableEnd();
+    }
+
+    private TabularConfiguration createConfiguration() {
+        final TabularConfiguration configuration = new TabularConfiguration();
+        configuration.getDialect().setHeader(true);
+        configuration.getDialect().setEncoding(encoding);
+        if (SyntheticData.QUOTE_NONE.equals(quoting)) {
+            configuration.getDialect().setQuoteChar("");
+        }
+        configuration.getTableSchema().setAboutUrl(
+                SyntheticData.PREFIX + "row/{column_1}");
+        return configuration;
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.linkedpipes.plugin.transformer.tabularuv;
+
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Value;
+
+/**
+ * Consume statements without storing them.
+ *
+ * @author Petr Škoda
+ */
+class BlackholeWriter extends RdfWriter {
+
+    private final Blackhole blackhole;
+
+    BlackholeWriter(Blackhole blackhole) {
+        super(null);
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void setGraph(IRI graph) {
+        // No operation here.
+    }
+
+    @Override
+    public void add(Resource subject, IRI predicate, Value object) {
+        blackhole.consume(subject);
+        blackhole.consume(predicate);
+        blackhole.consume(object);
+    }
+
+    @Override
+    public void flush() {
+        // No operation here.
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.linkedpipes.plugin.transformer.tabularuv;
+
+import com.linkedpipes.etl.benchmark.Stores;
+import com.linkedpipes.etl.benchmark.SyntheticData;
+import com.linkedpipes.etl.dataunit.sesame.GraphListDataUnitImpl;
+import com.linkedpipes.etl.dataunit.sesame.RdfDataUnitConfiguration;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import com.linkedpipes.plugin.transformer.tabularuv.mapper.TableToRdf;
+import com.linkedpipes.plugin.transformer.tabularuv.parser.ParseFailed;
+import com.linkedpipes.plugin.transformer.tabularuv.parser.ParserCsv;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrdf.model.IRI;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.repository.Repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV to RDF path of the t-tabularUv. One operation is one CSV row, so the
+ * score is in rows per second and "gc.alloc.rate.norm" reported
+ * by "-prof gc" is allocation per row.
+ *
+ * @author Petr Škoda
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(TabularUvBenchmark.ROWS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TabularUvBenchmark {
+
+    static final int ROWS = 10000;
+
+    @Param({"5", "20", "50"})
+    public int columns;
+
+    @Param({SyntheticData.QUOTE_NONE, SyntheticData.QUOTE_ALL,
+            SyntheticData.QUOTE_ESCAPED})
+    public String quoting;
+
+    @Param({"UTF-8", "windows-1250"})
+    public String encoding;
+
+    private File directory;
+
+    private File file;
+
+    private Repository repository;
+
+    private GraphListDataUnitImpl dataUnit;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LpException {
+        directory = Stores.createTempDirectory();
+        file = new File(directory, "input.csv");
+        new SyntheticData().csv(file, ROWS, columns, quoting, encoding);
+        //
+        repository = Stores.create(Stores.MEMORY, null);
+        final IRI graph = SyntheticData.iri("output");
+        dataUnit = new GraphListDataUnitImpl(graph, repository,
+                new RdfDataUnitConfiguration(graph.stringValue(), "output"));
+        dataUnit.initialize(Collections.EMPTY_MAP);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearOutput() throws LpException {
+        dataUnit.execute((connection) -> {
+            connection.clear();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Stores.shutDown(repository);
+        Stores.deleteDirectory(directory);
+    }
+
+    /**
+     * Parse and map the rows, the statements are not stored.
+     */
+    @Benchmark
+    public void map(Blackhole blackhole) throws ParseFailed, LpException {
+        execute(new BlackholeWriter(blackhole));
+    }
+
+    /**
+     * Parse and map the rows with statements buffered into the output
+     * data unit.
+     */
+    @Benchmark
+    public void mapToDataUnit() throws ParseFailed, LpException {
+        final RdfWriter writer = new RdfWriter(dataUnit);
+        writer.setGraph(dataUnit.createGraph());
+        execute(writer);
+        writer.flush();
+    }
+
+    private void execute(RdfWriter writer) throws ParseFailed, LpException {
+        final TabularConfig_V2 configuration = createConfiguration();
+        final TableToRdf tableToRdf = new TableToRdf(
+                configuration.getTableToRdfConfig(), writer,
+                SimpleValueFactory.getInstance());
+        new ParserCsv(configuration.getParserCsvConfig(), tableToRdf)
+                .parse(file);
+    }
+
+    private TabularConfig_V2 createConfiguration() {
+        final TabularConfig_V2 configuration = new TabularConfig_V2();
+        configuration.setBaseURI(SyntheticData.PREFIX);
+        configuration.setKeyColumn("column_1");
+        configuration.setEncoding(encoding);
+        if (SyntheticData.QUOTE_NONE.equals(quoting)) {
+            configuration.setQuoteChar("");
+        }
+        return configuration;
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.linkedpipes.plugin.transformer.tabularuv;
+
+import com.linkedpipes.etl.benchmark.SyntheticData;
+import com.linkedpipes.plugin.transformer.tabularuv.column.ValueGenerator;
+import com.linkedpipes.plugin.transformer.tabularuv.column.ValueGeneratorReplace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openrdf.model.Value;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.model.vocabulary.XMLSchema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value creation for a single cell by the {@link ValueGenerator}
+ * implementations, templates are the same as generated
+ * by the TableToRdfConfigurator.
+ *
+ * @author Petr Škoda
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ValueGeneratorBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private final ValueFactory valueFactory
+            = SimpleValueFactory.getInstance();
+
+    private final List<List<Object>> rows = new ArrayList<>(ROWS);
+
+    private ValueGenerator stringGenerator;
+
+    private ValueGenerator languageGenerator;
+
+    private ValueGenerator typedGenerator;
+
+    private ValueGenerator uriGenerator;
+
+    private int rowNumber = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        for (int i = 0; i < ROWS; ++i) {
+            rows.add(Arrays.<Object>asList(Integer.toString(i),
+                    "Příliš žluťoučký kůň " + i,
+                    Integer.toString(i * 31)));
+        }
+        final Map<String, Integer> nameToIndex = new HashMap<>();
+        nameToIndex.put("id", 0);
+        nameToIndex.put("name", 1);
+        nameToIndex.put("value", 2);
+        //
+        stringGenerator = create("name", "\"{name}\"", nameToIndex);
+        languageGenerator = create("name", "\"{name}\"@cs", nameToIndex);
+        typedGenerator = create("value", "\"{value}\"^^" + XMLSchema.INT,
+                nameToIndex);
+        uriGenerator = create("id", "<" + SyntheticData.PREFIX
+                + "row/{+name}/{id}>", nameToIndex);
+    }
+
+    @Benchmark
+    public Value stringLiteral() {
+        return stringGenerator.generateValue(nextRow(), valueFactory);
+    }
+
+    @Benchmark
+    public Value languageLiteral() {
+        return languageGenerator.generateValue(nextRow(), valueFactory);
+    }
+
+    @Benchmark
+    public Value typedLiteral() {
+        return typedGenerator.generateValue(nextRow(), valueFactory);
+    }
+
+    @Benchmark
+    public Value uri() {
+        return uriGenerator.generateValue(nextRow(), valueFactory);
+    }
+
+    private List<Object> nextRow() {
+        rowNumber = (rowNumber + 1) % ROWS;
+        return rows.get(rowNumber);
+    }
+
+    private ValueGenerator create(String column, String template,
+            Map<String, Integer> nameToIndex) throws Exception {
+        final ValueGenerator generator = ValueGeneratorReplace.create(
+                valueFactory.createIRI(
+                        SyntheticData.PREFIX + "ontology/" + column),
+                template);
+        generator.compile(nameToIndex, valueFactory);
+        return generator;
+    }
+
+}
@@ -0,0 +1,321 @@
+package com.linkedpipes.etl.dataunit.sesame;
+
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.util.Arrays;
+import org.openrdf.IsolationLevels;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.model.Value;
+import org.openrdf.repository.Repository;
+import org.openrdf.repository.RepositoryConnection;
+import org.openrdf.repository.RepositoryException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parts of the statements are stored in reused arrays, so no statement
+ * object is created per triple.
+ *
+ * The batch size is doubled while the commits are fast and halved when
+ * a commit takes longer then {@link #TARGET_COMMIT_TIME}.
+ *
+ * A failed batch may be partly inserted, as there is no isolation. So
+ * the batch is dropped and the inserter can not be used any more, close
+ * only releases the connection.
+ *
+ * @author Petr Škoda
+ */
+class BulkInserterImpl implements BulkInserter {
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(BulkInserterImpl.class);
+
+    private static final int INITIAL_BATCH_SIZE = 10000;
+
+    private static final int MIN_BATCH_SIZE = 1000;
+
+    private static final int MAX_BATCH_SIZE = 400000;
+
+    /**
+     * Target time of a single commit in milliseconds.
+     */
+    private static final long TARGET_COMMIT_TIME = 1000;
+
+    /**
+     * Ranges smaller then this are sorted by insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final Repository repository;
+
+    /**
+     * If false the graph can not be changed.
+     */
+    private final boolean graphChangeable;
+
+    /**
+     * Called after each batch is inserted.
+     */
+    private final Runnable onInsert;
+
+    private IRI graph;
+
+    private boolean sortBySubject = false;
+
+    private RepositoryConnection connection;
+
+    private int batchSize = INITIAL_BATCH_SIZE;
+
+    private Resource[] subjects = new Resource[INITIAL_BATCH_SIZE];
+
+    private IRI[] predicates = new IRI[INITIAL_BATCH_SIZE];
+
+    private Value[] objects = new Value[INITIAL_BATCH_SIZE];
+
+    /**
+     * Graphs of the statements, the graph can change within a batch.
+     */
+    private IRI[] graphs = new IRI[INITIAL_BATCH_SIZE];
+
+    private int size = 0;
+
+    private long statementCounter = 0;
+
+    private int batchCounter = 0;
+
+    /**
+     * True if insert of a batch failed.
+     */
+    private boolean failed = false;
+
+    /**
+     * @param repository
+     * @param graph Initial graph, can be null.
+     * @param graphChangeable
+     * @param onInsert Called after each inserted batch.
+     */
+    BulkInserterImpl(Repository repository, IRI graph,
+            boolean graphChangeable, Runnable onInsert) {
+        this.repository = repository;
+        this.graph = graph;
+        this.graphChangeable = graphChangeable;
+        this.onInsert = onInsert;
+    }
+
+    @Override
+    public void setGraph(IRI graph) throws LpException {
+        if (!graphChangeable) {
+            throw ExceptionFactory.failure(
+                    "Graph of a single graph data unit can't be changed.");
+        }
+        this.graph = graph;
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.min(MAX_BATCH_SIZE,
+                Math.max(MIN_BATCH_SIZE, batchSize));
+        if (this.batchSize > subjects.length) {
+            resizeBuffers(this.batchSize);
+        }
+    }
+
+    @Override
+    public void setSortBySubject(boolean sortBySubject) {
+        this.sortBySubject = sortBySubject;
+    }
+
+    @Override
+    public void add(Resource subject, IRI predicate, Value object)
+            throws LpException {
+        if (graph == null) {
+            throw ExceptionFactory.failure("Graph is not set.");
+        }
+        checkNotFailed();
+        if (size >= batchSize) {
+            flush();
+        }
+        subjects[size] = subject;
+        predicates[size] = predicate;
+        objects[size] = object;
+        graphs[size] = graph;
+        ++size;
+    }
+
+    @Override
+    public void add(Statement statement) throws LpException {
+        add(statement.getSubject(), statement.getPredicate(),
+                statement.getObject());
+    }
+
+    @Override
+    public void flush() throws LpException {
+        checkNotFailed();
+        if (size == 0) {
+            return;
+        }
+        if (sortBySubject) {
+            sort(0, size - 1);
+        }
+        final long start = System.currentTimeMillis();
+        boolean inserted = false;
+        try {
+            if (connection == null) {
+                connection = repository.getConnection();
+            }
+            connection.begin(IsolationLevels.NONE);
+            for (int i = 0; i < size; ++i) {
+                connection.add(subjects[i], predicates[i], objects[i],
+                        graphs[i]);
+            }
+            connection.commit();
+            inserted = true;
+        } catch (RepositoryException ex) {
+            rollback();
+            throw ExceptionFactory.failure("Can't insert statements.", ex);
+        } finally {
+            if (!inserted) {
+                failed = true;
+                clearBuffers();
+            }
+            onInsert.run();
+        }
+        adaptBatchSize(System.currentTimeMillis() - start);
+        statementCounter += size;
+        ++batchCounter;
+        clearBuffers();
+    }
+
+    @Override
+    public void close() throws LpException {
+        try {
+            if (!failed) {
+                flush();
+            }
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (RepositoryException ex) {
+                    LOG.warn("Can't close connection.", ex);
+                }
+                connection = null;
+            }
+        }
+        LOG.debug("Inserted {} statements in {} batches.",
+                statementCounter, batchCounter);
+    }
+
+    private void checkNotFailed() throws LpException {
+        if (failed) {
+            throw ExceptionFactory.failure(
+                    "Can't use inserter after a failed insert.");
+        }
+    }
+
+    /**
+     * Release references so the values can be collected.
+     */
+    private void clearBuffers() {
+        Arrays.fill(subjects, 0, size, null);
+        Arrays.fill(predicates, 0, size, null);
+        Arrays.fill(objects, 0, size, null);
+        Arrays.fill(graphs, 0, size, null);
+        size = 0;
+    }
+
+    private void rollback() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (connection.isActive()) {
+                connection.rollback();
+            }
+        } catch (RepositoryException ex) {
+            LOG.warn("Can't rollback.", ex);
+        }
+    }
+
+    /**
+     * @param commitTime Time of the last commit in milliseconds.
+     */
+    private void adaptBatchSize(long commitTime) {
+        if (commitTime > TARGET_COMMIT_TIME) {
+            batchSize = Math.max(MIN_BATCH_SIZE, batchSize / 2);
+        } else if (commitTime < TARGET_COMMIT_TIME / 4
+                && size == batchSize && batchSize < MAX_BATCH_SIZE) {
+            batchSize = Math.min(MAX_BATCH_SIZE, batchSize * 2);
+            if (batchSize > subjects.length) {
+                resizeBuffers(batchSize);
+            }
+        } else {
+            return;
+        }
+        LOG.debug("Batch size: {} (commit: {} ms)", batchSize, commitTime);
+    }
+
+    private void resizeBuffers(int length) {
+        subjects = Arrays.copyOf(subjects, length);
+        predicates = Arrays.copyOf(predicates, length);
+        objects = Arrays.copyOf(objects, length);
+        graphs = Arrays.copyOf(graphs, length);
+    }
+
+    /**
+     * Sort given range of buffered statements by subject.
+     *
+     * @param low Inclusive.
+     * @param high Inclusive.
+     */
+    private void sort(int low, int high) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            final String pivot = subjects[(low + high) >>> 1].stringValue();
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (subjects[i].stringValue().compareTo(pivot) < 0) {
+                    ++i;
+                }
+                while (subjects[j].stringValue().compareTo(pivot) > 0) {
+                    --j;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // Recursion for the smaller part, so the depth is limited.
+            if (j - low < high - i) {
+                sort(low, j);
+                low = i;
+            } else {
+                sort(i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; ++i) {
+            for (int j = i; j > low && subjects[j - 1].stringValue()
+                    .compareTo(subjects[j].stringValue()) > 0; --j) {
+                swap(j - 1, j);
+            }
+        }
+    }
+
+    private void swap(int left, int right) {
+        final Resource subject = subjects[left];
+        subjects[left] = subjects[right];
+        subjects[right] = subject;
+        final IRI predicate = predicates[left];
+        predicates[left] = predicates[right];
+        predicates[right] = predicate;
+        final Value object = objects[left];
+        objects[left] = objects[right];
+        objects[right] = object;
+        final IRI statementGraph = graphs[left];
+        graphs[left] = graphs[right];
+        graphs[right] = statementGraph;
+    }
+
+}
@@ -1,7 +1,10 @@
 package com.linkedpipes.etl.dataunit.sesame;
 
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
 import com.linkedpipes.etl.executor.api.v1.RdfException;
 import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.dataunit.MeasurableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.dataunit.PartitionableDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
 import org.openrdf.IsolationLevels;
 import org.openrdf.OpenRDFException;
@@ -13,6 +16,7 @@ import org.openrdf.model.impl.SimpleValueFactory;
 import org.openrdf.query.*;
 import org.openrdf.query.impl.SimpleDataset;
 import org.openrdf.repository.Repository;
+import org.openrdf.repository.RepositoryConnection;
 import org.openrdf.repository.RepositoryException;
 import org.openrdf.repository.util.AbstractRDFInserter;
 import org.openrdf.rio.RDFFormat;
@@ -27,12 +31,19 @@ import java.util.*;
 
 /**
  * Utilize one graph (so called "metadata graph") to store references to
- * other graphs, where the data are located.
+ * other graphs, where the data are located. The list of graphs is also
+ * kept in memory, so it is not queried.
+ *
+ * Statistics of the graphs are kept until the content is changed, they are
+ * passed from a single source data unit and saved with the data. Only
+ * statistics computed after the last component using the data unit
+ * finished are passed or saved.
  *
  * @author Škoda Petr
  */
 public final class GraphListDataUnitImpl extends SesameDataUnitImpl
-        implements ManageableGraphListDataUnit {
+        implements ManageableGraphListDataUnit, PartitionableDataUnit,
+        MeasurableDataUnit {
 
     public static final String HAS_GRAPH
             = "http://linkedpipes.com/ontology/dataUnit/sesame/1.0/graph";
@@ -40,6 +51,8 @@ public final class GraphListDataUnitImpl extends SesameDataUnitImpl
     private static final Logger LOG
             = LoggerFactory.getLogger(GraphListDataUnitImpl.class);
 
+    private static final String STATISTICS_FILE = "statistics.properties";
+
     /**
      * IRI of metadata graph.
      */
@@ -52,6 +65,22 @@ public final class GraphListDataUnitImpl extends SesameDataUnitImpl
      */
     private int graphCounter = 0;
 
+    /**
+     * Graphs referenced from the metadata graph.
+     */
+    private final List<IRI> dataGraphs = new ArrayList<>();
+
+    /**
+     * True for a partition, its graphs are removed when it is closed.
+     */
+    private boolean temporary = false;
+
+    /**
+     * Data graphs created by this data unit, that are not owned by other
+     * data unit. Used only for a partition.
+     */
+    private final List<IRI> ownedGraphs = new ArrayList<>();
+
     public GraphListDataUnitImpl(IRI metadataGraphIri, Repository repository,
             RdfDataUnitConfiguration configuration) {
         super(repository, configuration);
@@ -70,7 +99,7 @@ public final class GraphListDataUnitImpl extends SesameDataUnitImpl
     }
 
     protected void addGraph(IRI graphUri) throws LpException {
-        execute((connection) -> {
+        ActionExecutor.execute(repository, (connection) -> {
             try {
                 connection.add(factory.createStatement(metadataGraphIri,
                         factory.createIRI(HAS_GRAPH), graphUri),
@@ -79,34 +108,32 @@ public final class GraphListDataUnitImpl extends SesameDataUnitImpl
                 throw ExceptionFactory.failure("Can't add graph record.", ex);
             }
         });
+        synchronized (dataGraphs) {
+            dataGraphs.add(graphUri);
+        }
     }
 
     @Override
     public IRI createGraph() throws LpException {
         final IRI graphUri = createGraphIRI();
         addGraph(graphUri);
+        synchronized (dataGraphs) {
+            ownedGraphs.add(graphUri);
+        }
         return graphUri;
     }
 
+    @Override
+    public BulkInserter createBulkInserter() {
+        return new BulkInserterImpl(repository, null, true,
+                this::invalidateStatistics);
+    }
+
     @Override
     public Collection<IRI> getGraphs() throws LpException {
-        return execute((connection) -> {
-            try {
-                final TupleQueryResult result = connection.prepareTupleQuery(
-                        QueryLanguage.SPARQL,
-                        getQueryGraphs(metadataGraphIri.stringValue()))
-                        .evaluate();
-                final List<IRI> graphList = new LinkedList<>();
-                while (result.hasNext()) {
-                    final BindingSet binding = result.next();
-                    graphList.add((IRI) binding.getBinding("graph").getValue());
-                }
-                return graphList;
-            } catch (RepositoryException | MalformedQueryException |
-                    QueryEvaluationException ex) {
-                throw ExceptionFactory.failure("Can't list graphs.", ex);
-            }
-        });
+        synchronized (dataGraphs) {
+            return new ArrayList<>(dataGraphs);
+        }
     }
 
     @Override
@@ -154,6 +181,8 @@ public final class GraphListDataUnitImpl extends SesameDataUnitImpl
         for (IRI graphIRI : graphs.values()) {
             addGraph(graphIRI);
         }
+        setFinalStatistics(GraphStatisticsImpl.load(
+                new File(directory, STATISTICS_FILE)));
         LOG.debug("initialize: done");
     }
 
@@ -173,6 +202,19 @@ public final class GraphListDataUnitImpl extends SesameDataUnitImpl
                         sourceUri, dataunit.getClass().getSimpleName());
             }
         }
+        // The graphs are shared with a single source.
+        if (sources.size() == 1) {
+            final GraphListDataUnitImpl source = (GraphListDataUnitImpl)
+                    dataUnits.get(sources.iterator().next());
+            final GraphStatisticsImpl sourceStatistics
+                    = source.getFinalStatistics();
+            // Statistics computed before the producer finished can be stale.
+            if (sourceStatistics != null) {
+                setFinalStatistics(sourceStatistics);
+            }
+        } else {
+            invalidateStatistics();
+        }
         initialized = true;
     }
 
@@ -180,7 +222,7 @@ public final class GraphListDataUnitImpl extends SesameDataUnitImpl
     public List<File> save(File directory) throws LpException {
         final File dataFile = new File(directory, "data.trig");
         final Collection<IRI> graphs = getGraphs();
-        execute((connection) -> {
+        ActionExecutor.execute(repository, (connection) -> {
             try (FileOutputStream outputStream
                          = new FileOutputStream(dataFile)) {
                 final RDFWriter writer
@@ -191,19 +233,40 @@ public final class GraphListDataUnitImpl extends SesameDataUnitImpl
                         "Can't write data to file.", ex);
             }
         });
+        final GraphStatisticsImpl statistics = getFinalStatistics();
+        if (statistics != null) {
+            statistics.save(new File(directory, STATISTICS_FILE));
+        }
         return Arrays.asList(directory);
     }
 
+    /**
+     * A partition removes its metadata graph and the data graphs it
+     * created, unless they were merged. Data graphs shared by
+     * {@link #split(int)} belong to the split data unit.
+     */
     @Override
     public void close() throws LpException {
-        // No operation here.
+        if (!temporary) {
+            return;
+        }
+        final List<IRI> graphs;
+        synchronized (dataGraphs) {
+            graphs = new ArrayList<>(ownedGraphs);
+            ownedGraphs.clear();
+            dataGraphs.clear();
+        }
+        graphs.add(metadataGraphIri);
+        ActionExecutor.execute(repository, (connection) -> {
+            connection.clear(graphs.toArray(new IRI[0]));
+        });
     }
 
     @Override
     public List<Map<String, String>> executeSelect(String query)
             throws RdfException {
         try {
-            return execute((connection) -> {
+            return ActionExecutor.execute(repository, (connection) -> {
                 List<Map<String, String>> output = new LinkedList<>();
                 final TupleQuery tupleQuery = connection.prepareTupleQuery(
                         QueryLanguage.SPARQL, query);
@@ -229,8 +292,78 @@ public final class GraphListDataUnitImpl extends SesameDataUnitImpl
         }
     }
 
-    public long size() throws LpException {
-        return getGraphs().size();
+    public long size() {
+        synchronized (dataGraphs) {
+            return dataGraphs.size();
+        }
+    }
+
+    @Override
+    public Map<String, Long> getContentSize() throws LpException {
+        final Map<String, Long> result = new HashMap<>();
+        result.put("graphs", size());
+        result.put("triples", getStatistics().getTriples());
+        return result;
+    }
+
+    @Override
+    protected GraphStatisticsImpl computeStatistics(
+            RepositoryConnection connection) throws LpException {
+        return GraphStatisticsImpl.compute(connection, getGraphs());
+    }
+
+    /**
+     * Graphs are assigned to partitions in a round robin fashion. The
+     * partitions share the data graphs with this data unit.
+     *
+     * @param count
+     * @return
+     */
+    @Override
+    public List<ManageableDataUnit> split(int count) throws LpException {
+        final List<ManageableDataUnit> result = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            result.add(createPartition(i));
+        }
+        int index = 0;
+        for (IRI graph : getGraphs()) {
+            ((GraphListDataUnitImpl) result.get(index)).addGraph(graph);
+            index = (index + 1) % count;
+        }
+        return result;
+    }
+
+    @Override
+    public ManageableDataUnit createPartition(int index) throws LpException {
+        final IRI partitionGraph = factory.createIRI(
+                metadataGraphIri.stringValue() + "/partition/" + index);
+        final GraphListDataUnitImpl result = new GraphListDataUnitImpl(
+                partitionGraph, repository,
+                new RdfDataUnitConfiguration(getResourceIri(), getBinding()));
+        result.initialize(Collections.EMPTY_MAP);
+        result.temporary = true;
+        return result;
+    }
+
+    @Override
+    public void merge(List<ManageableDataUnit> partitions)
+            throws LpException {
+        for (ManageableDataUnit partition : partitions) {
+            if (partition instanceof GraphListDataUnitImpl) {
+                final GraphListDataUnitImpl source
+                        = (GraphListDataUnitImpl) partition;
+                merge(source);
+                // The data graphs are owned by this data unit now.
+                synchronized (source.dataGraphs) {
+                    source.ownedGraphs.clear();
+                }
+            } else {
+                throw ExceptionFactory.failure(
+                        "Can't merge with partition of {}",
+                        partition.getClass().getSimpleName());
+            }
+        }
+        invalidateStatistics();
     }
 
     private IRI createGraphIRI() {
@@ -238,10 +371,4 @@ public final class GraphListDataUnitImpl extends SesameDataUnitImpl
                 + "/dataGraph/" + Integer.toString(++graphCounter));
     }
 
-    private static String getQueryGraphs(String iri) {
-        return "SELECT ?graph WHERE { <" + iri + "> "
-                + "<" + HAS_GRAPH + "> "
-                + "?graph . }";
-    }
-
 }
@@ -0,0 +1,180 @@
+package com.linkedpipes.etl.dataunit.sesame;
+
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.GraphStatistics;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Literal;
+import org.openrdf.model.Statement;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.query.QueryLanguage;
+import org.openrdf.query.TupleQuery;
+import org.openrdf.query.TupleQueryResult;
+import org.openrdf.query.impl.SimpleDataset;
+import org.openrdf.repository.RepositoryConnection;
+import org.openrdf.repository.RepositoryResult;
+
+/**
+ * Triples and predicates are computed by a single scan of each graph.
+ * The distinct subjects are counted by a query over the union of the
+ * graphs evaluated by the store, so a subject used in more graphs
+ * is counted once and the subjects are not collected here.
+ *
+ * The statistics are stored as a properties file.
+ *
+ * @author Petr Škoda
+ */
+final class GraphStatisticsImpl implements GraphStatistics {
+
+    private static final String TRIPLES = "triples";
+
+    private static final String SUBJECTS = "subjects";
+
+    private static final String PREDICATE_PREFIX = "predicate.";
+
+    private static final String SUBJECTS_QUERY
+            = "SELECT (COUNT(DISTINCT ?s) AS ?count) WHERE { ?s ?p ?o }";
+
+    private final long triples;
+
+    private final long subjects;
+
+    private final Map<IRI, Long> predicates;
+
+    private GraphStatisticsImpl(long triples, long subjects,
+            Map<IRI, Long> predicates) {
+        this.triples = triples;
+        this.subjects = subjects;
+        this.predicates = Collections.unmodifiableMap(predicates);
+    }
+
+    @Override
+    public long getTriples() {
+        return triples;
+    }
+
+    @Override
+    public long getSubjects() {
+        return subjects;
+    }
+
+    @Override
+    public long getPredicates() {
+        return predicates.size();
+    }
+
+    @Override
+    public Map<IRI, Long> getPredicateHistogram() {
+        return predicates;
+    }
+
+    public void save(File file) throws LpException {
+        final Properties properties = new Properties();
+        properties.setProperty(TRIPLES, Long.toString(triples));
+        properties.setProperty(SUBJECTS, Long.toString(subjects));
+        for (Map.Entry<IRI, Long> entry : predicates.entrySet()) {
+            properties.setProperty(
+                    PREDICATE_PREFIX + entry.getKey().stringValue(),
+                    Long.toString(entry.getValue()));
+        }
+        try (final OutputStream stream = new FileOutputStream(file)) {
+            properties.store(stream, null);
+        } catch (IOException ex) {
+            throw ExceptionFactory.failure("Can't write statistics.", ex);
+        }
+    }
+
+    /**
+     * @param file
+     * @return Null if the file does not exist.
+     */
+    public static GraphStatisticsImpl load(File file) throws LpException {
+        if (!file.exists()) {
+            return null;
+        }
+        final Properties properties = new Properties();
+        try (final InputStream stream = new FileInputStream(file)) {
+            properties.load(stream);
+        } catch (IOException ex) {
+            throw ExceptionFactory.failure("Can't read statistics.", ex);
+        }
+        final ValueFactory valueFactory = SimpleValueFactory.getInstance();
+        final Map<IRI, Long> predicates = new HashMap<>();
+        try {
+            for (String key : properties.stringPropertyNames()) {
+                if (key.startsWith(PREDICATE_PREFIX)) {
+                    predicates.put(valueFactory.createIRI(
+                            key.substring(PREDICATE_PREFIX.length())),
+                            Long.parseLong(properties.getProperty(key)));
+                }
+            }
+            return new GraphStatisticsImpl(
+                    Long.parseLong(properties.getProperty(TRIPLES)),
+                    Long.parseLong(properties.getProperty(SUBJECTS)),
+                    predicates);
+        } catch (RuntimeException ex) {
+            throw ExceptionFactory.failure("Invalid statistics file: {}",
+                    file, ex);
+        }
+    }
+
+    /**
+     * @param connection
+     * @param graphs
+     * @return Statistics of the union of given graphs.
+     */
+    public static GraphStatisticsImpl compute(RepositoryConnection connection,
+            Collection<IRI> graphs) {
+        long triples = 0;
+        final Map<IRI, Long> predicates = new HashMap<>();
+        for (IRI graph : graphs) {
+            final RepositoryResult<Statement> statements
+                    = connection.getStatements(null, null, null, true, graph);
+            try {
+                while (statements.hasNext()) {
+                    final Statement statement = statements.next();
+                    ++triples;
+                    predicates.merge(statement.getPredicate(), 1l, Long::sum);
+                }
+            } finally {
+                statements.close();
+            }
+        }
+        final long subjects;
+        if (triples == 0) {
+            subjects = 0;
+        } else {
+            subjects = countSubjects(connection, graphs);
+        }
+        return new GraphStatisticsImpl(triples, subjects, predicates);
+    }
+
+    private static long countSubjects(RepositoryConnection connection,
+            Collection<IRI> graphs) {
+        final TupleQuery query = connection.prepareTupleQuery(
+                QueryLanguage.SPARQL, SUBJECTS_QUERY);
+        final SimpleDataset dataset = new SimpleDataset();
+        for (IRI graph : graphs) {
+            dataset.addDefaultGraph(graph);
+        }
+        query.setDataset(dataset);
+        final TupleQueryResult result = query.evaluate();
+        try {
+            return ((Literal) result.next().getValue("count")).longValue();
+        } finally {
+            result.close();
+        }
+    }
+
+}
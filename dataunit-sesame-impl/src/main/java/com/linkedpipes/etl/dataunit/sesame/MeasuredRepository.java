@@ -0,0 +1,46 @@
+package com.linkedpipes.etl.dataunit.sesame;
+
+import com.linkedpipes.etl.executor.api.v1.metrics.Histogram;
+import com.linkedpipes.etl.executor.api.v1.metrics.MetricsRegistry;
+import org.openrdf.repository.Repository;
+import org.openrdf.repository.RepositoryConnection;
+import org.openrdf.repository.RepositoryException;
+import org.openrdf.repository.base.RepositoryConnectionWrapper;
+import org.openrdf.repository.base.RepositoryWrapper;
+
+/**
+ * Wrap a repository and report latency of commits.
+ *
+ * @author Petr Škoda
+ */
+class MeasuredRepository extends RepositoryWrapper {
+
+    private static final Histogram COMMIT_DURATION =
+            MetricsRegistry.getDefault().histogram(
+                    "lp_executor_repository_commit_seconds",
+                    "Latency of commits into the shared repository.",
+                    MetricsRegistry.TIME_BUCKETS);
+
+    MeasuredRepository(Repository delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public RepositoryConnection getConnection() throws RepositoryException {
+        return new RepositoryConnectionWrapper(this,
+                getDelegate().getConnection()) {
+
+            @Override
+            public void commit() throws RepositoryException {
+                final long start = System.currentTimeMillis();
+                try {
+                    super.commit();
+                } finally {
+                    COMMIT_DURATION.observeSince(start);
+                }
+            }
+
+        };
+    }
+
+}
@@ -1,9 +1,11 @@
 package com.linkedpipes.etl.dataunit.sesame;
 
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.GraphStatistics;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.SesameDataUnit;
 import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
 import org.openrdf.repository.Repository;
+import org.openrdf.repository.RepositoryConnection;
 
 import java.util.Collection;
 
@@ -35,6 +37,24 @@ abstract class SesameDataUnitImpl implements SesameDataUnit,
      */
     protected final Collection<String> sources;
 
+    /**
+     * Statistics of the content, null if not available.
+     */
+    private GraphStatisticsImpl statistics = null;
+
+    /**
+     * Incremented with every change of the content, so statistics
+     * computed during a change are not kept.
+     */
+    private long contentVersion = 0;
+
+    /**
+     * True if the last component using this data unit finished. Only
+     * statistics computed after that describe the final content and can
+     * be saved or passed to other data units.
+     */
+    private boolean contentFinished = false;
+
     protected SesameDataUnitImpl(Repository repository,
             RdfDataUnitConfiguration configuration) {
         this.id = configuration.getBinding();
@@ -58,19 +78,36 @@ abstract class SesameDataUnitImpl implements SesameDataUnit,
         return initialized;
     }
 
+    /**
+     * Actions executed by the component can change the content.
+     *
+     * @param action
+     */
     @Override
     public void execute(RepositoryProcedure action) throws LpException {
-        ActionExecutor.execute(repository, action);
+        try {
+            ActionExecutor.execute(repository, action);
+        } finally {
+            invalidateStatistics();
+        }
     }
 
     @Override
     public <T> T execute(RepositoryFunction<T> action) throws LpException {
-        return ActionExecutor.execute(repository, action);
+        try {
+            return ActionExecutor.execute(repository, action);
+        } finally {
+            invalidateStatistics();
+        }
     }
 
     @Override
     public void execute(Procedure action) throws LpException {
-        ActionExecutor.execute(action);
+        try {
+            ActionExecutor.execute(action);
+        } finally {
+            invalidateStatistics();
+        }
     }
 
     @Override
@@ -78,4 +115,73 @@ abstract class SesameDataUnitImpl implements SesameDataUnit,
         return repository;
     }
 
+    public GraphStatistics getStatistics() throws LpException {
+        final long version;
+        synchronized (this) {
+            if (statistics != null) {
+                return statistics;
+            }
+            version = contentVersion;
+        }
+        final GraphStatisticsImpl result = ActionExecutor.execute(
+                repository, (connection) -> {
+                    return computeStatistics(connection);
+                });
+        synchronized (this) {
+            if (version == contentVersion) {
+                statistics = result;
+            }
+        }
+        return result;
+    }
+
+    public synchronized GraphStatistics getAvailableStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Called when the content of the data unit may have changed.
+     */
+    protected synchronized void invalidateStatistics() {
+        ++contentVersion;
+        statistics = null;
+    }
+
+    /**
+     * The component can change the content also through
+     * {@link #getRepository()} or through the repository of other data unit,
+     * so the cached statistics are always dropped.
+     */
+    public synchronized void onComponentEnd() {
+        invalidateStatistics();
+        contentFinished = true;
+    }
+
+    /**
+     * @return Null if there are no statistics computed after the last
+     * component using this data unit finished.
+     */
+    protected synchronized GraphStatisticsImpl getFinalStatistics() {
+        if (contentFinished) {
+            return statistics;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Set statistics of final content, ie. when the content is loaded
+     * or copied from a finished data unit.
+     *
+     * @param statistics Can be null.
+     */
+    protected synchronized void setFinalStatistics(
+            GraphStatisticsImpl statistics) {
+        this.statistics = statistics;
+        contentFinished = true;
+    }
+
+    protected abstract GraphStatisticsImpl computeStatistics(
+            RepositoryConnection connection) throws LpException;
+
 }
@@ -129,8 +129,8 @@ public class SesamePlugin implements DataUnitFactory, Plugin.PipelineListener {
         }
         configuration = newConfiguration;
         // Create shared repository.
-        sharedRepository = new SailRepository(
-                new NativeStore(configuration.getRepositoryDirectory()));
+        sharedRepository = new MeasuredRepository(new SailRepository(
+                new NativeStore(configuration.getRepositoryDirectory())));
         try {
             sharedRepository.initialize();
         } catch (RepositoryException ex) {
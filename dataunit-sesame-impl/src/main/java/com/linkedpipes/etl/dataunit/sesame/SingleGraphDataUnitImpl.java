@@ -1,13 +1,18 @@
 package com.linkedpipes.etl.dataunit.sesame;
 
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
 import com.linkedpipes.etl.executor.api.v1.RdfException;
 import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.dataunit.MeasurableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.dataunit.PartitionableDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
 import org.openrdf.IsolationLevels;
 import org.openrdf.model.IRI;
+import org.openrdf.model.impl.SimpleValueFactory;
 import org.openrdf.query.*;
 import org.openrdf.query.impl.SimpleDataset;
 import org.openrdf.repository.Repository;
+import org.openrdf.repository.RepositoryConnection;
 import org.openrdf.repository.util.RDFInserter;
 import org.openrdf.rio.RDFFormat;
 import org.openrdf.rio.RDFParser;
@@ -22,14 +27,22 @@ import java.util.*;
 /**
  * Store all triples in a single graph.
  *
+ * Statistics of the graph are kept until the content is changed, they are
+ * passed from a single source data unit and saved with the data. Only
+ * statistics computed after the last component using the data unit
+ * finished are passed or saved.
+ *
  * @author Škoda Petr
  */
 public class SingleGraphDataUnitImpl extends SesameDataUnitImpl
-        implements ManageableSingleGraphDataUnit {
+        implements ManageableSingleGraphDataUnit, PartitionableDataUnit,
+        MeasurableDataUnit {
 
     private final static String QUERY_COPY
             = "INSERT {?s ?p ?o} WHERE {?s ?p ?o}";
 
+    private static final String STATISTICS_FILE = "statistics.properties";
+
     private static final Logger LOG
             = LoggerFactory.getLogger(SingleGraphDataUnitImpl.class);
 
@@ -38,6 +51,11 @@ public class SingleGraphDataUnitImpl extends SesameDataUnitImpl
      */
     private IRI graph = null;
 
+    /**
+     * True for a partition, its graph is removed when it is closed.
+     */
+    private boolean temporary = false;
+
     public SingleGraphDataUnitImpl(IRI graphIri, Repository repository,
             RdfDataUnitConfiguration configuration) {
         super(repository, configuration);
@@ -66,6 +84,12 @@ public class SingleGraphDataUnitImpl extends SesameDataUnitImpl
         return graph;
     }
 
+    @Override
+    public BulkInserter createBulkInserter() {
+        return new BulkInserterImpl(repository, graph, false,
+                this::invalidateStatistics);
+    }
+
     @Override
     public void initialize(File directory) throws LpException {
         final File dataFile = new File(directory, "data.ttl");
@@ -91,6 +115,8 @@ public class SingleGraphDataUnitImpl extends SesameDataUnitImpl
             throw ExceptionFactory
                     .initializationFailed("Can't initialize.", ex);
         }
+        setFinalStatistics(GraphStatisticsImpl.load(
+                new File(directory, STATISTICS_FILE)));
         LOG.debug("initialize: done");
     }
 
@@ -111,13 +137,24 @@ public class SingleGraphDataUnitImpl extends SesameDataUnitImpl
                         sourceUri, dataunit.getClass().getSimpleName());
             }
         }
+        // The graph is a copy of a single source.
+        if (sources.size() == 1) {
+            final SingleGraphDataUnitImpl source = (SingleGraphDataUnitImpl)
+                    dataUnits.get(sources.iterator().next());
+            final GraphStatisticsImpl sourceStatistics
+                    = source.getFinalStatistics();
+            // Statistics computed before the producer finished can be stale.
+            if (sourceStatistics != null) {
+                setFinalStatistics(sourceStatistics);
+            }
+        }
         initialized = true;
     }
 
     @Override
     public List<File> save(File directory) throws LpException {
         final File dataFile = new File(directory, "data.ttl");
-        execute((connection) -> {
+        ActionExecutor.execute(repository, (connection) -> {
             try (FileOutputStream outputStream
                          = new FileOutputStream(dataFile)) {
                 final RDFWriter writer
@@ -128,19 +165,31 @@ public class SingleGraphDataUnitImpl extends SesameDataUnitImpl
                 throw ExceptionFactory.failure("Can't write data to file.", ex);
             }
         });
+        final GraphStatisticsImpl statistics = getFinalStatistics();
+        if (statistics != null) {
+            statistics.save(new File(directory, STATISTICS_FILE));
+        }
         return Arrays.asList(directory);
     }
 
+    /**
+     * A partition removes its graph, so nothing is left in the repository
+     * also when the partitions are not merged.
+     */
     @Override
     public void close() throws LpException {
-        // No operation here.
+        if (temporary) {
+            execute((connection) -> {
+                connection.clear(graph);
+            });
+        }
     }
 
     @Override
     public List<Map<String, String>> executeSelect(String query)
             throws RdfException {
         try {
-            return execute((connection) -> {
+            return ActionExecutor.execute(repository, (connection) -> {
                 List<Map<String, String>> output = new LinkedList<>();
                 final TupleQuery tupleQuery = connection.prepareTupleQuery(
                         QueryLanguage.SPARQL, query);
@@ -172,4 +221,60 @@ public class SingleGraphDataUnitImpl extends SesameDataUnitImpl
         return initialized;
     }
 
+    @Override
+    public Map<String, Long> getContentSize() throws LpException {
+        final Map<String, Long> result = new HashMap<>();
+        result.put("triples", getStatistics().getTriples());
+        return result;
+    }
+
+    @Override
+    protected GraphStatisticsImpl computeStatistics(
+            RepositoryConnection connection) {
+        return GraphStatisticsImpl.compute(connection,
+                Collections.singletonList(graph));
+    }
+
+    /**
+     * Content of a single graph is not split.
+     *
+     * @param count
+     * @return
+     */
+    @Override
+    public List<ManageableDataUnit> split(int count) {
+        return null;
+    }
+
+    @Override
+    public ManageableDataUnit createPartition(int index) throws LpException {
+        final IRI partitionGraph = SimpleValueFactory.getInstance().createIRI(
+                graph.stringValue() + "/partition/" + index);
+        final SingleGraphDataUnitImpl result = new SingleGraphDataUnitImpl(
+                partitionGraph, repository,
+                new RdfDataUnitConfiguration(getResourceIri(), getBinding()));
+        result.initialize(Collections.EMPTY_MAP);
+        result.temporary = true;
+        return result;
+    }
+
+    @Override
+    public void merge(List<ManageableDataUnit> partitions)
+            throws LpException {
+        for (ManageableDataUnit partition : partitions) {
+            if (!(partition instanceof SingleGraphDataUnitImpl)) {
+                throw ExceptionFactory.failure(
+                        "Can't merge with partition of {}",
+                        partition.getClass().getSimpleName());
+            }
+            final SingleGraphDataUnitImpl source =
+                    (SingleGraphDataUnitImpl) partition;
+            merge(source);
+            // Data are copied, so we can drop the partition graph.
+            execute((connection) -> {
+                connection.clear(source.graph);
+            });
+        }
+    }
+
 }
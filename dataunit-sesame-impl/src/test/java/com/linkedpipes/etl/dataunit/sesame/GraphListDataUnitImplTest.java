@@ -0,0 +1,163 @@
+package com.linkedpipes.etl.dataunit.sesame;
+
+import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Statement;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.repository.Repository;
+import org.openrdf.repository.RepositoryConnection;
+import org.openrdf.repository.RepositoryResult;
+import org.openrdf.repository.sail.SailRepository;
+import org.openrdf.sail.memory.MemoryStore;
+
+/**
+ *
+ * @author Petr Škoda
+ */
+public class GraphListDataUnitImplTest {
+
+    private static final ValueFactory VF = SimpleValueFactory.getInstance();
+
+    private static final IRI VALUE = VF.createIRI("http://localhost/value");
+
+    private Repository repository;
+
+    @Before
+    public void initialize() {
+        repository = new SailRepository(new MemoryStore());
+        repository.initialize();
+    }
+
+    @After
+    public void shutDown() {
+        repository.shutDown();
+    }
+
+    @Test
+    public void splitWriteMerge() throws LpException {
+        final GraphListDataUnitImpl input = createDataUnit("input");
+        for (int i = 0; i < 3; ++i) {
+            final IRI graph = input.createGraph();
+            add(graph, i);
+        }
+        // Graphs are shared with the partitions.
+        final List<ManageableDataUnit> parts = input.split(2);
+        Assert.assertEquals(2, parts.size());
+        Assert.assertEquals(2, ((GraphListDataUnitImpl) parts.get(0)).size());
+        Assert.assertEquals(1, ((GraphListDataUnitImpl) parts.get(1)).size());
+        final Set<IRI> graphs = new HashSet<>();
+        for (ManageableDataUnit part : parts) {
+            graphs.addAll(((GraphListDataUnitImpl) part).getGraphs());
+        }
+        Assert.assertEquals(new HashSet<>(input.getGraphs()), graphs);
+        // Each output partition copy its input graphs into a new one.
+        final GraphListDataUnitImpl output = createDataUnit("output");
+        final List<ManageableDataUnit> outputs = new ArrayList<>();
+        for (int i = 0; i < parts.size(); ++i) {
+            final GraphListDataUnitImpl partition
+                    = (GraphListDataUnitImpl) output.createPartition(i);
+            for (IRI graph : ((GraphListDataUnitImpl) parts.get(i))
+                    .getGraphs()) {
+                copy(graph, partition.createGraph());
+            }
+            outputs.add(partition);
+        }
+        Assert.assertEquals(0, output.size());
+        output.merge(outputs);
+        Assert.assertEquals(3, output.size());
+        Assert.assertEquals(3, output.getStatistics().getTriples());
+    }
+
+    @Test
+    public void closePartitions() throws LpException {
+        final GraphListDataUnitImpl input = createDataUnit("input");
+        add(input.createGraph(), 0);
+        add(input.createGraph(), 1);
+        final long inputSize = size();
+        final List<ManageableDataUnit> parts = input.split(2);
+        final GraphListDataUnitImpl output = createDataUnit("output");
+        final GraphListDataUnitImpl merged
+                = (GraphListDataUnitImpl) output.createPartition(0);
+        add(merged.createGraph(), 2);
+        final GraphListDataUnitImpl failed
+                = (GraphListDataUnitImpl) output.createPartition(1);
+        add(failed.createGraph(), 3);
+        output.merge(Collections.singletonList(merged));
+        for (ManageableDataUnit part : parts) {
+            part.close();
+        }
+        merged.close();
+        failed.close();
+        // Input and the merged graph with its record are left.
+        Assert.assertEquals(inputSize + 2, size());
+        Assert.assertEquals(1, output.size());
+        Assert.assertEquals(2, input.size());
+    }
+
+    @Test
+    public void subjectsCountedOnce() throws LpException {
+        final GraphListDataUnitImpl dataUnit = createDataUnit("input");
+        final IRI subject = VF.createIRI("http://localhost/subject");
+        final IRI first = dataUnit.createGraph();
+        final IRI second = dataUnit.createGraph();
+        try (RepositoryConnection connection = repository.getConnection()) {
+            connection.add(subject, VALUE, VF.createLiteral(1), first);
+            connection.add(first, VALUE, VF.createLiteral(2), first);
+            connection.add(subject, VALUE, VF.createLiteral(3), first);
+            connection.add(subject, VALUE, VF.createLiteral(1), second);
+        }
+        dataUnit.onComponentEnd();
+        Assert.assertEquals(4, dataUnit.getStatistics().getTriples());
+        Assert.assertEquals(2, dataUnit.getStatistics().getSubjects());
+        Assert.assertEquals(1, dataUnit.getStatistics().getPredicates());
+        Assert.assertEquals(Long.valueOf(4), dataUnit.getStatistics()
+                .getPredicateHistogram().get(VALUE));
+    }
+
+    private GraphListDataUnitImpl createDataUnit(String name)
+            throws LpException {
+        final GraphListDataUnitImpl dataUnit = new GraphListDataUnitImpl(
+                VF.createIRI("http://localhost/" + name), repository,
+                new RdfDataUnitConfiguration("http://localhost/" + name,
+                        name));
+        dataUnit.initialize(Collections.EMPTY_MAP);
+        return dataUnit;
+    }
+
+    private long size() {
+        try (RepositoryConnection connection = repository.getConnection()) {
+            return connection.size();
+        }
+    }
+
+    private void add(IRI graph, int value) {
+        try (RepositoryConnection connection = repository.getConnection()) {
+            connection.add(graph, VALUE, VF.createLiteral(value), graph);
+        }
+    }
+
+    private void copy(IRI source, IRI target) {
+        try (RepositoryConnection connection = repository.getConnection()) {
+            final List<Statement> statements = new ArrayList<>();
+            final RepositoryResult<Statement> result
+                    = connection.getStatements(null, null, null, true, source);
+            while (result.hasNext()) {
+                statements.add(result.next());
+            }
+            result.close();
+            connection.add(statements, target);
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.linkedpipes.etl.dataunit.sesame;
+
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.GraphStatistics;
+import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openrdf.model.IRI;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.repository.Repository;
+import org.openrdf.repository.RepositoryConnection;
+import org.openrdf.repository.sail.SailRepository;
+import org.openrdf.sail.memory.MemoryStore;
+
+/**
+ *
+ * @author Petr Škoda
+ */
+public class SingleGraphDataUnitImplTest {
+
+    private static final ValueFactory VF = SimpleValueFactory.getInstance();
+
+    private static final IRI VALUE = VF.createIRI("http://localhost/value");
+
+    private Repository repository;
+
+    @Before
+    public void initialize() {
+        repository = new SailRepository(new MemoryStore());
+        repository.initialize();
+    }
+
+    @After
+    public void shutDown() {
+        repository.shutDown();
+    }
+
+    @Test
+    public void writeMergePartitions() throws LpException {
+        final SingleGraphDataUnitImpl output = createDataUnit("output");
+        Assert.assertNull(output.split(2));
+        final List<ManageableDataUnit> partitions = new ArrayList<>();
+        for (int i = 0; i < 2; ++i) {
+            final SingleGraphDataUnitImpl partition
+                    = (SingleGraphDataUnitImpl) output.createPartition(i);
+            Assert.assertNotEquals(output.getGraph(), partition.getGraph());
+            try (BulkInserter inserter = partition.createBulkInserter()) {
+                inserter.add(VF.createIRI("http://localhost/" + i), VALUE,
+                        VF.createLiteral(i));
+            }
+            partitions.add(partition);
+        }
+        Assert.assertEquals(0, size(output.getGraph()));
+        output.merge(partitions);
+        Assert.assertEquals(2, size(output.getGraph()));
+        Assert.assertEquals(2, output.getStatistics().getTriples());
+        // Partition graphs are removed.
+        for (ManageableDataUnit partition : partitions) {
+            Assert.assertEquals(0, size(
+                    ((SingleGraphDataUnitImpl) partition).getGraph()));
+        }
+    }
+
+    @Test
+    public void closePartitions() throws LpException {
+        final SingleGraphDataUnitImpl output = createDataUnit("output");
+        final SingleGraphDataUnitImpl partition
+                = (SingleGraphDataUnitImpl) output.createPartition(0);
+        add(partition.getGraph());
+        // Not merged, ie. the component failed.
+        partition.close();
+        Assert.assertEquals(0, size(partition.getGraph()));
+    }
+
+    @Test
+    public void statisticsDroppedAtComponentEnd() throws LpException {
+        final SingleGraphDataUnitImpl output = createDataUnit("output");
+        // Measured at the start of the component.
+        Assert.assertEquals(0, output.getStatistics().getTriples());
+        add(output.getGraph());
+        output.onComponentEnd();
+        Assert.assertEquals(1, output.getStatistics().getTriples());
+    }
+
+    @Test
+    public void availableStatisticsNotComputed() throws LpException {
+        final SingleGraphDataUnitImpl output = createDataUnit("output");
+        Assert.assertNull(output.getAvailableStatistics());
+        final GraphStatistics statistics = output.getStatistics();
+        Assert.assertSame(statistics, output.getAvailableStatistics());
+        output.execute((connection) -> {
+            connection.add(VF.createIRI("http://localhost/"), VALUE,
+                    VF.createLiteral(1), output.getGraph());
+        });
+        Assert.assertNull(output.getAvailableStatistics());
+    }
+
+    @Test
+    public void copyOnlyFinalStatistics() throws LpException {
+        final SingleGraphDataUnitImpl output = createDataUnit("output");
+        Assert.assertEquals(0, output.getStatistics().getTriples());
+        add(output.getGraph());
+        // The producer has not finished, the statistics are not copied.
+        final SingleGraphDataUnitImpl first = createDataUnit("first",
+                output);
+        Assert.assertNull(first.getFinalStatistics());
+        Assert.assertEquals(1, first.getStatistics().getTriples());
+        //
+        output.onComponentEnd();
+        final GraphStatistics statistics = output.getStatistics();
+        final SingleGraphDataUnitImpl second = createDataUnit("second",
+                output);
+        Assert.assertSame(statistics, second.getFinalStatistics());
+    }
+
+    private SingleGraphDataUnitImpl createDataUnit(String name)
+            throws LpException {
+        final SingleGraphDataUnitImpl dataUnit = new SingleGraphDataUnitImpl(
+                VF.createIRI("http://localhost/" + name), repository,
+                new RdfDataUnitConfiguration("http://localhost/" + name,
+                        name));
+        dataUnit.initialize(Collections.EMPTY_MAP);
+        return dataUnit;
+    }
+
+    private SingleGraphDataUnitImpl createDataUnit(String name,
+            SingleGraphDataUnitImpl source) throws LpException {
+        final RdfDataUnitConfiguration configuration
+                = new RdfDataUnitConfiguration("http://localhost/" + name,
+                        name);
+        configuration.getSourceDataUnitIris().add(source.getResourceIri());
+        final SingleGraphDataUnitImpl dataUnit = new SingleGraphDataUnitImpl(
+                VF.createIRI("http://localhost/" + name), repository,
+                configuration);
+        final Map<String, ManageableDataUnit> dataUnits = new HashMap<>();
+        dataUnits.put(source.getResourceIri(), source);
+        dataUnit.initialize(dataUnits);
+        return dataUnit;
+    }
+
+    /**
+     * Add a statement without the data unit, as a component using
+     * the repository directly would do.
+     *
+     * @param graph
+     */
+    private void add(IRI graph) {
+        try (RepositoryConnection connection = repository.getConnection()) {
+            connection.add(VF.createIRI("http://localhost/subject"), VALUE,
+                    VF.createLiteral(1), graph);
+        }
+    }
+
+    private long size(IRI graph) {
+        try (RepositoryConnection connection = repository.getConnection()) {
+            return connection.size(graph);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.linkedpipes.etl.dataunit.sesame.api.rdf;
+
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.model.Value;
+
+/**
+ * Insert statements into a data unit in batches. A single repository
+ * connection is used for the whole load, the batches are committed without
+ * isolation and the size of the batches is adapted to the commit latency.
+ *
+ * Must be closed to insert the remaining statements. Instance is not
+ * thread safe.
+ *
+ * @author Petr Škoda
+ */
+public interface BulkInserter extends AutoCloseable {
+
+    /**
+     * Set graph used for next statements. For a single graph data unit
+     * the graph is set to the data unit graph.
+     *
+     * @param graph
+     */
+    public void setGraph(IRI graph) throws LpException;
+
+    /**
+     * @param batchSize Initial size of a batch, the size is then adapted
+     * to the commit latency.
+     */
+    public void setBatchSize(int batchSize);
+
+    /**
+     * @param sortBySubject If true statements in a batch are sorted by
+     * subject before they are inserted.
+     */
+    public void setSortBySubject(boolean sortBySubject);
+
+    public void add(Resource subject, IRI predicate, Value object)
+            throws LpException;
+
+    /**
+     * Context of the statement is ignored, the current graph is used.
+     *
+     * @param statement
+     */
+    public void add(Statement statement) throws LpException;
+
+    /**
+     * Insert all buffered statements.
+     */
+    public void flush() throws LpException;
+
+    /**
+     * Insert all buffered statements and release the connection.
+     * The inserter can be used after close, a new connection is opened.
+     * After a failed insert the buffered statements are dropped and
+     * the connection is only released.
+     */
+    @Override
+    public void close() throws LpException;
+
+}
@@ -17,4 +17,22 @@ public interface GraphListDataUnit extends SesameDataUnit {
 
     public Collection<IRI> getGraphs() throws LpException;
 
+    /**
+     * The statistics are computed by a single scan of the graphs only if
+     * they are not available, they are kept until the content changes.
+     * Changes made with {@link #getRepository()} or with other data unit
+     * are not observed till the component finishes.
+     *
+     * @return Statistics of all graphs.
+     */
+    public GraphStatistics getStatistics() throws LpException;
+
+    /**
+     * Never scan the data, should be used when the statistics are only
+     * a hint, for example to report progress.
+     *
+     * @return Statistics of all graphs, null if they are not available.
+     */
+    public GraphStatistics getAvailableStatistics();
+
 }
@@ -0,0 +1,34 @@
+package com.linkedpipes.etl.dataunit.sesame.api.rdf;
+
+import java.util.Map;
+import org.openrdf.model.IRI;
+
+/**
+ * Statistics of the content of a data unit. The statistics are kept with
+ * the data unit, so they can be used without a scan of the data.
+ *
+ * @author Petr Škoda
+ */
+public interface GraphStatistics {
+
+    /**
+     * @return Number of triples.
+     */
+    public long getTriples();
+
+    /**
+     * @return Number of distinct subjects in all graphs.
+     */
+    public long getSubjects();
+
+    /**
+     * @return Number of distinct predicates.
+     */
+    public long getPredicates();
+
+    /**
+     * @return Number of triples for each predicate.
+     */
+    public Map<IRI, Long> getPredicateHistogram();
+
+}
@@ -1,5 +1,6 @@
 package com.linkedpipes.etl.dataunit.sesame.api.rdf;
 
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
 import org.openrdf.model.IRI;
 
 
@@ -15,4 +16,22 @@ public interface SingleGraphDataUnit extends SesameDataUnit {
      */
     public IRI getGraph();
 
+    /**
+     * The statistics are computed by a single scan of the graph only if
+     * they are not available, they are kept until the content changes.
+     * Changes made with {@link #getRepository()} or with other data unit
+     * are not observed till the component finishes.
+     *
+     * @return Statistics of the graph.
+     */
+    public GraphStatistics getStatistics() throws LpException;
+
+    /**
+     * Never scan the data, should be used when the statistics are only
+     * a hint, for example to report progress.
+     *
+     * @return Statistics of the graph, null if they are not available.
+     */
+    public GraphStatistics getAvailableStatistics();
+
 }
@@ -10,4 +10,11 @@ public interface WritableGraphListDataUnit extends GraphListDataUnit {
 
     public IRI createGraph() throws LpException;
 
+    /**
+     * The graph must be set before the statements are added.
+     *
+     * @return Inserter into graphs of this data unit.
+     */
+    public BulkInserter createBulkInserter();
+
 }
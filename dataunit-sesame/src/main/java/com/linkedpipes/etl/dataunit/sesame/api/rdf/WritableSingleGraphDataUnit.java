@@ -13,4 +13,9 @@ public interface WritableSingleGraphDataUnit extends SingleGraphDataUnit {
     @Override
     public IRI getGraph();
 
+    /**
+     * @return Inserter into the graph of this data unit.
+     */
+    public BulkInserter createBulkInserter();
+
 }
@@ -4,18 +4,23 @@ import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
 import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.dataunit.MeasurableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.dataunit.PartitionableDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.*;
 
 /**
  * @author Škoda Petr
  */
-public final class FilesDataUnitImpl implements ManageableFilesDataUnit {
+public final class FilesDataUnitImpl implements ManageableFilesDataUnit,
+        PartitionableDataUnit, MeasurableDataUnit {
 
     /**
      * Implementation of files data unit entry.
@@ -196,6 +201,134 @@ public final class FilesDataUnitImpl implements ManageableFilesDataUnit {
         return Collections.unmodifiableCollection(readRootDirectories);
     }
 
+    /**
+     * Files are assigned to partitions in a round robin fashion. Each
+     * partition has own directory, a sibling of the root directory, with
+     * hard links to its files. Every read root directory has a
+     * sub-directory there, so files with the same name from different
+     * sources do not collide.
+     *
+     * @param count
+     * @return
+     */
+    @Override
+    public List<ManageableDataUnit> split(int count) throws LpException {
+        if (rootDirectory == null) {
+            throw ExceptionFactory.failure("Root directory is not set!");
+        }
+        final List<File> partitionDirectories = new ArrayList<>(count);
+        final long[] sizes = new long[count];
+        for (int i = 0; i < count; ++i) {
+            partitionDirectories.add(new File(rootDirectory.getPath()
+                    + "-split-" + i));
+        }
+        int index = 0;
+        int rootIndex = 0;
+        for (File root : readRootDirectories) {
+            if (root.exists()) {
+                final Iterator<File> files
+                        = FileUtils.iterateFiles(root, null, true);
+                while (files.hasNext()) {
+                    final File file = files.next();
+                    final File target = new File(new File(
+                            partitionDirectories.get(index),
+                            Integer.toString(rootIndex)),
+                            root.toPath().relativize(file.toPath())
+                                    .toString());
+                    createLink(file, target);
+                    ++sizes[index];
+                    index = (index + 1) % count;
+                }
+            }
+            ++rootIndex;
+        }
+        final List<ManageableDataUnit> result = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            final List<File> directories = new ArrayList<>(rootIndex);
+            for (int j = 0; j < rootIndex; ++j) {
+                final File directory = new File(partitionDirectories.get(i),
+                        Integer.toString(j));
+                if (directory.exists()) {
+                    directories.add(directory);
+                }
+            }
+            result.add(new FilesDataUnitPartition(id, resourceUri,
+                    directories, sizes[i]));
+        }
+        return result;
+    }
+
+    private static void createLink(File source, File target)
+            throws LpException {
+        target.getParentFile().mkdirs();
+        try {
+            Files.createLink(target.toPath(), source.toPath());
+            return;
+        } catch (IOException | UnsupportedOperationException ex) {
+            LOG.debug("Can't create link, file is copied: {}", target, ex);
+        }
+        try {
+            Files.copy(source.toPath(), target.toPath());
+        } catch (IOException ex) {
+            throw ExceptionFactory.failure("Can't create partition file: {}",
+                    target, ex);
+        }
+    }
+
+    /**
+     * The partition directory is a sibling of the root directory, so it is
+     * not part of the content till {@link #merge(List)} is called.
+     *
+     * @param index
+     * @return
+     */
+    @Override
+    public ManageableDataUnit createPartition(int index) throws LpException {
+        if (rootDirectory == null) {
+            throw ExceptionFactory.failure("Root directory is not set!");
+        }
+        final File directory = new File(rootDirectory.getPath()
+                + "-partition-" + index);
+        final FilesDataUnitImpl partition = new FilesDataUnitImpl(
+                new FilesDataUnitConfiguration(resourceUri, id,
+                        directory.toURI().toString()));
+        partition.initialize(Collections.EMPTY_MAP);
+        return partition;
+    }
+
+    @Override
+    public void merge(List<ManageableDataUnit> partitions)
+            throws LpException {
+        for (ManageableDataUnit partition : partitions) {
+            if (partition instanceof FilesDataUnitImpl) {
+                merge((FilesDataUnitImpl) partition);
+            } else {
+                throw ExceptionFactory.failure(
+                        "Can't merge with partition of {}",
+                        partition.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Long> getContentSize() {
+        long files = 0;
+        long bytes = 0;
+        for (FilesDataUnit.Entry item : this) {
+            ++files;
+            bytes += item.toFile().length();
+        }
+        final Map<String, Long> result = new HashMap<>();
+        result.put("files", files);
+        result.put("bytes", bytes);
+        return result;
+    }
+
+    @Override
+    public void onComponentEnd() {
+        // Size is not cached.
+    }
+
     @Override
     public long size() {
         // TODO We should use better approach here.
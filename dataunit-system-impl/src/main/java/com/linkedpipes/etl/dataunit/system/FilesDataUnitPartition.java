@@ -0,0 +1,112 @@
+package com.linkedpipes.etl.dataunit.system;
+
+import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
+import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read only view of a part of a files data unit, used as an input
+ * in a partitioned execution. The content is given by directories
+ * created by {@link FilesDataUnitImpl#split(int)}.
+ *
+ * @author Petr Škoda
+ */
+class FilesDataUnitPartition implements ManageableFilesDataUnit {
+
+    private final String binding;
+
+    private final String resourceIri;
+
+    private final List<File> directories;
+
+    private final long size;
+
+    /**
+     * @param binding
+     * @param resourceIri
+     * @param directories Directories with content of the partition.
+     * @param size Number of files in the partition.
+     */
+    FilesDataUnitPartition(String binding, String resourceIri,
+            List<File> directories, long size) {
+        this.binding = binding;
+        this.resourceIri = resourceIri;
+        this.directories = directories;
+        this.size = size;
+    }
+
+    @Override
+    public void initialize(File directory) throws LpException {
+        throw ExceptionFactory.initializationFailed(
+                "Partition can't be loaded.");
+    }
+
+    @Override
+    public void initialize(Map<String, ManageableDataUnit> dataUnits)
+            throws LpException {
+        throw ExceptionFactory.initializationFailed(
+                "Partition can't be initialized.");
+    }
+
+    @Override
+    public List<File> save(File directory) throws LpException {
+        throw ExceptionFactory.failure("Partition can't be saved.");
+    }
+
+    @Override
+    public void close() throws LpException {
+        // No operation here.
+    }
+
+    @Override
+    public String getBinding() {
+        return binding;
+    }
+
+    @Override
+    public String getResourceIri() {
+        return resourceIri;
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return true;
+    }
+
+    @Override
+    public FilesDataUnit.Entry createFile(String fileName) throws LpException {
+        throw ExceptionFactory.failure("Partition is read only.");
+    }
+
+    @Override
+    public File getRootDirectory() {
+        return null;
+    }
+
+    @Override
+    public Iterator<FilesDataUnit.Entry> iterator() {
+        final Iterator<File> directoryIterator = directories.iterator();
+        if (!directoryIterator.hasNext()) {
+            return Collections.EMPTY_LIST.iterator();
+        }
+        return new DirectoryIterator(directoryIterator);
+    }
+
+    @Override
+    public Collection<File> getReadRootDirectories() {
+        return Collections.unmodifiableCollection(directories);
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.linkedpipes.etl.dataunit.system;
+
+import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
+import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Petr Škoda
+ */
+public class FilesDataUnitImplTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void splitWriteMerge() throws LpException, IOException {
+        final FilesDataUnitImpl input = createDataUnit("input");
+        write(input, "a.txt", "a");
+        write(input, "b.txt", "b");
+        write(input, "directory/c.txt", "c");
+        // Split.
+        final List<ManageableDataUnit> parts = input.split(2);
+        Assert.assertEquals(2, parts.size());
+        final Set<String> names = new TreeSet<>();
+        long size = 0;
+        for (ManageableDataUnit part : parts) {
+            final FilesDataUnit partition = (FilesDataUnit) part;
+            size += partition.size();
+            for (FilesDataUnit.Entry entry : partition) {
+                names.add(entry.getFileName());
+                Assert.assertTrue(isInDirectories(entry.toFile(),
+                        partition.getReadRootDirectories()));
+            }
+        }
+        Assert.assertEquals(3, size);
+        Assert.assertEquals(new TreeSet<>(Arrays.asList("a.txt", "b.txt",
+                "directory" + File.separator + "c.txt")), names);
+        // Write into output partitions and merge them.
+        final FilesDataUnitImpl output = createDataUnit("output");
+        final List<ManageableDataUnit> outputs = new ArrayList<>();
+        for (int i = 0; i < parts.size(); ++i) {
+            final FilesDataUnitImpl partition
+                    = (FilesDataUnitImpl) output.createPartition(i);
+            for (FilesDataUnit.Entry entry : (FilesDataUnit) parts.get(i)) {
+                write(partition, entry.getFileName(), FileUtils
+                        .readFileToString(entry.toFile(), "UTF-8"));
+            }
+            outputs.add(partition);
+        }
+        Assert.assertFalse(output.iterator().hasNext());
+        output.merge(outputs);
+        final Set<String> content = new TreeSet<>();
+        for (FilesDataUnit.Entry entry : output) {
+            content.add(entry.getFileName() + "="
+                    + FileUtils.readFileToString(entry.toFile(), "UTF-8"));
+        }
+        Assert.assertEquals(new TreeSet<>(Arrays.asList("a.txt=a", "b.txt=b",
+                "directory" + File.separator + "c.txt=c")), content);
+    }
+
+    @Test
+    public void splitIntoEmptyPartitions() throws LpException, IOException {
+        final FilesDataUnitImpl input = createDataUnit("input");
+        write(input, "a.txt", "a");
+        final List<ManageableDataUnit> parts = input.split(3);
+        Assert.assertEquals(1, ((FilesDataUnit) parts.get(0)).size());
+        Assert.assertEquals(0, ((FilesDataUnit) parts.get(1)).size());
+        Assert.assertFalse(((FilesDataUnit) parts.get(2)).iterator()
+                .hasNext());
+        Assert.assertTrue(((FilesDataUnit) parts.get(2))
+                .getReadRootDirectories().isEmpty());
+    }
+
+    private FilesDataUnitImpl createDataUnit(String name) throws LpException {
+        final File directory = new File(folder.getRoot(), name);
+        final FilesDataUnitImpl dataUnit = new FilesDataUnitImpl(
+                new FilesDataUnitConfiguration("http://localhost/" + name,
+                        name, directory.toURI().toString()));
+        dataUnit.initialize(Collections.EMPTY_MAP);
+        return dataUnit;
+    }
+
+    private static void write(FilesDataUnitImpl dataUnit, String fileName,
+            String content) throws LpException, IOException {
+        FileUtils.writeStringToFile(dataUnit.createFile(fileName).toFile(),
+                content, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isInDirectories(File file,
+            Iterable<File> directories) {
+        for (File directory : directories) {
+            if (file.toPath().startsWith(directory.toPath())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
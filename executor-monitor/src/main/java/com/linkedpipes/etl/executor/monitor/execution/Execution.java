@@ -198,6 +198,13 @@ public class Execution {
         this.status = status;
     }
 
+    /**
+     * @return Time of the last status change.
+     */
+    public Date getStatusChange() {
+        return statusChange;
+    }
+
     public DebugData getDebugData() {
         return debugData;
     }
@@ -77,6 +77,9 @@ class ExecutionChecker {
         Resource endEvent = null;
         int componentsToExecute = 0;
         int componentsFinished = 0;
+        // Sum of metrics reported for components.
+        long wallTime = 0;
+        long cpuTime = 0;
 
         final List<Statement> executionStatements;
         try {
@@ -134,6 +137,21 @@ class ExecutionChecker {
                 continue;
             }
 
+            if (components.contains(statement.getSubject())) {
+                switch (statement.getPredicate().stringValue()) {
+                    case "http://etl.linkedpipes.com/ontology/wallTime":
+                        wallTime += ((Literal) statement.getObject())
+                                .longValue();
+                        continue;
+                    case "http://etl.linkedpipes.com/ontology/cpuTime":
+                        cpuTime += ((Literal) statement.getObject())
+                                .longValue();
+                        continue;
+                    default:
+                        break;
+                }
+            }
+
             if (RDF.TYPE.equals(statement.getPredicate())) {
                 final String value = statement.getObject().stringValue();
                 switch (value) {
@@ -220,6 +238,18 @@ class ExecutionChecker {
                 valueFactory.createLiteral(componentsFinished),
                 graph));
 
+        output.add(valueFactory.createStatement(
+                executionResource,
+                valueFactory.createIRI("http://etl.linkedpipes.com/ontology/execution/wallTime"),
+                valueFactory.createLiteral(wallTime),
+                graph));
+
+        output.add(valueFactory.createStatement(
+                executionResource,
+                valueFactory.createIRI("http://etl.linkedpipes.com/ontology/execution/cpuTime"),
+                valueFactory.createLiteral(cpuTime),
+                graph));
+
         if (start != null) {
             output.add(valueFactory.createStatement(
                     executionResource,
@@ -180,6 +180,23 @@ public class ExecutionFacade {
         return storage.createExecution(pipeline, inputs);
     }
 
+    /**
+     * Create execution that resume given failed execution. Components
+     * that finished in the given execution are mapped.
+     *
+     * @param execution
+     * @return
+     * @throws ExecutionFacade.OperationFailed
+     * @throws ExecutionFacade.UnknownExecution
+     */
+    public Execution resumeExecution(Execution execution)
+            throws OperationFailed, UnknownExecution {
+        if (execution == null) {
+            throw new UnknownExecution();
+        }
+        return storage.resumeExecution(execution);
+    }
+
     /**
      * Delete given execution.
      *
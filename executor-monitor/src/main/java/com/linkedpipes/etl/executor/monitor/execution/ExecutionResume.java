@@ -0,0 +1,301 @@
+package com.linkedpipes.etl.executor.monitor.execution;
+
+import com.linkedpipes.etl.executor.api.v1.vocabulary.LINKEDPIPES;
+import com.linkedpipes.etl.executor.monitor.execution.ExecutionFacade.OperationFailed;
+import org.openrdf.OpenRDFException;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.model.Value;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.model.vocabulary.RDF;
+import org.openrdf.rio.RDFFormat;
+import org.openrdf.rio.RDFParser;
+import org.openrdf.rio.RDFWriter;
+import org.openrdf.rio.Rio;
+import org.openrdf.rio.helpers.AbstractRDFHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Create a pipeline definition that resume a failed execution.
+ *
+ * All components that finished in the failed execution are mapped,
+ * so only the failed component and components after it are executed.
+ * The data are loaded using the same mechanism as for a mapped
+ * execution, ie. {@link LINKEDPIPES#HAS_SOURCE} on every port.
+ *
+ * @author Petr Škoda
+ */
+class ExecutionResume {
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(ExecutionResume.class);
+
+    private static final String STATUS
+            = "http://etl.linkedpipes.com/ontology/status";
+
+    private static final String STATUS_FAILED
+            = "http://etl.linkedpipes.com/resources/status/failed";
+
+    private static final String STATUS_FINISHED
+            = "http://etl.linkedpipes.com/resources/status/finished";
+
+    private static final String HAS_DATA_PATH
+            = "http://etl.linkedpipes.com/ontology/dataPath";
+
+    private static final String HAS_DEBUG
+            = "http://etl.linkedpipes.com/ontology/debug";
+
+    private static final String EXECUTION_TYPE_MAPPED
+            = "http://linkedpipes.com/resources/execution/type/mapped";
+
+    private static final String PORT_SOURCE
+            = "http://linkedpipes.com/ontology/PortSource";
+
+    private ExecutionResume() {
+    }
+
+    /**
+     * Read given failed execution and write a definition for the
+     * resumed execution into the target directory.
+     *
+     * @param execution Failed execution.
+     * @param targetDirectory Directory of the new execution.
+     * @return Definition file of the new execution.
+     */
+    public static File createDefinition(Execution execution,
+            File targetDirectory) throws OperationFailed {
+        final File executionFile
+                = new File(execution.getDirectory(), "execution.jsonld");
+        if (!executionFile.exists()) {
+            throw new OperationFailed("Missing execution file.");
+        }
+        final List<Statement> executionStatements
+                = loadFile(executionFile, RDFFormat.JSONLD);
+        if (!isFailed(execution, executionStatements)) {
+            throw new OperationFailed("Only failed execution can be resumed.");
+        }
+        // Find definition.
+        final File definitionFile = findDefinitionFile(execution);
+        final RDFFormat format = Rio.getParserFormatForFileName(
+                definitionFile.getName()).orElseThrow(() ->
+                new OperationFailed("Can't determine definition format."));
+        final List<Statement> definition = loadFile(definitionFile, format);
+        // Create new definition.
+        final List<Statement> output = createDefinition(execution.getIri(),
+                executionStatements, definition);
+        final File outputFile = new File(targetDirectory,
+                "definition" + File.separator + definitionFile.getName());
+        outputFile.getParentFile().mkdirs();
+        try (OutputStream stream = new FileOutputStream(outputFile)) {
+            final RDFWriter writer = Rio.createWriter(format, stream);
+            writer.startRDF();
+            for (Statement statement : output) {
+                writer.handleStatement(statement);
+            }
+            writer.endRDF();
+        } catch (IOException | OpenRDFException ex) {
+            throw new OperationFailed("Can't write definition.", ex);
+        }
+        return outputFile;
+    }
+
+    /**
+     * @param executionIri
+     * @param execution Content of the failed execution.
+     * @param definition Definition of the failed execution.
+     * @return Definition of the resumed execution.
+     */
+    static List<Statement> createDefinition(String executionIri,
+            List<Statement> execution, List<Statement> definition)
+            throws OperationFailed {
+        final ValueFactory vf = SimpleValueFactory.getInstance();
+        // Read information about finished components and their ports.
+        final Set<Resource> finished = new HashSet<>();
+        final Map<Resource, String> dataPaths = new HashMap<>();
+        final Map<Resource, Value> debug = new HashMap<>();
+        for (Statement statement : execution) {
+            switch (statement.getPredicate().stringValue()) {
+                case STATUS:
+                    if (statement.getObject().stringValue().equals(
+                            STATUS_FINISHED)) {
+                        finished.add(statement.getSubject());
+                    }
+                    break;
+                case HAS_DATA_PATH:
+                    dataPaths.put(statement.getSubject(),
+                            statement.getObject().stringValue());
+                    break;
+                case HAS_DEBUG:
+                    debug.put(statement.getSubject(), statement.getObject());
+                    break;
+                default:
+                    break;
+            }
+        }
+        // The execution resource itself is not a component.
+        finished.remove(vf.createIRI(executionIri));
+        // Collect ports of finished components and their old sources.
+        final Set<Resource> ports = new HashSet<>();
+        for (Statement statement : definition) {
+            if (finished.contains(statement.getSubject()) &&
+                    statement.getPredicate().stringValue().equals(
+                            LINKEDPIPES.HAS_PORT)) {
+                ports.add((Resource) statement.getObject());
+            }
+        }
+        final Set<Value> oldSources = new HashSet<>();
+        for (Statement statement : definition) {
+            if (ports.contains(statement.getSubject()) &&
+                    statement.getPredicate().stringValue().equals(
+                            LINKEDPIPES.HAS_SOURCE)) {
+                oldSources.add(statement.getObject());
+            }
+        }
+        // Copy definition, change execution type and drop old sources.
+        final List<Statement> output = new ArrayList<>(definition.size());
+        Resource graph = null;
+        for (Statement statement : definition) {
+            final String predicate = statement.getPredicate().stringValue();
+            if (predicate.equals(LINKEDPIPES.HAS_COMPONENT_EXECUTION_TYPE)
+                    && finished.contains(statement.getSubject())) {
+                output.add(vf.createStatement(statement.getSubject(),
+                        statement.getPredicate(),
+                        vf.createIRI(EXECUTION_TYPE_MAPPED),
+                        statement.getContext()));
+                graph = statement.getContext();
+                continue;
+            }
+            if (oldSources.contains(statement.getSubject())) {
+                continue;
+            }
+            if (predicate.equals(LINKEDPIPES.HAS_SOURCE)
+                    && ports.contains(statement.getSubject())) {
+                continue;
+            }
+            output.add(statement);
+        }
+        if (graph == null && !finished.isEmpty()) {
+            // We would not know where to put the new sources and the
+            // finished components would be executed again.
+            throw new OperationFailed(
+                    "Missing execution type of finished components.");
+        }
+        // Add new sources pointing to the failed execution.
+        final IRI sourceExecution = vf.createIRI(executionIri);
+        for (Resource port : ports) {
+            final String dataPath = dataPaths.get(port);
+            if (dataPath == null) {
+                LOG.warn("Missing data path for: {}", port);
+                continue;
+            }
+            final IRI source = vf.createIRI(port.stringValue() + "/resume");
+            output.add(vf.createStatement(port,
+                    vf.createIRI(LINKEDPIPES.HAS_SOURCE), source, graph));
+            output.add(vf.createStatement(source, RDF.TYPE,
+                    vf.createIRI(PORT_SOURCE), graph));
+            output.add(vf.createStatement(source,
+                    vf.createIRI(LINKEDPIPES.HAS_EXECUTION),
+                    getSourceExecution(execution, port, sourceExecution),
+                    graph));
+            output.add(vf.createStatement(source,
+                    vf.createIRI(LINKEDPIPES.HAS_LOAD_PATH),
+                    vf.createLiteral(dataPath), graph));
+            output.add(vf.createStatement(source,
+                    vf.createIRI(LINKEDPIPES.HAS_DEBUG_PATH),
+                    vf.createLiteral(dataPath), graph));
+            if (debug.containsKey(port)) {
+                output.add(vf.createStatement(source,
+                        vf.createIRI(LINKEDPIPES.HAS_DEBUG),
+                        debug.get(port), graph));
+            }
+        }
+        return output;
+    }
+
+    /**
+     * A finished component may used data mapped from yet another execution,
+     * in such case we need to refer to the original execution.
+     *
+     * @param execution
+     * @param port
+     * @param defaultExecution
+     * @return Execution that holds data for the given port.
+     */
+    private static IRI getSourceExecution(List<Statement> execution,
+            Resource port, IRI defaultExecution) {
+        for (Statement statement : execution) {
+            if (statement.getSubject().equals(port) &&
+                    statement.getPredicate().stringValue().equals(
+                            "http://etl.linkedpipes.com/ontology/execution")) {
+                return (IRI) statement.getObject();
+            }
+        }
+        return defaultExecution;
+    }
+
+    private static boolean isFailed(Execution execution,
+            List<Statement> statements) {
+        final String iri = execution.getIri();
+        for (Statement statement : statements) {
+            if (statement.getSubject().stringValue().equals(iri) &&
+                    statement.getPredicate().stringValue().equals(STATUS)) {
+                return statement.getObject().stringValue().equals(
+                        STATUS_FAILED);
+            }
+        }
+        return false;
+    }
+
+    private static File findDefinitionFile(Execution execution)
+            throws OperationFailed {
+        final File directory = new File(execution.getDirectory(),
+                "definition");
+        if (directory.exists()) {
+            for (File file : directory.listFiles()) {
+                if (file.isFile() && file.getName().startsWith("definition")) {
+                    return file;
+                }
+            }
+        }
+        throw new OperationFailed("Missing definition file for execution: "
+                + execution.getIri());
+    }
+
+    private static List<Statement> loadFile(File file, RDFFormat format)
+            throws OperationFailed {
+        final RDFParser reader = Rio.createParser(format,
+                SimpleValueFactory.getInstance());
+        final List<Statement> statements = new ArrayList<>(64);
+        reader.setRDFHandler(new AbstractRDFHandler() {
+
+            @Override
+            public void handleStatement(Statement statement) {
+                statements.add(statement);
+            }
+
+        });
+        try (InputStream input = new FileInputStream(file)) {
+            reader.parse(input, "http://localhost/base/");
+        } catch (IOException | OpenRDFException ex) {
+            throw new OperationFailed("Can't read file: " + file, ex);
+        }
+        return statements;
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.linkedpipes.etl.executor.monitor.execution;
 
+import com.linkedpipes.etl.executor.api.v1.metrics.MetricsRegistry;
 import com.linkedpipes.etl.executor.monitor.Configuration;
 import com.linkedpipes.etl.executor.monitor.execution.ExecutionFacade.ExecutionMismatch;
 import com.linkedpipes.etl.executor.monitor.execution.ExecutionFacade.OperationFailed;
@@ -19,6 +20,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Responsible for storing information about existing executions.
@@ -35,9 +37,11 @@ class ExecutionStorage {
     private Configuration configuration;
 
     /**
-     * List of executions.
+     * List of executions. The list is changed by the REST and update
+     * threads and read by the metrics, so iteration must not fail
+     * on a concurrent modification.
      */
-    private final List<Execution> executions = new ArrayList<>(64);
+    private final List<Execution> executions = new CopyOnWriteArrayList<>();
 
     /**
      * Directories of this executions should be deleted.
@@ -69,6 +73,24 @@ class ExecutionStorage {
                 LOG.error("Can't load execution from: {}", directory, ex);
             }
         }
+        MetricsRegistry.getDefault().gauge("lp_monitor_executions",
+                "Number of executions by status.", "status",
+                this::countByStatus);
+    }
+
+    private Map<String, Integer> countByStatus() {
+        final Map<String, Integer> result = new HashMap<>();
+        for (Execution.StatusType status : Execution.StatusType.values()) {
+            result.put(status.name().toLowerCase(), 0);
+        }
+        for (Execution execution : executions) {
+            if (execution.getStatus() == null) {
+                continue;
+            }
+            result.merge(execution.getStatus().name().toLowerCase(), 1,
+                    Integer::sum);
+        }
+        return result;
     }
 
     /**
@@ -159,6 +181,52 @@ class ExecutionStorage {
         return newExecution;
     }
 
+    /**
+     * Create a new execution that resume given failed execution.
+     *
+     * @param execution
+     * @return
+     */
+    public Execution resumeExecution(Execution execution)
+            throws OperationFailed {
+        final String uuid = UUID.randomUUID().toString();
+        final File directory = new File(
+                configuration.getWorkingDirectory(), uuid);
+        try {
+            ExecutionResume.createDefinition(execution, directory);
+            final File inputDirectory
+                    = new File(execution.getDirectory(), "input");
+            if (inputDirectory.exists()) {
+                FileUtils.copyDirectory(inputDirectory,
+                        new File(directory, "input"));
+            }
+        } catch (OperationFailed | IOException ex) {
+            try {
+                FileUtils.deleteDirectory(directory);
+            } catch (IOException ioex) {
+                LOG.error("Can't delete directory.", ioex);
+            }
+            throw new OperationFailed("Can't prepare execution.", ex);
+        }
+        //
+        final Execution newExecution = new Execution();
+        newExecution.setIri(configuration.getExecutionPrefix() + uuid);
+        newExecution.setDirectory(directory);
+        // Load data.
+        try {
+            ExecutionChecker.updateFromDirectory(newExecution);
+        } catch (ExecutionMismatch ex) {
+            throw new OperationFailed("", ex);
+        }
+        try {
+            PipelineLoader.loadPipeline(newExecution);
+        } catch (OperationFailed | IOException ex) {
+            throw new OperationFailed("Can't load pipeline.", ex);
+        }
+        executions.add(newExecution);
+        return newExecution;
+    }
+
     /**
      * Delete given execution.
      *
@@ -1,5 +1,7 @@
 package com.linkedpipes.etl.executor.monitor.executor;
 
+import com.linkedpipes.etl.executor.api.v1.metrics.Histogram;
+import com.linkedpipes.etl.executor.api.v1.metrics.MetricsRegistry;
 import com.linkedpipes.etl.executor.monitor.Configuration;
 import com.linkedpipes.etl.executor.monitor.execution.Execution;
 import com.linkedpipes.etl.executor.monitor.execution.ExecutionFacade;
@@ -30,6 +32,12 @@ public class ExecutorFacade {
     private static final Logger LOG
             = LoggerFactory.getLogger(ExecutorFacade.class);
 
+    private static final Histogram POLL_DURATION =
+            MetricsRegistry.getDefault().histogram(
+                    "lp_monitor_executor_poll_seconds",
+                    "Time spent checking status of executors.",
+                    MetricsRegistry.TIME_BUCKETS);
+
     @Autowired
     private ExecutionFacade executionFacade;
 
@@ -54,9 +62,11 @@ public class ExecutorFacade {
 
     @Scheduled(fixedDelay = 2000, initialDelay = 500)
     protected void check() {
+        final long start = System.currentTimeMillis();
         for (Executor executor : executors) {
             check(executor);
         }
+        POLL_DURATION.observeSince(start);
         //
         startExecutions();
     }
@@ -104,6 +114,14 @@ public class ExecutorFacade {
         final MultiValueMap<String, String> headers
                 = new LinkedMultiValueMap<>();
         headers.add("Content-Type", "application/json");
+        // Tracing information, the execution is queued till now.
+        headers.add("X-LP-Trace-Id", execution.getId());
+        if (execution.getStatusChange() != null) {
+            headers.add("X-LP-Trace-Queued", Long.toString(
+                    execution.getStatusChange().getTime()));
+        }
+        headers.add("X-LP-Trace-Dispatched",
+                Long.toString(System.currentTimeMillis()));
 
         final StringBuilder body = new StringBuilder();
         body.append("{\"iri\":\"");
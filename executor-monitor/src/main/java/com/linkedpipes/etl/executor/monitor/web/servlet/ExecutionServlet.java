@@ -134,6 +134,18 @@ public class ExecutionServlet {
         response.setStatus(HttpServletResponse.SC_OK);
     }
 
+    @RequestMapping(value = "/{id}/resume", method = RequestMethod.POST)
+    @ResponseBody
+    public CreateExecution resumeExecution(@PathVariable String id,
+            HttpServletResponse response)
+            throws ExecutionFacade.OperationFailed,
+            ExecutionFacade.UnknownExecution {
+        final Execution execution = executionFacade.resumeExecution(
+                executionFacade.getExecution(id));
+        executorFacade.startExecutions();
+        return new CreateExecution(execution);
+    }
+
     @RequestMapping(value = "/{id}/logs", method = RequestMethod.GET,
             produces = MediaType.TEXT_PLAIN_VALUE)
     @ResponseBody
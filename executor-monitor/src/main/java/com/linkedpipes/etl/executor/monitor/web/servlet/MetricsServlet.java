@@ -0,0 +1,29 @@
+package com.linkedpipes.etl.executor.monitor.web.servlet;
+
+import com.linkedpipes.etl.executor.api.v1.metrics.MetricsRegistry;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Provide runtime metrics in the text exposition format.
+ *
+ * @author Petr Škoda
+ */
+@RestController
+@RequestMapping(value = "/metrics")
+public class MetricsServlet {
+
+    @ResponseBody
+    @RequestMapping(value = "", method = RequestMethod.GET)
+    public void getMetrics(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MetricsRegistry.CONTENT_TYPE);
+        MetricsRegistry.getDefault().write(response.getWriter());
+    }
+
+}
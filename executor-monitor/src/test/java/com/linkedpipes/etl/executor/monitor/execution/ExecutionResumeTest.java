@@ -0,0 +1,114 @@
+package com.linkedpipes.etl.executor.monitor.execution;
+
+import com.linkedpipes.etl.executor.api.v1.vocabulary.LINKEDPIPES;
+import com.linkedpipes.etl.executor.monitor.execution.ExecutionFacade.OperationFailed;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Model;
+import org.openrdf.model.Statement;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.LinkedHashModel;
+import org.openrdf.model.impl.SimpleValueFactory;
+
+/**
+ *
+ * @author Petr Škoda
+ */
+public class ExecutionResumeTest {
+
+    private static final ValueFactory VF = SimpleValueFactory.getInstance();
+
+    private static final String EXECUTION = "http://localhost/execution";
+
+    private static final IRI GRAPH = VF.createIRI("http://localhost/pipeline");
+
+    private static final IRI FINISHED
+            = VF.createIRI("http://localhost/component/1");
+
+    private static final IRI FAILED
+            = VF.createIRI("http://localhost/component/2");
+
+    private static final IRI PORT
+            = VF.createIRI("http://localhost/component/1/port/output");
+
+    private static final IRI OLD_SOURCE
+            = VF.createIRI("http://localhost/component/1/port/output/source");
+
+    private static final IRI STATUS
+            = VF.createIRI("http://etl.linkedpipes.com/ontology/status");
+
+    private static final IRI DATA_PATH
+            = VF.createIRI("http://etl.linkedpipes.com/ontology/dataPath");
+
+    private static final IRI TYPE_EXECUTE = VF.createIRI(
+            "http://linkedpipes.com/resources/execution/type/execute");
+
+    private static final IRI TYPE_MAPPED = VF.createIRI(
+            "http://linkedpipes.com/resources/execution/type/mapped");
+
+    private static final List<Statement> EXECUTION_STATEMENTS = Arrays.asList(
+            VF.createStatement(VF.createIRI(EXECUTION), STATUS, VF.createIRI(
+                    "http://etl.linkedpipes.com/resources/status/failed")),
+            VF.createStatement(FINISHED, STATUS, VF.createIRI(
+                    "http://etl.linkedpipes.com/resources/status/finished")),
+            VF.createStatement(FAILED, STATUS, VF.createIRI(
+                    "http://etl.linkedpipes.com/resources/status/failed")),
+            VF.createStatement(PORT, DATA_PATH,
+                    VF.createLiteral("working/000001")));
+
+    @Test
+    public void mapFinishedComponent() throws OperationFailed {
+        final List<Statement> definition = Arrays.asList(
+                VF.createStatement(FINISHED,
+                        iri(LINKEDPIPES.HAS_COMPONENT_EXECUTION_TYPE),
+                        TYPE_EXECUTE, GRAPH),
+                VF.createStatement(FINISHED, iri(LINKEDPIPES.HAS_PORT),
+                        PORT, GRAPH),
+                VF.createStatement(PORT, iri(LINKEDPIPES.HAS_SOURCE),
+                        OLD_SOURCE, GRAPH),
+                VF.createStatement(OLD_SOURCE, iri(LINKEDPIPES.HAS_LOAD_PATH),
+                        VF.createLiteral("old/path"), GRAPH),
+                VF.createStatement(FAILED,
+                        iri(LINKEDPIPES.HAS_COMPONENT_EXECUTION_TYPE),
+                        TYPE_EXECUTE, GRAPH));
+        final Model output = new LinkedHashModel(
+                ExecutionResume.createDefinition(EXECUTION,
+                        EXECUTION_STATEMENTS, definition));
+        // Only the finished component is mapped.
+        Assert.assertTrue(output.contains(FINISHED,
+                iri(LINKEDPIPES.HAS_COMPONENT_EXECUTION_TYPE), TYPE_MAPPED,
+                GRAPH));
+        Assert.assertTrue(output.contains(FAILED,
+                iri(LINKEDPIPES.HAS_COMPONENT_EXECUTION_TYPE), TYPE_EXECUTE,
+                GRAPH));
+        // The old source is replaced with the data of the failed execution.
+        Assert.assertFalse(output.contains(OLD_SOURCE, null, null));
+        final Model sources = output.filter(PORT,
+                iri(LINKEDPIPES.HAS_SOURCE), null, GRAPH);
+        Assert.assertEquals(1, sources.size());
+        final IRI source = (IRI) sources.objects().iterator().next();
+        Assert.assertTrue(output.contains(source,
+                iri(LINKEDPIPES.HAS_LOAD_PATH),
+                VF.createLiteral("working/000001"), GRAPH));
+        Assert.assertTrue(output.contains(source,
+                iri(LINKEDPIPES.HAS_EXECUTION), VF.createIRI(EXECUTION),
+                GRAPH));
+    }
+
+    @Test(expected = OperationFailed.class)
+    public void missingExecutionType() throws OperationFailed {
+        final List<Statement> definition = Arrays.asList(
+                VF.createStatement(FINISHED, iri(LINKEDPIPES.HAS_PORT),
+                        PORT, GRAPH));
+        ExecutionResume.createDefinition(EXECUTION, EXECUTION_STATEMENTS,
+                definition);
+    }
+
+    private static IRI iri(String value) {
+        return VF.createIRI(value);
+    }
+
+}
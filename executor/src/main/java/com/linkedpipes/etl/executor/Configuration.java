@@ -32,6 +32,10 @@ public class Configuration {
 
     private String storageAddress;
 
+    private boolean measureDataUnitSize;
+
+    private boolean localJarsEnabled;
+
     private final Properties properties = new Properties();
 
     @PostConstruct
@@ -61,6 +65,10 @@ public class Configuration {
         osgiLibDirectoryPath = getProperty("executor.osgi.lib.directory");
         osgiStorageDirectory = getProperty("executor.osgi.working.directory");
         storageAddress = getProperty("storage.uri");
+        measureDataUnitSize = getPropertyBoolean(
+                "executor.metrics.data_unit_size", false);
+        localJarsEnabled = getPropertyBoolean(
+                "executor.osgi.local_jars", false);
         //
         validateDirectory(logDirectoryPath);
         validateDirectory(osgiLibDirectoryPath);
@@ -93,6 +101,22 @@ public class Configuration {
         return storageAddress;
     }
 
+    /**
+     * @return True if size of output data units should be measured
+     * before and after every component.
+     */
+    public boolean isMeasureDataUnitSize() {
+        return measureDataUnitSize;
+    }
+
+    /**
+     * @return True if components can be loaded from local jar files
+     * given by "file:" IRIs in a pipeline.
+     */
+    public boolean isLocalJarsEnabled() {
+        return localJarsEnabled;
+    }
+
     private static void validateDirectory(String value) {
         (new File(value)).mkdirs();
     }
@@ -113,6 +137,19 @@ public class Configuration {
         }
     }
 
+    /**
+     * @param name
+     * @param defaultValue
+     * @return Default value if the property is not set.
+     */
+    protected boolean getPropertyBoolean(String name, boolean defaultValue) {
+        final String value = properties.getProperty(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
     protected Integer getPropertyInteger(String name) {
         final String value = getProperty(name);
         try {
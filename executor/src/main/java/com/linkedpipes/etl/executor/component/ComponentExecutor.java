@@ -7,6 +7,8 @@ import com.linkedpipes.etl.executor.execution.ExecutionModel;
 import com.linkedpipes.etl.executor.pipeline.PipelineDefinition;
 import com.linkedpipes.etl.executor.pipeline.PipelineModel;
 
+import java.util.List;
+
 /**
  * Interface and factory for component execution objects.
  *
@@ -30,13 +32,13 @@ public interface ComponentExecutor {
      * @param pipeline
      * @param execution
      * @param componentIri
-     * @param instance
+     * @param instances One instance per partition.
      * @return Null if no executor for given component can be created.
      */
     public static ComponentExecutor create(DataUnitManager dataunit,
             EventManager events, PipelineDefinition pipeline,
             ExecutionModel execution, String componentIri,
-            SequentialComponent instance) {
+            List<SequentialComponent> instances) {
         final PipelineModel.Component component
                 = pipeline.getPipelineModel().getComponent(componentIri);
         final ExecutionModel.Component executionComponent
@@ -46,8 +48,14 @@ public interface ComponentExecutor {
         }
         switch (component.getExecutionType()) {
             case EXECUTE:
-                return new ExecuteComponent(instance, executionComponent,
-                        component, dataunit, events);
+                if (instances.size() > 1) {
+                    return new PartitionedComponent(instances,
+                            executionComponent, component, dataunit, events,
+                            execution.getTrace());
+                }
+                return new ExecuteComponent(instances.get(0),
+                        executionComponent, component, dataunit, events,
+                        execution.getTrace());
             case MAP:
                 return new MapComponent(events, dataunit, executionComponent);
             case SKIP:
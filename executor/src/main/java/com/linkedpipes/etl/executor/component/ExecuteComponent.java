@@ -6,6 +6,7 @@ import com.linkedpipes.etl.executor.dataunit.DataUnitManager;
 import com.linkedpipes.etl.executor.event.EventFactory;
 import com.linkedpipes.etl.executor.event.EventManager;
 import com.linkedpipes.etl.executor.execution.ExecutionModel;
+import com.linkedpipes.etl.executor.execution.ExecutionTrace;
 import com.linkedpipes.etl.executor.logging.LoggerFacade;
 import com.linkedpipes.etl.executor.pipeline.PipelineModel;
 import org.slf4j.Logger;
@@ -40,6 +41,8 @@ class ExecuteComponent implements ComponentExecutor, Runnable {
 
     private final EventManager eventManager;
 
+    private final ExecutionTrace trace;
+
     /**
      * When execution finished is set to true if executor thread
      * was ended in unexpected way and pipeline should failed.
@@ -50,12 +53,14 @@ class ExecuteComponent implements ComponentExecutor, Runnable {
             ExecutionModel.Component componentExecution,
             PipelineModel.Component componentDefinition,
             DataUnitManager dataUnitManager,
-            EventManager eventManager) {
+            EventManager eventManager,
+            ExecutionTrace trace) {
         this.componentInstance = componentInstance;
         this.componentExecution = componentExecution;
         this.componentDefinition = componentDefinition;
         this.dataUnitManager = dataUnitManager;
         this.eventManager = eventManager;
+        this.trace = trace;
     }
 
     /**
@@ -109,7 +114,9 @@ class ExecuteComponent implements ComponentExecutor, Runnable {
             return;
         }
         // Prepare component.
-        try {
+        try (ExecutionTrace.Span span = trace.begin(
+                "initialize component", "component")) {
+            span.arg("component", componentDefinition.getDefaultLabel());
             componentInstance.initialize((Map) dataUnits);
         } catch (Throwable t) {
             eventManager.publish(EventFactory.executionFailed(
@@ -119,11 +126,16 @@ class ExecuteComponent implements ComponentExecutor, Runnable {
         }
         //
         MDC.put(LoggerFacade.COMPONENT_MDC, null);
-        try {
+        final ResourceMeasure measure = ResourceMeasure.start();
+        try (ExecutionTrace.Span span = trace.begin(
+                "execute component", "component")) {
+            span.arg("component", componentDefinition.getDefaultLabel());
             componentInstance.execute();
+            measure.stop(componentExecution.getMetrics());
             eventManager.publish(EventFactory.componentFinished(
                     componentDefinition));
         } catch (Throwable t) {
+            measure.stop(componentExecution.getMetrics());
             eventManager.publish(EventFactory.componentFailed(
                     componentDefinition, t));
             eventManager.publish(EventFactory.executionFailed(
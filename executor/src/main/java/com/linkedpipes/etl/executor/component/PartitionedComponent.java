@@ -0,0 +1,301 @@
+package com.linkedpipes.etl.executor.component;
+
+import com.linkedpipes.etl.executor.api.v1.RdfException;
+import com.linkedpipes.etl.executor.api.v1.component.SequentialComponent;
+import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.dataunit.PartitionableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import com.linkedpipes.etl.executor.dataunit.DataUnitManager;
+import com.linkedpipes.etl.executor.event.EventFactory;
+import com.linkedpipes.etl.executor.event.EventManager;
+import com.linkedpipes.etl.executor.execution.ExecutionModel;
+import com.linkedpipes.etl.executor.execution.ExecutionTrace;
+import com.linkedpipes.etl.executor.logging.LoggerFacade;
+import com.linkedpipes.etl.executor.pipeline.PipelineModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Execute component with "EXECUTE" execution type in multiple partitions.
+ *
+ * The first input data unit that can be split is partitioned, other
+ * inputs are shared by all instances. Every instance has its own
+ * output data units, those are merged into the component outputs
+ * once all instances finish.
+ *
+ * @author Petr Škoda
+ */
+class PartitionedComponent implements ComponentExecutor, Runnable {
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(PartitionedComponent.class);
+
+    /**
+     * Instances of component to execute, one per partition.
+     */
+    private final List<SequentialComponent> componentInstances;
+
+    /**
+     * Definition of component to execute.
+     */
+    private final ExecutionModel.Component componentExecution;
+
+    private final PipelineModel.Component componentDefinition;
+
+    private final DataUnitManager dataUnitManager;
+
+    private final EventManager eventManager;
+
+    private final ExecutionTrace trace;
+
+    /**
+     * Data units created for partitions, they are closed at the end
+     * of the execution.
+     */
+    private final List<ManageableDataUnit> partitionDataUnits
+            = new ArrayList<>();
+
+    /**
+     * When execution finished is set to true if executor thread
+     * was ended in unexpected way and pipeline should failed.
+     */
+    private boolean unexpectedTermination = true;
+
+    PartitionedComponent(List<SequentialComponent> componentInstances,
+            ExecutionModel.Component componentExecution,
+            PipelineModel.Component componentDefinition,
+            DataUnitManager dataUnitManager,
+            EventManager eventManager,
+            ExecutionTrace trace) {
+        this.componentInstances = componentInstances;
+        this.componentExecution = componentExecution;
+        this.componentDefinition = componentDefinition;
+        this.dataUnitManager = dataUnitManager;
+        this.eventManager = eventManager;
+        this.trace = trace;
+    }
+
+    /**
+     * @return False in case of a normal thread termination.
+     */
+    @Override
+    public boolean unexpectedTermination() {
+        return unexpectedTermination;
+    }
+
+    @Override
+    public void execute() {
+        LOG.info("Execution starts for: {} in {} partitions",
+                this.componentDefinition.getIri(), componentInstances.size());
+        final Thread thread = new Thread(this,
+                componentDefinition.getDefaultLabel());
+        thread.start();
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                // Ignore exception.
+                LOG.debug("Ignored interrupt.", ex);
+            }
+        }
+        if (unexpectedTermination) {
+            eventManager.publish(EventFactory.executionFailed(
+                    "Unexpected termination of component execution thread."));
+        }
+        LOG.info("Execution ends for: {}", this.componentDefinition.getIri());
+    }
+
+    @Override
+    public void run() {
+        eventManager.publish(EventFactory.componentBegin(componentDefinition));
+        final Map<String, ManageableDataUnit> dataUnits;
+        try {
+            dataUnits = dataUnitManager.onComponentStart(componentExecution);
+        } catch (DataUnitManager.DataUnitException ex) {
+            eventManager.publish(EventFactory.executionFailed(
+                    "Can't initialize data units.", ex));
+            unexpectedTermination = false;
+            return;
+        }
+        //
+        MDC.put(LoggerFacade.COMPONENT_MDC, null);
+        try {
+            final List<Map<String, ManageableDataUnit>> partitions
+                    = createPartitions(dataUnits);
+            final ResourceMeasure measure = ResourceMeasure.start();
+            try {
+                executePartitions(partitions);
+            } finally {
+                // Report wall and CPU time of the whole component not sum
+                // of the partitions.
+                measure.stopProcess(componentExecution.getMetrics());
+            }
+            try (ExecutionTrace.Span span = trace.begin(
+                    "merge partitions", "data unit")) {
+                mergePartitions(dataUnits, partitions);
+            }
+            eventManager.publish(EventFactory.componentFinished(
+                    componentDefinition));
+        } catch (Throwable t) {
+            eventManager.publish(EventFactory.componentFailed(
+                    componentDefinition, t));
+            eventManager.publish(EventFactory.executionFailed(
+                    "Component execution failed."));
+        }
+        // Clean up.
+        closePartitions();
+        dataUnitManager.onComponentEnd(componentExecution);
+        MDC.remove(LoggerFacade.COMPONENT_MDC);
+        unexpectedTermination = false;
+    }
+
+    /**
+     * @param dataUnits
+     * @return Data units for each partition.
+     */
+    private List<Map<String, ManageableDataUnit>> createPartitions(
+            Map<String, ManageableDataUnit> dataUnits) throws LpException {
+        final int count = componentInstances.size();
+        final List<Map<String, ManageableDataUnit>> partitions
+                = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            partitions.add(new HashMap<>(dataUnits));
+        }
+        // Split the first input that support it.
+        boolean inputSplit = false;
+        for (ExecutionModel.DataUnit dataUnit
+                : componentExecution.getDataUnits()) {
+            if (!dataUnit.isInput() || !dataUnit.isUsedForExecution()) {
+                continue;
+            }
+            final ManageableDataUnit instance =
+                    dataUnits.get(dataUnit.getIri());
+            if (!(instance instanceof PartitionableDataUnit)) {
+                continue;
+            }
+            final List<ManageableDataUnit> parts =
+                    ((PartitionableDataUnit) instance).split(count);
+            if (parts == null) {
+                continue;
+            }
+            partitionDataUnits.addAll(parts);
+            for (int i = 0; i < count; ++i) {
+                partitions.get(i).put(dataUnit.getIri(), parts.get(i));
+            }
+            LOG.info("Input {} split into {} partitions.",
+                    dataUnit.getBinding(), count);
+            inputSplit = true;
+            break;
+        }
+        if (!inputSplit) {
+            throw RdfException.failure("No input of {} can be split.",
+                    componentDefinition.getIri());
+        }
+        // Create outputs for every partition.
+        for (ExecutionModel.DataUnit dataUnit
+                : componentExecution.getDataUnits()) {
+            if (dataUnit.isInput() || !dataUnit.isUsedForExecution()) {
+                continue;
+            }
+            final ManageableDataUnit instance =
+                    dataUnits.get(dataUnit.getIri());
+            if (!(instance instanceof PartitionableDataUnit)) {
+                throw RdfException.failure("Data unit {} does not support "
+                        + "partitioned execution.", dataUnit.getBinding());
+            }
+            for (int i = 0; i < count; ++i) {
+                final ManageableDataUnit partition =
+                        ((PartitionableDataUnit) instance).createPartition(i);
+                partitionDataUnits.add(partition);
+                partitions.get(i).put(dataUnit.getIri(), partition);
+            }
+        }
+        return partitions;
+    }
+
+    private void executePartitions(
+            List<Map<String, ManageableDataUnit>> partitions)
+            throws Throwable {
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(partitions.size());
+        try {
+            final List<Future<?>> futures = new ArrayList<>(partitions.size());
+            for (int i = 0; i < partitions.size(); ++i) {
+                final SequentialComponent instance = componentInstances.get(i);
+                final Map<String, ManageableDataUnit> partition =
+                        partitions.get(i);
+                futures.add(executor.submit(() -> {
+                    MDC.put(LoggerFacade.COMPONENT_MDC, null);
+                    final ResourceMeasure measure = ResourceMeasure.start();
+                    try (ExecutionTrace.Span span = trace.begin(
+                            "execute partition", "component")) {
+                        span.arg("component",
+                                componentDefinition.getDefaultLabel());
+                        instance.initialize((Map) partition);
+                        instance.execute();
+                    } finally {
+                        measure.stopThread(componentExecution.getMetrics());
+                        MDC.remove(LoggerFacade.COMPONENT_MDC);
+                    }
+                    return null;
+                }));
+            }
+            // Wait for all partitions, report the first failure.
+            Throwable failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    if (failure == null) {
+                        failure = ex.getCause();
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void mergePartitions(Map<String, ManageableDataUnit> dataUnits,
+            List<Map<String, ManageableDataUnit>> partitions)
+            throws LpException {
+        for (ExecutionModel.DataUnit dataUnit
+                : componentExecution.getDataUnits()) {
+            if (dataUnit.isInput() || !dataUnit.isUsedForExecution()) {
+                continue;
+            }
+            final List<ManageableDataUnit> outputs =
+                    new ArrayList<>(partitions.size());
+            for (Map<String, ManageableDataUnit> partition : partitions) {
+                outputs.add(partition.get(dataUnit.getIri()));
+            }
+            ((PartitionableDataUnit) dataUnits.get(dataUnit.getIri()))
+                    .merge(outputs);
+        }
+    }
+
+    private void closePartitions() {
+        for (ManageableDataUnit dataUnit : partitionDataUnits) {
+            try {
+                dataUnit.close();
+            } catch (LpException ex) {
+                LOG.warn("Can't close partition data unit.", ex);
+            }
+        }
+        partitionDataUnits.clear();
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.linkedpipes.etl.executor.component;
+
+import com.linkedpipes.etl.executor.execution.ComponentMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measure wall time, CPU time and allocated memory of a component.
+ *
+ * The CPU time is the CPU time of the whole process, so it includes
+ * worker threads started by the component but also other activity of
+ * the executor (GC, JIT compiler). The allocated memory is measured only
+ * for the current thread, the worker threads are usually gone when
+ * the measure is stopped. The instance must be created and stopped in
+ * the same thread.
+ *
+ * @author Petr Škoda
+ */
+class ResourceMeasure {
+
+    private static final ThreadMXBean THREAD_BEAN
+            = ManagementFactory.getThreadMXBean();
+
+    private static final OperatingSystemMXBean SYSTEM_BEAN
+            = ManagementFactory.getOperatingSystemMXBean();
+
+    private final long wallStart;
+
+    private final long cpuStart;
+
+    private final long allocatedStart;
+
+    private ResourceMeasure() {
+        this.wallStart = System.currentTimeMillis();
+        this.cpuStart = getProcessCpuTime();
+        this.allocatedStart = getThreadAllocatedBytes();
+    }
+
+    /**
+     * Add measured values to given metrics.
+     *
+     * @param metrics
+     */
+    public void stop(ComponentMetrics metrics) {
+        metrics.addExecution(System.currentTimeMillis() - wallStart,
+                getCpuTime(), getAllocated());
+    }
+
+    /**
+     * Add only memory allocated by the current thread, used for threads
+     * that run in parallel with other measured threads.
+     *
+     * @param metrics
+     */
+    public void stopThread(ComponentMetrics metrics) {
+        metrics.addExecution(System.currentTimeMillis() - wallStart, -1,
+                getAllocated());
+    }
+
+    /**
+     * Set wall time and CPU time of the whole component, used with
+     * {@link #stopThread(ComponentMetrics)} for the parallel threads.
+     *
+     * @param metrics
+     */
+    public void stopProcess(ComponentMetrics metrics) {
+        metrics.setWallTime(System.currentTimeMillis() - wallStart);
+        metrics.setCpuTime(getCpuTime());
+    }
+
+    public static ResourceMeasure start() {
+        return new ResourceMeasure();
+    }
+
+    /**
+     * @return CPU time in milliseconds or -1 if not supported.
+     */
+    private long getCpuTime() {
+        if (cpuStart < 0) {
+            return -1;
+        }
+        return (getProcessCpuTime() - cpuStart) / 1000000;
+    }
+
+    /**
+     * @return Allocated bytes or -1 if not supported.
+     */
+    private long getAllocated() {
+        if (allocatedStart < 0) {
+            return -1;
+        }
+        return getThreadAllocatedBytes() - allocatedStart;
+    }
+
+    /**
+     * @return CPU time in nanoseconds or -1 if not supported.
+     */
+    private static long getProcessCpuTime() {
+        if (!(SYSTEM_BEAN
+                instanceof com.sun.management.OperatingSystemMXBean)) {
+            return -1;
+        }
+        return ((com.sun.management.OperatingSystemMXBean) SYSTEM_BEAN)
+                .getProcessCpuTime();
+    }
+
+    /**
+     * @return Allocated bytes or -1 if not supported.
+     */
+    private static long getThreadAllocatedBytes() {
+        if (!(THREAD_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        final com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) THREAD_BEAN;
+        if (!bean.isThreadAllocatedMemorySupported()
+                || !bean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
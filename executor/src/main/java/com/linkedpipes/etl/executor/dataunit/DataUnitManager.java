@@ -3,10 +3,14 @@ package com.linkedpipes.etl.executor.dataunit;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linkedpipes.etl.executor.ExecutorException;
 import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
+import com.linkedpipes.etl.executor.api.v1.dataunit.MeasurableDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import com.linkedpipes.etl.executor.api.v1.metrics.Histogram;
+import com.linkedpipes.etl.executor.api.v1.metrics.MetricsRegistry;
 import com.linkedpipes.etl.executor.event.EventFactory;
 import com.linkedpipes.etl.executor.event.EventManager;
 import com.linkedpipes.etl.executor.execution.ExecutionModel;
+import com.linkedpipes.etl.executor.execution.ExecutionTrace;
 import com.linkedpipes.etl.executor.module.ModuleFacade;
 import com.linkedpipes.etl.executor.module.ModuleFacade.ModuleException;
 import com.linkedpipes.etl.executor.pipeline.PipelineDefinition;
@@ -40,6 +44,18 @@ public class DataUnitManager {
     private static final Logger LOG
             = LoggerFactory.getLogger(DataUnitManager.class);
 
+    private static final Histogram INITIALIZE_DURATION =
+            MetricsRegistry.getDefault().histogram(
+                    "lp_executor_data_unit_initialize_seconds",
+                    "Time spent initializing data units.",
+                    MetricsRegistry.TIME_BUCKETS);
+
+    private static final Histogram SAVE_DURATION =
+            MetricsRegistry.getDefault().histogram(
+                    "lp_executor_data_unit_save_seconds",
+                    "Time spent saving data units.",
+                    MetricsRegistry.TIME_BUCKETS);
+
     private final PipelineDefinition pipelineSparql;
 
     private final ExecutionModel execution;
@@ -53,11 +69,19 @@ public class DataUnitManager {
      */
     private final Map<String, ManageableDataUnit> instances = new HashMap<>();
 
+    /**
+     * If true size of outputs is measured at the start and the end of
+     * each component.
+     */
+    private final boolean measureSize;
+
     public DataUnitManager(PipelineDefinition pipelineSparql,
-            ExecutionModel execution, EventManager events) {
+            ExecutionModel execution, EventManager events,
+            boolean measureSize) {
         this.pipelineSparql = pipelineSparql;
         this.execution = execution;
         this.events = events;
+        this.measureSize = measureSize;
     }
 
     public void onExecutionStart(ModuleFacade moduleFacade)
@@ -101,13 +125,29 @@ public class DataUnitManager {
             }
             final DataUnitContainer container =
                     dataUnits.get(dataUnit.getIri());
-            initialize(container);
+            final long initStart = System.currentTimeMillis();
+            try (ExecutionTrace.Span span = execution.getTrace().begin(
+                    "initialize " + dataUnit.getBinding(), "data unit")) {
+                initialize(container);
+            }
+            component.getMetrics().addDataUnitInitTime(
+                    System.currentTimeMillis() - initStart);
+            INITIALIZE_DURATION.observeSince(initStart);
             usedDataUnits.put(dataUnit.getIri(), container.getInstance());
             // If the data unit is input, we want to save the
             // data here. So the used can see input of a running
             // component.
             if (dataUnit.isInput()) {
-                save(container);
+                final long saveStart = System.currentTimeMillis();
+                try (ExecutionTrace.Span span = execution.getTrace().begin(
+                        "save " + dataUnit.getBinding(), "data unit")) {
+                    save(container);
+                }
+                component.getMetrics().addDataUnitSaveTime(
+                        System.currentTimeMillis() - saveStart);
+                SAVE_DURATION.observeSince(saveStart);
+            } else if (measureSize) {
+                dataUnit.setSizeBefore(getContentSize(container));
             }
         }
         return usedDataUnits;
@@ -123,7 +163,70 @@ public class DataUnitManager {
             //
             final DataUnitContainer container =
                     dataUnits.get(dataUnit.getIri());
-            save(container);
+            // The component could change the content of any data unit
+            // it used, also through the repository of other data unit.
+            onComponentEnd(container);
+            // Inputs are measured as outputs of the previous component.
+            if (!dataUnit.isInput() && measureSize) {
+                final Map<String, Long> size = getContentSize(container);
+                dataUnit.setSizeAfter(size);
+                observeSize(size);
+            }
+            final long saveStart = System.currentTimeMillis();
+            try (ExecutionTrace.Span span = execution.getTrace().begin(
+                    "save " + dataUnit.getBinding(), "data unit")) {
+                save(container);
+            }
+            component.getMetrics().addDataUnitSaveTime(
+                    System.currentTimeMillis() - saveStart);
+            SAVE_DURATION.observeSince(saveStart);
+        }
+    }
+
+    private static void observeSize(Map<String, Long> size) {
+        if (size == null) {
+            return;
+        }
+        for (Map.Entry<String, Long> entry : size.entrySet()) {
+            MetricsRegistry.getDefault().histogram(
+                    "lp_executor_data_unit_" + entry.getKey(),
+                    "Size of data units at the end of a component.",
+                    MetricsRegistry.SIZE_BUCKETS).observe(entry.getValue());
+        }
+    }
+
+    private static void onComponentEnd(DataUnitContainer container) {
+        switch (container.getStatus()) {
+            case NEW:
+            case CLOSED:
+                return;
+        }
+        if (container.getInstance() instanceof MeasurableDataUnit) {
+            ((MeasurableDataUnit) container.getInstance()).onComponentEnd();
+        }
+    }
+
+    /**
+     * @param container
+     * @return Null if size is not available.
+     */
+    private static Map<String, Long> getContentSize(
+            DataUnitContainer container) {
+        switch (container.getStatus()) {
+            case NEW:
+            case CLOSED:
+                return null;
+        }
+        if (!(container.getInstance() instanceof MeasurableDataUnit)) {
+            return null;
+        }
+        try {
+            return ((MeasurableDataUnit) container.getInstance())
+                    .getContentSize();
+        } catch (LpException ex) {
+            LOG.warn("Can't get size of data unit: {}",
+                    container.getMetadata().getIri(), ex);
+            return null;
         }
     }
 
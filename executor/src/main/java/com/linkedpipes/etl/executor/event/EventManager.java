@@ -1,6 +1,8 @@
 package com.linkedpipes.etl.executor.event;
 
 import com.linkedpipes.etl.executor.api.v1.event.Event;
+import com.linkedpipes.etl.executor.api.v1.metrics.Counter;
+import com.linkedpipes.etl.executor.api.v1.metrics.MetricsRegistry;
 
 import java.lang.ref.WeakReference;
 import java.util.LinkedList;
@@ -26,6 +28,11 @@ public class EventManager {
 
     }
 
+    private static final Counter PUBLISHED_EVENTS =
+            MetricsRegistry.getDefault().counter(
+                    "lp_executor_events_published_total",
+                    "Number of published events.");
+
     /**
      * List of registered listeners.
      */
@@ -64,6 +71,7 @@ public class EventManager {
     public synchronized void publish(Event event) {
         event.setResource(iriPrefix + counter);
         counter += 1;
+        PUBLISHED_EVENTS.inc();
         // Notify listeners and also remove null.
         final List<WeakReference<EventListener>> nullReferences
                 = new LinkedList();
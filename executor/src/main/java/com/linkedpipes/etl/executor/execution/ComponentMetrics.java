@@ -0,0 +1,101 @@
+package com.linkedpipes.etl.executor.execution;
+
+/**
+ * Performance metrics of a single component execution. As a component
+ * can run in multiple threads (partitioned execution) values are
+ * accumulated.
+ *
+ * The CPU time is the CPU time of the executor process during
+ * the execution. The allocated memory is the memory allocated by the
+ * threads that execute the component, memory allocated by worker threads
+ * started by the component is not included.
+ *
+ * All times are in milliseconds, -1 is used for values that are not
+ * available.
+ *
+ * @author Petr Škoda
+ */
+public final class ComponentMetrics {
+
+    private long wallTime = -1;
+
+    private long cpuTime = -1;
+
+    private long threadAllocatedBytes = -1;
+
+    private long dataUnitInitTime = 0;
+
+    private long dataUnitSaveTime = 0;
+
+    ComponentMetrics() {
+    }
+
+    /**
+     * Add measurement of one execution thread.
+     *
+     * @param wallTime
+     * @param cpuTime Ignored if negative.
+     * @param threadAllocatedBytes Ignored if negative.
+     */
+    public synchronized void addExecution(long wallTime, long cpuTime,
+            long threadAllocatedBytes) {
+        this.wallTime = Math.max(this.wallTime, 0) + wallTime;
+        if (cpuTime >= 0) {
+            this.cpuTime = Math.max(this.cpuTime, 0) + cpuTime;
+        }
+        if (threadAllocatedBytes >= 0) {
+            this.threadAllocatedBytes = Math.max(this.threadAllocatedBytes, 0)
+                    + threadAllocatedBytes;
+        }
+    }
+
+    /**
+     * Set wall time of the whole component execution, use after
+     * {@link #addExecution(long, long, long)} in case of multiple threads.
+     *
+     * @param wallTime
+     */
+    public synchronized void setWallTime(long wallTime) {
+        this.wallTime = wallTime;
+    }
+
+    /**
+     * Set CPU time of the whole component execution, use instead of
+     * {@link #addExecution(long, long, long)} for threads that run
+     * in parallel.
+     *
+     * @param cpuTime
+     */
+    public synchronized void setCpuTime(long cpuTime) {
+        this.cpuTime = cpuTime;
+    }
+
+    public synchronized void addDataUnitInitTime(long time) {
+        dataUnitInitTime += time;
+    }
+
+    public synchronized void addDataUnitSaveTime(long time) {
+        dataUnitSaveTime += time;
+    }
+
+    public synchronized long getWallTime() {
+        return wallTime;
+    }
+
+    public synchronized long getCpuTime() {
+        return cpuTime;
+    }
+
+    public synchronized long getThreadAllocatedBytes() {
+        return threadAllocatedBytes;
+    }
+
+    public synchronized long getDataUnitInitTime() {
+        return dataUnitInitTime;
+    }
+
+    public synchronized long getDataUnitSaveTime() {
+        return dataUnitSaveTime;
+    }
+
+}
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * TODO: Extract runtime information from pipeline
@@ -124,6 +125,16 @@ public final class ExecutionModel implements EventManager.EventListener {
          */
         private final boolean input;
 
+        /**
+         * Size of content at the start of the component execution.
+         */
+        private Map<String, Long> sizeBefore = null;
+
+        /**
+         * Size of content at the end of the component execution.
+         */
+        private Map<String, Long> sizeAfter = null;
+
         public DataUnit(String iri, String binding, boolean input) {
             this.iri = iri;
             this.binding = binding;
@@ -162,6 +173,28 @@ public final class ExecutionModel implements EventManager.EventListener {
             return input;
         }
 
+        public void setSizeBefore(Map<String, Long> sizeBefore) {
+            this.sizeBefore = sizeBefore;
+        }
+
+        public void setSizeAfter(Map<String, Long> sizeAfter) {
+            this.sizeAfter = sizeAfter;
+        }
+
+        /**
+         * @return Null if the size is not available.
+         */
+        public Map<String, Long> getSizeBefore() {
+            return sizeBefore;
+        }
+
+        /**
+         * @return Null if the size is not available.
+         */
+        public Map<String, Long> getSizeAfter() {
+            return sizeAfter;
+        }
+
     }
 
     public static class Component {
@@ -186,6 +219,8 @@ public final class ExecutionModel implements EventManager.EventListener {
          */
         private final int order;
 
+        private final ComponentMetrics metrics = new ComponentMetrics();
+
         public Component(String iri, boolean mapped, int order) {
             this.iri = iri;
             this.mapped = mapped;
@@ -209,6 +244,10 @@ public final class ExecutionModel implements EventManager.EventListener {
             return dataUnits;
         }
 
+        public ComponentMetrics getMetrics() {
+            return metrics;
+        }
+
     }
 
     private static final Logger LOG
@@ -238,6 +277,8 @@ public final class ExecutionModel implements EventManager.EventListener {
 
     private final ResourceManager resources;
 
+    private final ExecutionTrace trace;
+
     private ExecutionStatus status;
 
     /**
@@ -246,9 +287,10 @@ public final class ExecutionModel implements EventManager.EventListener {
     private Date lastChange = new Date();
 
     public ExecutionModel(String iri,
-            ResourceManager resources) {
+            ResourceManager resources, ExecutionTrace trace) {
         this.iri = iri;
         this.resources = resources;
+        this.trace = trace;
         this.status = status.INITIALIZING;
         //
         final ValueFactory vf = SimpleValueFactory.getInstance();
@@ -274,6 +316,10 @@ public final class ExecutionModel implements EventManager.EventListener {
         return components;
     }
 
+    public ExecutionTrace getTrace() {
+        return trace;
+    }
+
     public Component getComponent(String iri) {
         for (Component component : components) {
             if (component.iri.equals(iri)) {
@@ -465,6 +511,7 @@ public final class ExecutionModel implements EventManager.EventListener {
             handler.handleStatement(vf.createStatement(componentResource,
                     vf.createIRI("http://etl.linkedpipes.com/ontology/status"),
                     vf.createIRI(component.status.getIri()), graph));
+            writeMetrics(handler, componentResource, component.metrics);
             // Save data units.
             for (DataUnit dataUnit : component.dataUnits) {
                 final IRI dataUnitResource = vf.createIRI(dataUnit.iri);
@@ -510,6 +557,7 @@ public final class ExecutionModel implements EventManager.EventListener {
                             vf.createIRI(
                                     "http://etl.linkedpipes.com/ontology/dataPath"),
                             vf.createLiteral(path), graph));
+                    writeSize(handler, dataUnitResource, dataUnit);
                 }
             }
         }
@@ -527,6 +575,65 @@ public final class ExecutionModel implements EventManager.EventListener {
         }
     }
 
+    private void writeMetrics(RDFHandler handler, IRI resource,
+            ComponentMetrics metrics) {
+        writeMetric(handler, resource, "wallTime", metrics.getWallTime());
+        writeMetric(handler, resource, "cpuTime", metrics.getCpuTime());
+        writeMetric(handler, resource, "threadAllocatedBytes",
+                metrics.getThreadAllocatedBytes());
+        if (metrics.getWallTime() >= 0) {
+            writeMetric(handler, resource, "dataUnitInitTime",
+                    metrics.getDataUnitInitTime());
+            writeMetric(handler, resource, "dataUnitSaveTime",
+                    metrics.getDataUnitSaveTime());
+        }
+    }
+
+    /**
+     * For each measured size (ie. triples, files) write the final size
+     * and the net change made by the component. Only sizes are measured,
+     * so replaced content is not visible in the change.
+     *
+     * @param handler
+     * @param resource
+     * @param dataUnit
+     */
+    private void writeSize(RDFHandler handler, IRI resource,
+            DataUnit dataUnit) {
+        final Map<String, Long> before = dataUnit.sizeBefore;
+        final Map<String, Long> after = dataUnit.sizeAfter;
+        if (after == null) {
+            return;
+        }
+        for (Map.Entry<String, Long> entry : after.entrySet()) {
+            final String name = entry.getKey();
+            final long value = entry.getValue();
+            writeMetric(handler, resource, name, value);
+            if (before == null || !before.containsKey(name)) {
+                continue;
+            }
+            // The change can be negative.
+            writeValue(handler, resource, name + "Delta",
+                    value - before.get(name));
+        }
+    }
+
+    private void writeMetric(RDFHandler handler, IRI resource, String name,
+            long value) {
+        if (value < 0) {
+            return;
+        }
+        writeValue(handler, resource, name, value);
+    }
+
+    private void writeValue(RDFHandler handler, IRI resource, String name,
+            long value) {
+        final ValueFactory vf = SimpleValueFactory.getInstance();
+        handler.handleStatement(vf.createStatement(resource,
+                vf.createIRI("http://etl.linkedpipes.com/ontology/" + name),
+                vf.createLiteral(value), graph));
+    }
+
     /**
      * Create and return execution model for a component from a pipeline
      * component model.
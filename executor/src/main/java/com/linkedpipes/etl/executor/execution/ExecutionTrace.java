@@ -0,0 +1,186 @@
+package com.linkedpipes.etl.executor.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collect spans of an execution and write them in the trace event format,
+ * so the trace can be opened in chrome://tracing or similar viewer.
+ *
+ * Spans from the executor-monitor are not recorded directly, instead
+ * the monitor send times with the execution request.
+ *
+ * @author Petr Škoda
+ */
+public final class ExecutionTrace {
+
+    /**
+     * Represent a running span, closing the span record it in the trace.
+     */
+    public final class Span implements AutoCloseable {
+
+        private final String name;
+
+        private final String category;
+
+        private final long start;
+
+        private final Map<String, Object> args = new HashMap<>();
+
+        private Span(String name, String category) {
+            this.name = name;
+            this.category = category;
+            this.start = now();
+        }
+
+        /**
+         * Add argument shown with the span.
+         *
+         * @param name
+         * @param value
+         * @return
+         */
+        public Span arg(String name, Object value) {
+            args.put(name, value);
+            return this;
+        }
+
+        @Override
+        public void close() {
+            addEvent(name, category, EXECUTOR_PID,
+                    Thread.currentThread(), start, now() - start, args);
+        }
+
+    }
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(ExecutionTrace.class);
+
+    private static final int MONITOR_PID = 1;
+
+    private static final int EXECUTOR_PID = 2;
+
+    private final String traceId;
+
+    /**
+     * Wall clock time in microseconds at {@link #startNano}.
+     */
+    private final long startMicro;
+
+    private final long startNano;
+
+    private final List<Map<String, Object>> events = new ArrayList<>(256);
+
+    private final Set<Long> namedThreads = new HashSet<>();
+
+    public ExecutionTrace(String traceId) {
+        this.traceId = traceId;
+        this.startMicro = System.currentTimeMillis() * 1000;
+        this.startNano = System.nanoTime();
+        addMetadata("process_name", MONITOR_PID, null, "executor-monitor");
+        addMetadata("process_name", EXECUTOR_PID, null, "executor");
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * Start a new span in the current thread, the span must be closed in
+     * the same thread.
+     *
+     * @param name
+     * @param category
+     * @return
+     */
+    public Span begin(String name, String category) {
+        return new Span(name, category);
+    }
+
+    /**
+     * Add span recorded by the executor-monitor.
+     *
+     * @param name
+     * @param start Start time in milliseconds.
+     * @param end End time in milliseconds.
+     */
+    public void addMonitorSpan(String name, long start, long end) {
+        addEvent(name, "monitor", MONITOR_PID, null, start * 1000,
+                (end - start) * 1000, new HashMap<>());
+    }
+
+    /**
+     * Write trace to given file.
+     *
+     * @param file
+     */
+    public void write(File file) {
+        final Map<String, Object> content = new LinkedHashMap<>();
+        final Map<String, Object> otherData = new HashMap<>();
+        otherData.put("traceId", traceId);
+        content.put("otherData", otherData);
+        content.put("displayTimeUnit", "ms");
+        synchronized (events) {
+            content.put("traceEvents", new ArrayList<>(events));
+        }
+        final ObjectMapper mapper = new ObjectMapper();
+        try {
+            mapper.writeValue(file, content);
+        } catch (IOException ex) {
+            LOG.error("Can't write trace file.", ex);
+        }
+    }
+
+    private long now() {
+        return startMicro + (System.nanoTime() - startNano) / 1000;
+    }
+
+    private void addEvent(String name, String category, int pid,
+            Thread thread, long start, long duration,
+            Map<String, Object> args) {
+        final Map<String, Object> event = new HashMap<>();
+        event.put("name", name);
+        event.put("cat", category);
+        event.put("ph", "X");
+        event.put("ts", start);
+        event.put("dur", duration);
+        event.put("pid", pid);
+        event.put("tid", thread == null ? 0 : thread.getId());
+        event.put("args", args);
+        synchronized (events) {
+            if (thread != null && namedThreads.add(thread.getId())) {
+                addMetadata("thread_name", pid, thread.getId(),
+                        thread.getName());
+            }
+            events.add(event);
+        }
+    }
+
+    private void addMetadata(String name, int pid, Long tid, String value) {
+        final Map<String, Object> event = new HashMap<>();
+        event.put("name", name);
+        event.put("ph", "M");
+        event.put("pid", pid);
+        if (tid != null) {
+            event.put("tid", tid);
+        }
+        final Map<String, Object> args = new HashMap<>();
+        args.put("name", value);
+        event.put("args", args);
+        synchronized (events) {
+            events.add(event);
+        }
+    }
+
+}
@@ -67,6 +67,10 @@ public final class ResourceManager {
         return file;
     }
 
+    public File getTraceFile() {
+        return new File(executionRoot, "trace.json");
+    }
+
     public File getExecutionFile() {
         final File file = new File(executionRoot, "execution.jsonld");
         file.getParentFile().mkdir();
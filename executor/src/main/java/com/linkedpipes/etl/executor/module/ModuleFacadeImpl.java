@@ -68,6 +68,7 @@ class ModuleFacadeImpl implements ModuleFacade,
             + "com.linkedpipes.etl.executor.api.v1.component,"
             + "com.linkedpipes.etl.executor.api.v1.dataunit,"
             + "com.linkedpipes.etl.executor.api.v1.event,"
+            + "com.linkedpipes.etl.executor.api.v1.metrics,"
             + "com.linkedpipes.etl.executor.api.v1.rdf,"
             + "com.linkedpipes.etl.executor.api.v1.vocabulary";
 
@@ -170,7 +171,10 @@ class ModuleFacadeImpl implements ModuleFacade,
     }
 
     /**
-     * TODO This function require storage to be up and running. We should add an option how to pre-load jar files from directory.
+     * The jar is obtained from the storage and so the storage must be up
+     * and running. Local jar files are used only if enabled in
+     * the configuration, as they would let anyone who can submit
+     * a pipeline load any local code.
      *
      * @param definition
      * @param resource
@@ -198,15 +202,25 @@ class ModuleFacadeImpl implements ModuleFacade,
         final String jarFileUri = componentInfo.get("path");
         // TODO Enable reload for updated component versions?
         if (!components.containsKey(jarFileUri)) {
-            // We do not download directly from the IRI, instead
-            // we ask storage.
             final String bundleIri;
-            try {
-                bundleIri = configuration.getStorageAddress() +
-                        "/api/v1/jars/file?iri=" +
-                        URLEncoder.encode(jarFileUri, "UTF-8");
-            } catch (UnsupportedEncodingException ex) {
-                throw new ModuleException("Invalid encoding!", ex);
+            if (jarFileUri.startsWith("file:")) {
+                if (!configuration.isLocalJarsEnabled()) {
+                    throw new ModuleException(
+                            "Local jar files are not enabled: {}",
+                            jarFileUri);
+                }
+                // Local file, ie. pipeline executed without storage.
+                bundleIri = jarFileUri;
+            } else {
+                // We do not download directly from the IRI, instead
+                // we ask storage.
+                try {
+                    bundleIri = configuration.getStorageAddress() +
+                            "/api/v1/jars/file?iri=" +
+                            URLEncoder.encode(jarFileUri, "UTF-8");
+                } catch (UnsupportedEncodingException ex) {
+                    throw new ModuleException("Invalid encoding!", ex);
+                }
             }
             LOG.info("Loading jar file from: {}", jarFileUri);
             final Bundle bundle;
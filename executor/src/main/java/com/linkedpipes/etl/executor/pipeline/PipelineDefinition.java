@@ -3,6 +3,7 @@ package com.linkedpipes.etl.executor.pipeline;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
 import com.linkedpipes.etl.executor.api.v1.rdf.SparqlSelect;
 import com.linkedpipes.etl.executor.api.v1.vocabulary.LINKEDPIPES;
+import com.linkedpipes.etl.executor.execution.ExecutionTrace;
 import com.linkedpipes.etl.executor.execution.ResourceManager;
 import com.linkedpipes.etl.executor.rdf.PojoLoader;
 import org.apache.commons.io.FileUtils;
@@ -90,9 +91,10 @@ public class PipelineDefinition implements SparqlSelect {
      * Load the pipeline definition.
      *
      * @param resourceManager
+     * @param trace
      */
-    public void initialize(ResourceManager resourceManager)
-            throws InitializationFailed {
+    public void initialize(ResourceManager resourceManager,
+            ExecutionTrace trace) throws InitializationFailed {
         try (RepositoryConnection connection = repository.getConnection()) {
             load(connection, resourceManager.getDefinitionFile());
         } catch (RepositoryException ex) {
@@ -125,7 +127,8 @@ public class PipelineDefinition implements SparqlSelect {
                     "Can't load pipeline definition.", ex);
         }
         // Resolve requirements.
-        try {
+        try (ExecutionTrace.Span span = trace.begin(
+                "resolve requirements", "executor")) {
             RequirementProcessor.handle(this, resourceManager);
         } catch (RequirementProcessor.ProcessingFailed ex) {
             throw new InitializationFailed("Can't resolve requirements.", ex);
@@ -4,12 +4,15 @@ import com.linkedpipes.etl.executor.api.v1.Plugin;
 import com.linkedpipes.etl.executor.api.v1.component.Component;
 import com.linkedpipes.etl.executor.api.v1.component.SequentialComponent;
 import com.linkedpipes.etl.executor.api.v1.event.Event;
+import com.linkedpipes.etl.executor.api.v1.metrics.Histogram;
+import com.linkedpipes.etl.executor.api.v1.metrics.MetricsRegistry;
 import com.linkedpipes.etl.executor.component.ComponentExecutor;
 import com.linkedpipes.etl.executor.dataunit.DataUnitManager;
 import com.linkedpipes.etl.executor.event.EventFactory;
 import com.linkedpipes.etl.executor.event.EventManager;
 import com.linkedpipes.etl.executor.event.ExecutionFailed;
 import com.linkedpipes.etl.executor.execution.ExecutionModel;
+import com.linkedpipes.etl.executor.execution.ExecutionTrace;
 import com.linkedpipes.etl.executor.execution.ResourceManager;
 import com.linkedpipes.etl.executor.logging.LoggerFacade;
 import com.linkedpipes.etl.executor.module.ModuleFacade;
@@ -21,8 +24,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -45,6 +50,12 @@ public class PipelineExecutor implements EventManager.EventListener {
     private static final Logger LOG
             = LoggerFactory.getLogger(PipelineExecutor.class);
 
+    private static final Histogram COMPONENT_DURATION =
+            MetricsRegistry.getDefault().histogram(
+                    "lp_executor_component_duration_seconds",
+                    "Wall time of component executions.",
+                    MetricsRegistry.TIME_BUCKETS);
+
     private final ResourceManager resources;
 
     private final PipelineDefinition pipeline;
@@ -59,13 +70,19 @@ public class PipelineExecutor implements EventManager.EventListener {
 
     private DataUnitManager dataUnits;
 
+    /**
+     * If true size of output data units is measured before and after
+     * every component, that can require a scan of the data.
+     */
+    private boolean measureDataUnitSize = false;
+
     /**
      * If True then the execution should end as soon as possible.
      */
     private boolean stopExecution = false;
 
     public PipelineExecutor(File executionDirectory,
-            ModuleFacade modules, String iri) {
+            ModuleFacade modules, String iri, ExecutionTrace trace) {
         // TODO Determine path by proper way, this is more of a hack.
         this.resources = new ResourceManager(executionDirectory.getParentFile(),
                 executionDirectory);
@@ -73,7 +90,7 @@ public class PipelineExecutor implements EventManager.EventListener {
                 this.resources.getWorkingDirectory("definition"));
         this.loggerFacade.setSystemAppender(resources.getExecutionLogFile());
         this.modules = modules;
-        execution = new ExecutionModel(iri, resources);
+        execution = new ExecutionModel(iri, resources, trace);
     }
 
     public void initialize() {
@@ -81,8 +98,9 @@ public class PipelineExecutor implements EventManager.EventListener {
         events = new EventManager(execution.getIri());
         events.addListener(this);
         // Load definition.
-        try {
-            pipeline.initialize(resources);
+        try (ExecutionTrace.Span span = execution.getTrace().begin(
+                "load definition", "executor")) {
+            pipeline.initialize(resources, execution.getTrace());
         } catch (PipelineDefinition.InitializationFailed ex) {
             events.publish(EventFactory.initializationFailed(
                     "Can't load pipeline definition.", ex));
@@ -92,11 +110,21 @@ public class PipelineExecutor implements EventManager.EventListener {
         }
         execution.assignPipeline(pipeline.getPipelineModel());
         events.addListener(execution);
-        dataUnits = new DataUnitManager(pipeline, execution, events);
+        dataUnits = new DataUnitManager(pipeline, execution, events,
+                measureDataUnitSize);
         //
         MDC.remove(LoggerFacade.SYSTEM_MDC);
     }
 
+    /**
+     * Must be called before {@link #initialize()}.
+     *
+     * @param measureDataUnitSize
+     */
+    public void setMeasureDataUnitSize(boolean measureDataUnitSize) {
+        this.measureDataUnitSize = measureDataUnitSize;
+    }
+
     /**
      * Write status of currently executed pipeline.
      *
@@ -107,6 +135,20 @@ public class PipelineExecutor implements EventManager.EventListener {
         execution.write(stream, format);
     }
 
+    /**
+     * Register listener for events of the execution, must be called
+     * after {@link #initialize()}. The listener is held as a weak reference.
+     *
+     * @param listener
+     */
+    public void addListener(EventManager.EventListener listener) {
+        events.addListener(listener);
+    }
+
+    public ExecutionModel getExecution() {
+        return execution;
+    }
+
     @Override
     public void onEvent(Event event) {
         if (event instanceof ExecutionFailed) {
@@ -118,8 +160,9 @@ public class PipelineExecutor implements EventManager.EventListener {
         beforeExecution();
         // Get all components, so if some is missing we find out at the
         // beginning of a pipeline.
-        final Map<String, SequentialComponent> componenInstances;
-        try {
+        final Map<String, List<SequentialComponent>> componenInstances;
+        try (ExecutionTrace.Span span = execution.getTrace().begin(
+                "initialize execution", "executor")) {
             sendExecutionBeginNotification();
             componenInstances = initializeComponents();
             dataUnits.onExecutionStart(modules);
@@ -147,6 +190,10 @@ public class PipelineExecutor implements EventManager.EventListener {
                             "Unexpected component thread termination detected."
                     ));
                 }
+                final long wallTime = component.getMetrics().getWallTime();
+                if (wallTime >= 0) {
+                    COMPONENT_DURATION.observe(wallTime / 1000.0);
+                }
             }
             if (stopExecution) {
                 break;
@@ -166,7 +213,10 @@ public class PipelineExecutor implements EventManager.EventListener {
     private void afterExecution() {
         // Close data units.
         if (dataUnits != null) {
-            dataUnits.onExecutionEnd();
+            try (ExecutionTrace.Span span = execution.getTrace().begin(
+                    "close data units", "data unit")) {
+                dataUnits.onExecutionEnd();
+            }
         }
         // Notify plugins that we are done and they can close too.
         // Behind this point we can't work with data units.
@@ -178,6 +228,7 @@ public class PipelineExecutor implements EventManager.EventListener {
         // there must be no further changes.
         events.publish(EventFactory.executionFinished());
         execution.save();
+        execution.getTrace().write(resources.getTraceFile());
         //
         loggerFacade.destroyAll();
         MDC.remove(LoggerFacade.SYSTEM_MDC);
@@ -228,40 +279,60 @@ public class PipelineExecutor implements EventManager.EventListener {
     }
 
     /**
-     * Create and return instances of used components.
+     * Create and return instances of used components. For components
+     * executed in partitions there is one instance per partition.
      * <p>
      * TODO We may move this into the ModuleFacade.
      *
      * @return
      */
-    private Map<String, SequentialComponent> initializeComponents()
+    private Map<String, List<SequentialComponent>> initializeComponents()
             throws InitializationFailure {
-        final Map<String, SequentialComponent> result = new HashMap<>();
+        final Map<String, List<SequentialComponent>> result = new HashMap<>();
         for (PipelineModel.Component component
                 : pipeline.getPipelineModel().getComponents()) {
-            final Component instance;
-            try {
-                instance = modules.getComponent(pipeline,
-                        component.getIri(), new Component.Context() {
-
-                            @Override
-                            public void sendMessage(Event message) {
-                                events.publish(message);
-                            }
-
-                        });
-            } catch (ModuleException ex) {
-                LOG.error("Component ({}) initialization failed.",
-                        component.getDefaultLabel());
-                throw new InitializationFailure(ex);
-            }
-            if (instance instanceof SequentialComponent) {
-                result.put(component.getIri(), (SequentialComponent) instance);
+            final int count;
+            if (component.getExecutionType()
+                    == PipelineModel.ExecutionType.EXECUTE) {
+                count = component.getPartitions();
             } else {
-                throw new InitializationFailure("Unknown component type.");
+                count = 1;
             }
+            final List<SequentialComponent> instances = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                instances.add(createComponent(component));
+            }
+            result.put(component.getIri(), instances);
         }
         return result;
     }
 
+    private SequentialComponent createComponent(
+            PipelineModel.Component component) throws InitializationFailure {
+        final Component instance;
+        // Include loading of the bundle if not loaded yet.
+        try (ExecutionTrace.Span span = execution.getTrace().begin(
+                "load component", "executor")) {
+            span.arg("component", component.getDefaultLabel());
+            instance = modules.getComponent(pipeline,
+                    component.getIri(), new Component.Context() {
+
+                        @Override
+                        public void sendMessage(Event message) {
+                            events.publish(message);
+                        }
+
+                    });
+        } catch (ModuleException ex) {
+            LOG.error("Component ({}) initialization failed.",
+                    component.getDefaultLabel());
+            throw new InitializationFailure(ex);
+        }
+        if (instance instanceof SequentialComponent) {
+            return (SequentialComponent) instance;
+        } else {
+            throw new InitializationFailure("Unknown component type.");
+        }
+    }
+
 }
@@ -173,6 +173,11 @@ public class PipelineModel implements PojoLoader.Loadable {
 
         private ExecutionType executionType;
 
+        /**
+         * Number of component instances to run in parallel.
+         */
+        private int partitions = 1;
+
         public Component(String iri) {
             this.iri = iri;
         }
@@ -197,6 +202,10 @@ public class PipelineModel implements PojoLoader.Loadable {
             return executionType;
         }
 
+        public int getPartitions() {
+            return partitions;
+        }
+
         public String getDefaultLabel() {
             if (labels.isEmpty()) {
                 return iri;
@@ -227,6 +236,20 @@ public class PipelineModel implements PojoLoader.Loadable {
                                 "Must be an integer.");
                     }
                     return null;
+                case LINKEDPIPES.HAS_PARTITIONS:
+                    try {
+                        partitions = Integer.parseInt(object.stringValue());
+                    } catch (NumberFormatException ex) {
+                        throw RdfException.invalidProperty(iri,
+                                LINKEDPIPES.HAS_PARTITIONS,
+                                "Must be an integer.");
+                    }
+                    if (partitions < 1) {
+                        throw RdfException.invalidProperty(iri,
+                                LINKEDPIPES.HAS_PARTITIONS,
+                                "Must be a positive integer.");
+                    }
+                    return null;
                 case LINKEDPIPES.HAS_PORT:
                     final DataUnit newDataUnit = new DataUnit(
                             object.stringValue(), this);
@@ -264,6 +287,11 @@ public class PipelineModel implements PojoLoader.Loadable {
                 throw RdfException.invalidProperty(iri, null,
                         "Incomplete definition - missing executionType.");
             }
+            if (partitions < 1) {
+                throw RdfException.invalidProperty(iri,
+                        LINKEDPIPES.HAS_PARTITIONS,
+                        "Must be a positive number.");
+            }
         }
 
     }
@@ -1,16 +1,22 @@
 package com.linkedpipes.etl.executor.web.servlet;
 
+import com.linkedpipes.etl.executor.Configuration;
+import com.linkedpipes.etl.executor.api.v1.metrics.MetricsRegistry;
+import com.linkedpipes.etl.executor.execution.ExecutionTrace;
 import com.linkedpipes.etl.executor.module.ModuleFacade;
 import com.linkedpipes.etl.executor.pipeline.PipelineExecutor;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.UUID;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.openrdf.rio.RDFFormat;
 import org.openrdf.rio.Rio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.task.TaskExecutor;
@@ -28,6 +34,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping(value = "/executions")
 class ExecutionServlet {
 
+    private static final Logger LOG
+            = LoggerFactory.getLogger(ExecutionServlet.class);
+
     /**
      * Data transfer object for incoming task definition.
      */
@@ -47,22 +56,48 @@ class ExecutionServlet {
 
     ;
 
+    /**
+     * Headers used by executor-monitor to propagate tracing information.
+     */
+    private static final String HEADER_TRACE_ID = "X-LP-Trace-Id";
+
+    /**
+     * Time in milliseconds when the execution was queued.
+     */
+    private static final String HEADER_TRACE_QUEUED = "X-LP-Trace-Queued";
+
+    /**
+     * Time in milliseconds when the monitor started the dispatch.
+     */
+    private static final String HEADER_TRACE_DISPATCHED
+            = "X-LP-Trace-Dispatched";
+
     @Autowired
     private ModuleFacade modules;
 
     @Autowired
     private TaskExecutor taskExecutor;
 
+    @Autowired
+    private Configuration configuration;
+
     private PipelineExecutor executor = null;
 
     private final Object lock = new Object();
 
+    ExecutionServlet() {
+        MetricsRegistry.getDefault().gauge("lp_executor_active_executions",
+                "Number of running executions.",
+                () -> executor == null ? 0 : 1);
+    }
+
     @ResponseBody
     @RequestMapping(value = "", method = RequestMethod.POST,
             consumes = MediaType.APPLICATION_JSON_VALUE)
     public void accept(@RequestBody AcceptRequest task,
-            HttpServletResponse response) {
-        if (execute(new File(task.directory), task.iri)) {
+            HttpServletRequest request, HttpServletResponse response) {
+        if (execute(new File(task.directory), task.iri,
+                createTrace(request))) {
             response.setStatus(HttpServletResponse.SC_CREATED);
         } else {
             response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
@@ -87,16 +122,20 @@ class ExecutionServlet {
      *
      * @param executionDirectory
      * @param iri
+     * @param trace
      * @return False if there is running pipeline.
      */
-    public boolean execute(File executionDirectory, String iri) {
+    public boolean execute(File executionDirectory, String iri,
+            ExecutionTrace trace) {
         synchronized (lock) {
             if (executor != null) {
                 // Already executing.
                 return false;
             }
-            final PipelineExecutor newExecutor
-                    = new PipelineExecutor(executionDirectory, modules, iri);
+            final PipelineExecutor newExecutor = new PipelineExecutor(
+                    executionDirectory, modules, iri, trace);
+            newExecutor.setMeasureDataUnitSize(
+                    configuration.isMeasureDataUnitSize());
             executor = newExecutor;
             taskExecutor.execute(() -> {
                 executor.initialize();
@@ -108,6 +147,38 @@ class ExecutionServlet {
         return true;
     }
 
+    /**
+     * Create trace for a new execution, spans of the executor-monitor
+     * are added from the request headers.
+     *
+     * @param request
+     * @return
+     */
+    private static ExecutionTrace createTrace(HttpServletRequest request) {
+        String traceId = request.getHeader(HEADER_TRACE_ID);
+        if (traceId == null) {
+            traceId = UUID.randomUUID().toString();
+        }
+        final ExecutionTrace trace = new ExecutionTrace(traceId);
+        final long now = System.currentTimeMillis();
+        try {
+            final String queued = request.getHeader(HEADER_TRACE_QUEUED);
+            final String dispatched =
+                    request.getHeader(HEADER_TRACE_DISPATCHED);
+            if (dispatched != null) {
+                final long dispatchedTime = Long.parseLong(dispatched);
+                if (queued != null) {
+                    trace.addMonitorSpan("queued", Long.parseLong(queued),
+                            dispatchedTime);
+                }
+                trace.addMonitorSpan("dispatch", dispatchedTime, now);
+            }
+        } catch (NumberFormatException ex) {
+            LOG.warn("Invalid trace header.", ex);
+        }
+        return trace;
+    }
+
     /**
      * Write status of currently executing pipeline into the given stream.
      *
@@ -1,22 +1,61 @@
 package com.linkedpipes.plugin.quality.sparql.ask;
 
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.component.api.Component;
 import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.component.api.utils.ParallelExecution;
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableSingleGraphDataUnit;
+import com.linkedpipes.etl.dataunit.system.api.files.WritableFilesDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.openrdf.model.IRI;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.model.vocabulary.RDF;
 import org.openrdf.query.BooleanQuery;
+import org.openrdf.query.Query;
 import org.openrdf.query.QueryLanguage;
+import org.openrdf.query.TupleQuery;
+import org.openrdf.query.TupleQueryResult;
 import org.openrdf.query.impl.SimpleDataset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Evaluate a list of assertions over the input graph. The result of all
+ * evaluated assertions is reported as RDF and CSV. With fail fast
+ * the execution fails on the first failed assertion and no report
+ * is written.
  *
  * @author Petr Škoda
  */
 public final class SparqlAsk implements Component.Sequential {
 
+    private static final Logger LOG = LoggerFactory.getLogger(SparqlAsk.class);
+
+    private static final String REPORT_FILE_NAME = "report.csv";
+
     @Component.InputPort(id = "InputRdf")
     public SingleGraphDataUnit inputRdf;
 
+    @Component.ContainsConfiguration
+    @Component.InputPort(id = "Configuration")
+    public SingleGraphDataUnit configurationRdf;
+
+    @Component.OutputPort(id = "ReportRdf")
+    public WritableSingleGraphDataUnit reportRdf;
+
+    @Component.OutputPort(id = "ReportFiles")
+    public WritableFilesDataUnit reportFiles;
+
     @Component.Configuration
     public SparqlAskConfiguration configuration;
 
@@ -25,30 +64,184 @@ public final class SparqlAsk implements Component.Sequential {
 
     @Override
     public void execute() throws LpException {
-        if (configuration.getQuery() == null
-                || configuration.getQuery().isEmpty()) {
+        final List<SparqlAskConfiguration.Assertion> assertions
+                = new ArrayList<>();
+        if (configuration.getQuery() != null
+                && !configuration.getQuery().isEmpty()) {
+            assertions.add(new SparqlAskConfiguration.Assertion("query",
+                    configuration.getQuery(), configuration.isFailOnTrue()));
+        }
+        for (SparqlAskConfiguration.Assertion assertion
+                : configuration.getAssertions()) {
+            if (assertion.getQuery() == null
+                    || assertion.getQuery().isEmpty()) {
+                throw exceptionFactory.failure("Missing property: {} on {}",
+                        SparqlAskVocabulary.HAS_SPARQL, assertion.getName());
+            }
+            if (assertion.getName() == null) {
+                assertion.setName("assertion-" + assertions.size());
+            }
+            assertions.add(assertion);
+        }
+        if (assertions.isEmpty()) {
             throw exceptionFactory.failure("Missing property: {}",
                     SparqlAskVocabulary.HAS_SPARQL);
         }
         //
-        final boolean ask;
+        final boolean[] results = new boolean[assertions.size()];
+        if (configuration.getThreads() > 1 && assertions.size() > 1) {
+            evaluateParallel(assertions, results,
+                    Math.min(configuration.getThreads(), assertions.size()));
+        } else {
+            for (int i = 0; i < assertions.size(); ++i) {
+                results[i] = evaluate(assertions.get(i));
+                checkFailFast(assertions.get(i), results[i]);
+            }
+        }
+        writeReport(assertions, results);
+        //
+        final List<String> failed = new ArrayList<>();
+        for (int i = 0; i < assertions.size(); ++i) {
+            if (isFailed(assertions.get(i), results[i])) {
+                failed.add(assertions.get(i).getName());
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw exceptionFactory.failure(
+                    "Ask assertion failure: {} of {} failed: {}",
+                    failed.size(), assertions.size(), failed);
+        }
+    }
+
+    /**
+     * Each assertion is evaluated by one thread with own connection.
+     *
+     * @param assertions
+     * @param results
+     * @param threads
+     */
+    private void evaluateParallel(
+            List<SparqlAskConfiguration.Assertion> assertions,
+            boolean[] results, int threads) throws LpException {
+        LOG.info("Evaluating {} assertions in {} threads.", assertions.size(),
+                threads);
+        try (final ParallelExecution<Integer> execution
+                = new ParallelExecution<>(threads, exceptionFactory,
+                        "Can't evaluate SPARQL ask.")) {
+            for (int i = 0; i < assertions.size(); ++i) {
+                final int index = i;
+                execution.submit(() -> {
+                    results[index] = evaluate(assertions.get(index));
+                    return index;
+                });
+            }
+            execution.awaitAll((index) -> {
+                checkFailFast(assertions.get(index), results[index]);
+            });
+        }
+    }
+
+    /**
+     * @param assertion
+     * @return Result of ASK query, for SELECT query true if there is
+     * any result.
+     */
+    private boolean evaluate(SparqlAskConfiguration.Assertion assertion)
+            throws LpException {
+        LOG.debug("Evaluating: {}", assertion.getName());
         try {
-            ask = inputRdf.execute((connection) -> {
-                final BooleanQuery query = connection.prepareBooleanQuery(
-                        QueryLanguage.SPARQL,
-                        configuration.getQuery());
+            return inputRdf.execute((connection) -> {
+                final Query query = connection.prepareQuery(
+                        QueryLanguage.SPARQL, assertion.getQuery());
                 final SimpleDataset dataset = new SimpleDataset();
                 dataset.addDefaultGraph(inputRdf.getGraph());
                 query.setDataset(dataset);
-                return query.evaluate();
+                if (query instanceof BooleanQuery) {
+                    return ((BooleanQuery) query).evaluate();
+                } else if (query instanceof TupleQuery) {
+                    final TupleQueryResult result
+                            = ((TupleQuery) query).evaluate();
+                    try {
+                        return result.hasNext();
+                    } finally {
+                        result.close();
+                    }
+                } else {
+                    throw exceptionFactory.failure(
+                            "Only ASK and SELECT queries are supported: {}",
+                            assertion.getName());
+                }
             });
+        } catch (LpException ex) {
+            throw ex;
         } catch (Throwable t) {
-            throw exceptionFactory.failure("Can't evaluate SPARQL ask.", t);
+            throw exceptionFactory.failure("Can't evaluate SPARQL ask: {}",
+                    assertion.getName(), t);
+        }
+    }
+
+    private void checkFailFast(SparqlAskConfiguration.Assertion assertion,
+            boolean result) throws LpException {
+        if (configuration.isFailFast() && isFailed(assertion, result)) {
+            throw exceptionFactory.failure("Ask assertion failure: {}",
+                    assertion.getName());
+        }
+    }
+
+    private static boolean isFailed(
+            SparqlAskConfiguration.Assertion assertion, boolean result) {
+        return result == assertion.isFailOnTrue();
+    }
+
+    private void writeReport(List<SparqlAskConfiguration.Assertion> assertions,
+            boolean[] results) throws LpException {
+        final ValueFactory valueFactory = SimpleValueFactory.getInstance();
+        final String baseIri = reportRdf.getGraph().stringValue()
+                + "/assertion/";
+        try (final BulkInserter inserter = reportRdf.createBulkInserter()) {
+            final IRI type = valueFactory.createIRI(
+                    SparqlAskVocabulary.ASSERTION_RESULT);
+            final IRI hasName = valueFactory.createIRI(
+                    SparqlAskVocabulary.HAS_NAME);
+            final IRI hasResult = valueFactory.createIRI(
+                    SparqlAskVocabulary.HAS_RESULT);
+            final IRI hasFailed = valueFactory.createIRI(
+                    SparqlAskVocabulary.HAS_FAILED);
+            for (int i = 0; i < assertions.size(); ++i) {
+                final SparqlAskConfiguration.Assertion assertion
+                        = assertions.get(i);
+                final IRI resource = valueFactory.createIRI(baseIri + i);
+                inserter.add(resource, RDF.TYPE, type);
+                inserter.add(resource, hasName,
+                        valueFactory.createLiteral(assertion.getName()));
+                inserter.add(resource, hasResult,
+                        valueFactory.createLiteral(results[i]));
+                inserter.add(resource, hasFailed, valueFactory.createLiteral(
+                        isFailed(assertion, results[i])));
+            }
         }
-        if ((ask && configuration.isFailOnTrue())
-                || (!ask && !configuration.isFailOnTrue())) {
-            throw exceptionFactory.failure("Ask assertion failure.");
+        //
+        final File file = reportFiles.createFile(REPORT_FILE_NAME).toFile();
+        try (final Writer writer = new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write("name,result,failed\r\n");
+            for (int i = 0; i < assertions.size(); ++i) {
+                final SparqlAskConfiguration.Assertion assertion
+                        = assertions.get(i);
+                writer.write(escapeCsv(assertion.getName()));
+                writer.write(",");
+                writer.write(Boolean.toString(results[i]));
+                writer.write(",");
+                writer.write(Boolean.toString(isFailed(assertion, results[i])));
+                writer.write("\r\n");
+            }
+        } catch (IOException ex) {
+            throw exceptionFactory.failure("Can't write report.", ex);
         }
     }
 
+    private static String escapeCsv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
 }
@@ -1,6 +1,8 @@
 package com.linkedpipes.plugin.quality.sparql.ask;
 
 import com.linkedpipes.etl.component.api.service.RdfToPojo;
+import java.util.LinkedList;
+import java.util.List;
 
 /**
  *
@@ -9,6 +11,57 @@ import com.linkedpipes.etl.component.api.service.RdfToPojo;
 @RdfToPojo.Type(uri = SparqlAskVocabulary.CONFIG)
 public class SparqlAskConfiguration {
 
+    /**
+     * Named ASK or SELECT query. A SELECT query is true if it has
+     * any result.
+     */
+    @RdfToPojo.Type(uri = SparqlAskVocabulary.ASSERTION)
+    public static class Assertion {
+
+        @RdfToPojo.Property(uri = SparqlAskVocabulary.HAS_NAME)
+        private String name;
+
+        @RdfToPojo.Property(uri = SparqlAskVocabulary.HAS_SPARQL)
+        private String query;
+
+        @RdfToPojo.Property(uri = SparqlAskVocabulary.HAS_FAIL_ON_TRUE)
+        private boolean failOnTrue = true;
+
+        public Assertion() {
+        }
+
+        public Assertion(String name, String query, boolean failOnTrue) {
+            this.name = name;
+            this.query = query;
+            this.failOnTrue = failOnTrue;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public void setQuery(String query) {
+            this.query = query;
+        }
+
+        public boolean isFailOnTrue() {
+            return failOnTrue;
+        }
+
+        public void setFailOnTrue(boolean failOnTrue) {
+            this.failOnTrue = failOnTrue;
+        }
+
+    }
+
     @RdfToPojo.Property(uri = SparqlAskVocabulary.HAS_SPARQL)
     private String query = "ASK { ?s ?p ?o }";
 
@@ -19,6 +72,27 @@ public class SparqlAskConfiguration {
     @RdfToPojo.Property(uri = SparqlAskVocabulary.HAS_FAIL_ON_TRUE)
     private boolean failOnTrue;
 
+    /**
+     * Assertions evaluated together with {@link #query}. Can be specified
+     * only via the runtime configuration.
+     */
+    @RdfToPojo.Property(uri = SparqlAskVocabulary.HAS_ASSERTION)
+    private List<Assertion> assertions = new LinkedList<>();
+
+    /**
+     * If true the execution fails on the first failed assertion, else
+     * all assertions are evaluated and reported before the execution
+     * fails.
+     */
+    @RdfToPojo.Property(uri = SparqlAskVocabulary.HAS_FAIL_FAST)
+    private boolean failFast = true;
+
+    /**
+     * Number of assertions evaluated in parallel.
+     */
+    @RdfToPojo.Property(uri = SparqlAskVocabulary.HAS_THREADS)
+    private int threads = 1;
+
     public SparqlAskConfiguration() {
     }
 
@@ -38,4 +112,28 @@ public class SparqlAskConfiguration {
         this.failOnTrue = failOnTrue;
     }
 
+    public List<Assertion> getAssertions() {
+        return assertions;
+    }
+
+    public void setAssertions(List<Assertion> assertions) {
+        this.assertions = assertions;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
 }
@@ -15,6 +15,22 @@ final class SparqlAskVocabulary {
 
     public static final String HAS_FAIL_ON_TRUE = PREFIX + "failOnTrue";
 
+    public static final String ASSERTION = PREFIX + "Assertion";
+
+    public static final String HAS_ASSERTION = PREFIX + "assertion";
+
+    public static final String HAS_NAME = PREFIX + "name";
+
+    public static final String HAS_FAIL_FAST = PREFIX + "failFast";
+
+    public static final String HAS_THREADS = PREFIX + "threads";
+
+    public static final String ASSERTION_RESULT = PREFIX + "AssertionResult";
+
+    public static final String HAS_RESULT = PREFIX + "result";
+
+    public static final String HAS_FAILED = PREFIX + "failed";
+
     private SparqlAskVocabulary() {
     }
 
@@ -3,7 +3,9 @@ define([], function () {
 
         $scope.dialog = {
             'query': '',
-            'failOnTrue': true
+            'failOnTrue': true,
+            'failFast': true,
+            'threads': 1
         };
 
         var rdf = rdfService.create('http://plugins.linkedpipes.com/ontology/q-sparqlAsk#');
@@ -14,6 +16,14 @@ define([], function () {
 
             $scope.dialog.query = rdf.getString(resource, 'query');
             $scope.dialog.failOnTrue = rdf.getBoolean(resource, 'failOnTrue');
+            $scope.dialog.failFast = rdf.getBoolean(resource, 'failFast');
+            $scope.dialog.threads = rdf.getInteger(resource, 'threads');
+            if ($scope.dialog.failFast === undefined) {
+                $scope.dialog.failFast = true;
+            }
+            if ($scope.dialog.threads === undefined) {
+                $scope.dialog.threads = 1;
+            }
         };
 
         function saveDialog() {
@@ -21,6 +31,8 @@ define([], function () {
 
             rdf.setString(resource, 'query', $scope.dialog.query);
             rdf.setBoolean(resource, 'failOnTrue', $scope.dialog.failOnTrue);
+            rdf.setBoolean(resource, 'failFast', $scope.dialog.failFast);
+            rdf.setInteger(resource, 'threads', $scope.dialog.threads);
 
             return rdf.getData();
         };
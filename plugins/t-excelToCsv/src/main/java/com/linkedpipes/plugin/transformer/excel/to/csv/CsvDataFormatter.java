@@ -659,6 +659,37 @@ class CsvDataFormatter {
         return numberFormat.format(new Double(d));
     }
 
+    /**
+     * Formats the numeric value in the same way as
+     * {@link #formatCellValue(Cell)} formats a numeric cell with given
+     * format, used when the cell is not available.
+     *
+     * @param value
+     * @param formatIndex
+     * @param formatString Can be null.
+     * @return
+     */
+    public String formatNumericValue(double value, int formatIndex, String formatString) {
+        final Format format;
+        if (formatString == null || formatString.trim().length() == 0) {
+            format = null;
+        } else {
+            format = getFormat(value, formatIndex, formatString);
+        }
+        if (DateUtil.isValidExcelDate(value)
+                && DateUtil.isADateFormat(formatIndex, formatString)) {
+            if (format instanceof ExcelStyleDateFormatter) {
+                // Hint about the raw excel value
+                ((ExcelStyleDateFormatter) format).setDateToBeFormatted(value);
+            }
+            return performDateFormatting(DateUtil.getJavaDate(value), format);
+        }
+        if (format == null) {
+            return String.valueOf(value);
+        }
+        return format.format(new Double(value));
+    }
+
     /**
      * Formats the given raw cell value, based on the supplied
      * format index and string, according to excel style rules.
@@ -2,10 +2,13 @@ package com.linkedpipes.plugin.transformer.excel.to.csv;
 
 import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
 import com.linkedpipes.etl.dataunit.system.api.files.WritableFilesDataUnit;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.linkedpipes.etl.component.api.Component;
 import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.component.api.utils.ParallelExecution;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
 
 /**
@@ -36,11 +39,50 @@ public class ExcelToCsv implements Component.Sequential {
                     ExcelToCsvVocabulary.HAS_FILE_NAME);
         }
         //
+        if (configuration.getFileThreads() > 1) {
+            executeParallel(configuration.getFileThreads());
+            return;
+        }
         final Parser parser = new Parser(configuration);
         for (FilesDataUnit.Entry entry : inputFiles) {
-            LOG.debug("Processing file:", entry.getFileName());
+            LOG.debug("Processing file: {}", entry.getFileName());
             parser.processEntry(entry, outputFiles, exceptionFactory);
         }
     }
 
+    /**
+     * Each thread use own parser, as the parser is not thread safe.
+     *
+     * @param threads
+     */
+    private void executeParallel(int threads) throws LpException {
+        LOG.info("Processing files in {} threads.", threads);
+        final Queue<FilesDataUnit.Entry> entries
+                = new ConcurrentLinkedQueue<>();
+        for (FilesDataUnit.Entry entry : inputFiles) {
+            entries.add(entry);
+        }
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(threads, exceptionFactory,
+                        "Can't process files.")) {
+            for (int i = 0; i < threads; ++i) {
+                execution.submit(() -> {
+                    final Parser parser = new Parser(configuration);
+                    FilesDataUnit.Entry entry = entries.poll();
+                    while (entry != null) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw exceptionFactory.failure("Interrupted.");
+                        }
+                        LOG.debug("Processing file: {}", entry.getFileName());
+                        parser.processEntry(entry, outputFiles,
+                                exceptionFactory);
+                        entry = entries.poll();
+                    }
+                    return null;
+                });
+            }
+            execution.awaitAll();
+        }
+    }
+
 }
@@ -132,6 +132,12 @@ public class ExcelToCsvConfiguration {
     @RdfToPojo.Property(uri = ExcelToCsvVocabulary.HAS_INCLUDE_SHEET_NAME)
     private boolean includeSheetName = false;
 
+    /**
+     * Number of files processed in parallel.
+     */
+    @RdfToPojo.Property(uri = ExcelToCsvVocabulary.HAS_FILE_THREADS)
+    private int fileThreads = 1;
+
     public ExcelToCsvConfiguration() {
     }
 
@@ -223,4 +229,12 @@ public class ExcelToCsvConfiguration {
         this.includeSheetName = includeSheetName;
     }
 
+    public int getFileThreads() {
+        return fileThreads;
+    }
+
+    public void setFileThreads(int fileThreads) {
+        this.fileThreads = fileThreads;
+    }
+
 }
@@ -33,6 +33,8 @@ final class ExcelToCsvVocabulary {
 
     public static final String HAS_INCLUDE_SHEET_NAME = PREFIX + "includeSheetName";
 
+    public static final String HAS_FILE_THREADS = PREFIX + "fileThreads";
+
     public static final String VIRTUAL_COLUMN = PREFIX + "VirtualColumn";
 
     public static final String HAS_ROW = PREFIX + "row";
@@ -4,27 +4,47 @@ import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
 import com.linkedpipes.etl.dataunit.system.api.files.WritableFilesDataUnit;
 import com.linkedpipes.etl.component.api.service.ExceptionFactory;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.Iterator;
 import java.util.List;
 import java.util.regex.PatternSyntaxException;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.poi.POIXMLDocument;
 import org.apache.poi.hssf.usermodel.HSSFDateUtil;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.poi.ss.usermodel.DateUtil;
+import org.xml.sax.SAXException;
 
 /**
+ * XLSX files are read sheet by sheet as a stream of rows, see
+ * {@link XlsxSheetReader}. XLS files are loaded into memory, the size of
+ * such file is limited by the format.
+ *
+ * Instance is not thread safe, as the formatter is not.
  *
  * @author Petr Škoda
  */
@@ -32,8 +52,17 @@ class Parser {
 
     private static final Logger LOG = LoggerFactory.getLogger(Parser.class);
 
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
     private final ExcelToCsvConfiguration configuration;
 
+    /**
+     * Shared for all cells, so the created formats are cached.
+     */
+    private final CsvDataFormatter formatter = new CsvDataFormatter(true);
+
+    private ExceptionFactory exceptionFactory;
+
     public Parser(ExcelToCsvConfiguration configuration) {
         this.configuration = configuration;
     }
@@ -41,6 +70,161 @@ class Parser {
     public void processEntry(FilesDataUnit.Entry entry,
             WritableFilesDataUnit outputFiles,
             ExceptionFactory exceptionFactory) throws LpException {
+        this.exceptionFactory = exceptionFactory;
+        if (isXlsx(entry.toFile())) {
+            processXlsx(entry, outputFiles);
+        } else {
+            processWorkbook(entry, outputFiles);
+        }
+    }
+
+    private boolean isXlsx(File file) throws LpException {
+        // Buffered stream is required as the detection use mark and reset.
+        try (InputStream stream = new BufferedInputStream(
+                new FileInputStream(file))) {
+            return POIXMLDocument.hasOOXMLHeader(stream);
+        } catch (IOException ex) {
+            throw exceptionFactory.failure("Can't read file.", ex);
+        }
+    }
+
+    private void processXlsx(FilesDataUnit.Entry entry,
+            WritableFilesDataUnit outputFiles) throws LpException {
+        final OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(entry.toFile().getPath(),
+                    PackageAccess.READ);
+        } catch (InvalidFormatException ex) {
+            throw exceptionFactory.failure("Can't open workbook file.", ex);
+        }
+        try {
+            final XSSFReader reader = new XSSFReader(pkg);
+            final XlsxSheetReader sheetReader = new XlsxSheetReader(
+                    new ReadOnlySharedStringsTable(pkg),
+                    reader.getStylesTable());
+            // Virtual columns can refer to any row, so we need to read
+            // them before the sheet is written.
+            final List<List<String>> virtualValues;
+            if (configuration.getVirtualColumns().isEmpty()) {
+                virtualValues = null;
+            } else {
+                virtualValues = readVirtualColumns(reader, sheetReader);
+            }
+            final XSSFReader.SheetIterator iterator
+                    = (XSSFReader.SheetIterator) reader.getSheetsData();
+            int sheetIndex = 0;
+            while (iterator.hasNext()) {
+                try (InputStream stream = iterator.next()) {
+                    final String sheetName = iterator.getSheetName();
+                    if (!isSheetSelected(sheetName)) {
+                        continue;
+                    }
+                    final File outputFile = createOutputFile(entry,
+                            outputFiles, sheetName);
+                    LOG.info("Parsing sheet: '{}' into file: {}",
+                            sheetName, outputFile);
+                    final List<String> values;
+                    if (virtualValues == null) {
+                        values = new ArrayList<>(1);
+                    } else {
+                        values = virtualValues.get(sheetIndex);
+                    }
+                    ++sheetIndex;
+                    try (Writer writer = createWriter(outputFile)) {
+                        final SheetWriter sheetWriter = createSheetWriter(
+                                sheetName, values, writer);
+                        sheetReader.read(stream, (row) -> {
+                            try {
+                                return sheetWriter.onRow(row.index,
+                                        createRow(row));
+                            } catch (IOException ex) {
+                                throw exceptionFactory.failure(
+                                        "Can't write output to file.", ex);
+                            }
+                        });
+                    }
+                }
+            }
+        } catch (IOException | OpenXML4JException | SAXException
+                | ParserConfigurationException ex) {
+            throw exceptionFactory.failure("Can't read workbook file.", ex);
+        } finally {
+            // Close the package without saving it.
+            pkg.revert();
+        }
+    }
+
+    /**
+     * @param reader
+     * @param sheetReader
+     * @return Values of virtual columns for every selected sheet.
+     */
+    private List<List<String>> readVirtualColumns(XSSFReader reader,
+            XlsxSheetReader sheetReader) throws IOException,
+            OpenXML4JException, SAXException, ParserConfigurationException,
+            LpException {
+        final List<ExcelToCsvConfiguration.VirtualColumn> virtualColumns
+                = configuration.getVirtualColumns();
+        int lastRowIndex = 0;
+        for (ExcelToCsvConfiguration.VirtualColumn virtualColumn
+                : virtualColumns) {
+            lastRowIndex = Math.max(lastRowIndex, virtualColumn.getRow() - 1);
+        }
+        final int lastRow = lastRowIndex;
+        final List<List<String>> result = new ArrayList<>();
+        final Iterator<InputStream> iterator = reader.getSheetsData();
+        while (iterator.hasNext()) {
+            try (InputStream stream = iterator.next()) {
+                final String sheetName =
+                        ((XSSFReader.SheetIterator) iterator).getSheetName();
+                if (!isSheetSelected(sheetName)) {
+                    continue;
+                }
+                // Missing row or cell has an empty value.
+                final List<String> values = new ArrayList<>(
+                        virtualColumns.size() + 1);
+                for (int i = 0; i < virtualColumns.size(); ++i) {
+                    values.add("");
+                }
+                sheetReader.read(stream, (row) -> {
+                    if (row.index > lastRow) {
+                        return false;
+                    }
+                    for (int i = 0; i < virtualColumns.size(); ++i) {
+                        final ExcelToCsvConfiguration.VirtualColumn column
+                                = virtualColumns.get(i);
+                        if (column.getRow() - 1 == row.index) {
+                            values.set(i, getCellValue(
+                                    row.getCell(column.getColumn() - 1),
+                                    row.index));
+                        }
+                    }
+                    return true;
+                });
+                result.add(values);
+            }
+        }
+        return result;
+    }
+
+    private SheetWriter.Row createRow(XlsxRow row) {
+        return new SheetWriter.Row() {
+
+            @Override
+            public int getLastCellNum() {
+                return row.getLastCellNum();
+            }
+
+            @Override
+            public String getValue(int column) throws LpException {
+                return getCellValue(row.getCell(column), row.index);
+            }
+
+        };
+    }
+
+    private void processWorkbook(FilesDataUnit.Entry entry,
+            WritableFilesDataUnit outputFiles) throws LpException {
         final Workbook workbook;
         try {
             workbook = WorkbookFactory.create(entry.toFile());
@@ -49,33 +233,15 @@ class Parser {
         }
         for (int index = 0; index < workbook.getNumberOfSheets(); ++index) {
             final Sheet sheet = workbook.getSheetAt(index);
-            try {
-                if (configuration.getSheetFilter() != null
-                        && !configuration.getSheetFilter().isEmpty()
-                        && !sheet.getSheetName().matches(
-                                configuration.getSheetFilter())) {
-                    // Skip the sheet as it does not match non empty
-                    // sheet filter.
-                    continue;
-                }
-            } catch (PatternSyntaxException ex) {
-                throw exceptionFactory.failure(
-                        "Invalid regular expression for sheet filter.", ex);
+            if (!isSheetSelected(sheet.getSheetName())) {
+                continue;
             }
-            // Create output file name.
-            final String outputFileName
-                    = configuration.getFileNamePattern().
-                    replace(ExcelToCsvConfiguration.FILE_HOLDER,
-                            entry.getFileName()).
-                    replace(ExcelToCsvConfiguration.SHEET_HOLDER,
-                            sheet.getSheetName());
-            final File outputFile
-                    = outputFiles.createFile(outputFileName).toFile();
+            final File outputFile = createOutputFile(entry, outputFiles,
+                    sheet.getSheetName());
             LOG.info("Parsing sheet: '{}' number of rows: {} into file: {}",
                     sheet.getSheetName(), sheet.getLastRowNum(), outputFile);
-            try (PrintStream outputStream = new PrintStream(
-                    new FileOutputStream(outputFile), false, "UTF-8")) {
-                processSheet(sheet, outputStream);
+            try (Writer writer = createWriter(outputFile)) {
+                processSheet(sheet, writer);
             } catch (IOException ex) {
                 throw exceptionFactory.failure("Can't write output to file.",
                         ex);
@@ -83,111 +249,96 @@ class Parser {
         }
     }
 
-    private void processSheet(Sheet sheet, PrintStream outputStream)
-            throws LpException {
-        final int rowEnd;
-        if (configuration.getRowsEnd() == -1) {
-            rowEnd = sheet.getLastRowNum();
-        } else {
-            rowEnd = Math.min(configuration.getRowsEnd(), sheet.getLastRowNum());
-        }
+    private void processSheet(Sheet sheet, Writer writer)
+            throws LpException, IOException {
         // Read virtual columns;
-        final List<String> virtualColumns = new ArrayList<>(
-                configuration.getVirtualColumns().size());
-        final List<String> virtualNames = new ArrayList<>(
-                configuration.getVirtualColumns().size());
+        final List<String> virtualValues = new ArrayList<>(
+                configuration.getVirtualColumns().size() + 1);
         for (ExcelToCsvConfiguration.VirtualColumn virtualCell
                 : configuration.getVirtualColumns()) {
-            virtualColumns.add(getCellValue(sheet, virtualCell));
-            virtualNames.add(virtualCell.getName());
-        }
-        if (configuration.isIncludeSheetName()) {
-            virtualColumns.add(sheet.getSheetName());
-            virtualNames.add("sheet_name");
-        }
-        // Determine number of columns.
-        final int columnCount;
-        final int columnStart = configuration.getColumnsStart();
-        if (configuration.getColumnsEnd() == -1) {
-            final Row row = sheet.getRow(configuration.getRowsStart());
-            columnCount = row.getLastCellNum() - columnStart;
-        } else {
-            columnCount = configuration.getColumnsEnd() - columnStart + 1;
+            virtualValues.add(getCellValue(sheet, virtualCell));
         }
-        // We need to add +1 as we read less then this numner
-        // and we want the last column to be also included - as it's
-        // in the same way for columns.
-        final int columnToRead = columnStart + columnCount;
-        // Create row template.
-        final List<String> emptyRow = new ArrayList<>(
-                columnCount + virtualColumns.size());
-        for (int i = 0; i < columnCount; i++) {
-            emptyRow.add("");
-        }
-        // Parse rows and columns.
-        boolean firstRow = true;
+        final SheetWriter sheetWriter = createSheetWriter(
+                sheet.getSheetName(), virtualValues, writer);
         for (int rowIndex = configuration.getRowsStart();
-                rowIndex <= rowEnd; ++rowIndex) {
+                rowIndex <= sheet.getLastRowNum(); ++rowIndex) {
             final Row row = sheet.getRow(rowIndex);
-            // rowValues can contains null that are sanitized in the
-            // sanitizeValue before usege.
-            final List<String> rowValues = new ArrayList<>(emptyRow);
-            // Check for empty row.
             if (row == null) {
-                if (configuration.isSkipEmptyRows()) {
-                    continue;
-                }
-            } else {
-                // Determine last column presented in row,
-                final int columnEnd
-                        = Math.min(columnToRead, row.getLastCellNum());
-                // If columnEnd < columnStart, then no columns will be read.
-                // That's ok as we have values from the default emptyRow.
-                int index = 0;
-                for (int columnIndex = columnStart;
-                        columnIndex < columnEnd; ++columnIndex) {
-                    // Read valus into a list of strings
-                    // - as row may not start with first column
-                    // we can get some null values here.
-                    rowValues.set(index++,
-                            getCellValue(row.getCell(columnIndex)));
-                }
-            }
-            // Append virtual columns, if there is header and we
-            // are on the first line -> header
-            // we append virtual columns names instead of values.
-            if (firstRow && configuration.isHeaderPresented()) {
-                firstRow = false;
-                rowValues.addAll(virtualNames);
-            } else {
-                rowValues.addAll(virtualColumns);
+                continue;
             }
-            // Print output with given columns.
-            boolean first = true;
-            for (String item : rowValues) {
-                if (!first) {
-                    outputStream.print(",");
+            final boolean next = sheetWriter.onRow(rowIndex,
+                    new SheetWriter.Row() {
+
+                @Override
+                public int getLastCellNum() {
+                    return row.getLastCellNum();
                 }
-                first = false;
-                outputStream.print("\"");
-                outputStream.print(sanitizeValue(item));
-                outputStream.print("\"");
+
+                @Override
+                public String getValue(int column) {
+                    return getCellValue(row.getCell(column));
+                }
+
+            });
+            if (!next) {
+                break;
             }
-            outputStream.print("\n");
         }
     }
 
     /**
-     * Escape value and convert it to string. Replace null with an empty string.
-     *
-     * @param value
+     * @param sheetName
+     * @param virtualValues Values of the virtual columns, sheet name
+     * is added if required.
+     * @param writer
      * @return
      */
-    private String sanitizeValue(String value) {
-        if (value == null) {
-            return "";
-        } else {
-            return value.replaceAll("\"", "\"\"");
+    private SheetWriter createSheetWriter(String sheetName,
+            List<String> virtualValues, Writer writer) {
+        final List<String> virtualNames = new ArrayList<>(
+                configuration.getVirtualColumns().size() + 1);
+        for (ExcelToCsvConfiguration.VirtualColumn virtualCell
+                : configuration.getVirtualColumns()) {
+            virtualNames.add(virtualCell.getName());
+        }
+        if (configuration.isIncludeSheetName()) {
+            virtualValues.add(sheetName);
+            virtualNames.add("sheet_name");
+        }
+        return new SheetWriter(configuration, virtualValues, virtualNames,
+                writer, exceptionFactory);
+    }
+
+    private boolean isSheetSelected(String sheetName) throws LpException {
+        try {
+            // Skip the sheet if it does not match non empty sheet filter.
+            return configuration.getSheetFilter() == null
+                    || configuration.getSheetFilter().isEmpty()
+                    || sheetName.matches(configuration.getSheetFilter());
+        } catch (PatternSyntaxException ex) {
+            throw exceptionFactory.failure(
+                    "Invalid regular expression for sheet filter.", ex);
+        }
+    }
+
+    private File createOutputFile(FilesDataUnit.Entry entry,
+            WritableFilesDataUnit outputFiles, String sheetName)
+            throws LpException {
+        final String outputFileName
+                = configuration.getFileNamePattern().
+                replace(ExcelToCsvConfiguration.FILE_HOLDER,
+                        entry.getFileName()).
+                replace(ExcelToCsvConfiguration.SHEET_HOLDER, sheetName);
+        return outputFiles.createFile(outputFileName).toFile();
+    }
+
+    private Writer createWriter(File file) throws LpException {
+        try {
+            return new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(file), StandardCharsets.UTF_8),
+                    WRITE_BUFFER_SIZE);
+        } catch (IOException ex) {
+            throw exceptionFactory.failure("Can't write output to file.", ex);
         }
     }
 
@@ -236,23 +387,11 @@ class Parser {
                 if (configuration.isNumericParse()) {
                     // DataFormatter.formatCellValue use custom date format.
                     if (DateUtil.isCellDateFormatted(cell)) {
-                        final Calendar cal = new GregorianCalendar();
-                        cal.setTime(HSSFDateUtil.getJavaDate(
-                                cell.getNumericCellValue()));
-                        final StringBuilder dateStr = new StringBuilder(10);
-                        dateStr.append(cal.get(Calendar.YEAR));
-                        dateStr.append("-");
-                        dateStr.append(String.format("%02d",
-                                cal.get(Calendar.MONTH) + 1));
-                        dateStr.append("-");
-                        dateStr.append(String.format("%02d",
-                                cal.get(Calendar.DAY_OF_MONTH)));
-                        return dateStr.toString();
+                        return formatDate(cell.getNumericCellValue());
                     }
                 }
                 // formatRawCellContents
-                CsvDataFormatter format = new CsvDataFormatter(true);
-                return format.formatCellValue(cell);
+                return formatter.formatCellValue(cell);
             case Cell.CELL_TYPE_STRING:
                 return cell.getStringCellValue();
             default:
@@ -263,4 +402,60 @@ class Parser {
         }
     }
 
+    /**
+     * Same as {@link #getCellValue(Cell)} for a cell from
+     * {@link XlsxSheetReader}.
+     *
+     * @param cell
+     * @param rowIndex
+     * @return String value of given cell, empty string if cell is null.
+     */
+    private String getCellValue(XlsxCell cell, int rowIndex)
+            throws LpException {
+        if (cell == null) {
+            return "";
+        }
+        switch (cell.type) {
+            case BLANK:
+                return null;
+            case BOOLEAN:
+                if (cell.bool) {
+                    return "true";
+                } else {
+                    return "false";
+                }
+            case NUMERIC:
+                if (configuration.isNumericParse()
+                        && DateUtil.isValidExcelDate(cell.number)
+                        && DateUtil.isADateFormat(cell.formatIndex,
+                                cell.formatString)) {
+                    return formatDate(cell.number);
+                }
+                return formatter.formatNumericValue(cell.number,
+                        cell.formatIndex, cell.formatString);
+            case STRING:
+                return cell.string;
+            default:
+                throw exceptionFactory.failure(
+                        "Wrong cell type: {} on row: {} column: {}",
+                        cell.type, rowIndex, cell.column);
+        }
+    }
+
+    /**
+     * @param value
+     * @return Date in format yyyy-MM-dd.
+     */
+    private static String formatDate(double value) {
+        final Calendar cal = new GregorianCalendar();
+        cal.setTime(HSSFDateUtil.getJavaDate(value));
+        final StringBuilder dateStr = new StringBuilder(10);
+        dateStr.append(cal.get(Calendar.YEAR));
+        dateStr.append("-");
+        dateStr.append(String.format("%02d", cal.get(Calendar.MONTH) + 1));
+        dateStr.append("-");
+        dateStr.append(String.format("%02d", cal.get(Calendar.DAY_OF_MONTH)));
+        return dateStr.toString();
+    }
+
 }
@@ -0,0 +1,189 @@
+package com.linkedpipes.plugin.transformer.excel.to.csv;
+
+import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Write rows of a single sheet as CSV. Rows are given in order as they are
+ * read, so the sheet does not need to be loaded into memory.
+ *
+ * @author Petr Škoda
+ */
+class SheetWriter {
+
+    /**
+     * Row of a sheet.
+     */
+    interface Row {
+
+        /**
+         * @return Index of the last cell plus one or -1 if there are no cells.
+         */
+        int getLastCellNum();
+
+        /**
+         * @param column
+         * @return Value of the cell, null or empty string for missing cell.
+         */
+        String getValue(int column) throws LpException;
+
+    }
+
+    private final ExcelToCsvConfiguration configuration;
+
+    private final List<String> virtualValues;
+
+    private final List<String> virtualNames;
+
+    private final Writer writer;
+
+    private final ExceptionFactory exceptionFactory;
+
+    private final int columnStart;
+
+    /**
+     * Number of columns, determined by the first row if not set.
+     */
+    private int columnCount = -1;
+
+    /**
+     * Values of the current row.
+     */
+    private String[] values;
+
+    /**
+     * Index of the next row to write, used to write the missing rows.
+     */
+    private int nextRowIndex;
+
+    private boolean firstRow = true;
+
+    /**
+     * @param configuration
+     * @param virtualValues Values of the virtual columns.
+     * @param virtualNames Names of the virtual columns.
+     * @param writer
+     * @param exceptionFactory
+     */
+    SheetWriter(ExcelToCsvConfiguration configuration,
+            List<String> virtualValues, List<String> virtualNames,
+            Writer writer, ExceptionFactory exceptionFactory) {
+        this.configuration = configuration;
+        this.virtualValues = virtualValues;
+        this.virtualNames = virtualNames;
+        this.writer = writer;
+        this.exceptionFactory = exceptionFactory;
+        this.columnStart = configuration.getColumnsStart();
+        this.nextRowIndex = configuration.getRowsStart();
+        if (configuration.getColumnsEnd() != -1) {
+            setColumnCount(configuration.getColumnsEnd() - columnStart + 1);
+        }
+    }
+
+    /**
+     * Rows must be given in order, rows that are not given are missing.
+     *
+     * @param rowIndex
+     * @param row
+     * @return False if no other rows are needed.
+     */
+    public boolean onRow(int rowIndex, Row row)
+            throws LpException, IOException {
+        if (rowIndex < configuration.getRowsStart()) {
+            return true;
+        }
+        if (configuration.getRowsEnd() != -1
+                && rowIndex > configuration.getRowsEnd()) {
+            return false;
+        }
+        if (columnCount == -1) {
+            // Determine number of columns from the first row.
+            if (rowIndex != configuration.getRowsStart()) {
+                throw exceptionFactory.failure("Missing row: {} required "
+                        + "to determine number of columns.",
+                        configuration.getRowsStart());
+            }
+            setColumnCount(row.getLastCellNum() - columnStart);
+        }
+        // Missing rows.
+        for (; nextRowIndex < rowIndex; ++nextRowIndex) {
+            if (!configuration.isSkipEmptyRows()) {
+                writeRow(null);
+            }
+        }
+        writeRow(row);
+        ++nextRowIndex;
+        return true;
+    }
+
+    private void setColumnCount(int count) {
+        columnCount = Math.max(count, 0);
+        values = new String[columnCount];
+    }
+
+    private void writeRow(Row row) throws LpException, IOException {
+        int index = 0;
+        if (row != null) {
+            // We read less then columnToRead, the last column is included
+            // in the same way as for the rows.
+            final int columnToRead = columnStart + columnCount;
+            // If columnEnd < columnStart, then no columns will be read.
+            final int columnEnd = Math.min(columnToRead,
+                    row.getLastCellNum());
+            for (int columnIndex = columnStart;
+                    columnIndex < columnEnd; ++columnIndex) {
+                values[index++] = row.getValue(columnIndex);
+            }
+        }
+        for (; index < columnCount; ++index) {
+            values[index] = null;
+        }
+        boolean first = true;
+        for (String value : values) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writeValue(value);
+        }
+        // Append virtual columns, if there is header and we
+        // are on the first line -> header
+        // we append virtual columns names instead of values.
+        final List<String> virtual;
+        if (firstRow && configuration.isHeaderPresented()) {
+            virtual = virtualNames;
+        } else {
+            virtual = virtualValues;
+        }
+        firstRow = false;
+        for (String value : virtual) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writeValue(value);
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Escape value and write it. Null is written as an empty string.
+     *
+     * @param value
+     */
+    private void writeValue(String value) throws IOException {
+        writer.write('"');
+        if (value != null) {
+            if (value.indexOf('"') == -1) {
+                writer.write(value);
+            } else {
+                writer.write(value.replace("\"", "\"\""));
+            }
+        }
+        writer.write('"');
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.linkedpipes.plugin.transformer.excel.to.csv;
+
+/**
+ * Cell as read by {@link XlsxSheetReader}.
+ *
+ * @author Petr Škoda
+ */
+class XlsxCell {
+
+    enum Type {
+        BLANK,
+        BOOLEAN,
+        NUMERIC,
+        STRING,
+        FORMULA,
+        ERROR
+    }
+
+    final int column;
+
+    final Type type;
+
+    /**
+     * Value of string cell.
+     */
+    final String string;
+
+    /**
+     * Value of numeric cell.
+     */
+    final double number;
+
+    /**
+     * Value of boolean cell.
+     */
+    final boolean bool;
+
+    /**
+     * Format of numeric cell.
+     */
+    final int formatIndex;
+
+    /**
+     * Format of numeric cell, can be null.
+     */
+    final String formatString;
+
+    private XlsxCell(int column, Type type, String string, double number,
+            boolean bool, int formatIndex, String formatString) {
+        this.column = column;
+        this.type = type;
+        this.string = string;
+        this.number = number;
+        this.bool = bool;
+        this.formatIndex = formatIndex;
+        this.formatString = formatString;
+    }
+
+    static XlsxCell blank(int column) {
+        return new XlsxCell(column, Type.BLANK, null, 0, false, -1, null);
+    }
+
+    static XlsxCell bool(int column, boolean value) {
+        return new XlsxCell(column, Type.BOOLEAN, null, 0, value, -1, null);
+    }
+
+    static XlsxCell numeric(int column, double value, int formatIndex,
+            String formatString) {
+        return new XlsxCell(column, Type.NUMERIC, null, value, false,
+                formatIndex, formatString);
+    }
+
+    static XlsxCell string(int column, String value) {
+        return new XlsxCell(column, Type.STRING, value, 0, false, -1, null);
+    }
+
+    static XlsxCell formula(int column) {
+        return new XlsxCell(column, Type.FORMULA, null, 0, false, -1, null);
+    }
+
+    static XlsxCell error(int column) {
+        return new XlsxCell(column, Type.ERROR, null, 0, false, -1, null);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.linkedpipes.plugin.transformer.excel.to.csv;
+
+import java.util.List;
+
+/**
+ * Row as read by {@link XlsxSheetReader}.
+ *
+ * @author Petr Škoda
+ */
+class XlsxRow {
+
+    /**
+     * Zero based index of the row in the sheet.
+     */
+    final int index;
+
+    private final XlsxCell[] cells;
+
+    /**
+     * @param index
+     * @param cells Cells of the row, missing cells does not need to be
+     * presented.
+     */
+    XlsxRow(int index, List<XlsxCell> cells) {
+        this.index = index;
+        int last = -1;
+        for (XlsxCell cell : cells) {
+            last = Math.max(last, cell.column);
+        }
+        this.cells = new XlsxCell[last + 1];
+        for (XlsxCell cell : cells) {
+            this.cells[cell.column] = cell;
+        }
+    }
+
+    /**
+     * @return Index of the last cell plus one or -1 if there are no cells.
+     */
+    int getLastCellNum() {
+        return cells.length == 0 ? -1 : cells.length;
+    }
+
+    /**
+     * @param column
+     * @return Null if there is no such cell.
+     */
+    XlsxCell getCell(int column) {
+        if (column < 0 || column >= cells.length) {
+            return null;
+        }
+        return cells[column];
+    }
+
+}
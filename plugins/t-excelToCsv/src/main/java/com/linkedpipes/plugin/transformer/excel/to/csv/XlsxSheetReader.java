@@ -0,0 +1,303 @@
+package com.linkedpipes.plugin.transformer.excel.to.csv;
+
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Read XLSX sheet with a SAX parser, so only a single row is kept
+ * in memory. Formats of numeric cells are cached by the cell style.
+ *
+ * @author Petr Škoda
+ */
+class XlsxSheetReader {
+
+    interface RowHandler {
+
+        /**
+         * Rows are reported in order, also rows without cells are reported.
+         *
+         * @param row
+         * @return False to skip rest of the sheet.
+         */
+        boolean onRow(XlsxRow row) throws LpException;
+
+    }
+
+    /**
+     * Used to stop parsing of a sheet.
+     */
+    private static class StopSheet extends SAXException {
+
+        StopSheet() {
+            super("Sheet processing stopped.");
+        }
+
+    }
+
+    /**
+     * Used to pass exceptions of the handler through the SAX parser.
+     */
+    private static class HandlerFailed extends SAXException {
+
+        private final LpException cause;
+
+        HandlerFailed(LpException cause) {
+            super(cause);
+            this.cause = cause;
+        }
+
+    }
+
+    private static class CellFormat {
+
+        private final int index;
+
+        private final String string;
+
+        CellFormat(int index, String string) {
+            this.index = index;
+            this.string = string;
+        }
+
+    }
+
+    private class SheetHandler extends DefaultHandler {
+
+        private final RowHandler handler;
+
+        private final List<XlsxCell> cells = new ArrayList<>();
+
+        private final StringBuilder value = new StringBuilder();
+
+        private int rowIndex = -1;
+
+        private int columnIndex = -1;
+
+        private String cellType;
+
+        private String cellStyle;
+
+        private boolean cellFormula;
+
+        private boolean cellValue;
+
+        private boolean inlineString;
+
+        private boolean collectText;
+
+        SheetHandler(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName,
+                Attributes attributes) throws SAXException {
+            switch (localName) {
+                case "row":
+                    final String rowReference = attributes.getValue("r");
+                    if (rowReference == null) {
+                        ++rowIndex;
+                    } else {
+                        rowIndex = Integer.parseInt(rowReference) - 1;
+                    }
+                    columnIndex = -1;
+                    cells.clear();
+                    break;
+                case "c":
+                    final String cellReference = attributes.getValue("r");
+                    if (cellReference == null) {
+                        ++columnIndex;
+                    } else {
+                        columnIndex = getColumnIndex(cellReference);
+                    }
+                    cellType = attributes.getValue("t");
+                    cellStyle = attributes.getValue("s");
+                    cellFormula = false;
+                    cellValue = false;
+                    value.setLength(0);
+                    break;
+                case "f":
+                    cellFormula = true;
+                    break;
+                case "v":
+                    cellValue = true;
+                    collectText = true;
+                    break;
+                case "is":
+                    cellValue = true;
+                    inlineString = true;
+                    break;
+                case "t":
+                    collectText = inlineString;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName)
+                throws SAXException {
+            switch (localName) {
+                case "v":
+                case "t":
+                    collectText = false;
+                    break;
+                case "is":
+                    inlineString = false;
+                    break;
+                case "c":
+                    cells.add(createCell());
+                    break;
+                case "row":
+                    final boolean next;
+                    try {
+                        next = handler.onRow(new XlsxRow(rowIndex, cells));
+                    } catch (LpException ex) {
+                        throw new HandlerFailed(ex);
+                    }
+                    if (!next) {
+                        throw new StopSheet();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collectText) {
+                value.append(ch, start, length);
+            }
+        }
+
+        private XlsxCell createCell() {
+            if (cellFormula) {
+                return XlsxCell.formula(columnIndex);
+            }
+            if (!cellValue) {
+                return XlsxCell.blank(columnIndex);
+            }
+            final String content = value.toString();
+            if (cellType == null || cellType.equals("n")) {
+                if (content.isEmpty()) {
+                    return XlsxCell.blank(columnIndex);
+                }
+                final CellFormat format = getFormat(cellStyle == null ?
+                        0 : Integer.parseInt(cellStyle));
+                return XlsxCell.numeric(columnIndex,
+                        Double.parseDouble(content), format.index,
+                        format.string);
+            }
+            switch (cellType) {
+                case "s":
+                    if (content.isEmpty()) {
+                        return XlsxCell.blank(columnIndex);
+                    }
+                    return XlsxCell.string(columnIndex,
+                            strings.getEntryAt(Integer.parseInt(content)));
+                case "b":
+                    return XlsxCell.bool(columnIndex, content.equals("1"));
+                case "e":
+                    return XlsxCell.error(columnIndex);
+                default:
+                    // Inline string or date as a string.
+                    return XlsxCell.string(columnIndex, content);
+            }
+        }
+
+    }
+
+    private static final CellFormat NO_FORMAT = new CellFormat(-1, null);
+
+    private final ReadOnlySharedStringsTable strings;
+
+    private final StylesTable styles;
+
+    /**
+     * Cached formats for cell styles.
+     */
+    private final Map<Integer, CellFormat> formats = new HashMap<>();
+
+    private final SAXParserFactory parserFactory;
+
+    /**
+     * @param strings
+     * @param styles Can be null.
+     */
+    XlsxSheetReader(ReadOnlySharedStringsTable strings, StylesTable styles) {
+        this.strings = strings;
+        this.styles = styles;
+        this.parserFactory = SAXParserFactory.newInstance();
+        this.parserFactory.setNamespaceAware(true);
+    }
+
+    public void read(InputStream stream, RowHandler handler)
+            throws IOException, SAXException, ParserConfigurationException,
+            LpException {
+        final XMLReader xmlReader =
+                parserFactory.newSAXParser().getXMLReader();
+        xmlReader.setContentHandler(new SheetHandler(handler));
+        try {
+            xmlReader.parse(new InputSource(stream));
+        } catch (StopSheet ex) {
+            // Rest of the sheet is skipped.
+        } catch (HandlerFailed ex) {
+            throw ex.cause;
+        }
+    }
+
+    private CellFormat getFormat(int style) {
+        CellFormat format = formats.get(style);
+        if (format != null) {
+            return format;
+        }
+        if (styles == null || style >= styles.getNumCellStyles()) {
+            format = NO_FORMAT;
+        } else {
+            final XSSFCellStyle cellStyle = styles.getStyleAt(style);
+            String formatString = cellStyle.getDataFormatString();
+            if (formatString == null) {
+                formatString = BuiltinFormats.getBuiltinFormat(
+                        cellStyle.getDataFormat());
+            }
+            format = new CellFormat(cellStyle.getDataFormat(), formatString);
+        }
+        formats.put(style, format);
+        return format;
+    }
+
+    /**
+     * @param reference Cell reference, ie. "AB12".
+     * @return Zero based column index.
+     */
+    private static int getColumnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); ++i) {
+            final char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+}
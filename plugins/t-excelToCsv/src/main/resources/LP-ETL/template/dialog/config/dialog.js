@@ -11,7 +11,8 @@ define([], function () {
             'header': false,
             'numericParse': false,
             'skipEmptyRows': false,
-            'includeSheetName': false
+            'includeSheetName': false,
+            'fileThreads': 1
         };
 
         var rdf = rdfService.create('http://plugins.linkedpipes.com/ontology/t-excelToCsv#');
@@ -32,6 +33,10 @@ define([], function () {
             $scope.dialog.numericParse = rdf.getBoolean(resource, 'numericParse');
             $scope.dialog.skipEmptyRows = rdf.getBoolean(resource, 'skipEmptyRows');
             $scope.dialog.includeSheetName = rdf.getBoolean(resource, 'includeSheetName');
+            $scope.dialog.fileThreads = rdf.getInteger(resource, 'fileThreads');
+            if ($scope.dialog.fileThreads === undefined) {
+                $scope.dialog.fileThreads = 1;
+            }
         };
 
         function saveDialog() {
@@ -47,6 +52,7 @@ define([], function () {
             rdf.setBoolean(resource, 'numericParse', $scope.dialog.numericParse);
             rdf.setBoolean(resource, 'skipEmptyRows', $scope.dialog.skipEmptyRows);
             rdf.setBoolean(resource, 'includeSheetName', $scope.dialog.includeSheetName);
+            rdf.setInteger(resource, 'fileThreads', $scope.dialog.fileThreads);
 
             console.log('get', resource);
 
@@ -6,9 +6,17 @@ import com.linkedpipes.etl.component.api.service.ProgressReport;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.openrdf.model.IRI;
+import org.openrdf.model.Statement;
 import org.openrdf.rio.RDFFormat;
+import org.openrdf.rio.RDFHandler;
 import org.openrdf.rio.RDFHandlerException;
 import org.openrdf.rio.RDFParseException;
 import org.openrdf.rio.RDFParser;
@@ -17,6 +25,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.linkedpipes.etl.component.api.Component;
 import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.component.api.utils.ChunkedFileParser;
+import com.linkedpipes.etl.component.api.utils.ParallelExecution;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
 
 /**
@@ -27,6 +37,18 @@ public final class FilesToRdf implements Component.Sequential {
 
     private static final Logger LOG = LoggerFactory.getLogger(FilesToRdf.class);
 
+    /**
+     * Number of statements passed from a parser thread to the writer
+     * at once.
+     */
+    private static final int PARSER_BATCH_SIZE = 10000;
+
+    /**
+     * Time in milliseconds the writer waits for a batch before it checks
+     * the state of the parser threads.
+     */
+    private static final long WRITER_WAIT_TIME = 100;
+
     @Component.InputPort(id = "InputFiles")
     public FilesDataUnit inputFiles;
 
@@ -45,8 +67,6 @@ public final class FilesToRdf implements Component.Sequential {
     @Override
     public void execute() throws LpException {
         // Prepare parsers and inserters.
-        final StatementInserter rdfInserter = new StatementInserter(
-                configuration.getCommitSize(), outputRdf);
         final RDFFormat defaultFormat;
         if (configuration.getMimeType() == null
                 || configuration.getMimeType().isEmpty()) {
@@ -61,37 +81,143 @@ public final class FilesToRdf implements Component.Sequential {
                 defaultFormat = null;
             }
         }
-        // Load files.
+        // Load files, single inserter is used for all of them.
         progressReport.start(inputFiles.size());
+        try (final StatementInserter rdfInserter = new StatementInserter(
+                configuration.getCommitSize(), outputRdf)) {
+            if (configuration.getFileThreads() > 1) {
+                loadFilesParallel(rdfInserter, defaultFormat,
+                        configuration.getFileThreads());
+            } else {
+                loadFiles(rdfInserter, defaultFormat);
+            }
+        }
+        progressReport.done();
+    }
+
+    private void loadFiles(StatementInserter rdfInserter,
+            RDFFormat defaultFormat) throws LpException {
         for (FilesDataUnit.Entry file : inputFiles) {
             // Create output graph.
             final IRI outputGraph = outputRdf.createGraph();
             rdfInserter.setTargetGraph(outputGraph);
-            //
-            final RDFFormat format;
-            if (defaultFormat == null) {
-                final Optional<RDFFormat> optionalFormat
-                        = Rio.getParserFormatForFileName(file.getFileName());
-                if (!optionalFormat.isPresent()) {
-                    throw exceptionFactory.failure(
-                            "Can't determine format for file: {}",
-                            file.getFileName());
-                }
-                format = optionalFormat.get();
+            loadFile(file, outputGraph, defaultFormat, rdfInserter);
+            progressReport.entryProcessed();
+        }
+    }
+
+    /**
+     * Files are parsed in parallel, each thread use own parser. Big
+     * N-Triples and N-Quads files are split into chunks and parsed by all
+     * the threads one after another, before the other files. Parsed
+     * statements are passed through a bounded queue to the calling thread,
+     * that insert them into the output. The output graphs are created
+     * in advance so they are in the same order as for the sequential
+     * processing.
+     *
+     * @param rdfInserter
+     * @param defaultFormat
+     * @param threads
+     */
+    private void loadFilesParallel(StatementInserter rdfInserter,
+            RDFFormat defaultFormat, int threads) throws LpException {
+        LOG.info("Parsing files in {} threads.", threads);
+        final List<FilesDataUnit.Entry> files = new ArrayList<>();
+        final List<IRI> graphs = new ArrayList<>();
+        for (FilesDataUnit.Entry file : inputFiles) {
+            final IRI graph = outputRdf.createGraph();
+            // Big line based files are split and parsed by all threads.
+            final RDFFormat format = getFormat(file, defaultFormat);
+            if (ChunkedFileParser.canSplit(file.toFile(), format)) {
+                rdfInserter.setTargetGraph(graph);
+                new ChunkedFileParser(threads, exceptionFactory).parse(
+                        file.toFile(), format, rdfInserter);
+                progressReport.entryProcessed();
             } else {
-                format = defaultFormat;
+                files.add(file);
+                graphs.add(graph);
+            }
+        }
+        final BlockingQueue<StatementBatchHandler.Batch> queue
+                = new ArrayBlockingQueue<>(threads * 2);
+        final AtomicInteger next = new AtomicInteger(0);
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(threads, exceptionFactory,
+                        "Can't parse files.")) {
+            for (int i = 0; i < threads; ++i) {
+                execution.submit(() -> {
+                    final StatementBatchHandler handler
+                            = new StatementBatchHandler(PARSER_BATCH_SIZE,
+                                    queue, outputRdf);
+                    int index = next.getAndIncrement();
+                    while (index < files.size()) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw exceptionFactory.failure("Interrupted.");
+                        }
+                        handler.setGraph(graphs.get(index));
+                        loadFile(files.get(index), graphs.get(index),
+                                defaultFormat, handler);
+                        synchronized (progressReport) {
+                            progressReport.entryProcessed();
+                        }
+                        index = next.getAndIncrement();
+                    }
+                    return null;
+                });
             }
-            LOG.debug("Loading: {} -> {} : {}", file.getFileName(), outputGraph, format);
-            final RDFParser rdfParser = Rio.createParser(format);
-            rdfParser.setRDFHandler(rdfInserter);
-            try (final InputStream fileStream = new FileInputStream(file.toFile())) {
-                rdfParser.parse(fileStream, "http://localhost/base/");
-            } catch (IOException | RDFHandlerException | RDFParseException ex) {
-                throw exceptionFactory.failure("Can't parse file: {}", file.getFileName(), ex);
+            // Insert the batches until all parsers are done and the queue
+            // is empty.
+            while (!execution.isFinished() || !queue.isEmpty()) {
+                final StatementBatchHandler.Batch batch = queue.poll(
+                        WRITER_WAIT_TIME, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    insertBatch(rdfInserter, batch);
+                }
+                execution.check();
             }
-            progressReport.entryProcessed();
+        } catch (InterruptedException ex) {
+            throw exceptionFactory.failure("Interrupted.", ex);
         }
-        progressReport.done();
+    }
+
+    private void insertBatch(StatementInserter rdfInserter,
+            StatementBatchHandler.Batch batch) throws LpException {
+        rdfInserter.setTargetGraph(batch.getGraph());
+        try {
+            for (Statement statement : batch.getStatements()) {
+                rdfInserter.handleStatement(statement);
+            }
+        } catch (RDFHandlerException ex) {
+            throw exceptionFactory.failure("Can't insert statements.", ex);
+        }
+    }
+
+    private void loadFile(FilesDataUnit.Entry file, IRI outputGraph,
+            RDFFormat defaultFormat, RDFHandler handler) throws LpException {
+        final RDFFormat format = getFormat(file, defaultFormat);
+        LOG.debug("Loading: {} -> {} : {}", file.getFileName(), outputGraph, format);
+        final RDFParser rdfParser = Rio.createParser(format);
+        rdfParser.setRDFHandler(handler);
+        try (final InputStream fileStream = new FileInputStream(file.toFile())) {
+            rdfParser.parse(fileStream, "http://localhost/base/");
+        } catch (IOException | RDFHandlerException | RDFParseException ex) {
+            throw exceptionFactory.failure("Can't parse file: {}", file.getFileName(), ex);
+        }
+    }
+
+    private RDFFormat getFormat(FilesDataUnit.Entry file,
+            RDFFormat defaultFormat) throws LpException {
+        if (defaultFormat != null) {
+            return defaultFormat;
+        }
+        final Optional<RDFFormat> optionalFormat
+                = Rio.getParserFormatForFileName(file.getFileName());
+        if (!optionalFormat.isPresent()) {
+            throw exceptionFactory.failure(
+                    "Can't determine format for file: {}",
+                    file.getFileName());
+        }
+        return optionalFormat.get();
     }
 
 }
@@ -15,6 +15,12 @@ public class FilesToRdfConfiguration {
     @RdfToPojo.Property(uri = FilesToRdfVocabulary.HAS_MIME_TYPE)
     private String mimeType = null;
 
+    /**
+     * Number of files parsed in parallel.
+     */
+    @RdfToPojo.Property(uri = FilesToRdfVocabulary.HAS_FILE_THREADS)
+    private int fileThreads = 1;
+
     public FilesToRdfConfiguration() {
     }
 
@@ -34,4 +40,12 @@ public class FilesToRdfConfiguration {
         this.mimeType = mimeType;
     }
 
+    public int getFileThreads() {
+        return fileThreads;
+    }
+
+    public void setFileThreads(int fileThreads) {
+        this.fileThreads = fileThreads;
+    }
+
 }
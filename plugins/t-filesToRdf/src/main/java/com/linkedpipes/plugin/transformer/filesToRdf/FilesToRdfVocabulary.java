@@ -15,6 +15,8 @@ public final class FilesToRdfVocabulary {
 
     public static final String HAS_MIME_TYPE = PREFIX + "mimeType";
 
+    public static final String HAS_FILE_THREADS = PREFIX + "fileThreads";
+
     private FilesToRdfVocabulary() {
     }
 
@@ -0,0 +1,121 @@
+package com.linkedpipes.plugin.transformer.filesToRdf;
+
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableGraphListDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Statement;
+import org.openrdf.rio.RDFHandler;
+import org.openrdf.rio.RDFHandlerException;
+
+/**
+ * Collect parsed statements into batches and pass them into a queue,
+ * the statements are inserted by a single writer. Used by the parser
+ * threads, each thread has own instance.
+ *
+ * @author Petr Škoda
+ */
+class StatementBatchHandler implements RDFHandler {
+
+    /**
+     * Statements parsed from one file into one graph.
+     */
+    static class Batch {
+
+        private final IRI graph;
+
+        private final List<Statement> statements;
+
+        Batch(IRI graph, List<Statement> statements) {
+            this.graph = graph;
+            this.statements = statements;
+        }
+
+        public IRI getGraph() {
+            return graph;
+        }
+
+        public List<Statement> getStatements() {
+            return statements;
+        }
+
+    }
+
+    private final int batchSize;
+
+    private final BlockingQueue<Batch> queue;
+
+    private final WritableGraphListDataUnit dataUnit;
+
+    private IRI graph;
+
+    private List<Statement> statements;
+
+    StatementBatchHandler(int batchSize, BlockingQueue<Batch> queue,
+            WritableGraphListDataUnit dataUnit) {
+        this.batchSize = batchSize;
+        this.queue = queue;
+        this.dataUnit = dataUnit;
+        this.statements = new ArrayList<>(batchSize);
+    }
+
+    public void setGraph(IRI graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public void startRDF() throws RDFHandlerException {
+        // No operation here.
+    }
+
+    @Override
+    public void endRDF() throws RDFHandlerException {
+        // Pass the rest of the file.
+        if (!statements.isEmpty()) {
+            putBatch();
+        }
+    }
+
+    @Override
+    public void handleNamespace(String prefix, String uri)
+            throws RDFHandlerException {
+        try {
+            dataUnit.execute((connection) -> {
+                if (connection.getNamespace(prefix) == null) {
+                    connection.setNamespace(prefix, uri);
+                }
+            });
+        } catch (LpException ex) {
+            throw new RDFHandlerException(ex);
+        }
+    }
+
+    @Override
+    public void handleStatement(Statement st) throws RDFHandlerException {
+        statements.add(st);
+        if (statements.size() >= batchSize) {
+            putBatch();
+        }
+    }
+
+    @Override
+    public void handleComment(String comment) throws RDFHandlerException {
+        // No operation here.
+    }
+
+    /**
+     * Block if the queue is full, so the parsers can not get too far
+     * ahead of the writer.
+     */
+    private void putBatch() throws RDFHandlerException {
+        try {
+            queue.put(new Batch(graph, statements));
+        } catch (InterruptedException ex) {
+            throw new RDFHandlerException("Interrupted.", ex);
+        }
+        statements = new ArrayList<>(batchSize);
+    }
+
+}
@@ -1,33 +1,32 @@
 package com.linkedpipes.plugin.transformer.filesToRdf;
 
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableGraphListDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
-import java.util.ArrayList;
-import java.util.List;
 import org.openrdf.model.Statement;
 import org.openrdf.model.IRI;
 import org.openrdf.rio.RDFHandler;
 import org.openrdf.rio.RDFHandlerException;
 
 /**
+ * Statements are inserted by a single bulk inserter, so one connection
+ * is used for all the files. The inserter must be closed at the end.
  *
  * @author Petr Škoda
  */
-public class StatementInserter implements RDFHandler {
-
-    private final int commintSize;
+public class StatementInserter implements RDFHandler, AutoCloseable {
 
     private final WritableGraphListDataUnit dataUnit;
 
-    private final List<Statement> statements;
+    private final BulkInserter inserter;
 
     private IRI targetGraph;
 
     public StatementInserter(int commintSize,
             WritableGraphListDataUnit dataUnit) {
-        this.commintSize = commintSize;
         this.dataUnit = dataUnit;
-        this.statements = new ArrayList<>(commintSize);
+        this.inserter = dataUnit.createBulkInserter();
+        this.inserter.setBatchSize(commintSize);
     }
 
     @Override
@@ -37,23 +36,12 @@ public class StatementInserter implements RDFHandler {
 
     @Override
     public void endRDF() throws RDFHandlerException {
-        // Commit data in cache.
-        try {
-            dataUnit.execute((connection) -> {
-                connection.begin();
-                connection.add(statements, targetGraph);
-                connection.commit();
-            });
-            statements.clear();
-        } catch (LpException ex) {
-            throw new RDFHandlerException(ex);
-        }
+        // Statements are flushed by the inserter as the batch is filled.
     }
 
     @Override
     public void handleNamespace(String prefix, String uri)
             throws RDFHandlerException {
-        // No operation here.
         try {
             dataUnit.execute((connection) -> {
                 if (connection.getNamespace(prefix) == null) {
@@ -67,20 +55,12 @@ public class StatementInserter implements RDFHandler {
 
     @Override
     public void handleStatement(Statement st) throws RDFHandlerException {
-        if (statements.size() >= commintSize) {
-            try {
-                dataUnit.execute((connection) -> {
-                    connection.begin();
-                    connection.add(statements, targetGraph);
-                    connection.commit();
-                });
-                statements.clear();
-            } catch (LpException ex) {
-                throw new RDFHandlerException(ex);
-            }
+        // We enforce the target graph here.
+        try {
+            inserter.add(st);
+        } catch (LpException ex) {
+            throw new RDFHandlerException(ex);
         }
-        // We can enforce context here.
-        statements.add(st);
     }
 
     @Override
@@ -92,8 +72,17 @@ public class StatementInserter implements RDFHandler {
         return targetGraph;
     }
 
-    public void setTargetGraph(IRI targetGraph) {
+    public void setTargetGraph(IRI targetGraph) throws LpException {
         this.targetGraph = targetGraph;
+        inserter.setGraph(targetGraph);
+    }
+
+    /**
+     * Insert remaining statements and release the connection.
+     */
+    @Override
+    public void close() throws LpException {
+        inserter.close();
     }
 
 }
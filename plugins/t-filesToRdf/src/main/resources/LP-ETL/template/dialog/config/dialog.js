@@ -23,11 +23,18 @@ define([], function () {
             if ($scope.dialog.mimeType === undefined) {
                 $scope.dialog.mimeType = '';
             }
+            $scope.dialog.fileThreads = rdf.getInteger(resource,
+                PREFIX + 'fileThreads');
+            if ($scope.dialog.fileThreads === undefined) {
+                $scope.dialog.fileThreads = 1;
+            }
             //
             $scope.control.commitSize = $service.control.fromIri(
                 rdf.getIri(resource, PREFIX + 'commitSizeControl'));
             $scope.control.mimeType = $service.control.fromIri(
                 rdf.getIri(resource, PREFIX + 'mimeTypeControl'));
+            $scope.control.fileThreads = $service.control.fromIri(
+                rdf.getIri(resource, PREFIX + 'fileThreadsControl'));
         }
 
         function saveDialog() {
@@ -42,11 +49,17 @@ define([], function () {
                 rdf.setString(resource, PREFIX + 'mimeType',
                     $scope.dialog.mimeType);
             }
+            if (!$scope.control.fileThreads.forced) {
+                rdf.setInteger(resource, PREFIX + 'fileThreads',
+                    $scope.dialog.fileThreads);
+            }
             //
             rdf.setIri(resource, PREFIX + 'commitSizeControl',
                 $service.control.toIri($scope.control.commitSize));
             rdf.setIri(resource, PREFIX + 'mimeTypeControl',
                 $service.control.toIri($scope.control.mimeType));
+            rdf.setIri(resource, PREFIX + 'fileThreadsControl',
+                $service.control.toIri($scope.control.fileThreads));
         }
 
         $service.onStore = function () {
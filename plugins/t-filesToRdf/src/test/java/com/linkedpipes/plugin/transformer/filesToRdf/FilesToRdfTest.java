@@ -53,4 +53,25 @@ public class FilesToRdfTest {
         }
     }
 
+    @Test
+    public void transformTurtleParallel() throws Exception {
+        final FilesToRdf dpu = new FilesToRdf();
+        dpu.configuration = new FilesToRdfConfiguration();
+        dpu.configuration.setCommitSize(100);
+        dpu.configuration.setFileThreads(2);
+
+        try (final TestEnvironment env = TestEnvironment.create(dpu, TestUtils.getTempDirectory())) {
+            env.bindSystemDataUnit("InputFiles", TestUtils.fileFromResource("turtle"));
+            final WritableGraphListDataUnit output = env.bindGraphListDataUnit("OutputRdf");
+            //
+            env.execute();
+            //
+            Assert.assertSame(1, output.getGraphs().size());
+            final IRI graph = output.getGraphs().iterator().next();
+            output.execute((connection) -> {
+               Assert.assertSame(3l, connection.size(graph));
+            });
+        }
+    }
+
 }
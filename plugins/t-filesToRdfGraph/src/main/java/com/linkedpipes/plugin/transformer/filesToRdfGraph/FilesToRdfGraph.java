@@ -3,6 +3,7 @@ package com.linkedpipes.plugin.transformer.filesToRdfGraph;
 import com.linkedpipes.etl.component.api.Component;
 import com.linkedpipes.etl.component.api.service.ExceptionFactory;
 import com.linkedpipes.etl.component.api.service.ProgressReport;
+import com.linkedpipes.etl.component.api.utils.ChunkedFileParser;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableSingleGraphDataUnit;
 import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
@@ -40,8 +41,6 @@ public final class FilesToRdfGraph implements Component.Sequential {
 
     @Override
     public void execute() throws LpException {
-        final StatementInserter rdfInserter = new StatementInserter(
-                configuration.getCommitSize(), outputRdf);
         final RDFFormat defaultFormat;
         if (configuration.getMimeType() == null
                 || configuration.getMimeType().isEmpty()) {
@@ -56,8 +55,17 @@ public final class FilesToRdfGraph implements Component.Sequential {
                 defaultFormat = null;
             }
         }
-        // Load files.
+        // Load files, single inserter is used for all of them.
         progressReport.start(inputFiles.size());
+        try (final StatementInserter rdfInserter = new StatementInserter(
+                configuration.getCommitSize(), outputRdf)) {
+            loadFiles(rdfInserter, defaultFormat);
+        }
+        progressReport.done();
+    }
+
+    private void loadFiles(StatementInserter rdfInserter,
+            RDFFormat defaultFormat) throws LpException {
         for (FilesDataUnit.Entry file : inputFiles) {
             //
             final RDFFormat format;
@@ -74,6 +82,12 @@ public final class FilesToRdfGraph implements Component.Sequential {
                 format = defaultFormat;
             }
             LOG.debug("Loading: {}", file.getFileName());
+            if (configuration.getParserThreads() > 1
+                    && ChunkedFileParser.canSplit(file.toFile(), format)) {
+                loadChunked(file, format, rdfInserter);
+                progressReport.entryProcessed();
+                continue;
+            }
             final RDFParser rdfParser = Rio.createParser(format);
             rdfParser.setRDFHandler(rdfInserter);
             try (final InputStream fileStream = new FileInputStream(
@@ -89,7 +103,24 @@ public final class FilesToRdfGraph implements Component.Sequential {
             }
             progressReport.entryProcessed();
         }
-        progressReport.done();
+    }
+
+    /**
+     * Split the file into chunks and parse them in parallel.
+     */
+    private void loadChunked(FilesDataUnit.Entry file, RDFFormat format,
+            StatementInserter rdfInserter) throws LpException {
+        final ChunkedFileParser parser = new ChunkedFileParser(
+                configuration.getParserThreads(), exceptionFactory);
+        try {
+            parser.parse(file.toFile(), format, rdfInserter);
+        } catch (LpException ex) {
+            if (configuration.isSkipOnFailure()) {
+                LOG.error("Can't parse file: {}", file.getFileName(), ex);
+            } else {
+                throw ex;
+            }
+        }
     }
 
 }
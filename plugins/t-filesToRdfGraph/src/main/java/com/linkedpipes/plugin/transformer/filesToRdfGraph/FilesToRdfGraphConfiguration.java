@@ -18,6 +18,12 @@ public class FilesToRdfGraphConfiguration {
     @RdfToPojo.Property(uri = FilesToRdfGraphVocabulary.HAS_SKIP_ON_FAILURE)
     private boolean skipOnFailure = false;
 
+    /**
+     * Number of threads used to parse a big N-Triples or N-Quads file.
+     */
+    @RdfToPojo.Property(uri = FilesToRdfGraphVocabulary.HAS_PARSER_THREADS)
+    private int parserThreads = 1;
+
     public FilesToRdfGraphConfiguration() {
     }
 
@@ -44,4 +50,12 @@ public class FilesToRdfGraphConfiguration {
     public void setSkipOnFailure(boolean skipOnFailure) {
         this.skipOnFailure = skipOnFailure;
     }
+
+    public int getParserThreads() {
+        return parserThreads;
+    }
+
+    public void setParserThreads(int parserThreads) {
+        this.parserThreads = parserThreads;
+    }
 }
@@ -18,6 +18,8 @@ public final class FilesToRdfGraphVocabulary {
 
     public static final String HAS_SKIP_ON_FAILURE = PREFIX + "softFail";
 
+    public static final String HAS_PARSER_THREADS = PREFIX + "parserThreads";
+
     private FilesToRdfGraphVocabulary() {
     }
 
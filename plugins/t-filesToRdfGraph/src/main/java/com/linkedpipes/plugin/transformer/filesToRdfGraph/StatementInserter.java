@@ -1,35 +1,29 @@
 package com.linkedpipes.plugin.transformer.filesToRdfGraph;
 
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableSingleGraphDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
-import org.openrdf.model.IRI;
 import org.openrdf.model.Statement;
 import org.openrdf.rio.RDFHandler;
 import org.openrdf.rio.RDFHandlerException;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
+ * Statements are inserted by a single bulk inserter, so one connection
+ * is used for all the files. The inserter must be closed at the end.
  *
  * @author Petr Škoda
  */
-public class StatementInserter implements RDFHandler {
-
-    private final int commintSize;
+public class StatementInserter implements RDFHandler, AutoCloseable {
 
     private final WritableSingleGraphDataUnit dataUnit;
 
-    private final List<Statement> statements;
-
-    private IRI targetGraph;
+    private final BulkInserter inserter;
 
     public StatementInserter(int commintSize,
             WritableSingleGraphDataUnit dataUnit) {
-        this.commintSize = commintSize;
         this.dataUnit = dataUnit;
-        this.statements = new ArrayList<>(commintSize);
-        this.targetGraph = dataUnit.getGraph();
+        this.inserter = dataUnit.createBulkInserter();
+        this.inserter.setBatchSize(commintSize);
     }
 
     @Override
@@ -39,23 +33,12 @@ public class StatementInserter implements RDFHandler {
 
     @Override
     public void endRDF() throws RDFHandlerException {
-        // Commit data in cache.
-        try {
-            dataUnit.execute((connection) -> {
-                connection.begin();
-                connection.add(statements, targetGraph);
-                connection.commit();
-            });
-            statements.clear();
-        } catch (LpException ex) {
-            throw new RDFHandlerException(ex);
-        }
+        // Statements are flushed by the inserter as the batch is filled.
     }
 
     @Override
     public void handleNamespace(String prefix, String uri)
             throws RDFHandlerException {
-        // No operation here.
         try {
             dataUnit.execute((connection) -> {
                 if (connection.getNamespace(prefix) == null) {
@@ -69,20 +52,12 @@ public class StatementInserter implements RDFHandler {
 
     @Override
     public void handleStatement(Statement st) throws RDFHandlerException {
-        if (statements.size() >= commintSize) {
-            try {
-                dataUnit.execute((connection) -> {
-                    connection.begin();
-                    connection.add(statements, targetGraph);
-                    connection.commit();
-                });
-                statements.clear();
-            } catch (LpException ex) {
-                throw new RDFHandlerException(ex);
-            }
+        // We enforce the target graph here.
+        try {
+            inserter.add(st);
+        } catch (LpException ex) {
+            throw new RDFHandlerException(ex);
         }
-        // We can enforce context here.
-        statements.add(st);
     }
 
     @Override
@@ -90,4 +65,12 @@ public class StatementInserter implements RDFHandler {
         // No operation here.
     }
 
+    /**
+     * Insert remaining statements and release the connection.
+     */
+    @Override
+    public void close() throws LpException {
+        inserter.close();
+    }
+
 }
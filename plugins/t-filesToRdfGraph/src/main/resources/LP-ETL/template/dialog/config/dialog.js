@@ -3,7 +3,8 @@ define([], function () {
 
         $scope.dialog = {
             'commitSize': '',
-            'mimeType': ''
+            'mimeType': '',
+            'parserThreads': 1
         };
 
         var rdf = rdfService.create('http://plugins.linkedpipes.com/ontology/t-filesToRdf#');
@@ -18,6 +19,10 @@ define([], function () {
             if ($scope.dialog.mimeType === undefined) {
                 $scope.dialog.mimeType = "";
             }
+            $scope.dialog.parserThreads = rdf.getInteger(resource, 'parserThreads');
+            if ($scope.dialog.parserThreads === undefined) {
+                $scope.dialog.parserThreads = 1;
+            }
         };
 
         function saveDialog() {
@@ -26,6 +31,7 @@ define([], function () {
             rdf.setInteger(resource, 'commitSize', $scope.dialog.commitSize);
             rdf.setString(resource, 'mimeType', $scope.dialog.mimeType);
             rdf.setBoolean(resource, 'softFail', $scope.dialog.softFail);
+            rdf.setInteger(resource, 'parserThreads', $scope.dialog.parserThreads);
 
             return rdf.getData();
         };
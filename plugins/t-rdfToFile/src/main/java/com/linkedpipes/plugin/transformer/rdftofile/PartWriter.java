@@ -0,0 +1,160 @@
+package com.linkedpipes.plugin.transformer.rdftofile;
+
+import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.rio.RDFFormat;
+import org.openrdf.rio.RDFHandlerException;
+import org.openrdf.rio.RDFWriter;
+import org.openrdf.rio.Rio;
+
+/**
+ * Write statements into a single output file, the file can be compressed.
+ *
+ * @author Petr Škoda
+ */
+class PartWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String FILE_ENCODE = "UTF-8";
+
+    private final File file;
+
+    private final Writer writer;
+
+    private final RDFWriter rdfWriter;
+
+    private final ExceptionFactory exceptionFactory;
+
+    private long statementCounter = 0;
+
+    /**
+     * @param file
+     * @param format
+     * @param compression
+     * @param graph If not null used as a graph for all statements.
+     * @param namespaces Written at the start of the file.
+     * @param exceptionFactory
+     */
+    PartWriter(File file, RDFFormat format, String compression,
+            Resource graph, Map<String, String> namespaces,
+            ExceptionFactory exceptionFactory) throws LpException {
+        this.file = file;
+        this.exceptionFactory = exceptionFactory;
+        try {
+            writer = new OutputStreamWriter(openStream(file, compression),
+                    Charset.forName(FILE_ENCODE));
+        } catch (IOException ex) {
+            throw exceptionFactory.failure("Can't create output file: {}",
+                    file, ex);
+        }
+        // Based on data type utilize graph (context) renamer on not.
+        RDFWriter newWriter = Rio.createWriter(format, writer);
+        if (graph != null && format.supportsContexts()) {
+            newWriter = new RdfWriterContextRenamer(newWriter, graph);
+        }
+        rdfWriter = newWriter;
+        try {
+            rdfWriter.startRDF();
+            for (Map.Entry<String, String> entry : namespaces.entrySet()) {
+                rdfWriter.handleNamespace(entry.getKey(), entry.getValue());
+            }
+        } catch (RDFHandlerException ex) {
+            closeWriter();
+            throw exceptionFactory.failure("Can't write data into: {}",
+                    file, ex);
+        }
+    }
+
+    public void write(Statement statement) throws LpException {
+        try {
+            rdfWriter.handleStatement(statement);
+        } catch (RDFHandlerException ex) {
+            closeWriter();
+            throw exceptionFactory.failure("Can't write data into: {}",
+                    file, ex);
+        }
+        ++statementCounter;
+    }
+
+    public long getStatementCounter() {
+        return statementCounter;
+    }
+
+    public void close() throws LpException {
+        try {
+            rdfWriter.endRDF();
+        } catch (RDFHandlerException ex) {
+            closeWriter();
+            throw exceptionFactory.failure("Can't write data into: {}",
+                    file, ex);
+        }
+        try {
+            writer.close();
+        } catch (IOException ex) {
+            throw exceptionFactory.failure("Can't close file: {}", file, ex);
+        }
+    }
+
+    /**
+     * Close the file after a failure.
+     */
+    private void closeWriter() {
+        try {
+            writer.close();
+        } catch (IOException ex) {
+            // Ignore, there is already a failure reported.
+        }
+    }
+
+    private OutputStream openStream(File file, String compression)
+            throws IOException {
+        final OutputStream fileStream = new FileOutputStream(file);
+        try {
+            switch (compression) {
+                case RdfToFileVocabulary.COMPRESSION_GZIP:
+                    return new BufferedOutputStream(new GZIPOutputStream(
+                            fileStream, BUFFER_SIZE), BUFFER_SIZE);
+                case RdfToFileVocabulary.COMPRESSION_BZIP2:
+                    return new BufferedOutputStream(
+                            new BZip2CompressorOutputStream(fileStream),
+                            BUFFER_SIZE);
+                default:
+                    return new BufferedOutputStream(fileStream, BUFFER_SIZE);
+            }
+        } catch (IOException ex) {
+            fileStream.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * @param compression
+     * @return Extension of the compressed file, empty string if not
+     * compressed.
+     */
+    public static String getExtension(String compression) {
+        switch (compression) {
+            case RdfToFileVocabulary.COMPRESSION_GZIP:
+                return ".gz";
+            case RdfToFileVocabulary.COMPRESSION_BZIP2:
+                return ".bz2";
+            default:
+                return "";
+        }
+    }
+
+}
@@ -1,29 +1,63 @@
 package com.linkedpipes.plugin.transformer.rdftofile;
 
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.GraphStatistics;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.dataunit.system.api.files.WritableFilesDataUnit;
 import com.linkedpipes.etl.component.api.service.ProgressReport;
+import com.linkedpipes.etl.component.api.utils.ParallelExecution;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
+import org.openrdf.model.IRI;
+import org.openrdf.model.Namespace;
+import org.openrdf.model.Statement;
+import org.openrdf.repository.RepositoryConnection;
+import org.openrdf.repository.RepositoryResult;
 import org.openrdf.rio.RDFFormat;
-import org.openrdf.rio.RDFWriter;
 import org.openrdf.rio.Rio;
 import com.linkedpipes.etl.component.api.Component;
 import com.linkedpipes.etl.component.api.service.ExceptionFactory;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Statements are streamed from the input, the number of statements for
+ * the progress report is taken from the statistics of the input, if they
+ * are available. Otherwise the export is reported as a single step, as
+ * the input is not scanned only to get its size.
+ * The output can be compressed and split into parts with given number
+ * of statements. With more threads the parts are serialized in parallel,
+ * while the calling thread reads the statements.
  *
  * @author Škoda Petr
  */
 public final class RdfToFile implements Component.Sequential {
 
-    private static final String FILE_ENCODE = "UTF-8";
+    private static final Logger LOG = LoggerFactory.getLogger(RdfToFile.class);
+
+    /**
+     * Number of statements passed to a part writer thread at once.
+     */
+    private static final int BATCH_SIZE = 10000;
+
+    /**
+     * Number of batches a part writer thread can have waiting.
+     */
+    private static final int QUEUE_SIZE = 4;
+
+    /**
+     * Used to mark the end of a part.
+     */
+    private static final List<Statement> END_OF_PART = new ArrayList<>(0);
 
     @Component.InputPort(id = "InputRdf")
     public SingleGraphDataUnit inputRdf;
@@ -40,6 +74,19 @@ public final class RdfToFile implements Component.Sequential {
     @Component.Inject
     public ExceptionFactory exceptionFactory;
 
+    private RDFFormat format;
+
+    private IRI outputGraph;
+
+    private String compression;
+
+    private Map<String, String> namespaces;
+
+    /**
+     * True if the progress is reported for each statement.
+     */
+    private boolean reportStatements;
+
     @Override
     public void execute() throws LpException {
         Optional<RDFFormat> rdfFormat = Rio.getParserFormatForMIMEType(
@@ -48,27 +95,230 @@ public final class RdfToFile implements Component.Sequential {
             throw exceptionFactory.failure("Invalid output file type: {}",
                     configuration.getFileName());
         }
-        final File outputFile = outputFiles.createFile(
-                configuration.getFileName()).toFile();
+        format = rdfFormat.get();
+        compression = configuration.getCompression();
+        if (compression == null || compression.isEmpty()) {
+            compression = RdfToFileVocabulary.COMPRESSION_NONE;
+        }
+        switch (compression) {
+            case RdfToFileVocabulary.COMPRESSION_NONE:
+            case RdfToFileVocabulary.COMPRESSION_GZIP:
+            case RdfToFileVocabulary.COMPRESSION_BZIP2:
+                break;
+            default:
+                throw exceptionFactory.failure("Invalid compression: {}",
+                        compression);
+        }
+        final GraphStatistics statistics = inputRdf.getAvailableStatistics();
+        if (statistics == null) {
+            reportStatements = false;
+            progressReport.start(1);
+        } else {
+            reportStatements = true;
+            progressReport.start(statistics.getTriples());
+        }
         inputRdf.execute((connection) -> {
-            try (FileOutputStream outStream = new FileOutputStream(outputFile);
-                    OutputStreamWriter outWriter = new OutputStreamWriter(
-                            outStream, Charset.forName(FILE_ENCODE))) {
-                // Based on data type utilize graph (context) renamer on not.
-                RDFWriter writer = Rio.createWriter(rdfFormat.get(), outWriter);
-                if (rdfFormat.get().supportsContexts()) {
-                    writer = new RdfWriterContextRenamer(writer,
-                            connection.getValueFactory().createIRI(
-                                    configuration.getGraphUri()));
+            outputGraph = connection.getValueFactory().createIRI(
+                    configuration.getGraphUri());
+            namespaces = new HashMap<>();
+            final RepositoryResult<Namespace> namespaceResult
+                    = connection.getNamespaces();
+            try {
+                while (namespaceResult.hasNext()) {
+                    final Namespace namespace = namespaceResult.next();
+                    namespaces.put(namespace.getPrefix(),
+                            namespace.getName());
                 }
-                writer = new RdfWriterContext(writer, progressReport);
-                progressReport.start((int) connection.size(inputRdf.getGraph()));
-                connection.export(writer, inputRdf.getGraph());
-                progressReport.done();
-            } catch (IOException ex) {
-                throw exceptionFactory.failure("Can't write data.", ex);
+            } finally {
+                namespaceResult.close();
+            }
+            //
+            if (configuration.getThreads() > 1) {
+                exportParallel(connection, configuration.getThreads());
+            } else {
+                export(connection);
             }
         });
+        if (!reportStatements) {
+            progressReport.entryProcessed();
+        }
+        progressReport.done();
+    }
+
+    private void export(RepositoryConnection connection) throws LpException {
+        final RepositoryResult<Statement> statements
+                = connection.getStatements(null, null, null, true,
+                        inputRdf.getGraph());
+        int partIndex = 0;
+        PartWriter writer = null;
+        try {
+            while (statements.hasNext()) {
+                if (writer == null) {
+                    writer = createWriter(++partIndex);
+                }
+                writer.write(statements.next());
+                statementWritten();
+                if (isPartFull(writer.getStatementCounter())) {
+                    final PartWriter fullWriter = writer;
+                    writer = null;
+                    fullWriter.close();
+                    LOG.info("Part {} written.", partIndex);
+                }
+            }
+            if (writer == null && partIndex == 0) {
+                // Empty input, still create an empty file.
+                writer = createWriter(++partIndex);
+            }
+            if (writer != null) {
+                final PartWriter lastWriter = writer;
+                writer = null;
+                lastWriter.close();
+            }
+        } finally {
+            statements.close();
+            if (writer != null) {
+                // Failure, close the writer so the file is released.
+                try {
+                    writer.close();
+                } catch (LpException ex) {
+                    LOG.warn("Can't close part.", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Statements are read by the calling thread and passed in batches to
+     * the part writers, each part is written in own thread.
+     *
+     * @param connection
+     * @param threads
+     */
+    private void exportParallel(RepositoryConnection connection, int threads)
+            throws LpException {
+        LOG.info("Writing parts in {} threads.", threads);
+        final RepositoryResult<Statement> statements
+                = connection.getStatements(null, null, null, true,
+                        inputRdf.getGraph());
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(threads, exceptionFactory,
+                        "Can't write data.")) {
+            int partIndex = 0;
+            long partSize = 0;
+            BlockingQueue<List<Statement>> queue = null;
+            List<Statement> batch = new ArrayList<>(BATCH_SIZE);
+            while (statements.hasNext()) {
+                if (queue == null) {
+                    queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+                    execution.submit(createPartTask(++partIndex, queue));
+                    partSize = 0;
+                }
+                batch.add(statements.next());
+                statementWritten();
+                ++partSize;
+                if (batch.size() >= BATCH_SIZE || isPartFull(partSize)) {
+                    putBatch(queue, batch, execution);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+                if (isPartFull(partSize)) {
+                    putBatch(queue, END_OF_PART, execution);
+                    queue = null;
+                }
+            }
+            if (queue == null && partIndex == 0) {
+                // Empty input, still create an empty file.
+                queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+                execution.submit(createPartTask(++partIndex, queue));
+            }
+            if (queue != null) {
+                if (!batch.isEmpty()) {
+                    putBatch(queue, batch, execution);
+                }
+                putBatch(queue, END_OF_PART, execution);
+            }
+            execution.awaitAll();
+        } catch (InterruptedException ex) {
+            throw exceptionFactory.failure("Interrupted.", ex);
+        } finally {
+            statements.close();
+        }
+    }
+
+    private Callable<Object> createPartTask(
+            int partIndex, BlockingQueue<List<Statement>> queue)
+            throws LpException {
+        final File file = getPartFile(partIndex);
+        return () -> {
+            final PartWriter writer = new PartWriter(file, format,
+                    compression, outputGraph, namespaces, exceptionFactory);
+            List<Statement> batch = queue.take();
+            try {
+                while (batch != END_OF_PART) {
+                    for (Statement statement : batch) {
+                        writer.write(statement);
+                    }
+                    batch = queue.take();
+                }
+            } finally {
+                writer.close();
+            }
+            LOG.info("Part {} written.", partIndex);
+            return null;
+        };
+    }
+
+    /**
+     * Put the batch into the queue, while waiting check that none of
+     * the part writers failed.
+     */
+    private void putBatch(BlockingQueue<List<Statement>> queue,
+            List<Statement> batch, ParallelExecution<Object> execution)
+            throws InterruptedException, LpException {
+        while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            execution.check();
+        }
+    }
+
+    private void statementWritten() {
+        if (reportStatements) {
+            progressReport.entryProcessed();
+        }
+    }
+
+    private boolean isPartFull(long size) {
+        return configuration.getPartSize() > 0
+                && size >= configuration.getPartSize();
+    }
+
+    private PartWriter createWriter(int partIndex) throws LpException {
+        return new PartWriter(getPartFile(partIndex), format, compression,
+                outputGraph, namespaces, exceptionFactory);
+    }
+
+    /**
+     * If the output is split the index of the part is added before
+     * the file extension. Extension for the compression is added
+     * if missing.
+     *
+     * @param partIndex
+     * @return
+     */
+    private File getPartFile(int partIndex) throws LpException {
+        String fileName = configuration.getFileName();
+        if (configuration.getPartSize() > 0) {
+            final int extensionStart = fileName.indexOf('.');
+            if (extensionStart == -1) {
+                fileName = fileName + "-" + partIndex;
+            } else {
+                fileName = fileName.substring(0, extensionStart) + "-"
+                        + partIndex + fileName.substring(extensionStart);
+            }
+        }
+        final String extension = PartWriter.getExtension(compression);
+        if (!fileName.endsWith(extension)) {
+            fileName += extension;
+        }
+        return outputFiles.createFile(fileName).toFile();
     }
 
 }
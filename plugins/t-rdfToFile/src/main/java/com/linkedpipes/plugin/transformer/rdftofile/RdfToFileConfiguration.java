@@ -18,6 +18,22 @@ public class RdfToFileConfiguration {
     @RdfToPojo.Property(uri = RdfToFileVocabulary.HAS_GRAPH_URI)
     private String graphUri;
 
+    @RdfToPojo.Property(uri = RdfToFileVocabulary.HAS_COMPRESSION)
+    private String compression = RdfToFileVocabulary.COMPRESSION_NONE;
+
+    /**
+     * Maximum number of statements in a single output file, if zero
+     * the output is not split.
+     */
+    @RdfToPojo.Property(uri = RdfToFileVocabulary.HAS_PART_SIZE)
+    private long partSize = 0;
+
+    /**
+     * Number of threads used to write the output files.
+     */
+    @RdfToPojo.Property(uri = RdfToFileVocabulary.HAS_THREADS)
+    private int threads = 1;
+
     public RdfToFileConfiguration() {
     }
 
@@ -45,4 +61,28 @@ public class RdfToFileConfiguration {
         this.graphUri = graphUri;
     }
 
+    public String getCompression() {
+        return compression;
+    }
+
+    public void setCompression(String compression) {
+        this.compression = compression;
+    }
+
+    public long getPartSize() {
+        return partSize;
+    }
+
+    public void setPartSize(long partSize) {
+        this.partSize = partSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
 }
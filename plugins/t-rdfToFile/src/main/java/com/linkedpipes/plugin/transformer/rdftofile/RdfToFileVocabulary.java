@@ -17,6 +17,18 @@ public final class RdfToFileVocabulary {
 
     public static final String HAS_GRAPH_URI = PREFIX + "graphUri";
 
+    public static final String HAS_COMPRESSION = PREFIX + "compression";
+
+    public static final String HAS_PART_SIZE = PREFIX + "partSize";
+
+    public static final String HAS_THREADS = PREFIX + "threads";
+
+    public static final String COMPRESSION_NONE = PREFIX + "none";
+
+    public static final String COMPRESSION_GZIP = PREFIX + "gzip";
+
+    public static final String COMPRESSION_BZIP2 = PREFIX + "bzip2";
+
     private RdfToFileVocabulary() {
     }
 
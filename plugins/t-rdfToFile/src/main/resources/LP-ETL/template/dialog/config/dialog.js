@@ -22,6 +22,21 @@ define([], function () {
                 PREFIX + 'fileType');
             $scope.dialog.graphUri = rdf.getString(resource,
                 PREFIX + 'graphUri');
+            $scope.dialog.compression = rdf.getString(resource,
+                PREFIX + 'compression');
+            if ($scope.dialog.compression === undefined) {
+                $scope.dialog.compression = PREFIX + 'none';
+            }
+            $scope.dialog.partSize = rdf.getInteger(resource,
+                PREFIX + 'partSize');
+            if ($scope.dialog.partSize === undefined) {
+                $scope.dialog.partSize = 0;
+            }
+            $scope.dialog.threads = rdf.getInteger(resource,
+                PREFIX + 'threads');
+            if ($scope.dialog.threads === undefined) {
+                $scope.dialog.threads = 1;
+            }
             //
             $scope.control.fileName = $service.control.fromIri(
                 rdf.getIri(resource, PREFIX + 'fileNameControl'));
@@ -29,6 +44,12 @@ define([], function () {
                 rdf.getIri(resource, PREFIX + 'fileTypeControl'));
             $scope.control.graphUri = $service.control.fromIri(
                 rdf.getIri(resource, PREFIX + 'graphUriControl'));
+            $scope.control.compression = $service.control.fromIri(
+                rdf.getIri(resource, PREFIX + 'compressionControl'));
+            $scope.control.partSize = $service.control.fromIri(
+                rdf.getIri(resource, PREFIX + 'partSizeControl'));
+            $scope.control.threads = $service.control.fromIri(
+                rdf.getIri(resource, PREFIX + 'threadsControl'));
         }
 
         function saveDialog() {
@@ -47,6 +68,18 @@ define([], function () {
                 rdf.setString(resource, PREFIX + 'graphUri',
                     $scope.dialog.graphUri);
             }
+            if (!$scope.control.compression.forced) {
+                rdf.setString(resource, PREFIX + 'compression',
+                    $scope.dialog.compression);
+            }
+            if (!$scope.control.partSize.forced) {
+                rdf.setInteger(resource, PREFIX + 'partSize',
+                    $scope.dialog.partSize);
+            }
+            if (!$scope.control.threads.forced) {
+                rdf.setInteger(resource, PREFIX + 'threads',
+                    $scope.dialog.threads);
+            }
             //
             rdf.setIri(resource, PREFIX + 'fileNameControl',
                 $service.control.toIri($scope.control.fileName));
@@ -54,6 +87,12 @@ define([], function () {
                 $service.control.toIri($scope.control.fileType));
             rdf.setIri(resource, PREFIX + 'graphUriControl',
                 $service.control.toIri($scope.control.graphUri));
+            rdf.setIri(resource, PREFIX + 'compressionControl',
+                $service.control.toIri($scope.control.compression));
+            rdf.setIri(resource, PREFIX + 'partSizeControl',
+                $service.control.toIri($scope.control.partSize));
+            rdf.setIri(resource, PREFIX + 'threadsControl',
+                $service.control.toIri($scope.control.threads));
         }
 
         $service.onStore = function () {
@@ -0,0 +1,277 @@
+package com.linkedpipes.plugin.transformer.sparql.construct;
+
+import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.component.api.utils.ParallelExecution;
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.SingleGraphDataUnit;
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableSingleGraphDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.openrdf.model.BNode;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.query.GraphQuery;
+import org.openrdf.query.MalformedQueryException;
+import org.openrdf.query.QueryLanguage;
+import org.openrdf.query.TupleQuery;
+import org.openrdf.query.TupleQueryResult;
+import org.openrdf.query.impl.SimpleDataset;
+import org.openrdf.repository.RepositoryConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluate queries over partitions of the input subjects. The calling
+ * thread reads the subjects and passes them in partitions through
+ * a bounded queue to the worker threads. Each worker evaluates all
+ * the queries with the partition variable bound to the subjects of
+ * the partition and inserts the results with own inserter.
+ *
+ * IRI subjects are bound using a VALUES clause appended to the query,
+ * so the queries can not end with own VALUES clause. Blank nodes can not
+ * be written into a query so they are bound one by one. The subjects are
+ * read by a SELECT DISTINCT query streamed from the store, so each subject
+ * is in exactly one partition.
+ *
+ * The result is the same as without partitions only if the result for
+ * a subject depends on the subject alone, for example an aggregate
+ * not grouped by the partition variable is computed per partition.
+ *
+ * @author Petr Škoda
+ */
+class PartitionedEvaluator {
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(PartitionedEvaluator.class);
+
+    /**
+     * Select each subject of the input once.
+     */
+    private static final String SUBJECTS_QUERY
+            = "SELECT DISTINCT ?s WHERE { ?s ?p ?o }";
+
+    /**
+     * Used to mark the end of the input.
+     */
+    private static final List<Resource> END_OF_INPUT = new ArrayList<>(0);
+
+    /**
+     * Time in milliseconds the reader waits for a free place in the queue
+     * before it checks the state of the workers.
+     */
+    private static final long READER_WAIT_TIME = 100;
+
+    private final SingleGraphDataUnit inputRdf;
+
+    private final WritableSingleGraphDataUnit outputRdf;
+
+    private final ExceptionFactory exceptionFactory;
+
+    private final String variable;
+
+    private final int partitionSize;
+
+    private final int threads;
+
+    private final BlockingQueue<List<Resource>> queue;
+
+    /**
+     * @param inputRdf
+     * @param outputRdf
+     * @param exceptionFactory
+     * @param variable Name of the variable, with or without the '?'.
+     * @param partitionSize
+     * @param threads
+     */
+    PartitionedEvaluator(SingleGraphDataUnit inputRdf,
+            WritableSingleGraphDataUnit outputRdf,
+            ExceptionFactory exceptionFactory, String variable,
+            int partitionSize, int threads) {
+        this.inputRdf = inputRdf;
+        this.outputRdf = outputRdf;
+        this.exceptionFactory = exceptionFactory;
+        if (variable.startsWith("?") || variable.startsWith("$")) {
+            this.variable = variable.substring(1);
+        } else {
+            this.variable = variable;
+        }
+        this.partitionSize = Math.max(1, partitionSize);
+        this.threads = Math.max(1, threads);
+        this.queue = new ArrayBlockingQueue<>(this.threads * 2);
+    }
+
+    public void evaluate(List<String> queries) throws LpException {
+        LOG.info("Evaluating {} queries over partitions of {} subjects "
+                + "in {} threads.", queries.size(), partitionSize, threads);
+        inputRdf.execute((connection) -> {
+            checkQueries(connection, queries);
+        });
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(threads, exceptionFactory,
+                        "Can't execute given query.")) {
+            for (int i = 0; i < threads; ++i) {
+                execution.submit(() -> {
+                    inputRdf.execute((connection) -> {
+                        evaluatePartitions(connection, queries);
+                    });
+                    return null;
+                });
+            }
+            final int partitions = inputRdf.execute((connection) -> {
+                return readPartitions(connection, execution);
+            });
+            for (int i = 0; i < threads; ++i) {
+                putPartition(END_OF_INPUT, execution);
+            }
+            execution.awaitAll();
+            LOG.info("Evaluated {} partitions.", partitions);
+        } catch (InterruptedException ex) {
+            throw exceptionFactory.failure("Interrupted.", ex);
+        }
+    }
+
+    /**
+     * Check that the VALUES clause can be appended to the queries.
+     *
+     * @param connection
+     * @param queries
+     */
+    private void checkQueries(RepositoryConnection connection,
+            List<String> queries) throws LpException {
+        final List<IRI> iris = new ArrayList<>(1);
+        iris.add(SimpleValueFactory.getInstance().createIRI(
+                "http://localhost/partition"));
+        for (String query : queries) {
+            try {
+                connection.prepareGraphQuery(QueryLanguage.SPARQL, query);
+            } catch (MalformedQueryException ex) {
+                throw exceptionFactory.failure("Invalid query: {}", query, ex);
+            }
+            try {
+                connection.prepareGraphQuery(QueryLanguage.SPARQL,
+                        query + valuesClause(iris));
+            } catch (MalformedQueryException ex) {
+                throw exceptionFactory.failure("Query can not end with "
+                        + "a VALUES clause, when partitions are used: {}",
+                        query, ex);
+            }
+        }
+    }
+
+    /**
+     * @param connection
+     * @param execution
+     * @return Number of partitions.
+     */
+    private int readPartitions(RepositoryConnection connection,
+            ParallelExecution<Object> execution) throws LpException {
+        final TupleQuery query = connection.prepareTupleQuery(
+                QueryLanguage.SPARQL, SUBJECTS_QUERY);
+        final SimpleDataset dataset = new SimpleDataset();
+        dataset.addDefaultGraph(inputRdf.getGraph());
+        query.setDataset(dataset);
+        final TupleQueryResult result = query.evaluate();
+        int partitions = 0;
+        try {
+            List<Resource> partition = new ArrayList<>(partitionSize);
+            while (result.hasNext()) {
+                partition.add((Resource) result.next().getValue("s"));
+                if (partition.size() >= partitionSize) {
+                    putPartition(partition, execution);
+                    partition = new ArrayList<>(partitionSize);
+                    ++partitions;
+                }
+            }
+            if (!partition.isEmpty()) {
+                putPartition(partition, execution);
+                ++partitions;
+            }
+        } catch (InterruptedException ex) {
+            throw exceptionFactory.failure("Interrupted.", ex);
+        } finally {
+            result.close();
+        }
+        return partitions;
+    }
+
+    /**
+     * Put the partition into the queue, while waiting check that none
+     * of the workers failed.
+     */
+    private void putPartition(List<Resource> partition,
+            ParallelExecution<Object> execution)
+            throws InterruptedException, LpException {
+        while (!queue.offer(partition, READER_WAIT_TIME,
+                TimeUnit.MILLISECONDS)) {
+            execution.check();
+        }
+    }
+
+    private void evaluatePartitions(RepositoryConnection connection,
+            List<String> queries) throws LpException {
+        try (final BulkInserter inserter = outputRdf.createBulkInserter()) {
+            final StatementInserter handler = new StatementInserter(inserter);
+            List<Resource> partition = queue.take();
+            while (partition != END_OF_INPUT) {
+                evaluatePartition(connection, queries, partition, handler);
+                partition = queue.take();
+            }
+        } catch (InterruptedException ex) {
+            throw exceptionFactory.failure("Interrupted.", ex);
+        }
+    }
+
+    private void evaluatePartition(RepositoryConnection connection,
+            List<String> queries, List<Resource> partition,
+            StatementInserter handler) {
+        final List<IRI> iris = new ArrayList<>(partition.size());
+        final List<BNode> blankNodes = new ArrayList<>();
+        for (Resource subject : partition) {
+            if (subject instanceof IRI) {
+                iris.add((IRI) subject);
+            } else {
+                blankNodes.add((BNode) subject);
+            }
+        }
+        final SimpleDataset dataset = new SimpleDataset();
+        dataset.addDefaultGraph(inputRdf.getGraph());
+        for (String query : queries) {
+            if (!iris.isEmpty()) {
+                final GraphQuery graphQuery = connection.prepareGraphQuery(
+                        QueryLanguage.SPARQL, query + valuesClause(iris));
+                graphQuery.setDataset(dataset);
+                graphQuery.evaluate(handler);
+            }
+            if (!blankNodes.isEmpty()) {
+                final GraphQuery graphQuery = connection.prepareGraphQuery(
+                        QueryLanguage.SPARQL, query);
+                graphQuery.setDataset(dataset);
+                for (BNode blankNode : blankNodes) {
+                    graphQuery.setBinding(variable, blankNode);
+                    graphQuery.evaluate(handler);
+                }
+            }
+        }
+    }
+
+    private String valuesClause(List<IRI> iris) {
+        final StringBuilder builder = new StringBuilder(iris.size() * 64);
+        // The query can end with a comment.
+        builder.append("\nVALUES ?");
+        builder.append(variable);
+        builder.append(" {");
+        for (IRI iri : iris) {
+            builder.append(" <");
+            builder.append(iri.stringValue());
+            builder.append(">");
+        }
+        builder.append(" }");
+        return builder.toString();
+    }
+
+}
@@ -1,13 +1,18 @@
 package com.linkedpipes.plugin.transformer.sparql.construct;
 
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableSingleGraphDataUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.openrdf.query.GraphQuery;
 import org.openrdf.query.QueryLanguage;
 import org.openrdf.query.Update;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.linkedpipes.etl.component.api.Component;
 import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.component.api.utils.ParallelExecution;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
 import org.openrdf.query.impl.SimpleDataset;
 
@@ -43,10 +48,37 @@ public final class SparqlConstruct implements Component.Sequential {
             throw exceptionFactory.failure("Missing property: {}",
                     SparqlConstructVocabulary.HAS_QUERY);
         }
+        final List<String> queries = new ArrayList<>();
+        queries.add(configuration.getQuery());
+        for (String query : configuration.getAdditionalQueries()) {
+            if (query != null && !query.isEmpty()) {
+                queries.add(query);
+            }
+        }
+        LOG.debug("{} -> {}", inputRdf.getGraph(), outputRdf.getGraph());
+        final String partitionVariable = configuration.getPartitionVariable();
+        if (partitionVariable != null && !partitionVariable.isEmpty()) {
+            new PartitionedEvaluator(inputRdf, outputRdf, exceptionFactory,
+                    partitionVariable, configuration.getPartitionSize(),
+                    configuration.getThreads()).evaluate(queries);
+        } else if (!configuration.isStreaming()) {
+            for (String query : queries) {
+                executeUpdate(query);
+            }
+        } else if (configuration.getThreads() > 1 && queries.size() > 1) {
+            executeParallel(queries,
+                    Math.min(configuration.getThreads(), queries.size()));
+        } else {
+            for (String query : queries) {
+                executeConstruct(query);
+            }
+        }
+    }
+
+    private void executeUpdate(String constructQuery) throws LpException {
         // We always perform inserts.
-        final String query = updateQuery(configuration.getQuery());
+        final String query = updateQuery(constructQuery);
         LOG.debug("Query: {}", query);
-        LOG.debug("{} -> {}", inputRdf.getGraph(), outputRdf.getGraph());
         // Execute query - TODO We should check that they share
         // the same repository!
         try {
@@ -64,6 +96,52 @@ public final class SparqlConstruct implements Component.Sequential {
         }
     }
 
+    /**
+     * Evaluate the query and insert the results in batches, so there is
+     * no single transaction with the whole result.
+     *
+     * @param query
+     */
+    private void executeConstruct(String query) throws LpException {
+        LOG.debug("Query: {}", query);
+        try (final BulkInserter inserter = outputRdf.createBulkInserter()) {
+            inputRdf.execute((connection) -> {
+                final GraphQuery graphQuery = connection.prepareGraphQuery(
+                        QueryLanguage.SPARQL, query);
+                final SimpleDataset dataset = new SimpleDataset();
+                dataset.addDefaultGraph(inputRdf.getGraph());
+                graphQuery.setDataset(dataset);
+                graphQuery.evaluate(new StatementInserter(inserter));
+            });
+        } catch (Throwable t) {
+            throw exceptionFactory.failure("Can't execute given query.", t);
+        }
+    }
+
+    /**
+     * Each query is evaluated by one thread with own connection
+     * and inserter.
+     *
+     * @param queries
+     * @param threads
+     */
+    private void executeParallel(List<String> queries, int threads)
+            throws LpException {
+        LOG.info("Evaluating {} queries in {} threads.", queries.size(),
+                threads);
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(threads, exceptionFactory,
+                        "Can't execute given query.")) {
+            for (String query : queries) {
+                execution.submit(() -> {
+                    executeConstruct(query);
+                    return null;
+                });
+            }
+            execution.awaitAll();
+        }
+    }
+
     /**
      * Rewrite given SPARQL construct to SPARQL insert.
      *
@@ -1,6 +1,8 @@
 package com.linkedpipes.plugin.transformer.sparql.construct;
 
 import com.linkedpipes.etl.component.api.service.RdfToPojo;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  *
@@ -12,6 +14,41 @@ public class SparqlConstructConfiguration {
     @RdfToPojo.Property(uri = SparqlConstructVocabulary.HAS_QUERY)
     private String query = "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }";
 
+    /**
+     * Queries executed together with {@link #query}. Can be specified
+     * only via the runtime configuration.
+     */
+    @RdfToPojo.Property(uri = SparqlConstructVocabulary.HAS_ADDITIONAL_QUERY)
+    private List<String> additionalQueries = new ArrayList<>();
+
+    /**
+     * If true the queries are evaluated as CONSTRUCT and the results
+     * are inserted in batches, instead of a single INSERT.
+     */
+    @RdfToPojo.Property(uri = SparqlConstructVocabulary.HAS_STREAMING)
+    private boolean streaming = false;
+
+    /**
+     * Number of queries evaluated in parallel in the streaming mode.
+     */
+    @RdfToPojo.Property(uri = SparqlConstructVocabulary.HAS_THREADS)
+    private int threads = 1;
+
+    /**
+     * If set the subjects of the input are split into partitions and
+     * the queries are evaluated for each partition with this variable
+     * bound to the subjects of the partition. Valid only for queries
+     * that map each entity on its own.
+     */
+    @RdfToPojo.Property(uri = SparqlConstructVocabulary.HAS_PARTITION_VARIABLE)
+    private String partitionVariable = "";
+
+    /**
+     * Number of subjects in a partition.
+     */
+    @RdfToPojo.Property(uri = SparqlConstructVocabulary.HAS_PARTITION_SIZE)
+    private int partitionSize = 10000;
+
     public SparqlConstructConfiguration() {
     }
 
@@ -23,4 +60,44 @@ public class SparqlConstructConfiguration {
         this.query = query;
     }
 
+    public List<String> getAdditionalQueries() {
+        return additionalQueries;
+    }
+
+    public void setAdditionalQueries(List<String> additionalQueries) {
+        this.additionalQueries = additionalQueries;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public String getPartitionVariable() {
+        return partitionVariable;
+    }
+
+    public void setPartitionVariable(String partitionVariable) {
+        this.partitionVariable = partitionVariable;
+    }
+
+    public int getPartitionSize() {
+        return partitionSize;
+    }
+
+    public void setPartitionSize(int partitionSize) {
+        this.partitionSize = partitionSize;
+    }
+
 }
@@ -13,6 +13,18 @@ final class SparqlConstructVocabulary {
 
     public static final String HAS_QUERY = PREFIX + "query";
 
+    public static final String HAS_ADDITIONAL_QUERY
+            = PREFIX + "additionalQuery";
+
+    public static final String HAS_STREAMING = PREFIX + "streaming";
+
+    public static final String HAS_THREADS = PREFIX + "threads";
+
+    public static final String HAS_PARTITION_VARIABLE
+            = PREFIX + "partitionVariable";
+
+    public static final String HAS_PARTITION_SIZE = PREFIX + "partitionSize";
+
     private SparqlConstructVocabulary() {
     }
 
@@ -0,0 +1,32 @@
+package com.linkedpipes.plugin.transformer.sparql.construct;
+
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import org.openrdf.model.Statement;
+import org.openrdf.rio.RDFHandlerException;
+import org.openrdf.rio.helpers.AbstractRDFHandler;
+
+/**
+ * Insert results of a graph query into the output graph. The statements
+ * are inserted in batches, so the transaction size is bounded.
+ *
+ * @author Petr Škoda
+ */
+class StatementInserter extends AbstractRDFHandler {
+
+    private final BulkInserter inserter;
+
+    StatementInserter(BulkInserter inserter) {
+        this.inserter = inserter;
+    }
+
+    @Override
+    public void handleStatement(Statement st) throws RDFHandlerException {
+        try {
+            inserter.add(st);
+        } catch (LpException ex) {
+            throw new RDFHandlerException(ex);
+        }
+    }
+
+}
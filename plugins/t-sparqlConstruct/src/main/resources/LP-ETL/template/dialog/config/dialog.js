@@ -17,9 +17,31 @@ define([], function () {
             var resource = rdf.secureByType(PREFIX + 'Configuration');
             //
             $scope.dialog.query = rdf.getString(resource, PREFIX + 'query');
+            $scope.dialog.streaming = rdf.getBoolean(resource,
+                PREFIX + 'streaming');
+            $scope.dialog.threads = rdf.getInteger(resource,
+                PREFIX + 'threads');
+            if ($scope.dialog.threads === undefined) {
+                $scope.dialog.threads = 1;
+            }
+            $scope.dialog.partitionVariable = rdf.getString(resource,
+                PREFIX + 'partitionVariable');
+            $scope.dialog.partitionSize = rdf.getInteger(resource,
+                PREFIX + 'partitionSize');
+            if ($scope.dialog.partitionSize === undefined) {
+                $scope.dialog.partitionSize = 10000;
+            }
             //
             $scope.control.query = $service.control.fromIri(
                 rdf.getIri(resource, PREFIX + 'queryControl'));
+            $scope.control.streaming = $service.control.fromIri(
+                rdf.getIri(resource, PREFIX + 'streamingControl'));
+            $scope.control.threads = $service.control.fromIri(
+                rdf.getIri(resource, PREFIX + 'threadsControl'));
+            $scope.control.partitionVariable = $service.control.fromIri(
+                rdf.getIri(resource, PREFIX + 'partitionVariableControl'));
+            $scope.control.partitionSize = $service.control.fromIri(
+                rdf.getIri(resource, PREFIX + 'partitionSizeControl'));
         }
 
         function saveDialog() {
@@ -30,9 +52,33 @@ define([], function () {
                 rdf.setString(resource, PREFIX + 'query',
                     $scope.dialog.query);
             }
+            if (!$scope.control.streaming.forced) {
+                rdf.setBoolean(resource, PREFIX + 'streaming',
+                    $scope.dialog.streaming);
+            }
+            if (!$scope.control.threads.forced) {
+                rdf.setInteger(resource, PREFIX + 'threads',
+                    $scope.dialog.threads);
+            }
+            if (!$scope.control.partitionVariable.forced) {
+                rdf.setString(resource, PREFIX + 'partitionVariable',
+                    $scope.dialog.partitionVariable);
+            }
+            if (!$scope.control.partitionSize.forced) {
+                rdf.setInteger(resource, PREFIX + 'partitionSize',
+                    $scope.dialog.partitionSize);
+            }
             //
             rdf.setIri(resource, PREFIX + 'queryControl',
                 $service.control.toIri($scope.control.query));
+            rdf.setIri(resource, PREFIX + 'streamingControl',
+                $service.control.toIri($scope.control.streaming));
+            rdf.setIri(resource, PREFIX + 'threadsControl',
+                $service.control.toIri($scope.control.threads));
+            rdf.setIri(resource, PREFIX + 'partitionVariableControl',
+                $service.control.toIri($scope.control.partitionVariable));
+            rdf.setIri(resource, PREFIX + 'partitionSizeControl',
+                $service.control.toIri($scope.control.partitionSize));
         }
 
         $service.onStore = function () {
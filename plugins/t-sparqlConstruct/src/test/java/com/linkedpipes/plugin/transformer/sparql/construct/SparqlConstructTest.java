@@ -0,0 +1,121 @@
+package com.linkedpipes.plugin.transformer.sparql.construct;
+
+import com.linkedpipes.etl.component.test.TestEnvironment;
+import com.linkedpipes.etl.component.test.TestUtils;
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableSingleGraphDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+
+/**
+ *
+ * @author Petr Škoda
+ */
+public class SparqlConstructTest {
+
+    private static final String PREFIX = "http://localhost/";
+
+    private static final String BLANK_NODE_QUERY = "CONSTRUCT { "
+            + "?s <http://localhost/has> [ <http://localhost/value> ?o ] "
+            + "} WHERE { ?s <http://localhost/p> ?o }";
+
+    @Test
+    public void partitionsWithBlankNodeTemplate() throws Exception {
+        final SparqlConstruct component = new SparqlConstruct();
+        component.configuration = createConfiguration(BLANK_NODE_QUERY);
+        try (final TestEnvironment env = TestEnvironment.create(component,
+                TestUtils.getTempDirectory())) {
+            loadInput(env.bindSingleGraphDataUnit("InputRdf"));
+            final WritableSingleGraphDataUnit output
+                    = env.bindSingleGraphDataUnit("OutputRdf");
+            //
+            env.execute();
+            // Each of the six input statements produces two statements,
+            // a subject evaluated in more partitions would produce more.
+            output.execute((connection) -> {
+                Assert.assertEquals(12, connection.size(output.getGraph()));
+            });
+        }
+    }
+
+    @Test
+    public void partitionsWithoutThreads() throws Exception {
+        final SparqlConstruct component = new SparqlConstruct();
+        component.configuration = createConfiguration(
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }");
+        component.configuration.setThreads(1);
+        component.configuration.setPartitionSize(2);
+        try (final TestEnvironment env = TestEnvironment.create(component,
+                TestUtils.getTempDirectory())) {
+            loadInput(env.bindSingleGraphDataUnit("InputRdf"));
+            final WritableSingleGraphDataUnit output
+                    = env.bindSingleGraphDataUnit("OutputRdf");
+            //
+            env.execute();
+            //
+            output.execute((connection) -> {
+                Assert.assertEquals(6, connection.size(output.getGraph()));
+            });
+        }
+    }
+
+    @Test(expected = LpException.class)
+    public void partitionsWithValuesClause() throws Exception {
+        final SparqlConstruct component = new SparqlConstruct();
+        component.configuration = createConfiguration(
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o } "
+                + "VALUES ?o { \"a\" }");
+        try (final TestEnvironment env = TestEnvironment.create(component,
+                TestUtils.getTempDirectory())) {
+            loadInput(env.bindSingleGraphDataUnit("InputRdf"));
+            env.bindSingleGraphDataUnit("OutputRdf");
+            //
+            env.execute();
+        }
+    }
+
+    private static SparqlConstructConfiguration createConfiguration(
+            String query) {
+        final SparqlConstructConfiguration configuration
+                = new SparqlConstructConfiguration();
+        configuration.setQuery(query);
+        configuration.setPartitionVariable("?s");
+        configuration.setPartitionSize(1);
+        configuration.setThreads(2);
+        return configuration;
+    }
+
+    /**
+     * Statements of a subject are not next to each other.
+     *
+     * @param input
+     */
+    private static void loadInput(WritableSingleGraphDataUnit input)
+            throws LpException {
+        final ValueFactory valueFactory = SimpleValueFactory.getInstance();
+        final IRI predicate = valueFactory.createIRI(PREFIX + "p");
+        final Resource first = valueFactory.createIRI(PREFIX + "s1");
+        final Resource second = valueFactory.createIRI(PREFIX + "s2");
+        final Resource blankNode = valueFactory.createBNode();
+        input.execute((connection) -> {
+            final IRI graph = input.getGraph();
+            connection.add(first, predicate,
+                    valueFactory.createLiteral("a"), graph);
+            connection.add(second, predicate,
+                    valueFactory.createLiteral("b"), graph);
+            connection.add(blankNode, predicate,
+                    valueFactory.createLiteral("c"), graph);
+            connection.add(first, predicate,
+                    valueFactory.createLiteral("d"), graph);
+            connection.add(blankNode, predicate,
+                    valueFactory.createLiteral("e"), graph);
+            connection.add(second, predicate,
+                    valueFactory.createLiteral("f"), graph);
+        });
+    }
+
+}
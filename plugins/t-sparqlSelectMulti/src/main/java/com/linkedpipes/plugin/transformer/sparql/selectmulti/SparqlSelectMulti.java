@@ -2,6 +2,7 @@ package com.linkedpipes.plugin.transformer.sparql.selectmulti;
 
 import com.linkedpipes.etl.component.api.Component;
 import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.component.api.utils.ParallelExecution;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.dataunit.system.api.files.WritableFilesDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
@@ -20,10 +21,14 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 /**
+ * The queries can be evaluated in parallel, each by own thread with own
+ * connection to the input.
  *
  * @author Škoda Petr
  */
@@ -32,7 +37,7 @@ public final class SparqlSelectMulti implements Component.Sequential {
     private static final Logger LOG = LoggerFactory.getLogger(SparqlSelectMulti.class);
 
     /**
-     * Used to store configuration of the component.
+     * Used to store configuration of a query.
      */
     private static final class Configuration {
 
@@ -53,12 +58,16 @@ public final class SparqlSelectMulti implements Component.Sequential {
     @Component.InputPort(id = "InputRdf")
     public SingleGraphDataUnit inputRdf;
 
+    @Component.ContainsConfiguration
     @Component.InputPort(id = "Configuration")
     public SingleGraphDataUnit configurationRdf;
 
     @Component.OutputPort(id = "OutputFiles")
     public WritableFilesDataUnit outputFiles;
 
+    @Component.Configuration
+    public SparqlSelectMultiConfiguration configuration;
+
     @Component.Inject
     public ExceptionFactory exceptionFactory;
 
@@ -78,15 +87,53 @@ public final class SparqlSelectMulti implements Component.Sequential {
                         binding.getValue("fileName").stringValue()));
             }
         });
-        // Transform.
-        for (Configuration configuration : configurations) {
-            if (configuration.fileName == null
-                    || configuration.fileName.isEmpty()) {
+        final int threads = configuration.getThreads();
+        // Check configurations.
+        final Set<String> fileNames = new HashSet<>();
+        for (Configuration item : configurations) {
+            if (item.fileName == null || item.fileName.isEmpty()) {
                 throw exceptionFactory.failure("Missing property: {} on {}",
                         SparqlSelectMultiVocabulary.HAS_FILE_NAME,
-                        configuration.iri);
+                        item.iri);
+            }
+            if (threads > 1 && !fileNames.add(item.fileName)) {
+                throw exceptionFactory.failure(
+                        "Duplicate output file name: {} on {}",
+                        item.fileName, item.iri);
+            }
+        }
+        // Transform.
+        if (threads > 1 && configurations.size() > 1) {
+            transformParallel(configurations,
+                    Math.min(threads, configurations.size()));
+        } else {
+            for (Configuration item : configurations) {
+                transform(item.query, item.fileName);
+            }
+        }
+    }
+
+    /**
+     * The input is only read, so the queries can be evaluated
+     * concurrently.
+     *
+     * @param configurations
+     * @param threads
+     */
+    private void transformParallel(List<Configuration> configurations,
+            int threads) throws LpException {
+        LOG.info("Evaluating {} queries in {} threads.",
+                configurations.size(), threads);
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(threads, exceptionFactory,
+                        "Can't execute given query.")) {
+            for (Configuration item : configurations) {
+                execution.submit(() -> {
+                    transform(item.query, item.fileName);
+                    return null;
+                });
             }
-            transform(configuration.query, configuration.fileName);
+            execution.awaitAll();
         }
     }
 
@@ -0,0 +1,31 @@
+package com.linkedpipes.plugin.transformer.sparql.selectmulti;
+
+import com.linkedpipes.etl.component.api.service.RdfToPojo;
+
+/**
+ * Configuration of the component. The queries are given by other
+ * resources of the same type in the runtime configuration.
+ *
+ * @author Petr Škoda
+ */
+@RdfToPojo.Type(uri = SparqlSelectMultiVocabulary.CONFIG)
+public class SparqlSelectMultiConfiguration {
+
+    /**
+     * Number of queries evaluated in parallel.
+     */
+    @RdfToPojo.Property(uri = SparqlSelectMultiVocabulary.HAS_THREADS)
+    private int threads = 1;
+
+    public SparqlSelectMultiConfiguration() {
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+}
@@ -14,6 +14,8 @@ final class SparqlSelectMultiVocabulary {
 
     public static final String HAS_FILE_NAME = PREFIX + "fileName";
 
+    public static final String HAS_THREADS = PREFIX + "threads";
+
     private SparqlSelectMultiVocabulary() {
     }
 }
@@ -0,0 +1,51 @@
+define([], function () {
+
+    const PREFIX = "http://plugins.linkedpipes.com/ontology/t-sparqlSelectMultiple#";
+
+    function controller($scope, $service, rdfService) {
+
+        $scope.dialog = {};
+
+        if ($scope.control === undefined) {
+            $scope.control = {};
+        }
+
+        var rdf = rdfService.create('');
+
+        function loadDialog() {
+            rdf.setData($service.config.instance);
+            var resource = rdf.secureByType(PREFIX + 'Configuration');
+            //
+            $scope.dialog.threads = rdf.getInteger(resource,
+                PREFIX + 'threads');
+            if ($scope.dialog.threads === undefined) {
+                $scope.dialog.threads = 1;
+            }
+            //
+            $scope.control.threads = $service.control.fromIri(
+                rdf.getIri(resource, PREFIX + 'threadsControl'));
+        }
+
+        function saveDialog() {
+            rdf.setData($service.config.instance);
+            var resource = rdf.secureByType(PREFIX + 'Configuration');
+            //
+            if (!$scope.control.threads.forced) {
+                rdf.setInteger(resource, PREFIX + 'threads',
+                    $scope.dialog.threads);
+            }
+            //
+            rdf.setIri(resource, PREFIX + 'threadsControl',
+                $service.control.toIri($scope.control.threads));
+        }
+
+        $service.onStore = function () {
+            saveDialog();
+        }
+
+        loadDialog();
+    }
+
+    controller.$inject = ['$scope', '$service', 'services.rdf.0.0.0'];
+    return controller;
+});
@@ -1,10 +1,13 @@
 package com.linkedpipes.plugin.transformer.sparql.update;
 
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableSingleGraphDataUnit;
 import org.openrdf.model.IRI;
+import org.openrdf.model.Statement;
 import org.openrdf.query.QueryLanguage;
 import org.openrdf.query.Update;
+import org.openrdf.repository.RepositoryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.linkedpipes.etl.component.api.Component;
@@ -12,6 +15,9 @@ import com.linkedpipes.etl.executor.api.v1.exception.LpException;
 import org.openrdf.query.impl.SimpleDataset;
 
 /**
+ * The input is copied into the output and the update is executed there.
+ * Downstream components read the output graph directly, so the output
+ * is materialized before the update.
  *
  * @author Škoda Petr
  */
@@ -38,25 +44,50 @@ public final class SparqlUpdate implements Component.Sequential {
         final IRI outputGraph = outputRdf.getGraph();
         LOG.info("Update: {} -> {}", inputGraph, outputGraph);
         LOG.info("Query: {}", configuration.getQuery());
-        // Copy data.
-        inputRdf.execute((connection) -> {
-            connection.add(connection.getStatements(null, null, null, true, inputGraph), outputGraph);
-            LOG.info("Input size: {}", connection.size(outputGraph));
-        });
-        // Perform update.
-        inputRdf.execute((connection) -> {
-            final Update update = connection.prepareUpdate(QueryLanguage.SPARQL, configuration.getQuery());
-            final SimpleDataset dataset = new SimpleDataset();
-            dataset.addDefaultGraph(outputGraph);
-            dataset.addDefaultRemoveGraph(outputGraph);
-            dataset.setDefaultInsertGraph(outputGraph);
+        copyInput();
+        final SimpleDataset dataset = new SimpleDataset();
+        dataset.addDefaultGraph(outputGraph);
+        dataset.addDefaultRemoveGraph(outputGraph);
+        dataset.setDefaultInsertGraph(outputGraph);
+        executeUpdate(dataset);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Output size: {}",
+                    outputRdf.getStatistics().getTriples());
+        }
+    }
+
+    /**
+     * The update writes into the output graph, so it is executed with
+     * the output data unit, that drops its statistics afterwards.
+     *
+     * @param dataset
+     */
+    private void executeUpdate(SimpleDataset dataset) throws LpException {
+        outputRdf.execute((connection) -> {
+            final Update update = connection.prepareUpdate(
+                    QueryLanguage.SPARQL, configuration.getQuery());
             update.setDataset(dataset);
             update.execute();
         });
+    }
+
+    /**
+     * Copy the input graph into the output graph in batches, so there is
+     * no single transaction with the whole input.
+     */
+    private void copyInput() throws LpException {
         inputRdf.execute((connection) -> {
-            LOG.info("Output size: {}", connection.size(outputGraph));
+            final RepositoryResult<Statement> statements
+                    = connection.getStatements(null, null, null, true,
+                            inputRdf.getGraph());
+            try (final BulkInserter inserter = outputRdf.createBulkInserter()) {
+                while (statements.hasNext()) {
+                    inserter.add(statements.next());
+                }
+            } finally {
+                statements.close();
+            }
         });
-
     }
 
 }
@@ -1,37 +1,26 @@
 package com.linkedpipes.plugin.transformer.tabular;
 
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableSingleGraphDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
-import java.util.ArrayList;
-import java.util.List;
 import org.openrdf.model.IRI;
 import org.openrdf.model.Resource;
-import org.openrdf.model.Statement;
 import org.openrdf.model.Value;
-import org.openrdf.model.ValueFactory;
-import org.openrdf.model.impl.SimpleValueFactory;
 
 /**
  * Buffered output handler.
  *
+ * Statements are inserted by a bulk inserter, so a single connection
+ * is used for all the files. The output must be closed at the end.
+ *
  * @author Petr Škoda
  */
-class BufferedOutput implements StatementConsumer {
-
-    private final static int BUFFER_SIZE = 50000;
-
-    private final static ValueFactory VALUE_FACTORY
-            = SimpleValueFactory.getInstance();
-
-    private final WritableSingleGraphDataUnit dataUnit;
+class BufferedOutput implements StatementConsumer, AutoCloseable {
 
-    private final IRI graph;
-
-    private final List<Statement> buffer = new ArrayList<>(BUFFER_SIZE);
+    private final BulkInserter inserter;
 
     BufferedOutput(WritableSingleGraphDataUnit dataUnit) {
-        this.dataUnit = dataUnit;
-        graph = dataUnit.getGraph();
+        this.inserter = dataUnit.createBulkInserter();
     }
 
     @Override
@@ -41,9 +30,7 @@ class BufferedOutput implements StatementConsumer {
 
     @Override
     public void onRowEnd() throws LpException {
-        if (buffer.size() > BUFFER_SIZE * 0.9) {
-            flushBuffer();
-        }
+        // No operation here.
     }
 
     @Override
@@ -53,20 +40,18 @@ class BufferedOutput implements StatementConsumer {
 
     @Override
     public void onFileEnd() throws LpException {
-        flushBuffer();
+        // Batches are not bound to files, the rest is inserted on close.
     }
 
     @Override
-    public void submit(Resource subject, IRI predicate, Value object) {
-        buffer.add(VALUE_FACTORY.createStatement(
-                subject, predicate, object, graph));
+    public void submit(Resource subject, IRI predicate, Value object)
+            throws LpException {
+        inserter.add(subject, predicate, object);
     }
 
-    private void flushBuffer() throws LpException {
-        dataUnit.execute((connection) -> {
-            connection.add(buffer, graph);
-        });
-        buffer.clear();
+    @Override
+    public void close() throws LpException {
+        inserter.close();
     }
 
 }
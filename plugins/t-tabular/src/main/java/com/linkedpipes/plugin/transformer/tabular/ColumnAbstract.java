@@ -77,10 +77,11 @@ abstract class ColumnAbstract {
      * @param outputConsumer
      * @param row
      * @param rowNumber
-     * @return Must not return null.
+     * @return Subject of the emitted statement, null if nothing
+     * was emitted.
      * @throws NonRecoverableException
      */
-    public abstract List<Resource> emit(StatementConsumer outputConsumer,
+    public abstract Resource emit(StatementConsumer outputConsumer,
             List<String> row, int rowNumber)
             throws LpException, MissingColumnValue;
 
@@ -1,8 +1,6 @@
 package com.linkedpipes.plugin.transformer.tabular;
 
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import org.openrdf.model.IRI;
 import org.openrdf.model.Resource;
@@ -30,17 +28,17 @@ class ColumnTyped extends ColumnAbstract {
     }
 
     @Override
-    public List<Resource> emit(StatementConsumer outputConsumer,
+    public Resource emit(StatementConsumer outputConsumer,
             List<String> row, int rowNumber)
             throws LpException, MissingColumnValue {
         final Resource s = aboutUrl.getResource(row, rowNumber);
         if (s == null) {
-            return Collections.EMPTY_LIST;
+            return null;
         }
         final String valueAsString = getValue(row, rowNumber);
         if (valueAsString == null) {
             // TODO Add empty URI?
-            return Collections.EMPTY_LIST;
+            return null;
         }
         final Value o;
         if (language == null || language.isEmpty()) {
@@ -50,10 +48,10 @@ class ColumnTyped extends ColumnAbstract {
         }
         final IRI p = predicate.getUrl(row, rowNumber);
         if (p == null) {
-            return Collections.EMPTY_LIST;
+            return null;
         }
         outputConsumer.submit(s, p, o);
-        return Arrays.asList(s);
+        return s;
     }
 
 }
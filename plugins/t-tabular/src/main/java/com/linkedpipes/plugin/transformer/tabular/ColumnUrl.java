@@ -1,8 +1,6 @@
 package com.linkedpipes.plugin.transformer.tabular;
 
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import org.openrdf.model.IRI;
 import org.openrdf.model.Resource;
@@ -33,16 +31,16 @@ class ColumnUrl extends ColumnAbstract {
     }
 
     @Override
-    public List<Resource> emit(StatementConsumer outputConsumer,
+    public Resource emit(StatementConsumer outputConsumer,
             List<String> row, int rowNumber) throws LpException {
         final Resource s = aboutUrl.getResource(row, rowNumber);
         final IRI p = predicate.getUrl(row, rowNumber);
         final IRI o = template.getUrl(row, rowNumber);
         if (s == null || p == null || o == null) {
-            return Collections.EMPTY_LIST;
+            return null;
         }
         outputConsumer.submit(s, p, o);
-        return Arrays.asList(s);
+        return s;
     }
 
 }
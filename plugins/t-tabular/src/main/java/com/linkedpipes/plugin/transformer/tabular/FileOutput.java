@@ -0,0 +1,114 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Value;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.openrdf.rio.RDFFormat;
+import org.openrdf.rio.RDFHandlerException;
+import org.openrdf.rio.RDFWriter;
+import org.openrdf.rio.Rio;
+
+/**
+ * Write statements directly into a file, without the use of a repository.
+ * If the file name ends with ".gz" the file is compressed.
+ *
+ * Statements of all input files are written into a single output file.
+ *
+ * @author Petr Škoda
+ */
+class FileOutput implements StatementConsumer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ValueFactory VALUE_FACTORY
+            = SimpleValueFactory.getInstance();
+
+    private final OutputStream stream;
+
+    private final RDFWriter writer;
+
+    private final ExceptionFactory exceptionFactory;
+
+    FileOutput(File file, RDFFormat format,
+            ExceptionFactory exceptionFactory) throws LpException {
+        this.exceptionFactory = exceptionFactory;
+        try {
+            final OutputStream fileStream = new FileOutputStream(file);
+            if (file.getName().endsWith(".gz")) {
+                stream = new BufferedOutputStream(new GZIPOutputStream(
+                        fileStream, BUFFER_SIZE), BUFFER_SIZE);
+            } else {
+                stream = new BufferedOutputStream(fileStream, BUFFER_SIZE);
+            }
+        } catch (IOException ex) {
+            throw exceptionFactory.failure("Can't create output file: {}",
+                    file, ex);
+        }
+        writer = Rio.createWriter(format, stream);
+        try {
+            writer.startRDF();
+        } catch (RDFHandlerException ex) {
+            throw exceptionFactory.failure("Can't write data.", ex);
+        }
+    }
+
+    @Override
+    public void onRowStart() {
+        // No operation here.
+    }
+
+    @Override
+    public void onRowEnd() {
+        // No operation here.
+    }
+
+    @Override
+    public void onFileStart() {
+        // No operation here.
+    }
+
+    @Override
+    public void onFileEnd() {
+        // No operation here.
+    }
+
+    @Override
+    public void submit(Resource subject, IRI predicate, Value object)
+            throws LpException {
+        try {
+            writer.handleStatement(VALUE_FACTORY.createStatement(
+                    subject, predicate, object));
+        } catch (RDFHandlerException ex) {
+            throw exceptionFactory.failure("Can't write data.", ex);
+        }
+    }
+
+    /**
+     * Finish the output and close the file.
+     */
+    public void close() throws LpException {
+        try {
+            writer.endRDF();
+        } catch (RDFHandlerException ex) {
+            throw exceptionFactory.failure("Can't write data.", ex);
+        } finally {
+            try {
+                stream.close();
+            } catch (IOException ex) {
+                throw exceptionFactory.failure("Can't close output file.",
+                        ex);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process input files with own parser, mapper and output. Instances can
+ * be used to process different files in parallel.
+ *
+ * @author Petr Škoda
+ */
+class FileProcessor {
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(FileProcessor.class);
+
+    private final TabularConfiguration configuration;
+
+    private final ExceptionFactory exceptionFactory;
+
+    private final StatementConsumer output;
+
+    private final Parser parser;
+
+    private final ParallelParser parallelParser;
+
+    private final Mapper mapper;
+
+    FileProcessor(StatementConsumer output,
+            TabularConfiguration configuration,
+            ExceptionFactory exceptionFactory) throws LpException {
+        this.configuration = configuration;
+        this.exceptionFactory = exceptionFactory;
+        this.output = output;
+        this.parser = new Parser(configuration, exceptionFactory);
+        if (configuration.getThreads() > 1) {
+            this.parallelParser = new ParallelParser(parser, configuration,
+                    exceptionFactory);
+        } else {
+            this.parallelParser = null;
+        }
+        this.mapper = new Mapper(output, configuration,
+                ColumnFactory.createColumnList(configuration, exceptionFactory),
+                exceptionFactory);
+    }
+
+    public Mapper getMapper() {
+        return mapper;
+    }
+
+    public void process(FilesDataUnit.Entry entry) throws LpException {
+        LOG.info("Processing file: {}", entry.toFile());
+        output.onFileStart();
+        final String table;
+        switch (configuration.getEncodeType()) {
+            case "emptyHost":
+                table = "file:///" + entry.getFileName();
+                break;
+            default:
+                table = "file://" + entry.getFileName();
+                break;
+        }
+        mapper.onTableStart(table, null);
+        try {
+            if (parallelParser == null) {
+                parser.parse(entry, mapper);
+            } else {
+                parallelParser.parse(entry, mapper, output);
+            }
+        } catch (IOException | ColumnAbstract.MissingColumnValue ex) {
+            throw exceptionFactory.failure("Can't process file: {}",
+                    entry.getFileName(), ex);
+        }
+        mapper.onTableEnd();
+        output.onFileEnd();
+    }
+
+    /**
+     * Write statements that are not part of any file, ie. about
+     * the table group.
+     */
+    public void flush() throws LpException {
+        output.onFileEnd();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.openrdf.model.IRI;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+
+/**
+ * Bounded cache of IRIs, the least recently used IRI is removed first.
+ * Used for repeated values like code lists, so the same IRI instance is
+ * used instead of creating a new one for every row.
+ *
+ * Instances must not be shared among threads.
+ *
+ * @author Petr Škoda
+ */
+class IriCache {
+
+    private static final ValueFactory VALUE_FACTORY
+            = SimpleValueFactory.getInstance();
+
+    private static final int DEFAULT_SIZE = 1024;
+
+    private final Map<String, IRI> cache;
+
+    IriCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    IriCache(int size) {
+        this.cache = new LinkedHashMap<String, IRI>(size, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IRI> eldest) {
+                return size() > size;
+            }
+        };
+    }
+
+    /**
+     * @param value
+     * @return IRI with given value.
+     */
+    public IRI get(String value) {
+        IRI iri = cache.get(value);
+        if (iri == null) {
+            iri = VALUE_FACTORY.createIRI(value);
+            cache.put(value, iri);
+        }
+        return iri;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+}
@@ -121,6 +121,16 @@ class Mapper {
         }
     }
 
+    /**
+     * Use table group of other mapper, so the mappers can process
+     * tables of the same group in parallel. No statements are emitted.
+     *
+     * @param mapper Initialized mapper.
+     */
+    public void shareTableGroup(Mapper mapper) {
+        this.G = mapper.G;
+    }
+
     /**
      *
      * @param tableResource Table resource if null blank node is used.
@@ -161,6 +171,22 @@ class Mapper {
         return false;
     }
 
+    /**
+     * Prepare the mapper to map a chunk of rows of a table started by other
+     * mapper. No statements about the table are emitted.
+     *
+     * @param table Mapper used to start the table.
+     * @param rowNumber Number of rows in the table before the chunk.
+     */
+    public void onChunkStart(Mapper table, int rowNumber) {
+        this.G = table.G;
+        this.T = table.T;
+        this.tableResource = table.tableResource;
+        this.rowNumber = rowNumber;
+        this.processedRowNumber = Math.max(rowNumber
+                - configuration.getDialect().getSkipRows(), 0);
+    }
+
     /**
      * Must be called before {@link #onRow(java.util.List)}.
      *
@@ -230,13 +256,10 @@ class Mapper {
         // For each specified column.
         for (ColumnAbstract column : usedColumns) {
             // If row is set then add reference to columns.
-            if (R == null) {
-                column.emit(consumer, row, rowNumber);
-            } else {
+            final Resource resource = column.emit(consumer, row, rowNumber);
+            if (R != null && resource != null) {
                 // In standard mode add links from table.
-                for (Resource resource : column.emit(consumer, row, rowNumber)) {
-                    consumer.submit(R, CSVW.HAS_DESCRIBES, resource);
-                }
+                consumer.submit(R, CSVW.HAS_DESCRIBES, resource);
             }
             // 4.6.8 - Create subject or use blank node if about URL is not set.
 //            final Resource Sdef = valueFactory.createBNode();
@@ -0,0 +1,310 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import com.linkedpipes.plugin.transformer.tabular.ColumnAbstract.MissingNameInHeader;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.model.Value;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.supercsv.io.CsvListReader;
+import org.supercsv.io.Tokenizer;
+import org.supercsv.prefs.CsvPreference;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parse and map a single file in multiple threads.
+ *
+ * The file is read by the calling thread and split into chunks
+ * of records, see {@link RecordSplitter}. Each chunk is parsed and mapped
+ * by a worker thread with own {@link Mapper}, so the row numbers are
+ * the same as for the sequential {@link Parser}. Statements of a chunk are
+ * collected and passed to the output by the calling thread, in order
+ * of the chunks or as soon as they are ready.
+ *
+ * @author Petr Škoda
+ */
+class ParallelParser {
+
+    /**
+     * Collect statements of a chunk.
+     */
+    private static class ChunkOutput implements StatementConsumer {
+
+        private final List<Statement> statements = new ArrayList<>();
+
+        @Override
+        public void onRowStart() {
+            // No operation here.
+        }
+
+        @Override
+        public void onRowEnd() {
+            // No operation here.
+        }
+
+        @Override
+        public void onFileStart() {
+            // No operation here.
+        }
+
+        @Override
+        public void onFileEnd() {
+            // No operation here.
+        }
+
+        @Override
+        public void submit(Resource subject, IRI predicate, Value object) {
+            statements.add(VALUE_FACTORY.createStatement(
+                    subject, predicate, object));
+        }
+
+    }
+
+    private class ChunkTask implements Callable<List<Statement>> {
+
+        private final String content;
+
+        private final int rowNumber;
+
+        private final List<String> header;
+
+        private final Mapper table;
+
+        ChunkTask(String content, int rowNumber, List<String> header,
+                Mapper table) {
+            this.content = content;
+            this.rowNumber = rowNumber;
+            this.header = header;
+            this.table = table;
+        }
+
+        @Override
+        public List<Statement> call() throws Exception {
+            final ChunkOutput output = new ChunkOutput();
+            final Mapper mapper = new Mapper(output, configuration,
+                    ColumnFactory.createColumnList(configuration,
+                            exceptionFactory),
+                    exceptionFactory);
+            mapper.onChunkStart(table, rowNumber);
+            mapper.onHeader(header);
+            try (Tokenizer tokenizer = new Tokenizer(
+                    new StringReader(content), csvPreference)) {
+                final List<String> row = new ArrayList<>();
+                while (tokenizer.readColumns(row)) {
+                    if (dialect.isTrim()) {
+                        Parser.trimList(row);
+                    }
+                    if (!mapper.onRow(row)) {
+                        break;
+                    }
+                }
+            }
+            return output.statements;
+        }
+
+    }
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(ParallelParser.class);
+
+    private static final ValueFactory VALUE_FACTORY
+            = SimpleValueFactory.getInstance();
+
+    /**
+     * Number of records in a chunk.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Maximum number of chunks in progress per thread, limit
+     * the memory used by the parsed content.
+     */
+    private static final int CHUNKS_PER_THREAD = 2;
+
+    private final Parser parser;
+
+    private final TabularConfiguration configuration;
+
+    private final TabularConfiguration.Dialect dialect;
+
+    private final CsvPreference csvPreference;
+
+    private final ExceptionFactory exceptionFactory;
+
+    private final int threads;
+
+    private ExecutorService executor;
+
+    private CompletionService<List<Statement>> completionService;
+
+    /**
+     * Chunks in progress in the order of submission.
+     */
+    private final Deque<Future<List<Statement>>> chunks = new ArrayDeque<>();
+
+    ParallelParser(Parser parser, TabularConfiguration configuration,
+            ExceptionFactory exceptionFactory) {
+        this.parser = parser;
+        this.configuration = configuration;
+        this.dialect = configuration.getDialect();
+        this.csvPreference = parser.getCsvPreference();
+        this.exceptionFactory = exceptionFactory;
+        this.threads = configuration.getThreads();
+    }
+
+    /**
+     * @param entry
+     * @param mapper Mapper with started table.
+     * @param output Output for the statements of the rows.
+     */
+    public void parse(FilesDataUnit.Entry entry, Mapper mapper,
+            StatementConsumer output) throws IOException, LpException,
+            ColumnAbstract.MissingColumnValue {
+        executor = Executors.newFixedThreadPool(threads);
+        completionService = new ExecutorCompletionService<>(executor);
+        try (final FileInputStream fileInputStream
+                = new FileInputStream(entry.toFile());
+                final InputStreamReader inputStreamReader
+                = parser.getInputStream(fileInputStream)) {
+            parse(entry, new RecordSplitter(inputStreamReader,
+                    csvPreference.getQuoteChar()), mapper, output);
+        } finally {
+            executor.shutdownNow();
+            chunks.clear();
+        }
+    }
+
+    private void parse(FilesDataUnit.Entry entry, RecordSplitter splitter,
+            Mapper mapper, StatementConsumer output) throws IOException,
+            LpException, ColumnAbstract.MissingColumnValue {
+        final String firstRecord = splitter.next();
+        if (firstRecord == null) {
+            LOG.info("No data found in file: {}", entry.getFileName());
+            return;
+        }
+        StringBuilder chunk = new StringBuilder();
+        List<String> header;
+        if (dialect.isHeader()) {
+            header = Arrays.asList(parseRecord(firstRecord));
+            if (dialect.isTrim()) {
+                Parser.trimList(header);
+            }
+        } else {
+            // Artificial header, the same way as in the Parser.
+            final int size = parseRecord(firstRecord).length;
+            header = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                header.add("column_" + Integer.toString(i));
+            }
+            chunk.append(firstRecord);
+        }
+        try {
+            mapper.onHeader(header);
+        } catch (InvalidTemplate | MissingNameInHeader ex) {
+            throw exceptionFactory.failure("Can initalize on header row.",
+                    ex);
+        }
+        // With the row limit we do not need to read the whole file.
+        long limit = Long.MAX_VALUE;
+        if (configuration.getRowLimit() > 0) {
+            limit = dialect.getSkipRows() + configuration.getRowLimit();
+        }
+        int rowNumber = 0;
+        int records = chunk.length() == 0 ? 0 : 1;
+        records += splitter.read(chunk, CHUNK_SIZE - records);
+        while (records > 0) {
+            if (chunks.size() >= threads * CHUNKS_PER_THREAD) {
+                writeNextChunk(output);
+            }
+            submit(new ChunkTask(chunk.toString(), rowNumber, header,
+                    mapper));
+            rowNumber += records;
+            if (rowNumber >= limit) {
+                break;
+            }
+            chunk = new StringBuilder(chunk.length());
+            records = splitter.read(chunk,
+                    (int) Math.min(CHUNK_SIZE, limit - rowNumber));
+        }
+        while (!chunks.isEmpty()) {
+            writeNextChunk(output);
+        }
+    }
+
+    private String[] parseRecord(String record) throws IOException {
+        try (CsvListReader reader = new CsvListReader(
+                new StringReader(record), csvPreference)) {
+            return reader.getHeader(false);
+        }
+    }
+
+    private void submit(ChunkTask task) {
+        if (configuration.isPreserveOrder()) {
+            chunks.add(executor.submit(task));
+        } else {
+            chunks.add(completionService.submit(task));
+        }
+    }
+
+    /**
+     * Wait for the next chunk and write it into the output.
+     *
+     * @param output
+     */
+    private void writeNextChunk(StatementConsumer output) throws IOException,
+            LpException, ColumnAbstract.MissingColumnValue {
+        final List<Statement> statements;
+        try {
+            if (configuration.isPreserveOrder()) {
+                statements = chunks.poll().get();
+            } else {
+                final Future<List<Statement>> future =
+                        completionService.take();
+                chunks.remove(future);
+                statements = future.get();
+            }
+        } catch (InterruptedException ex) {
+            throw exceptionFactory.failure("Interrupted.", ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof LpException) {
+                throw (LpException) cause;
+            } else if (cause instanceof ColumnAbstract.MissingColumnValue) {
+                throw (ColumnAbstract.MissingColumnValue) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else {
+                throw exceptionFactory.failure("Can't map rows.", cause);
+            }
+        }
+        output.onRowStart();
+        for (Statement statement : statements) {
+            output.submit(statement.getSubject(), statement.getPredicate(),
+                    statement.getObject());
+        }
+        output.onRowEnd();
+    }
+
+}
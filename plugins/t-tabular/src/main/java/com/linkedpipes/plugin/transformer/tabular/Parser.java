@@ -10,12 +10,11 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import org.apache.commons.io.input.BOMInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.supercsv.io.CsvListReader;
+import org.supercsv.io.Tokenizer;
 import org.supercsv.prefs.CsvPreference;
 import org.supercsv.quote.QuoteMode;
 import org.supercsv.util.CsvContext;
@@ -65,19 +64,32 @@ class Parser {
                 = getInputStream(fileInputStream);
                 final BufferedReader bufferedReader
                 = new BufferedReader(inputStreamReader);
-                final CsvListReader csvListReader
-                = new CsvListReader(bufferedReader, csvPreference)) {
-            List<String> header;
-            List<String> row;
+                final Tokenizer tokenizer
+                = new Tokenizer(bufferedReader, csvPreference)) {
+            // The row is reused for all rows of the file, the columns
+            // must not keep reference to it.
+            final List<String> row = new ArrayList<>();
+            final List<String> header;
             if (dialect.isHeader()) {
-                header = Arrays.asList(csvListReader.getHeader(true));
-                row = csvListReader.read();
+                header = new ArrayList<>();
+                if (!tokenizer.readColumns(header)) {
+                    LOG.info("No data found in file: {}",
+                            entry.getFileName());
+                    return;
+                }
                 // TODO Should we really trim header?
                 if (dialect.isTrim()) {
-                    header = trimList(header);
+                    trimList(header);
+                }
+                if (!tokenizer.readColumns(row)) {
+                    row.clear();
                 }
             } else {
-                row = csvListReader.read();
+                if (!tokenizer.readColumns(row)) {
+                    LOG.info("No data found in file: {}",
+                            entry.getFileName());
+                    return;
+                }
                 // We use row size to create artificial header.
                 // This is not according to specification
                 // where they always have header.
@@ -92,31 +104,37 @@ class Parser {
                 throw exceptionFactory.failure("Can initalize on header row.",
                         ex);
             }
-            if (row == null) {
+            if (row.isEmpty()) {
                 LOG.info("No data found in file: {}", entry.getFileName());
                 return;
             }
-            while (row != null) {
+            do {
                 if (dialect.isTrim()) {
-                    row = trimList(row);
+                    trimList(row);
                 }
                 if (!mapper.onRow(row)) {
                     break;
                 }
-                row = csvListReader.read();
-            }
+            } while (tokenizer.readColumns(row));
         }
     }
 
-    private static List<String> trimList(List<String> row) {
-        final List<String> trimmedRow = new ArrayList<>(row.size());
-        for (String item : row) {
+    CsvPreference getCsvPreference() {
+        return csvPreference;
+    }
+
+    /**
+     * Trim the values in place.
+     *
+     * @param row
+     */
+    static void trimList(List<String> row) {
+        for (int i = 0; i < row.size(); ++i) {
+            final String item = row.get(i);
             if (item != null) {
-                item = item.trim();
+                row.set(i, item.trim());
             }
-            trimmedRow.add(item);
         }
-        return trimmedRow;
     }
 
     /**
@@ -129,7 +147,7 @@ class Parser {
      * @return
      * @throws UnsupportedEncodingException
      */
-    private InputStreamReader getInputStream(FileInputStream fileInputStream)
+    InputStreamReader getInputStream(FileInputStream fileInputStream)
             throws UnsupportedEncodingException {
         if (dialect.getEncoding().compareToIgnoreCase("UTF-8") == 0) {
             return new InputStreamReader(
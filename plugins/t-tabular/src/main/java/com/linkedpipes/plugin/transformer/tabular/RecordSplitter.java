@@ -0,0 +1,118 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Split CSV content into records without parsing the records. A record
+ * ends with a new line that is not inside quotes, escaped quotes ("")
+ * does not need special handling as they toggle the quote state twice.
+ *
+ * Empty lines are skipped as they are skipped by the CSV reader, so
+ * the number of records match the number of rows read by the CSV reader.
+ *
+ * @author Petr Škoda
+ */
+class RecordSplitter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+
+    private final char quoteChar;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int position = 0;
+
+    private int length = 0;
+
+    RecordSplitter(Reader reader, char quoteChar) {
+        this.reader = reader;
+        this.quoteChar = quoteChar;
+    }
+
+    /**
+     * Append up to given number of records to the builder.
+     *
+     * @param builder
+     * @param count
+     * @return Number of appended records, zero at the end of the input.
+     */
+    public int read(StringBuilder builder, int count) throws IOException {
+        int records = 0;
+        while (records < count && readRecord(builder)) {
+            ++records;
+        }
+        return records;
+    }
+
+    /**
+     * @return Next record or null at the end of the input.
+     */
+    public String next() throws IOException {
+        final StringBuilder builder = new StringBuilder();
+        if (readRecord(builder)) {
+            return builder.toString();
+        } else {
+            return null;
+        }
+    }
+
+    private boolean readRecord(StringBuilder builder) throws IOException {
+        final int start = builder.length();
+        boolean quoted = false;
+        while (true) {
+            if (position == length && !fillBuffer()) {
+                // Last record may not end with a new line.
+                if (isEmptyLine(builder, start)) {
+                    builder.setLength(start);
+                    return false;
+                }
+                return true;
+            }
+            final int from = position;
+            boolean recordEnd = false;
+            while (position < length) {
+                final char c = buffer[position++];
+                if (c == quoteChar) {
+                    quoted = !quoted;
+                } else if (c == '\n' && !quoted) {
+                    recordEnd = true;
+                    break;
+                }
+            }
+            builder.append(buffer, from, position - from);
+            if (recordEnd) {
+                if (!isEmptyLine(builder, start)) {
+                    return true;
+                }
+                builder.setLength(start);
+            }
+        }
+    }
+
+    /**
+     * @return False at the end of the input.
+     */
+    private boolean fillBuffer() throws IOException {
+        position = 0;
+        length = reader.read(buffer);
+        if (length <= 0) {
+            length = 0;
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isEmptyLine(StringBuilder builder, int start) {
+        for (int i = start; i < builder.length(); ++i) {
+            final char c = builder.charAt(i);
+            if (c != '\n' && c != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
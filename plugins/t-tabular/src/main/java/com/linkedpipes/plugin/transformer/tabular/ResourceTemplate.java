@@ -24,6 +24,11 @@ public class ResourceTemplate {
 
     private int lastRowNumber;
 
+    /**
+     * Value of constant template.
+     */
+    private Resource constant;
+
     public ResourceTemplate(String templateAsString) {
         if (templateAsString == null || templateAsString.isEmpty()) {
             template = null;
@@ -35,12 +40,22 @@ public class ResourceTemplate {
     public void initialize(String tableUri, List<String> header)
             throws InvalidTemplate {
         lastRowNumber = -1;
+        constant = null;
         if (template != null) {
             template.initialize(tableUri, header);
+            if (template.isConstant()) {
+                final String value = template.process(null);
+                if (value != null) {
+                    constant = VALUE_FACTORY.createIRI(value);
+                }
+            }
         }
     }
 
     public Resource getResource(List<String> row, int rowNumber) {
+        if (constant != null) {
+            return constant;
+        }
         // Return same value on the same row.
         if (rowNumber == lastRowNumber) {
             return resource;
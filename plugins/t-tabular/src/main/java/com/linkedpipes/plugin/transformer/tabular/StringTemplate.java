@@ -2,7 +2,7 @@ package com.linkedpipes.plugin.transformer.tabular;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -11,6 +11,9 @@ import java.util.List;
  * Token {{TABLE_URI}} can be used to reference table resource uri,
  * passed to the initialize function as a fist parameter.
  *
+ * Tokens append the values into a single builder that is reused
+ * for all rows, so instances must not be shared among threads.
+ *
  * @author Petr Škoda
  */
 class StringTemplate {
@@ -19,7 +22,13 @@ class StringTemplate {
 
     private static interface Token {
 
-        public abstract String process(List<String> row);
+        /**
+         * @param row
+         * @param builder
+         * @return False if the value is missing.
+         */
+        public abstract boolean append(List<String> row,
+                StringBuilder builder);
 
     }
 
@@ -35,8 +44,13 @@ class StringTemplate {
         }
 
         @Override
-        public String process(List<String> row) {
-            return string;
+        public boolean append(List<String> row, StringBuilder builder) {
+            if (string == null) {
+                return false;
+            } else {
+                builder.append(string);
+                return true;
+            }
         }
 
     }
@@ -57,12 +71,13 @@ class StringTemplate {
         }
 
         @Override
-        public String process(List<String> row) {
+        public boolean append(List<String> row, StringBuilder builder) {
             final String value = row.get(index);
             if (value == null) {
-                return null;
+                return false;
             } else {
-                return encodeString(value);
+                appendEncoded(value, builder);
+                return true;
             }
         }
     }
@@ -83,12 +98,13 @@ class StringTemplate {
         }
 
         @Override
-        public String process(List<String> row) {
+        public boolean append(List<String> row, StringBuilder builder) {
             final String value = row.get(index);
             if (value == null) {
-                return null;
+                return false;
             } else {
-                return value;
+                builder.append(value);
+                return true;
             }
         }
     }
@@ -109,12 +125,14 @@ class StringTemplate {
         }
 
         @Override
-        public String process(List<String> row) {
+        public boolean append(List<String> row, StringBuilder builder) {
             final String value = row.get(index);
             if (value == null) {
-                return null;
+                return false;
             } else {
-                return "#" + encodeString(value);
+                builder.append('#');
+                appendEncoded(value, builder);
+                return true;
             }
         }
     }
@@ -124,7 +142,12 @@ class StringTemplate {
     /**
      * Contains information how to construct
      */
-    private final List<Token> tokens = new LinkedList<>();
+    private final List<Token> tokens = new ArrayList<>();
+
+    /**
+     * Reused to construct the values.
+     */
+    private final StringBuilder builder = new StringBuilder(64);
 
     StringTemplate(String template) {
         this.template = template;
@@ -186,19 +209,30 @@ class StringTemplate {
      * @return Can be null.
      */
     public String process(List<String> row) {
-        final StringBuilder result = new StringBuilder(20);
-        for (Token token : tokens) {
-            String newString = token.process(row);
-            if (newString == null) {
+        builder.setLength(0);
+        for (int i = 0; i < tokens.size(); ++i) {
+            if (!tokens.get(i).append(row, builder)) {
                 // If anyone return null, then we do not publish - ie. we
                 // assume all to be mandatory.
                 // TODO Implement optional
                 return null;
-            } else {
-                result.append(newString);
             }
         }
-        return result.toString();
+        return builder.toString();
+    }
+
+    /**
+     * Can be called after {@link #initialize(String, List)}.
+     *
+     * @return True if the template does not depend on the row values.
+     */
+    public boolean isConstant() {
+        for (Token token : tokens) {
+            if (!(token instanceof TokenString)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -225,6 +259,33 @@ class StringTemplate {
         return -1;
     }
 
+    /**
+     * Append value encoded as by {@link URLEncoder}, values without
+     * characters to encode are appended without any allocation.
+     *
+     * @param value
+     * @param builder
+     */
+    private static void appendEncoded(String value, StringBuilder builder) {
+        for (int i = 0; i < value.length(); ++i) {
+            if (!isUnreserved(value.charAt(i))) {
+                builder.append(encodeString(value));
+                return;
+            }
+        }
+        builder.append(value);
+    }
+
+    /**
+     * @param c
+     * @return True if the character is not changed by {@link URLEncoder}.
+     */
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9') || c == '.' || c == '-'
+                || c == '*' || c == '_';
+    }
+
     private static String encodeString(String part) {
         try {
             return URLEncoder.encode(part, "UTF-8");
@@ -0,0 +1,79 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.util.ArrayList;
+import java.util.List;
+import org.openrdf.model.IRI;
+import org.openrdf.model.Resource;
+import org.openrdf.model.Statement;
+import org.openrdf.model.Value;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+
+/**
+ * Collect statements of a single thread and pass them in batches
+ * to an output shared by multiple threads.
+ *
+ * @author Petr Škoda
+ */
+class SynchronizedOutput implements StatementConsumer {
+
+    private static final int BUFFER_SIZE = 10000;
+
+    private static final ValueFactory VALUE_FACTORY
+            = SimpleValueFactory.getInstance();
+
+    private final StatementConsumer output;
+
+    private final List<Statement> buffer = new ArrayList<>(BUFFER_SIZE);
+
+    /**
+     * @param output Shared output, used as a lock.
+     */
+    SynchronizedOutput(StatementConsumer output) {
+        this.output = output;
+    }
+
+    @Override
+    public void onRowStart() {
+        // No operation here.
+    }
+
+    @Override
+    public void onRowEnd() throws LpException {
+        if (buffer.size() >= BUFFER_SIZE) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public void onFileStart() {
+        // No operation here.
+    }
+
+    @Override
+    public void onFileEnd() throws LpException {
+        flushBuffer();
+    }
+
+    @Override
+    public void submit(Resource subject, IRI predicate, Value object) {
+        buffer.add(VALUE_FACTORY.createStatement(subject, predicate, object));
+    }
+
+    private void flushBuffer() throws LpException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        synchronized (output) {
+            output.onRowStart();
+            for (Statement statement : buffer) {
+                output.submit(statement.getSubject(),
+                        statement.getPredicate(), statement.getObject());
+            }
+            output.onRowEnd();
+        }
+        buffer.clear();
+    }
+
+}
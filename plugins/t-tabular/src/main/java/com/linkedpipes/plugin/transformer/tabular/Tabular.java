@@ -2,14 +2,22 @@ package com.linkedpipes.plugin.transformer.tabular;
 
 import com.linkedpipes.etl.component.api.Component;
 import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.component.api.utils.ParallelExecution;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableSingleGraphDataUnit;
 import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
 import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit.Entry;
+import com.linkedpipes.etl.dataunit.system.api.files.WritableFilesDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import org.openrdf.rio.RDFFormat;
+import org.openrdf.rio.Rio;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 
 /**
  *
@@ -25,6 +33,13 @@ public class Tabular implements Component.Sequential {
     @Component.OutputPort(id = "OutputRdf")
     public WritableSingleGraphDataUnit outputRdfDataUnit;
 
+    /**
+     * Used instead of {@link #outputRdfDataUnit} if the output file type
+     * is set.
+     */
+    @Component.OutputPort(id = "OutputFiles")
+    public WritableFilesDataUnit outputFilesDataUnit;
+
     @Component.Configuration
     public TabularConfiguration configuration;
 
@@ -33,34 +48,127 @@ public class Tabular implements Component.Sequential {
 
     @Override
     public void execute() throws LpException {
-        final BufferedOutput output = new BufferedOutput(outputRdfDataUnit);
-        final Parser parser = new Parser(configuration, exceptionFactory);
-        final Mapper mapper = new Mapper(output, configuration,
-                ColumnFactory.createColumnList(configuration, exceptionFactory),
-                exceptionFactory);
+        final String fileType = configuration.getOutputFileType();
+        if (fileType == null || fileType.isEmpty()) {
+            executeToRdf();
+            return;
+        }
+        final RDFFormat format = Rio.getWriterFormatForMIMEType(fileType)
+                .orElseThrow(() -> exceptionFactory.failure(
+                        "Invalid output file type: {}", fileType));
+        final String fileName = configuration.getOutputFileName();
+        if (fileName == null || fileName.isEmpty()) {
+            throw exceptionFactory.failure("Missing output file name.");
+        }
+        LOG.info("Writing output to file: {}", fileName);
+        final FileOutput output = new FileOutput(
+                outputFilesDataUnit.createFile(fileName).toFile(),
+                format, exceptionFactory);
+        try {
+            if (configuration.getFileThreads() > 1) {
+                execute(() -> new SynchronizedOutput(output));
+            } else {
+                execute(() -> output);
+            }
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Each thread use own output, the outputs are closed at the end
+     * so the remaining statements are inserted.
+     */
+    private void executeToRdf() throws LpException {
+        final List<BufferedOutput> outputs = new ArrayList<>();
+        try {
+            execute(() -> {
+                final BufferedOutput output
+                        = new BufferedOutput(outputRdfDataUnit);
+                outputs.add(output);
+                return output;
+            });
+        } finally {
+            LpException closeFailure = null;
+            for (BufferedOutput output : outputs) {
+                try {
+                    output.close();
+                } catch (LpException ex) {
+                    if (closeFailure == null) {
+                        closeFailure = ex;
+                    }
+                }
+            }
+            if (closeFailure != null) {
+                throw closeFailure;
+            }
+        }
+    }
+
+    /**
+     * @param outputFactory Called to create output for each thread.
+     */
+    private void execute(Supplier<StatementConsumer> outputFactory)
+            throws LpException {
+        if (configuration.getThreads() > 1) {
+            LOG.info("Using {} threads per file.", configuration.getThreads());
+        }
+        final FileProcessor processor = new FileProcessor(
+                outputFactory.get(), configuration, exceptionFactory);
         // TODO We could use some table group URI from user?
-        mapper.initialize(null);
-        for (Entry entry : inputFilesDataUnit) {
-            LOG.info("Processing file: {}", entry.toFile());
-            output.onFileStart();
-            final String table;
-            switch (configuration.getEncodeType()) {
-                case "emptyHost":
-                    table = "file:///" + entry.getFileName();
-                    break;
-                default:
-                    table = "file://" + entry.getFileName();
-                    break;
+        processor.getMapper().initialize(null);
+        if (configuration.getFileThreads() > 1) {
+            executeParallel(processor, outputFactory);
+        } else {
+            for (Entry entry : inputFilesDataUnit) {
+                processor.process(entry);
             }
-            mapper.onTableStart(table, null);
-            try {
-                parser.parse(entry, mapper);
-            } catch (IOException | ColumnAbstract.MissingColumnValue ex) {
-                throw exceptionFactory.failure("Can't process file: {}",
-                        entry.getFileName(), ex);
+            processor.flush();
+        }
+    }
+
+    /**
+     * Process the files in parallel, each thread use own
+     * {@link FileProcessor}.
+     *
+     * @param first Processor with initialized table group.
+     * @param outputFactory
+     */
+    private void executeParallel(FileProcessor first,
+            Supplier<StatementConsumer> outputFactory) throws LpException {
+        final int threads = configuration.getFileThreads();
+        LOG.info("Processing files in {} threads.", threads);
+        final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+        for (Entry entry : inputFilesDataUnit) {
+            entries.add(entry);
+        }
+        final List<FileProcessor> processors = new ArrayList<>(threads);
+        processors.add(first);
+        for (int i = 1; i < threads; ++i) {
+            final FileProcessor processor = new FileProcessor(
+                    outputFactory.get(), configuration, exceptionFactory);
+            processor.getMapper().shareTableGroup(first.getMapper());
+            processors.add(processor);
+        }
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(threads, exceptionFactory,
+                        "Can't process files.")) {
+            for (FileProcessor processor : processors) {
+                execution.submit(() -> {
+                    Entry entry = entries.poll();
+                    while (entry != null) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw exceptionFactory.failure("Interrupted.");
+                        }
+                        processor.process(entry);
+                        entry = entries.poll();
+                    }
+                    processor.flush();
+                    return null;
+                });
             }
-            mapper.onTableEnd();
-            output.onFileEnd();
+            // The first failure stops the other threads.
+            execution.awaitAll();
         }
     }
 
@@ -418,6 +418,40 @@ public class TabularConfiguration {
     @RdfToPojo.Property(uri = TabularVocabulary.HAS_ENCODE_TYPE)
     private String encodeType = "";
 
+    /**
+     * If greater then one the rows of a file are mapped in parallel.
+     */
+    @RdfToPojo.Property(uri = TabularVocabulary.HAS_THREADS)
+    private int threads = 1;
+
+    /**
+     * If false the output of parallel mapping may not be in the order
+     * of the rows.
+     */
+    @RdfToPojo.Property(uri = TabularVocabulary.HAS_PRESERVE_ORDER)
+    private boolean preserveOrder = true;
+
+    /**
+     * If greater then one the input files are processed in parallel.
+     */
+    @RdfToPojo.Property(uri = TabularVocabulary.HAS_FILE_THREADS)
+    private int fileThreads = 1;
+
+    /**
+     * MIME type of the output file. If empty the output is written into
+     * the output RDF data unit, otherwise a file is written into the
+     * output files data unit.
+     */
+    @RdfToPojo.Property(uri = TabularVocabulary.HAS_OUTPUT_FILE_TYPE)
+    private String outputFileType = "";
+
+    /**
+     * Name of the output file, if it ends with ".gz" the file
+     * is compressed.
+     */
+    @RdfToPojo.Property(uri = TabularVocabulary.HAS_OUTPUT_FILE_NAME)
+    private String outputFileName = "output.nt.gz";
+
     public TabularConfiguration() {
     }
 
@@ -492,4 +526,45 @@ public class TabularConfiguration {
     public void setEncodeType(String encodeType) {
         this.encodeType = encodeType;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public boolean isPreserveOrder() {
+        return preserveOrder;
+    }
+
+    public void setPreserveOrder(boolean preserveOrder) {
+        this.preserveOrder = preserveOrder;
+    }
+
+    public int getFileThreads() {
+        return fileThreads;
+    }
+
+    public void setFileThreads(int fileThreads) {
+        this.fileThreads = fileThreads;
+    }
+
+    public String getOutputFileType() {
+        return outputFileType;
+    }
+
+    public void setOutputFileType(String outputFileType) {
+        this.outputFileType = outputFileType;
+    }
+
+    public String getOutputFileName() {
+        return outputFileName;
+    }
+
+    public void setOutputFileName(String outputFileName) {
+        this.outputFileName = outputFileName;
+    }
+
 }
@@ -84,6 +84,20 @@ public final class TabularVocabulary {
     public static  final String HAS_ENCODE_TYPE = LOCAL_PREFIX +
             "encodeType";
 
+    public static final String HAS_THREADS = LOCAL_PREFIX + "threads";
+
+    public static final String HAS_PRESERVE_ORDER = LOCAL_PREFIX
+            + "preserveOrder";
+
+    public static final String HAS_FILE_THREADS = LOCAL_PREFIX
+            + "fileThreads";
+
+    public static final String HAS_OUTPUT_FILE_TYPE = LOCAL_PREFIX
+            + "outputFileType";
+
+    public static final String HAS_OUTPUT_FILE_NAME = LOCAL_PREFIX
+            + "outputFileName";
+
     private TabularVocabulary() {
     }
 
@@ -8,6 +8,10 @@ import org.openrdf.model.impl.SimpleValueFactory;
 /**
  * Template for IRI.
  *
+ * If the template does not depend on the row, the IRI is created once
+ * in {@link #initialize(String, List)}. Otherwise the created IRIs are
+ * cached as the templates are often used for predicates and code lists.
+ *
  * @author Petr Škoda
  */
 class UrlTemplate {
@@ -17,6 +21,13 @@ class UrlTemplate {
 
     private final StringTemplate template;
 
+    private final IriCache cache = new IriCache();
+
+    /**
+     * Value of constant template.
+     */
+    private IRI constant;
+
     UrlTemplate(String templateAsString) {
         this.template = new StringTemplate(templateAsString);
     }
@@ -24,14 +35,25 @@ class UrlTemplate {
     public void initialize(String tableUri, List<String> header)
             throws InvalidTemplate {
         template.initialize(tableUri, header);
+        cache.clear();
+        constant = null;
+        if (template.isConstant()) {
+            final String value = template.process(null);
+            if (value != null) {
+                constant = VALUE_FACTORY.createIRI(value);
+            }
+        }
     }
 
     public IRI getUrl(List<String> row, int rowNumber) {
+        if (constant != null) {
+            return constant;
+        }
         final String value = template.process(row);
         if (value == null) {
             return null;
         } else {
-            return VALUE_FACTORY.createIRI(value);
+            return cache.get(value);
         }
     }
 
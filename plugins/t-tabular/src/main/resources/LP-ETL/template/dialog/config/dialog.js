@@ -15,7 +15,12 @@ define([], function () {
             'useBaseUri': false,
             'baseUri': '',
             'skipRows': -1,
-            'encodeType' : ''
+            'encodeType' : '',
+            'threads': 1,
+            'preserveOrder': true,
+            'fileThreads': 1,
+            'outputFileType': '',
+            'outputFileName': ''
         };
 
         var prefix = {
@@ -71,6 +76,23 @@ define([], function () {
             if ($scope.dialog.encodeType === undefined || $scope.dialog.encodeType === '') {
                 $scope.dialog.encodeType = "default";
             }
+            $scope.dialog.threads = rdf.getInteger(table, prefix.tabular + 'threads');
+            if ($scope.dialog.threads === undefined) {
+                $scope.dialog.threads = 1;
+            }
+            $scope.dialog.preserveOrder = rdf.getBoolean(table, prefix.tabular + 'preserveOrder');
+            if ($scope.dialog.preserveOrder === undefined) {
+                $scope.dialog.preserveOrder = true;
+            }
+            $scope.dialog.fileThreads = rdf.getInteger(table, prefix.tabular + 'fileThreads');
+            if ($scope.dialog.fileThreads === undefined) {
+                $scope.dialog.fileThreads = 1;
+            }
+            $scope.dialog.outputFileType = rdf.getString(table, prefix.tabular + 'outputFileType');
+            if ($scope.dialog.outputFileType === undefined) {
+                $scope.dialog.outputFileType = '';
+            }
+            $scope.dialog.outputFileName = rdf.getString(table, prefix.tabular + 'outputFileName');
 
             var dialect = rdf.secureObject(table, prefix.csvw + 'dialect', 'Dialect');
             $scope.dialog.delimeter = rdf.getString(dialect, prefix.csvw + 'delimeter');
@@ -113,6 +135,11 @@ define([], function () {
             rdf.setString(table, prefix.tabular + 'baseUri', $scope.dialog.baseUri);
             rdf.setBoolean(table, prefix.tabular + 'generateNullHeaderNames', $scope.dialog.generateNullHeaderNames);
             rdf.setString(table, prefix.tabular + 'encodeType', $scope.dialog.encodeType);
+            rdf.setInteger(table, prefix.tabular + 'threads', $scope.dialog.threads);
+            rdf.setBoolean(table, prefix.tabular + 'preserveOrder', $scope.dialog.preserveOrder);
+            rdf.setInteger(table, prefix.tabular + 'fileThreads', $scope.dialog.fileThreads);
+            rdf.setString(table, prefix.tabular + 'outputFileType', $scope.dialog.outputFileType);
+            rdf.setString(table, prefix.tabular + 'outputFileName', $scope.dialog.outputFileName);
 
             var dialect = rdf.secureObject(table, prefix.csvw + 'dialect', 'Dialect');
             rdf.setString(dialect, prefix.csvw + 'delimeter', $scope.dialog.delimeter);
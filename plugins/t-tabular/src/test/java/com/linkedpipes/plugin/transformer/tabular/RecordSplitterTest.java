@@ -0,0 +1,43 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import java.io.IOException;
+import java.io.StringReader;
+import junit.framework.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Petr Škoda
+ */
+public class RecordSplitterTest {
+
+    @Test
+    public void test_records() throws IOException {
+        final RecordSplitter splitter = new RecordSplitter(
+                new StringReader("a,b\r\n1,2\n3,4"), '"');
+        Assert.assertEquals("a,b\r\n", splitter.next());
+        Assert.assertEquals("1,2\n", splitter.next());
+        Assert.assertEquals("3,4", splitter.next());
+        Assert.assertNull(splitter.next());
+    }
+
+    @Test
+    public void test_quoted_new_line() throws IOException {
+        final RecordSplitter splitter = new RecordSplitter(
+                new StringReader("1,\"a\nb\"\n2,\"c\"\"\nd\"\n"), '"');
+        Assert.assertEquals("1,\"a\nb\"\n", splitter.next());
+        Assert.assertEquals("2,\"c\"\"\nd\"\n", splitter.next());
+        Assert.assertNull(splitter.next());
+    }
+
+    @Test
+    public void test_skip_empty_lines() throws IOException {
+        final RecordSplitter splitter = new RecordSplitter(
+                new StringReader("\n1\n\r\n\n2\n\n"), '"');
+        final StringBuilder builder = new StringBuilder();
+        Assert.assertEquals(2, splitter.read(builder, 10));
+        Assert.assertEquals("1\n2\n", builder.toString());
+        Assert.assertEquals(0, splitter.read(builder, 10));
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.linkedpipes.plugin.transformer.tabularuv;
+
+import com.linkedpipes.etl.component.api.service.ExceptionFactory;
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableGraphListDataUnit;
+import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import com.linkedpipes.plugin.transformer.tabularuv.mapper.TableToRdf;
+import com.linkedpipes.plugin.transformer.tabularuv.parser.ParseFailed;
+import com.linkedpipes.plugin.transformer.tabularuv.parser.Parser;
+import com.linkedpipes.plugin.transformer.tabularuv.parser.ParserCsv;
+import com.linkedpipes.plugin.transformer.tabularuv.parser.ParserDbf;
+import com.linkedpipes.plugin.transformer.tabularuv.parser.ParserXls;
+import org.openrdf.model.IRI;
+import org.openrdf.model.ValueFactory;
+import org.openrdf.model.impl.SimpleValueFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process input files with own parser, mapper and writer. Instances can
+ * be used to process different files in parallel.
+ *
+ * @author Petr Škoda
+ */
+class FileProcessor implements AutoCloseable {
+
+    private static final Logger LOG
+            = LoggerFactory.getLogger(FileProcessor.class);
+
+    private final ValueFactory valueFactory
+            = SimpleValueFactory.getInstance();
+
+    private final TabularConfig_V2 configuration;
+
+    private final ExceptionFactory exceptionFactory;
+
+    private final RdfWriter writer;
+
+    private final TableToRdf tableToRdf;
+
+    private final Parser parser;
+
+    FileProcessor(WritableGraphListDataUnit outputRdf,
+            TabularConfig_V2 configuration,
+            ExceptionFactory exceptionFactory) throws LpException {
+        this.configuration = configuration;
+        this.exceptionFactory = exceptionFactory;
+        this.writer = new RdfWriter(outputRdf);
+        this.tableToRdf = new TableToRdf(configuration.getTableToRdfConfig(),
+                writer, valueFactory);
+        // Prepare parser based on type.
+        switch (configuration.getTableType()) {
+            case CSV:
+                parser = new ParserCsv(configuration.getParserCsvConfig(),
+                        tableToRdf);
+                break;
+            case DBF:
+                parser = new ParserDbf(configuration.getParserDbfConfig(),
+                        tableToRdf);
+                break;
+            case XLS:
+                parser = new ParserXls(configuration.getParserXlsConfig(),
+                        tableToRdf);
+                break;
+            default:
+                throw exceptionFactory.failure("Unknown table type: {}",
+                        configuration.getTableType());
+        }
+    }
+
+    /**
+     * @param entry
+     * @param outputGraph Graph to write the output of the file into.
+     */
+    public void process(FilesDataUnit.Entry entry, IRI outputGraph)
+            throws LpException {
+        writer.setGraph(outputGraph);
+        LOG.info("Processing: {}", entry.getFileName());
+        // If set add subject for the whole table.
+        if (configuration.isUseTableSubject()) {
+            // Prepare subject for table.
+            final IRI tableSubject = valueFactory.createIRI(
+                    entry.toFile().toURI().toString());
+            tableToRdf.setTableSubject(tableSubject);
+            writer.add(tableSubject,
+                    TabularOntology.TABLE_SYMBOLIC_NAME,
+                    valueFactory.createLiteral(entry.getFileName()));
+        }
+        // Parse file.
+        try {
+            parser.parse(entry.toFile());
+        } catch (ParseFailed ex) {
+            throw exceptionFactory.failure("Can't parse file: {}",
+                    entry.getFileName(), ex);
+        }
+    }
+
+    /**
+     * Insert remaining statements and release the output connection.
+     */
+    @Override
+    public void close() throws LpException {
+        writer.close();
+    }
+
+}
@@ -1,60 +1,38 @@
 package com.linkedpipes.plugin.transformer.tabularuv;
 
+import com.linkedpipes.etl.dataunit.sesame.api.rdf.BulkInserter;
 import com.linkedpipes.etl.dataunit.sesame.api.rdf.WritableGraphListDataUnit;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
-import java.util.ArrayList;
-import java.util.List;
 import org.openrdf.model.IRI;
 import org.openrdf.model.Resource;
-import org.openrdf.model.Statement;
 import org.openrdf.model.Value;
-import org.openrdf.model.ValueFactory;
-import org.openrdf.model.impl.SimpleValueFactory;
 
 /**
+ * Statements are inserted by a bulk inserter, so a single connection
+ * is used for all the files. The writer must be closed at the end.
  *
  * @author Petr Škoda
  */
-public class RdfWriter {
+public class RdfWriter implements AutoCloseable {
 
-    private final static int BUFFER_SIZE = 50000;
-
-    private final static ValueFactory VALUE_FACTORY
-            = SimpleValueFactory.getInstance();
-
-    private final WritableGraphListDataUnit dataUnit;
-
-    private IRI graph;
-
-    private final List<Statement> buffer = new ArrayList<>(BUFFER_SIZE);
+    private final BulkInserter inserter;
 
     public RdfWriter(WritableGraphListDataUnit dataUnit) {
-        this.dataUnit = dataUnit;
+        this.inserter = dataUnit.createBulkInserter();
     }
 
     public void setGraph(IRI graph) throws LpException {
-        flushBuffer();
-        this.graph = graph;
+        inserter.setGraph(graph);
     }
 
     public void add(Resource subject, IRI predicate, Value object)
             throws LpException {
-        buffer.add(VALUE_FACTORY.createStatement(subject, predicate, object,
-                graph));
-        if (buffer.size() > BUFFER_SIZE * 0.9) {
-            flushBuffer();
-        }
-    }
-
-    public void flush() throws LpException {
-        flushBuffer();
+        inserter.add(subject, predicate, object);
     }
 
-    private void flushBuffer() throws LpException {
-        dataUnit.execute((connection) -> {
-            connection.add(buffer, graph);
-        });
-        buffer.clear();
+    @Override
+    public void close() throws LpException {
+        inserter.close();
     }
 
 }
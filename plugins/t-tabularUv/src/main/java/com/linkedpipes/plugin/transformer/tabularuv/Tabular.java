@@ -5,21 +5,17 @@ import com.linkedpipes.etl.dataunit.system.api.files.FilesDataUnit;
 import com.linkedpipes.etl.component.api.Component;
 import com.linkedpipes.etl.component.api.service.ExceptionFactory;
 import com.linkedpipes.etl.component.api.service.ProgressReport;
+import com.linkedpipes.etl.component.api.utils.ParallelExecution;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
-import com.linkedpipes.plugin.transformer.tabularuv.parser.ParserXls;
-import com.linkedpipes.plugin.transformer.tabularuv.parser.ParserDbf;
-import com.linkedpipes.plugin.transformer.tabularuv.parser.ParserCsv;
-import com.linkedpipes.plugin.transformer.tabularuv.mapper.TableToRdf;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.linkedpipes.plugin.transformer.tabularuv.parser.ParseFailed;
-import com.linkedpipes.plugin.transformer.tabularuv.parser.Parser;
 import org.openrdf.model.IRI;
-import org.openrdf.model.ValueFactory;
-import org.openrdf.model.impl.SimpleValueFactory;
 
 /**
  *
@@ -46,57 +42,70 @@ public class Tabular implements Component.Sequential {
 
     @Override
     public void execute() throws LpException {
-        final ValueFactory valueFactory = SimpleValueFactory.getInstance();
-        final RdfWriter writer = new RdfWriter(outputRdf);
-        final TableToRdf tableToRdf = new TableToRdf(
-                configuration.getTableToRdfConfig(),
-                writer,
-                valueFactory);
-        // Prepare parser based on type.
-        final Parser parser;
-        switch (configuration.getTableType()) {
-            case CSV:
-                parser = new ParserCsv(configuration.getParserCsvConfig(),
-                        tableToRdf);
-                break;
-            case DBF:
-                parser = new ParserDbf(configuration.getParserDbfConfig(),
-                        tableToRdf);
-                break;
-            case XLS:
-                parser = new ParserXls(configuration.getParserXlsConfig(),
-                        tableToRdf);
-                break;
-            default:
-                throw exceptionFactory.failure("Unknown table type: {}",
-                        configuration.getTableType());
+        int threads = configuration.getFileThreads();
+        if (threads > 1 && configuration.isStaticRowCounter()) {
+            LOG.warn("Static row counter is shared by all files, "
+                    + "the files are processed in a single thread.");
+            threads = 1;
         }
         progressReport.start(inputFiles.size());
-        for (FilesDataUnit.Entry entry : inputFiles) {
-            final IRI outputGraph = outputRdf.createGraph();
-            writer.setGraph(outputGraph);
-            LOG.info("Processing: {}", entry.getFileName());
-            // If set add subject for the whole table.
-            if (configuration.isUseTableSubject()) {
-                // Prepare subject for table.
-                final IRI tableSubject = valueFactory.createIRI(
-                        entry.toFile().toURI().toString());
-                tableToRdf.setTableSubject(tableSubject);
-                writer.add(tableSubject,
-                        TabularOntology.TABLE_SYMBOLIC_NAME,
-                        valueFactory.createLiteral(entry.getFileName()));
-            }
-            // Parse file.
-            try {
-                parser.parse(entry.toFile());
-            } catch (ParseFailed ex) {
-                throw exceptionFactory.failure("Can't parse file: {}",
-                        entry.getFileName(), ex);
+        if (threads > 1) {
+            executeParallel(threads);
+        } else {
+            try (final FileProcessor processor = new FileProcessor(outputRdf,
+                    configuration, exceptionFactory)) {
+                for (FilesDataUnit.Entry entry : inputFiles) {
+                    processor.process(entry, outputRdf.createGraph());
+                    progressReport.entryProcessed();
+                }
             }
-            progressReport.entryProcessed();
         }
-        writer.flush();
         progressReport.done();
     }
 
+    /**
+     * Process the files in parallel, each thread use own
+     * {@link FileProcessor}. The output graphs are created in advance
+     * so they are in the same order as for the sequential processing.
+     *
+     * @param threads
+     */
+    private void executeParallel(int threads) throws LpException {
+        LOG.info("Processing files in {} threads.", threads);
+        final List<FilesDataUnit.Entry> entries = new ArrayList<>();
+        final List<IRI> graphs = new ArrayList<>();
+        for (FilesDataUnit.Entry entry : inputFiles) {
+            entries.add(entry);
+            graphs.add(outputRdf.createGraph());
+        }
+        final AtomicInteger next = new AtomicInteger(0);
+        try (final ParallelExecution<Object> execution
+                = new ParallelExecution<>(threads, exceptionFactory,
+                        "Can't process files.")) {
+            for (int i = 0; i < threads; ++i) {
+                execution.submit(() -> {
+                    try (final FileProcessor processor = new FileProcessor(
+                            outputRdf, configuration, exceptionFactory)) {
+                        int index = next.getAndIncrement();
+                        while (index < entries.size()) {
+                            if (Thread.currentThread().isInterrupted()) {
+                                throw exceptionFactory.failure(
+                                        "Interrupted.");
+                            }
+                            processor.process(entries.get(index),
+                                    graphs.get(index));
+                            synchronized (progressReport) {
+                                progressReport.entryProcessed();
+                            }
+                            index = next.getAndIncrement();
+                        }
+                    }
+                    return null;
+                });
+            }
+            // The first failure stops the other threads.
+            execution.awaitAll();
+        }
+    }
+
 }
@@ -344,6 +344,12 @@ public class TabularConfig_V2 {
     @RdfToPojo.Property(uri = "http://plugins.linkedpipes.com/ontology/t-tabularUv#ignoreMissingColumn")
     private boolean ignoreMissingColumn = false;
 
+    /**
+     * If greater then one the input files are processed in parallel.
+     */
+    @RdfToPojo.Property(uri = "http://plugins.linkedpipes.com/ontology/t-tabularUv#fileThreads")
+    private int fileThreads = 1;
+
     public TabularConfig_V2() {
     }
 
@@ -563,6 +569,14 @@ public class TabularConfig_V2 {
         this.ignoreMissingColumn = ignoreMissingColumn;
     }
 
+    public int getFileThreads() {
+        return fileThreads;
+    }
+
+    public void setFileThreads(int fileThreads) {
+        this.fileThreads = fileThreads;
+    }
+
     public TableToRdfConfig getTableToRdfConfig() {
         return new TableToRdfConfig(keyColumn, baseURI, columnsInfo,
                 generateNew, rowsClass, ignoreBlankCells, columnsInfoAdv,
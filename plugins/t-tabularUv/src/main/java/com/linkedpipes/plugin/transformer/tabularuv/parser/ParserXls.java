@@ -3,22 +3,20 @@ package com.linkedpipes.plugin.transformer.tabularuv.parser;
 import com.linkedpipes.etl.executor.api.v1.exception.LpException;
 import com.linkedpipes.plugin.transformer.tabularuv.TabularConfig_V2.ColumnType;
 import com.linkedpipes.plugin.transformer.tabularuv.TabularConfig_V2.NamedCell_V1;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.apache.poi.hssf.usermodel.HSSFDateUtil;
-import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
-import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.POIXMLDocument;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
 import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,99 +24,260 @@ import com.linkedpipes.plugin.transformer.tabularuv.mapper.TableToRdf;
 import com.linkedpipes.plugin.transformer.tabularuv.mapper.TableToRdfConfigurator;
 
 /**
+ * The workbook is read as a stream of rows, see {@link XlsxStreamReader}
+ * and {@link XlsStreamReader}, so the memory usage does not depend on
+ * the size of the sheets. If named cells are used the file is read twice,
+ * first to collect the named cells and then to parse the data.
  *
  * @author Škoda Petr
  */
 public class ParserXls implements Parser {
 
-    private static final Logger LOG = LoggerFactory.getLogger(
-            ParserXlsConfig.class);
-
     /**
-     * Name of column where sheet name is stored.
+     * Named cells of a single sheet.
      */
-    public static final String SHEET_COLUMN_NAME = "__SheetName__";
+    private static class NamedCells {
 
-    private final ParserXlsConfig config;
+        private final boolean[] rowFound;
 
-    private final TableToRdf tableToRdf;
+        private final XlsCell[] cells;
 
-    private int rowNumber = 0;
+        NamedCells(int size) {
+            this.rowFound = new boolean[size];
+            this.cells = new XlsCell[size];
+        }
 
-    public ParserXls(ParserXlsConfig config, TableToRdf tableToRdf) {
-        this.config = config;
-        this.tableToRdf = tableToRdf;
     }
 
-    @Override
-    public void parse(File inFile) throws LpException, ParseFailed {
-        final Workbook wb;
-        try {
-            wb = WorkbookFactory.create(inFile);
-        } catch (IOException | InvalidFormatException ex) {
-            throw new ParseFailed("WorkbookFactory creation failure.", ex);
+    /**
+     * Collect named cells from all selected sheets.
+     */
+    private class NamedCellCollector implements XlsRowHandler {
+
+        private final List<NamedCells> sheets = new ArrayList<>();
+
+        private final int lastRowIndex;
+
+        private NamedCells current;
+
+        NamedCellCollector() {
+            int lastRow = 0;
+            for (NamedCell_V1 namedCell : config.namedCells) {
+                lastRow = Math.max(lastRow, namedCell.getRowNumber() - 1);
+            }
+            this.lastRowIndex = lastRow;
+        }
+
+        @Override
+        public boolean onSheetStart(String sheetName) {
+            if (!isSheetSelected(sheetName)) {
+                return false;
+            }
+            current = new NamedCells(config.namedCells.size());
+            sheets.add(current);
+            return true;
         }
-        // get sheet to process
-        final List<Integer> toProcess = new LinkedList<>();
-        for (Integer index = 0; index < wb.getNumberOfSheets(); ++index) {
-            if (config.sheetName == null || config.sheetName.isEmpty()
-                    || config.sheetName.compareTo(wb.getSheetName(index)) == 0) {
-                // add
-                toProcess.add(index);
+
+        @Override
+        public boolean onRow(XlsRow row) {
+            if (row.index > lastRowIndex) {
+                return false;
+            }
+            for (int i = 0; i < config.namedCells.size(); ++i) {
+                final NamedCell_V1 namedCell = config.namedCells.get(i);
+                if (namedCell.getRowNumber() - 1 != row.index) {
+                    continue;
+                }
+                current.rowFound[i] = true;
+                current.cells[i] = row.getCell(
+                        namedCell.getColumnNumber() - 1);
             }
+            return true;
         }
-        // process selected sheets
-        for (Integer sheetIndex : toProcess) {
-            parseSheet(wb, sheetIndex);
+
+        @Override
+        public void onSheetEnd() {
+            current = null;
         }
+
     }
 
     /**
-     * Parse given sheet.
-     *
-     * @param wb
-     * @param sheetIndex
-     * @throws com.linkedpipes.plugin.transformer.tabularuv.parser.ParseFailed
-     * @throws com.linkedpipes.etl.executor.api.v1.exception.LpException
+     * Parse rows of selected sheets.
      */
-    public void parseSheet(Workbook wb, Integer sheetIndex)
-            throws ParseFailed, LpException {
+    private class SheetParser implements XlsRowHandler {
+
+        /**
+         * Named cells, can be null if there are no named cells.
+         */
+        private final List<NamedCells> namedCellsPerSheet;
+
+        private int sheetIndex = -1;
+
+        private String sheetName;
+
+        /**
+         * True if a row with data was found in the current sheet.
+         */
+        private boolean hasData;
+
+        private boolean headerParsed;
+
+        private boolean headerGenerated;
+
+        private int dataStartRow;
+
+        private Integer dataEndAtRow;
 
-        LOG.debug("parseSheet({}, {})", wb.getSheetName(sheetIndex), sheetIndex);
+        private int firstRowNumber;
 
-        // for every row
-        final Sheet sheet = wb.getSheetAt(sheetIndex);
-        if (config.numberOfStartLinesToIgnore > sheet.getLastRowNum()) {
-            // no data to parse
-            return;
+        private int lastRowIndex;
+
+        private List<String> columnNames;
+
+        /**
+         * Size of original header from file, used to expand/strip content.
+         */
+        private Integer tableHeaderSize;
+
+        private List<String> namedCells;
+
+        private int skippedLinesCounter;
+
+        SheetParser(List<NamedCells> namedCellsPerSheet) {
+            this.namedCellsPerSheet = namedCellsPerSheet;
         }
-        // generate column names
-        int startRow = config.numberOfStartLinesToIgnore;
-        List<String> columnNames;
-        // Size of original header from file, used to expand/strip content.
-        Integer tableHeaderSize = null;
-        if (config.hasHeader) {
-            // parse line for header
-            final Row row = sheet.getRow(startRow++);
-            if (row == null) {
-                throw new ParseFailed("Header row is null!");
+
+        @Override
+        public boolean onSheetStart(String sheetName) {
+            if (!isSheetSelected(sheetName)) {
+                return false;
+            }
+            ++sheetIndex;
+            LOG.debug("parseSheet({}, {})", sheetName, sheetIndex);
+            this.sheetName = sheetName;
+            hasData = false;
+            headerParsed = !config.hasHeader;
+            headerGenerated = false;
+            dataStartRow = config.numberOfStartLinesToIgnore
+                    + (config.hasHeader ? 1 : 0);
+            if (config.rowLimit == null) {
+                dataEndAtRow = null;
+            } else {
+                dataEndAtRow = dataStartRow + config.rowLimit;
             }
+            lastRowIndex = -1;
+            columnNames = null;
+            tableHeaderSize = null;
+            namedCells = null;
+            skippedLinesCounter = 0;
+            return true;
+        }
+
+        @Override
+        public boolean onRow(XlsRow row) throws ParseFailed, LpException {
+            lastRowIndex = row.index;
+            // skip till data
+            if (row.index < config.numberOfStartLinesToIgnore) {
+                return true;
+            }
+            if (!hasData) {
+                hasData = true;
+                onDataStart();
+            }
+            if (!headerParsed) {
+                headerParsed = true;
+                if (row.index != config.numberOfStartLinesToIgnore) {
+                    throw new ParseFailed("Header row is null!");
+                }
+                parseHeader(row);
+                return true;
+            }
+            if (dataEndAtRow != null && row.index >= dataEndAtRow) {
+                return false;
+            }
+            rowNumber = firstRowNumber + (row.index - dataStartRow);
+            parseRow(row);
+            return true;
+        }
+
+        @Override
+        public void onSheetEnd() {
+            if (!hasData) {
+                // no data to parse
+                return;
+            }
+            // Row number is increased also for missing rows.
+            if (dataEndAtRow != null) {
+                rowNumber = firstRowNumber + config.rowLimit;
+            } else {
+                rowNumber = firstRowNumber
+                        + Math.max(lastRowIndex + 1 - dataStartRow, 0);
+            }
+            if (skippedLinesCounter != 0) {
+                LOG.info("Some lines ({}) were skipped.", skippedLinesCounter);
+            }
+        }
+
+        private void onDataStart() throws ParseFailed {
+            //
+            // prepare static cells
+            //
+            namedCells = new LinkedList<>();
+            final NamedCells sheetNamedCells;
+            if (namedCellsPerSheet == null) {
+                sheetNamedCells = null;
+            } else {
+                sheetNamedCells = namedCellsPerSheet.get(sheetIndex);
+            }
+            for (int i = 0; i < config.namedCells.size(); ++i) {
+                final NamedCell_V1 namedCell = config.namedCells.get(i);
+                if (!sheetNamedCells.rowFound[i]) {
+                    throw new ParseFailed("Row for named cell is null! ("
+                            + namedCell.getName() + ")");
+                }
+                final XlsCell cell = sheetNamedCells.cells[i];
+                if (cell == null) {
+                    throw new ParseFailed("Cell for named cell is null! ("
+                            + namedCell.getName() + ")");
+                }
+                // get value and add to namedCells
+                final String value = getCellValue(cell,
+                        namedCell.getRowNumber() - 1);
+                LOG.debug("static cell {} = {}", namedCell.getName(), value);
+                namedCells.add(value);
+            }
+            //
+            // parse data row by row
+            //
+            if (config.rowLimit == null) {
+                LOG.debug("Row limit: not used");
+            } else {
+                LOG.debug("Row limit: {}", config.rowLimit);
+            }
+            // set if for first time or if we use static row counter
+            if (!config.checkStaticRowCounter || rowNumber == 0) {
+                rowNumber = config.hasHeader ? 2 : 1;
+            }
+            firstRowNumber = rowNumber;
+        }
+
+        private void parseHeader(XlsRow row) throws ParseFailed {
             final int columnStart = row.getFirstCellNum();
             final int columnEnd = row.getLastCellNum();
             columnNames = new ArrayList<>(columnEnd);
             for (int columnIndex = columnStart; columnIndex < columnEnd;
                     columnIndex++) {
-                final Cell cell = row.getCell(columnIndex);
+                final XlsCell cell = row.getCell(columnIndex);
                 if (cell == null) {
                     // The cell is missing, this happen for example if
                     // document is exported from gdocs. We just log and use
                     // 'null' as cell value.
                     LOG.info("Header cell is null ({}, {}) on '{}'!",
-                            startRow - 1, columnIndex,
-                            wb.getSheetName(sheetIndex));
+                            row.index, columnIndex, sheetName);
                     columnNames.add(null);
                 } else {
-                    final String name = this.getCellValue(cell);
+                    final String name = getCellValue(cell, row.index);
                     columnNames.add(name);
                 }
             }
@@ -140,129 +299,27 @@ public class ParserXls implements Parser {
             }
             // global names will be added later
             tableHeaderSize = columnNames.size();
-        } else {
-            columnNames = null;
-        }
-
-        //
-        // prepare static cells
-        //
-        final List<String> namedCells = new LinkedList<>();
-        for (NamedCell_V1 namedCell : config.namedCells) {
-            final Row row = sheet.getRow(namedCell.getRowNumber() - 1);
-            if (row == null) {
-                throw new ParseFailed("Row for named cell is null! ("
-                        + namedCell.getName() + ")");
-            }
-            final Cell cell = row.getCell(namedCell.getColumnNumber() - 1);
-            if (cell == null) {
-                throw new ParseFailed("Cell for named cell is null! ("
-                        + namedCell.getName() + ")");
-            }
-            // get value and add to namedCells
-            final String value = getCellValue(cell);
-            LOG.debug("static cell {} = {}", namedCell.getName(), value);
-            namedCells.add(value);
         }
-        //
-        // parse data row by row
-        //
-        if (config.rowLimit == null) {
-            LOG.debug("Row limit: not used");
-        } else {
-            LOG.debug("Row limit: {}", config.rowLimit);
-        }
-        // set if for first time or if we use static row counter
-        if (!config.checkStaticRowCounter || rowNumber == 0) {
-            rowNumber = config.hasHeader ? 2 : 1;
-        }
-        // go
-        boolean headerGenerated = false;
 
-        final int dataEndAtRow;
-        if (config.rowLimit != null) {
-            // limit number of lines
-            dataEndAtRow = startRow + config.rowLimit;
-        } else {
-            // We increase by one, as we use less < dataEndAtRow,
-            // not <= dataEndAtRow
-            dataEndAtRow = sheet.getLastRowNum() + 1;
-        }
-
-        int skippedLinesCounter = 0;
-        for (Integer rowNumPerFile = startRow; rowNumPerFile < dataEndAtRow;
-                ++rowNumber, ++rowNumPerFile) {
-            // skip till data
-            if (rowNumPerFile < config.numberOfStartLinesToIgnore) {
-                continue;
-            }
-            // get row
-            final Row row = sheet.getRow(rowNumPerFile);
-            if (row == null) {
-                continue;
-            }
+        private void parseRow(XlsRow row) throws ParseFailed, LpException {
             // We use zero as the first column must be column 1.
             final int columnStart = row.getFirstCellNum();
             final int columnEnd = row.getLastCellNum();
             // generate header
             if (!headerGenerated) {
                 headerGenerated = true;
-                // use row data to generate types
-                final List<ColumnType> types
-                        = new ArrayList<>(columnEnd + namedCells.size());
-                // If the first column is empty then getFirstCellNum()
-                // return ondec of first column with data. But we want col1
-                // to always start at the first column.
-                for (int columnIndex = 0; columnIndex < columnEnd;
-                        columnIndex++) {
-                    final Cell cell = row.getCell(columnIndex);
-                    if (cell == null) {
-                        types.add(null);
-                        continue;
-                    }
-                    types.add(getCellType(cell));
-                }
-                // Till now column name can be only set in this method
-                // if header is presented.
-                if (columnNames == null) {
-                    LOG.info("Generating column names from: {} to: {}",
-                            columnStart, columnEnd);
-                    columnNames = new ArrayList<>(columnEnd);
-                    // Generate column names, first column is col1. We start
-                    // from 0 as we always want start with left most column.
-                    // See comment before types generation for more info.
-                    int columnIndex = 0;
-                    for (int i = 0; i < columnEnd; i++) {
-                        columnNames.add("col" + Integer.toString(++columnIndex));
-                    }
-                    tableHeaderSize = columnNames.size();
-                } else {
-                    // expand types row. The header might be wider then the
-                    // first data row.
-                    fitToSize(types, tableHeaderSize);
-                }
-                // add user defined names
-                for (NamedCell_V1 item : config.namedCells) {
-                    columnNames.add(item.getName());
-                    types.add(ColumnType.String);
-                }
-                // add global types and names
-                columnNames.add(SHEET_COLUMN_NAME);
-                types.add(ColumnType.String);
-                // configure
-                TableToRdfConfigurator.configure(tableToRdf, columnNames,
-                        (List) types, startRow);
+                generateHeader(row, columnStart, columnEnd);
             }
             // Prepare row.
             final List<String> parsedRow
-                    = new ArrayList<>(columnEnd + namedCells.size());
+                    = new ArrayList<>(columnEnd + namedCells.size() + 1);
             // parse columns
             for (int columnIndex = 0; columnIndex < columnEnd; columnIndex++) {
-                final Cell cell = row.getCell(columnIndex);
+                final XlsCell cell = row.getCell(columnIndex);
                 if (cell == null) {
                     parsedRow.add(null);
                 } else {
-                    parsedRow.add(getCellValue(cell));
+                    parsedRow.add(getCellValue(cell, row.index));
                 }
             }
             // Check for row null values - this can happen for excel exported
@@ -279,7 +336,7 @@ public class ParserXls implements Parser {
             }
             if (isEmpty) {
                 ++skippedLinesCounter;
-                continue;
+                return;
             }
             // expand row if needed
             fitToSize(parsedRow, tableHeaderSize);
@@ -287,18 +344,128 @@ public class ParserXls implements Parser {
             // add named columns first !!
             parsedRow.addAll(namedCells);
             // add global data
-            parsedRow.add(wb.getSheetName(sheetIndex));
+            parsedRow.add(sheetName);
             // convert into table
             tableToRdf.paserRow((List) parsedRow, rowNumber);
 
-            if ((rowNumPerFile % 1000) == 0) {
-                LOG.debug("Row number {} processed.", rowNumPerFile);
+            if ((row.index % 1000) == 0) {
+                LOG.debug("Row number {} processed.", row.index);
             }
         }
-        //
-        if (skippedLinesCounter != 0) {
-            LOG.info("Some lines ({}) were skipped.", skippedLinesCounter);
+
+        private void generateHeader(XlsRow row, int columnStart,
+                int columnEnd) throws ParseFailed {
+            // use row data to generate types
+            final List<ColumnType> types
+                    = new ArrayList<>(columnEnd + namedCells.size());
+            // If the first column is empty then getFirstCellNum()
+            // return ondec of first column with data. But we want col1
+            // to always start at the first column.
+            for (int columnIndex = 0; columnIndex < columnEnd;
+                    columnIndex++) {
+                final XlsCell cell = row.getCell(columnIndex);
+                if (cell == null) {
+                    types.add(null);
+                    continue;
+                }
+                types.add(getCellType(cell, row.index));
+            }
+            // Till now column name can be only set in this method
+            // if header is presented.
+            if (columnNames == null) {
+                LOG.info("Generating column names from: {} to: {}",
+                        columnStart, columnEnd);
+                columnNames = new ArrayList<>(columnEnd);
+                // Generate column names, first column is col1. We start
+                // from 0 as we always want start with left most column.
+                // See comment before types generation for more info.
+                int columnIndex = 0;
+                for (int i = 0; i < columnEnd; i++) {
+                    columnNames.add("col" + Integer.toString(++columnIndex));
+                }
+                tableHeaderSize = columnNames.size();
+            } else {
+                // expand types row. The header might be wider then the
+                // first data row.
+                fitToSize(types, tableHeaderSize);
+            }
+            // add user defined names
+            for (NamedCell_V1 item : config.namedCells) {
+                columnNames.add(item.getName());
+                types.add(ColumnType.String);
+            }
+            // add global types and names
+            columnNames.add(SHEET_COLUMN_NAME);
+            types.add(ColumnType.String);
+            // configure
+            TableToRdfConfigurator.configure(tableToRdf, columnNames,
+                    (List) types, dataStartRow);
         }
+
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(
+            ParserXlsConfig.class);
+
+    /**
+     * Name of column where sheet name is stored.
+     */
+    public static final String SHEET_COLUMN_NAME = "__SheetName__";
+
+    private final ParserXlsConfig config;
+
+    private final TableToRdf tableToRdf;
+
+    private int rowNumber = 0;
+
+    public ParserXls(ParserXlsConfig config, TableToRdf tableToRdf) {
+        this.config = config;
+        this.tableToRdf = tableToRdf;
+    }
+
+    @Override
+    public void parse(File inFile) throws LpException, ParseFailed {
+        final boolean isXlsx = isXlsx(inFile);
+        List<NamedCells> namedCells = null;
+        if (!config.namedCells.isEmpty()) {
+            final NamedCellCollector collector = new NamedCellCollector();
+            read(inFile, isXlsx, collector);
+            namedCells = collector.sheets;
+        }
+        read(inFile, isXlsx, new SheetParser(namedCells));
+    }
+
+    private boolean isSheetSelected(String sheetName) {
+        return config.sheetName == null || config.sheetName.isEmpty()
+                || config.sheetName.compareTo(sheetName) == 0;
+    }
+
+    private static void read(File inFile, boolean isXlsx,
+            XlsRowHandler handler) throws ParseFailed, LpException {
+        if (isXlsx) {
+            new XlsxStreamReader().read(inFile, handler);
+        } else {
+            new XlsStreamReader().read(inFile, handler);
+        }
+    }
+
+    /**
+     * @param inFile
+     * @return True for XLSX file, false for XLS file.
+     */
+    private static boolean isXlsx(File inFile) throws ParseFailed {
+        // Buffered stream is required as the detection use mark and reset.
+        try (InputStream stream = new BufferedInputStream(
+                new FileInputStream(inFile))) {
+            if (POIXMLDocument.hasOOXMLHeader(stream)) {
+                return true;
+            } else if (NPOIFSFileSystem.hasPOIFSHeader(stream)) {
+                return false;
+            }
+        } catch (IOException ex) {
+            throw new ParseFailed("Can't read file.", ex);
+        }
+        throw new ParseFailed("The file is neither XLS nor XLSX file.");
     }
 
     /**
@@ -331,34 +498,33 @@ public class ParserXls implements Parser {
      * Get value of given cell.
      *
      * @param cell
+     * @param rowIndex
      * @return
-     * @throws IllegalArgumentException
+     * @throws ParseFailed
      */
-    private String getCellValue(Cell cell) throws IllegalArgumentException {
-        switch (cell.getCellType()) {
-            case Cell.CELL_TYPE_BLANK:
+    private String getCellValue(XlsCell cell, int rowIndex)
+            throws ParseFailed {
+        switch (cell.type) {
+            case BLANK:
                 return null;
-            case Cell.CELL_TYPE_BOOLEAN:
-                if (cell.getBooleanCellValue()) {
+            case BOOLEAN:
+                if (cell.bool) {
                     return "true";
                 } else {
                     return "false";
                 }
-            case Cell.CELL_TYPE_ERROR:
-            case Cell.CELL_TYPE_FORMULA:
-                LOG.info("Formula value: {}", cell.getStringCellValue());
-                throw new IllegalArgumentException("Wrong cell type: "
-                        + cell.getCellType()
-                        + " on row: " + Integer.toString(cell.getRowIndex())
-                        + " column: " + Integer.toString(cell.getColumnIndex()));
-            case Cell.CELL_TYPE_NUMERIC:
+            case ERROR:
+            case FORMULA:
+                throw new ParseFailed("Wrong cell type: " + cell.type
+                        + " on row: " + Integer.toString(rowIndex)
+                        + " column: " + Integer.toString(cell.column));
+            case NUMERIC:
                 if (config.advancedDoubleParser) {
                     // Check for Date
                     //  https://poi.apache.org/faq.html#faq-N1008D FAQ 8
-                    if (HSSFDateUtil.isCellDateFormatted(cell)) {
+                    if (isDateFormatted(cell)) {
                         final Calendar cal = new GregorianCalendar();
-                        cal.setTime(HSSFDateUtil.getJavaDate(
-                                cell.getNumericCellValue()));
+                        cal.setTime(DateUtil.getJavaDate(cell.number));
                         final StringBuilder dateStr = new StringBuilder(10);
                         dateStr.append(cal.get(Calendar.YEAR));
                         dateStr.append("-");
@@ -370,7 +536,7 @@ public class ParserXls implements Parser {
                         return dateStr.toString();
                     }
                     // Can be double or long/integer.
-                    final double doubleValue = cell.getNumericCellValue();
+                    final double doubleValue = cell.number;
                     // Check if the value is decimal or not.
                     if ((doubleValue % 1) == 0) {
                         // It's integer or long.
@@ -379,15 +545,14 @@ public class ParserXls implements Parser {
                         return Double.toString(doubleValue);
                     }
                 } else {
-                    return Double.toString(cell.getNumericCellValue());
+                    return Double.toString(cell.number);
                 }
-            case Cell.CELL_TYPE_STRING:
-                return cell.getStringCellValue();
+            case STRING:
+                return cell.string;
             default:
-                throw new IllegalArgumentException("Unknown cell type: "
-                        + cell.getCellType()
-                        + " on row: " + Integer.toString(cell.getRowIndex())
-                        + " column: " + Integer.toString(cell.getColumnIndex()));
+                throw new ParseFailed("Unknown cell type: " + cell.type
+                        + " on row: " + Integer.toString(rowIndex)
+                        + " column: " + Integer.toString(cell.column));
         }
     }
 
@@ -395,26 +560,30 @@ public class ParserXls implements Parser {
      * Return type for based on given cell.
      *
      * @param cell
+     * @param rowIndex
      * @return
-     * @throws IllegalArgumentException
+     * @throws ParseFailed
      */
-    private ColumnType getCellType(Cell cell) throws IllegalArgumentException {
-        switch (cell.getCellType()) {
-            case Cell.CELL_TYPE_BLANK:
+    private ColumnType getCellType(XlsCell cell, int rowIndex)
+            throws ParseFailed {
+        switch (cell.type) {
+            case BLANK:
                 return null;
-            case Cell.CELL_TYPE_BOOLEAN:
+            case BOOLEAN:
                 return ColumnType.Boolean;
-            case Cell.CELL_TYPE_ERROR:
-                throw new IllegalArgumentException("Cell type is error.");
-            case Cell.CELL_TYPE_FORMULA:
-                throw new IllegalArgumentException(
-                        "The cell contains a formula: " + cell.getCellFormula());
-            case Cell.CELL_TYPE_NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
+            case ERROR:
+                throw new ParseFailed("Cell type is error on row: "
+                        + Integer.toString(rowIndex) + " column: "
+                        + Integer.toString(cell.column));
+            case FORMULA:
+                throw new ParseFailed("The cell contains a formula on row: "
+                        + Integer.toString(rowIndex) + " column: "
+                        + Integer.toString(cell.column));
+            case NUMERIC:
+                if (isDateFormatted(cell)) {
                     return ColumnType.Date;
                 } else {
-                    final String value = (new Double(
-                            cell.getNumericCellValue())).toString();
+                    final String value = Double.toString(cell.number);
                     try {
                         Integer.parseInt(value);
                     } catch (NumberFormatException ex) {
@@ -422,11 +591,23 @@ public class ParserXls implements Parser {
                     }
                     return ColumnType.Integer;
                 }
-            case Cell.CELL_TYPE_STRING:
+            case STRING:
                 return ColumnType.String;
             default:
-                throw new IllegalArgumentException("Unknown cell type.");
+                throw new ParseFailed("Unknown cell type.");
         }
     }
 
+    /**
+     * Same check as {@link DateUtil#isCellDateFormatted}.
+     *
+     * @param cell Numeric cell.
+     * @return True if the cell contains a date.
+     */
+    private static boolean isDateFormatted(XlsCell cell) {
+        return DateUtil.isValidExcelDate(cell.number)
+                && DateUtil.isADateFormat(cell.formatIndex,
+                        cell.formatString);
+    }
+
 }
@@ -0,0 +1,85 @@
+package com.linkedpipes.plugin.transformer.tabularuv.parser;
+
+/**
+ * Cell as read by a streaming reader, see {@link XlsRowHandler}.
+ *
+ * @author Petr Škoda
+ */
+class XlsCell {
+
+    enum Type {
+        BLANK,
+        BOOLEAN,
+        NUMERIC,
+        STRING,
+        FORMULA,
+        ERROR
+    }
+
+    final int column;
+
+    final Type type;
+
+    /**
+     * Value of string cell.
+     */
+    final String string;
+
+    /**
+     * Value of numeric cell.
+     */
+    final double number;
+
+    /**
+     * Value of boolean cell.
+     */
+    final boolean bool;
+
+    /**
+     * Format of numeric cell, used to detect dates.
+     */
+    final int formatIndex;
+
+    /**
+     * Format of numeric cell, used to detect dates. Can be null.
+     */
+    final String formatString;
+
+    private XlsCell(int column, Type type, String string, double number,
+            boolean bool, int formatIndex, String formatString) {
+        this.column = column;
+        this.type = type;
+        this.string = string;
+        this.number = number;
+        this.bool = bool;
+        this.formatIndex = formatIndex;
+        this.formatString = formatString;
+    }
+
+    static XlsCell blank(int column) {
+        return new XlsCell(column, Type.BLANK, null, 0, false, -1, null);
+    }
+
+    static XlsCell bool(int column, boolean value) {
+        return new XlsCell(column, Type.BOOLEAN, null, 0, value, -1, null);
+    }
+
+    static XlsCell numeric(int column, double value, int formatIndex,
+            String formatString) {
+        return new XlsCell(column, Type.NUMERIC, null, value, false,
+                formatIndex, formatString);
+    }
+
+    static XlsCell string(int column, String value) {
+        return new XlsCell(column, Type.STRING, value, 0, false, -1, null);
+    }
+
+    static XlsCell formula(int column) {
+        return new XlsCell(column, Type.FORMULA, null, 0, false, -1, null);
+    }
+
+    static XlsCell error(int column) {
+        return new XlsCell(column, Type.ERROR, null, 0, false, -1, null);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.linkedpipes.plugin.transformer.tabularuv.parser;
+
+import java.util.List;
+
+/**
+ * Row as read by a streaming reader. Mimic the cell access of the POI
+ * user model row.
+ *
+ * @author Petr Škoda
+ */
+class XlsRow {
+
+    /**
+     * Zero based index of the row in the sheet.
+     */
+    final int index;
+
+    private final XlsCell[] cells;
+
+    private final int firstCellNum;
+
+    /**
+     * @param index
+     * @param cells Cells of the row, missing cells does not need to be
+     * presented.
+     */
+    XlsRow(int index, List<XlsCell> cells) {
+        this.index = index;
+        int first = -1;
+        int last = -1;
+        for (XlsCell cell : cells) {
+            if (first == -1 || cell.column < first) {
+                first = cell.column;
+            }
+            if (cell.column > last) {
+                last = cell.column;
+            }
+        }
+        this.firstCellNum = first;
+        this.cells = new XlsCell[last + 1];
+        for (XlsCell cell : cells) {
+            this.cells[cell.column] = cell;
+        }
+    }
+
+    /**
+     * @return Index of the first cell or -1 if there are no cells.
+     */
+    int getFirstCellNum() {
+        return firstCellNum;
+    }
+
+    /**
+     * @return Index of the last cell plus one or -1 if there are no cells.
+     */
+    int getLastCellNum() {
+        return cells.length == 0 ? -1 : cells.length;
+    }
+
+    /**
+     * @param column
+     * @return Null if there is no such cell.
+     */
+    XlsCell getCell(int column) {
+        if (column < 0 || column >= cells.length) {
+            return null;
+        }
+        return cells[column];
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.linkedpipes.plugin.transformer.tabularuv.parser;
+
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+
+/**
+ * Receive rows from streaming readers of workbooks. Only rows with
+ * cells are reported, the rows are reported in order.
+ *
+ * @author Petr Škoda
+ */
+interface XlsRowHandler {
+
+    /**
+     * @param sheetName
+     * @return False to skip the sheet.
+     */
+    boolean onSheetStart(String sheetName) throws ParseFailed, LpException;
+
+    /**
+     * @param row
+     * @return False to skip rest of the sheet.
+     */
+    boolean onRow(XlsRow row) throws ParseFailed, LpException;
+
+    void onSheetEnd() throws ParseFailed, LpException;
+
+}
@@ -0,0 +1,312 @@
+package com.linkedpipes.plugin.transformer.tabularuv.parser;
+
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.ExtendedFormatRecord;
+import org.apache.poi.hssf.record.FormatRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.MulBlankRecord;
+import org.apache.poi.hssf.record.MulRKRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.RKRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+
+/**
+ * Read XLS workbook as a stream of records, so only a single row is kept
+ * in memory. The shared strings table is loaded into memory.
+ *
+ * @author Petr Škoda
+ */
+class XlsStreamReader extends AbortableHSSFListener {
+
+    /**
+     * Returned to abort the processing, see
+     * {@link AbortableHSSFListener#abortableProcessRecord(Record)}.
+     */
+    private static final short ABORT = 1;
+
+    private static final short CONTINUE = 0;
+
+    private XlsRowHandler handler;
+
+    private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+
+    private BoundSheetRecord[] sheets;
+
+    private SSTRecord sst;
+
+    /**
+     * Custom formats, key is the format index.
+     */
+    private final Map<Integer, String> formats = new HashMap<>();
+
+    /**
+     * Extended formats, index is the index of extended format,
+     * value is the format index.
+     */
+    private final List<Integer> extendedFormats = new ArrayList<>();
+
+    /**
+     * Depth of BOF records, embedded objects like charts have their own
+     * BOF and EOF records.
+     */
+    private int depth = 0;
+
+    /**
+     * Index of current sheet in the workbook.
+     */
+    private int sheetIndex = -1;
+
+    /**
+     * True if records of the current sheet should be processed.
+     */
+    private boolean inSheet = false;
+
+    private int rowIndex = -1;
+
+    private final List<XlsCell> cells = new ArrayList<>();
+
+    /**
+     * Exception from the handler.
+     */
+    private Exception failure;
+
+    /**
+     * Read all sheets in the workbook order.
+     *
+     * @param file
+     * @param handler
+     */
+    public void read(File file, XlsRowHandler handler)
+            throws ParseFailed, LpException {
+        this.handler = handler;
+        boundSheets.clear();
+        sheets = null;
+        sst = null;
+        formats.clear();
+        extendedFormats.clear();
+        depth = 0;
+        sheetIndex = -1;
+        inSheet = false;
+        failure = null;
+        //
+        final HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(this);
+        try (NPOIFSFileSystem fileSystem = new NPOIFSFileSystem(file, true)) {
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request,
+                    fileSystem.getRoot());
+        } catch (IOException ex) {
+            throw new ParseFailed("Can't read XLS file.", ex);
+        } catch (HSSFUserException ex) {
+            // Not thrown by this listener, failures are stored instead.
+        }
+        if (failure instanceof ParseFailed) {
+            throw (ParseFailed) failure;
+        } else if (failure instanceof LpException) {
+            throw (LpException) failure;
+        } else if (failure != null) {
+            throw new ParseFailed("Can't read XLS file.", failure);
+        }
+    }
+
+    @Override
+    public short abortableProcessRecord(Record record) {
+        try {
+            processRecord(record);
+            return CONTINUE;
+        } catch (ParseFailed | LpException | RuntimeException ex) {
+            failure = ex;
+            return ABORT;
+        }
+    }
+
+    private void processRecord(Record record)
+            throws ParseFailed, LpException {
+        switch (record.getSid()) {
+            case BOFRecord.sid:
+                onBof((BOFRecord) record);
+                return;
+            case EOFRecord.sid:
+                onEof();
+                return;
+            case BoundSheetRecord.sid:
+                boundSheets.add((BoundSheetRecord) record);
+                return;
+            case SSTRecord.sid:
+                sst = (SSTRecord) record;
+                return;
+            case FormatRecord.sid:
+                final FormatRecord format = (FormatRecord) record;
+                formats.put(format.getIndexCode(), format.getFormatString());
+                return;
+            case ExtendedFormatRecord.sid:
+                extendedFormats.add((int) ((ExtendedFormatRecord) record)
+                        .getFormatIndex());
+                return;
+            default:
+                break;
+        }
+        if (!inSheet) {
+            return;
+        }
+        switch (record.getSid()) {
+            case LabelSSTRecord.sid:
+                final LabelSSTRecord labelSst = (LabelSSTRecord) record;
+                addCell(labelSst, XlsCell.string(labelSst.getColumn(),
+                        sst.getString(labelSst.getSSTIndex()).getString()));
+                break;
+            case LabelRecord.sid:
+                final LabelRecord label = (LabelRecord) record;
+                addCell(label, XlsCell.string(label.getColumn(),
+                        label.getValue()));
+                break;
+            case NumberRecord.sid:
+                final NumberRecord number = (NumberRecord) record;
+                addCell(number, createNumeric(number.getColumn(),
+                        number.getValue(), number.getXFIndex()));
+                break;
+            case RKRecord.sid:
+                final RKRecord rk = (RKRecord) record;
+                addCell(rk, createNumeric(rk.getColumn(), rk.getRKNumber(),
+                        rk.getXFIndex()));
+                break;
+            case MulRKRecord.sid:
+                final MulRKRecord mulRk = (MulRKRecord) record;
+                for (int i = 0; i < mulRk.getNumColumns(); ++i) {
+                    addCell(mulRk.getRow(), createNumeric(
+                            mulRk.getFirstColumn() + i,
+                            mulRk.getRKNumberAt(i), mulRk.getXFAt(i)));
+                }
+                break;
+            case BoolErrRecord.sid:
+                final BoolErrRecord boolErr = (BoolErrRecord) record;
+                if (boolErr.isBoolean()) {
+                    addCell(boolErr, XlsCell.bool(boolErr.getColumn(),
+                            boolErr.getBooleanValue()));
+                } else {
+                    addCell(boolErr, XlsCell.error(boolErr.getColumn()));
+                }
+                break;
+            case FormulaRecord.sid:
+                final FormulaRecord formula = (FormulaRecord) record;
+                addCell(formula, XlsCell.formula(formula.getColumn()));
+                break;
+            case BlankRecord.sid:
+                final BlankRecord blank = (BlankRecord) record;
+                addCell(blank, XlsCell.blank(blank.getColumn()));
+                break;
+            case MulBlankRecord.sid:
+                final MulBlankRecord mulBlank = (MulBlankRecord) record;
+                for (int i = 0; i < mulBlank.getNumColumns(); ++i) {
+                    addCell(mulBlank.getRow(), XlsCell.blank(
+                            mulBlank.getFirstColumn() + i));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void onBof(BOFRecord record) throws ParseFailed, LpException {
+        ++depth;
+        if (depth != 1 || record.getType() == BOFRecord.TYPE_WORKBOOK) {
+            return;
+        }
+        // Sheets are stored in the order of BOF positions.
+        if (sheets == null) {
+            sheets = BoundSheetRecord.orderByBofPosition(boundSheets);
+        }
+        ++sheetIndex;
+        if (record.getType() != BOFRecord.TYPE_WORKSHEET
+                || sheetIndex >= sheets.length) {
+            return;
+        }
+        rowIndex = -1;
+        cells.clear();
+        inSheet = handler.onSheetStart(sheets[sheetIndex].getSheetname());
+    }
+
+    private void onEof() throws ParseFailed, LpException {
+        --depth;
+        if (depth != 0 || !inSheet) {
+            return;
+        }
+        final boolean reportEnd = rowIndex != -2;
+        flushRow();
+        inSheet = false;
+        if (reportEnd) {
+            handler.onSheetEnd();
+        }
+    }
+
+    private void addCell(CellValueRecordInterface record, XlsCell cell)
+            throws ParseFailed, LpException {
+        addCell(record.getRow(), cell);
+    }
+
+    /**
+     * Cells are stored ordered by rows.
+     *
+     * @param row
+     * @param cell
+     */
+    private void addCell(int row, XlsCell cell)
+            throws ParseFailed, LpException {
+        if (rowIndex == -2) {
+            // Rest of the sheet is skipped.
+            return;
+        }
+        if (row != rowIndex) {
+            flushRow();
+            if (rowIndex == -2) {
+                return;
+            }
+            rowIndex = row;
+        }
+        cells.add(cell);
+    }
+
+    private void flushRow() throws ParseFailed, LpException {
+        if (cells.isEmpty()) {
+            return;
+        }
+        final boolean next = handler.onRow(new XlsRow(rowIndex, cells));
+        cells.clear();
+        if (!next) {
+            rowIndex = -2;
+        }
+    }
+
+    private XlsCell createNumeric(int column, double value, int xfIndex) {
+        int formatIndex = -1;
+        if (xfIndex >= 0 && xfIndex < extendedFormats.size()) {
+            formatIndex = extendedFormats.get(xfIndex);
+        }
+        String formatString = formats.get(formatIndex);
+        if (formatString == null && formatIndex >= 0) {
+            formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+        }
+        return XlsCell.numeric(column, value, formatIndex, formatString);
+    }
+
+}
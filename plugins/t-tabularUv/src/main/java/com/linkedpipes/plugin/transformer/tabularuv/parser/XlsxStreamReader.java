@@ -0,0 +1,329 @@
+package com.linkedpipes.plugin.transformer.tabularuv.parser;
+
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Read XLSX workbook sheet by sheet with a SAX parser, so only a single
+ * row is kept in memory. The shared strings table is loaded into memory.
+ *
+ * @author Petr Škoda
+ */
+class XlsxStreamReader {
+
+    /**
+     * Used to stop parsing of a sheet.
+     */
+    private static class StopSheet extends SAXException {
+
+        StopSheet() {
+            super("Sheet processing stopped.");
+        }
+
+    }
+
+    /**
+     * Used to pass exceptions of the handler through the SAX parser.
+     */
+    private static class HandlerFailed extends SAXException {
+
+        private final Exception cause;
+
+        HandlerFailed(Exception cause) {
+            super(cause);
+            this.cause = cause;
+        }
+
+    }
+
+    private class SheetHandler extends DefaultHandler {
+
+        private final XlsRowHandler handler;
+
+        private final List<XlsCell> cells = new ArrayList<>();
+
+        private final StringBuilder value = new StringBuilder();
+
+        private int rowIndex = -1;
+
+        private int columnIndex = -1;
+
+        private String cellType;
+
+        private String cellStyle;
+
+        private boolean cellFormula;
+
+        private boolean cellValue;
+
+        private boolean inlineString;
+
+        private boolean collectText;
+
+        SheetHandler(XlsRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName,
+                Attributes attributes) throws SAXException {
+            switch (localName) {
+                case "row":
+                    final String rowReference = attributes.getValue("r");
+                    if (rowReference == null) {
+                        ++rowIndex;
+                    } else {
+                        rowIndex = Integer.parseInt(rowReference) - 1;
+                    }
+                    columnIndex = -1;
+                    cells.clear();
+                    break;
+                case "c":
+                    final String cellReference = attributes.getValue("r");
+                    if (cellReference == null) {
+                        ++columnIndex;
+                    } else {
+                        columnIndex = getColumnIndex(cellReference);
+                    }
+                    cellType = attributes.getValue("t");
+                    cellStyle = attributes.getValue("s");
+                    cellFormula = false;
+                    cellValue = false;
+                    value.setLength(0);
+                    break;
+                case "f":
+                    cellFormula = true;
+                    break;
+                case "v":
+                    cellValue = true;
+                    collectText = true;
+                    break;
+                case "is":
+                    cellValue = true;
+                    inlineString = true;
+                    break;
+                case "t":
+                    collectText = inlineString;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName)
+                throws SAXException {
+            switch (localName) {
+                case "v":
+                case "t":
+                    collectText = false;
+                    break;
+                case "is":
+                    inlineString = false;
+                    break;
+                case "c":
+                    cells.add(createCell());
+                    break;
+                case "row":
+                    if (cells.isEmpty()) {
+                        break;
+                    }
+                    final boolean next;
+                    try {
+                        next = handler.onRow(new XlsRow(rowIndex, cells));
+                    } catch (ParseFailed | LpException ex) {
+                        throw new HandlerFailed(ex);
+                    }
+                    if (!next) {
+                        throw new StopSheet();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collectText) {
+                value.append(ch, start, length);
+            }
+        }
+
+        private XlsCell createCell() throws SAXException {
+            if (cellFormula) {
+                return XlsCell.formula(columnIndex);
+            }
+            if (!cellValue) {
+                return XlsCell.blank(columnIndex);
+            }
+            final String content = value.toString();
+            if (cellType == null || cellType.equals("n")) {
+                if (content.isEmpty()) {
+                    return XlsCell.blank(columnIndex);
+                }
+                final int style = cellStyle == null ?
+                        0 : Integer.parseInt(cellStyle);
+                return XlsCell.numeric(columnIndex,
+                        Double.parseDouble(content), getFormatIndex(style),
+                        getFormatString(style));
+            }
+            switch (cellType) {
+                case "s":
+                    if (content.isEmpty()) {
+                        return XlsCell.blank(columnIndex);
+                    }
+                    return XlsCell.string(columnIndex,
+                            strings.getEntryAt(Integer.parseInt(content)));
+                case "b":
+                    return XlsCell.bool(columnIndex, content.equals("1"));
+                case "e":
+                    return XlsCell.error(columnIndex);
+                default:
+                    // Inline string, formula string or date as a string.
+                    return XlsCell.string(columnIndex, content);
+            }
+        }
+
+    }
+
+    private OPCPackage pkg;
+
+    private ReadOnlySharedStringsTable strings;
+
+    private StylesTable styles;
+
+    /**
+     * Cached formats for cell styles.
+     */
+    private final Map<Integer, String> formats = new HashMap<>();
+
+    /**
+     * Read all sheets in the workbook order.
+     *
+     * @param file
+     * @param handler
+     */
+    public void read(File file, XlsRowHandler handler)
+            throws ParseFailed, LpException {
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException ex) {
+            throw new ParseFailed("Can't open XLSX file.", ex);
+        }
+        try {
+            final XSSFReader reader = new XSSFReader(pkg);
+            strings = new ReadOnlySharedStringsTable(pkg);
+            styles = reader.getStylesTable();
+            formats.clear();
+            final XSSFReader.SheetIterator iterator
+                    = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (iterator.hasNext()) {
+                try (InputStream stream = iterator.next()) {
+                    if (!handler.onSheetStart(iterator.getSheetName())) {
+                        continue;
+                    }
+                    readSheet(stream, handler);
+                    handler.onSheetEnd();
+                }
+            }
+        } catch (IOException | OpenXML4JException | SAXException
+                | ParserConfigurationException ex) {
+            throw new ParseFailed("Can't read XLSX file.", ex);
+        } finally {
+            // Close the package without saving it.
+            pkg.revert();
+            pkg = null;
+            strings = null;
+            styles = null;
+        }
+    }
+
+    private void readSheet(InputStream stream, XlsRowHandler handler)
+            throws IOException, SAXException, ParserConfigurationException,
+            ParseFailed, LpException {
+        final XMLReader xmlReader = SAXHelper.newXMLReader();
+        xmlReader.setContentHandler(new SheetHandler(handler));
+        try {
+            xmlReader.parse(new InputSource(stream));
+        } catch (StopSheet ex) {
+            // Rest of the sheet is skipped.
+        } catch (HandlerFailed ex) {
+            if (ex.cause instanceof ParseFailed) {
+                throw (ParseFailed) ex.cause;
+            } else {
+                throw (LpException) ex.cause;
+            }
+        }
+    }
+
+    private int getFormatIndex(int style) {
+        final XSSFCellStyle cellStyle = getStyle(style);
+        if (cellStyle == null) {
+            return -1;
+        }
+        return cellStyle.getDataFormat();
+    }
+
+    private String getFormatString(int style) {
+        if (formats.containsKey(style)) {
+            return formats.get(style);
+        }
+        final XSSFCellStyle cellStyle = getStyle(style);
+        String format = null;
+        if (cellStyle != null) {
+            format = cellStyle.getDataFormatString();
+            if (format == null) {
+                format = BuiltinFormats.getBuiltinFormat(
+                        cellStyle.getDataFormat());
+            }
+        }
+        formats.put(style, format);
+        return format;
+    }
+
+    private XSSFCellStyle getStyle(int style) {
+        if (styles == null || style >= styles.getNumCellStyles()) {
+            return null;
+        }
+        return styles.getStyleAt(style);
+    }
+
+    /**
+     * @param reference Cell reference, ie. "AB12".
+     * @return Zero based column index.
+     */
+    private static int getColumnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); ++i) {
+            final char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+}
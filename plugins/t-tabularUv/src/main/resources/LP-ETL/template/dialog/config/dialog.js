@@ -29,7 +29,8 @@ define([], function () {
             'trimString': false,
             'xlsAdvancedParser': false,
             'ignoreMissingColumn': false,
-            'generateRowTriple': false
+            'generateRowTriple': false,
+            'fileThreads': 1
         };
 
         $scope.control = { };
@@ -67,6 +68,10 @@ define([], function () {
             $scope.dialog.xlsAdvancedParser = rdf.getBoolean(table, 'xlsAdvancedParser');
             $scope.dialog.ignoreMissingColumn = rdf.getBoolean(table, 'ignoreMissingColumn');
             $scope.dialog.generateRowTriple = rdf.getBoolean(table, 'generateRowTriple');
+            $scope.dialog.fileThreads = rdf.getInteger(table, 'fileThreads');
+            if ($scope.dialog.fileThreads === undefined) {
+                $scope.dialog.fileThreads = 1;
+            }
 
             var columns = rdf.getObjects(table, 'column');
             var newItems = [];
@@ -146,6 +151,7 @@ define([], function () {
             rdf.setBoolean(table, 'xlsAdvancedParser', $scope.dialog.xlsAdvancedParser);
             rdf.setBoolean(table, 'ignoreMissingColumn', $scope.dialog.ignoreMissingColumn);
             rdf.setBoolean(table, 'generateRowTriple', $scope.dialog.generateRowTriple);
+            rdf.setInteger(table, 'fileThreads', $scope.dialog.fileThreads);
 
             var items = [];
             $scope.dialog.columns.forEach(function(item) {
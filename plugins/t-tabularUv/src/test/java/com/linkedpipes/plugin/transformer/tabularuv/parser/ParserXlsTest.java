@@ -0,0 +1,193 @@
+package com.linkedpipes.plugin.transformer.tabularuv.parser;
+
+import com.linkedpipes.etl.executor.api.v1.exception.LpException;
+import com.linkedpipes.plugin.transformer.tabularuv.TabularConfig_V2.NamedCell_V1;
+import com.linkedpipes.plugin.transformer.tabularuv.mapper.TableToRdf;
+import com.linkedpipes.plugin.transformer.tabularuv.mapper.TableToRdfConfig;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openrdf.model.impl.SimpleValueFactory;
+
+/**
+ * The same workbook is written as XLS and XLSX and both must produce
+ * the rows and row numbers of the POI user model based parser.
+ *
+ * The workbook has two sheets. The first row of each sheet contains
+ * a title, the second row is a header. The header of the first sheet
+ * ends with empty cells, its data contains a missing and an empty row.
+ *
+ * @author Petr Škoda
+ */
+public class ParserXlsTest {
+
+    /**
+     * Record parsed rows instead of converting them into RDF.
+     */
+    private static class RowRecorder extends TableToRdf {
+
+        private final List<String> rows = new ArrayList<>();
+
+        RowRecorder() {
+            super(new TableToRdfConfig(null, "http://localhost/",
+                    Collections.EMPTY_LIST, true, null, false, null,
+                    false, false, true, false, false, false, false),
+                    null, SimpleValueFactory.getInstance());
+        }
+
+        @Override
+        public void paserRow(List<Object> row, int rowNumber)
+                throws LpException {
+            rows.add(rowNumber + ":" + row.toString());
+        }
+
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void stripHeader() throws Exception {
+        final ParserXlsConfig config = new ParserXlsConfig(null, 1, true,
+                null, null, false, true, true);
+        assertRows(config, Arrays.asList(
+                "2:[1, x, first]",
+                "5:[2, y, first]",
+                "6:[3, z, first]",
+                "2:[4, w, second]"));
+    }
+
+    @Test
+    public void keepHeader() throws Exception {
+        final ParserXlsConfig config = new ParserXlsConfig(null, 1, true,
+                null, null, false, false, true);
+        assertRows(config, Arrays.asList(
+                "2:[1, x, null, null, first]",
+                "5:[2, y, null, null, first]",
+                "6:[3, z, null, null, first]",
+                "2:[4, w, second]"));
+    }
+
+    @Test
+    public void namedCells() throws Exception {
+        final NamedCell_V1 title = new NamedCell_V1();
+        title.setName("title");
+        title.setRowNumber(1);
+        title.setColumnNumber(1);
+        final ParserXlsConfig config = new ParserXlsConfig(null, 1, true,
+                Arrays.asList(title), null, false, true, true);
+        assertRows(config, Arrays.asList(
+                "2:[1, x, Report, first]",
+                "5:[2, y, Report, first]",
+                "6:[3, z, Report, first]",
+                "2:[4, w, Second, second]"));
+    }
+
+    @Test
+    public void staticRowCounter() throws Exception {
+        final ParserXlsConfig config = new ParserXlsConfig(null, 1, true,
+                null, null, true, true, true);
+        // Missing and empty rows are counted, so the second sheet
+        // continues after the last row of the first sheet.
+        assertRows(config, Arrays.asList(
+                "2:[1, x, first]",
+                "5:[2, y, first]",
+                "6:[3, z, first]",
+                "7:[4, w, second]"));
+    }
+
+    @Test
+    public void rowLimit() throws Exception {
+        final ParserXlsConfig config = new ParserXlsConfig(null, 1, true,
+                null, 2, true, true, true);
+        // The limit counts rows in the sheet, not the parsed rows.
+        assertRows(config, Arrays.asList(
+                "2:[1, x, first]",
+                "4:[4, w, second]"));
+    }
+
+    @Test
+    public void selectSheet() throws Exception {
+        final ParserXlsConfig config = new ParserXlsConfig("second", 1, true,
+                null, null, false, true, true);
+        assertRows(config, Arrays.asList(
+                "2:[4, w, second]"));
+    }
+
+    @Test
+    public void noHeader() throws Exception {
+        final ParserXlsConfig config = new ParserXlsConfig("second", 2,
+                false, null, null, false, true, false);
+        assertRows(config, Arrays.asList(
+                "1:[4.0, w, second]"));
+    }
+
+    private void assertRows(ParserXlsConfig config, List<String> expected)
+            throws Exception {
+        Assert.assertEquals(expected,
+                parse(config, createFile(new HSSFWorkbook(), "input.xls")));
+        Assert.assertEquals(expected,
+                parse(config, createFile(new XSSFWorkbook(), "input.xlsx")));
+    }
+
+    private static List<String> parse(ParserXlsConfig config, File file)
+            throws Exception {
+        final RowRecorder recorder = new RowRecorder();
+        new ParserXls(config, recorder).parse(file);
+        return recorder.rows;
+    }
+
+    private File createFile(Workbook workbook, String fileName)
+            throws IOException {
+        final Sheet first = workbook.createSheet("first");
+        first.createRow(0).createCell(0).setCellValue("Report");
+        final Row header = first.createRow(1);
+        header.createCell(0).setCellValue("id");
+        header.createCell(1).setCellValue("name");
+        header.createCell(2);
+        header.createCell(3);
+        addRow(first, 2, 1, "x");
+        // Row 3 is missing.
+        final Row empty = first.createRow(4);
+        empty.createCell(0);
+        empty.createCell(1);
+        addRow(first, 5, 2, "y");
+        addRow(first, 6, 3, "z");
+        //
+        final Sheet second = workbook.createSheet("second");
+        second.createRow(0).createCell(0).setCellValue("Second");
+        final Row secondHeader = second.createRow(1);
+        secondHeader.createCell(0).setCellValue("id");
+        secondHeader.createCell(1).setCellValue("name");
+        addRow(second, 2, 4, "w");
+        //
+        final File file = folder.newFile(fileName);
+        try (OutputStream stream = new FileOutputStream(file)) {
+            workbook.write(stream);
+        }
+        workbook.close();
+        return file;
+    }
+
+    private static void addRow(Sheet sheet, int index, double id,
+            String name) {
+        final Row row = sheet.createRow(index);
+        row.createCell(0).setCellValue(id);
+        row.createCell(1).setCellValue(name);
+    }
+
+}
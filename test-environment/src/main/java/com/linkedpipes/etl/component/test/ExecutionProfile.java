@@ -0,0 +1,257 @@
+package com.linkedpipes.etl.component.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resources used by a single component execution, see
+ * {@link TestEnvironment#executeWithProfile()}.
+ *
+ * CPU time is the CPU time of the whole JVM, so it includes worker
+ * threads of the component, but also the garbage collector and anything
+ * else that runs in the JVM during the execution. Allocated bytes are
+ * measured only for the thread that executes the component, memory
+ * allocated by worker threads is not included. Use the allocation checks
+ * only for components that do not start own threads.
+ *
+ * Times are in milliseconds, -1 is used for values not supported
+ * by the JVM.
+ *
+ * The assertion methods throw {@link AssertionError} so they can be
+ * used with any test framework.
+ *
+ * @author Petr Škoda
+ */
+public final class ExecutionProfile {
+
+    private static final ThreadMXBean THREAD_BEAN
+            = ManagementFactory.getThreadMXBean();
+
+    private static final OperatingSystemMXBean SYSTEM_BEAN
+            = ManagementFactory.getOperatingSystemMXBean();
+
+    private final long wallStart;
+
+    private final long cpuStart;
+
+    private final long allocatedStart;
+
+    private long wallTime = -1;
+
+    private long cpuTime = -1;
+
+    private long threadAllocatedBytes = -1;
+
+    private long peakHeap = -1;
+
+    private ExecutionProfile() {
+        // Collect garbage so the peak heap is not affected by the
+        // garbage from previous code.
+        System.gc();
+        for (MemoryPoolMXBean pool : getHeapPools()) {
+            pool.resetPeakUsage();
+        }
+        this.allocatedStart = getThreadAllocatedBytes();
+        this.cpuStart = getProcessCpuTime();
+        this.wallStart = System.currentTimeMillis();
+    }
+
+    /**
+     * Wall time in milliseconds.
+     *
+     * @return
+     */
+    public long getWallTime() {
+        return wallTime;
+    }
+
+    /**
+     * CPU time of the JVM in milliseconds.
+     *
+     * @return
+     */
+    public long getCpuTime() {
+        return cpuTime;
+    }
+
+    /**
+     * @return Bytes allocated by the thread that executed the component.
+     */
+    public long getThreadAllocatedBytes() {
+        return threadAllocatedBytes;
+    }
+
+    /**
+     * Upper bound of the peak heap usage as the peak usage of heap
+     * memory pools are summed.
+     *
+     * @return
+     */
+    public long getPeakHeap() {
+        return peakHeap;
+    }
+
+    /**
+     * @param units Number of processed units, ie. rows, files.
+     * @return Bytes allocated by the thread that executed the component
+     * per unit or -1 if not available.
+     */
+    public long getThreadAllocatedBytesPerUnit(long units) {
+        if (threadAllocatedBytes < 0 || units <= 0) {
+            return -1;
+        }
+        return threadAllocatedBytes / units;
+    }
+
+    /**
+     * @param units Number of processed units, ie. rows, files.
+     * @return Processed units per second.
+     */
+    public double getThroughput(long units) {
+        return units * 1000.0 / Math.max(wallTime, 1);
+    }
+
+    public void assertWallTimeBelow(long milliseconds) {
+        if (wallTime >= milliseconds) {
+            throw new AssertionError("Wall time " + wallTime
+                    + " ms is not below " + milliseconds + " ms.");
+        }
+    }
+
+    /**
+     * Skipped if CPU time is not supported.
+     *
+     * @param milliseconds
+     */
+    public void assertCpuTimeBelow(long milliseconds) {
+        if (cpuTime >= milliseconds) {
+            throw new AssertionError("CPU time " + cpuTime
+                    + " ms is not below " + milliseconds + " ms.");
+        }
+    }
+
+    /**
+     * Skipped if allocated bytes are not supported. Does not include
+     * memory allocated by worker threads.
+     *
+     * @param bytes
+     */
+    public void assertThreadAllocatedBelow(long bytes) {
+        if (threadAllocatedBytes >= bytes) {
+            throw new AssertionError("Allocated " + threadAllocatedBytes
+                    + " bytes is not below " + bytes + " bytes.");
+        }
+    }
+
+    /**
+     * Skipped if allocated bytes are not supported. Does not include
+     * memory allocated by worker threads.
+     *
+     * @param bytes
+     * @param units Number of processed units, ie. input rows.
+     */
+    public void assertThreadAllocatedPerUnitBelow(long bytes, long units) {
+        final long perUnit = getThreadAllocatedBytesPerUnit(units);
+        if (perUnit >= bytes) {
+            throw new AssertionError("Allocated " + perUnit
+                    + " bytes per unit is not below " + bytes + " bytes.");
+        }
+    }
+
+    public void assertPeakHeapBelow(long bytes) {
+        if (peakHeap >= bytes) {
+            throw new AssertionError("Peak heap " + peakHeap
+                    + " bytes is not below " + bytes + " bytes.");
+        }
+    }
+
+    /**
+     * @param units Number of processed units, ie. input rows.
+     * @param perSecond Minimal throughput.
+     */
+    public void assertThroughputAbove(long units, double perSecond) {
+        final double throughput = getThroughput(units);
+        if (throughput <= perSecond) {
+            throw new AssertionError("Throughput " + throughput
+                    + " units/s is not above " + perSecond + " units/s.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "wall: " + wallTime + " ms, cpu: " + cpuTime
+                + " ms, thread allocated: " + threadAllocatedBytes
+                + " B, peak heap: " + peakHeap + " B";
+    }
+
+    /**
+     * Start measurement in the current thread.
+     *
+     * @return
+     */
+    static ExecutionProfile start() {
+        return new ExecutionProfile();
+    }
+
+    /**
+     * Stop measurement, must be called from the thread that
+     * called {@link #start()}.
+     */
+    void stop() {
+        wallTime = System.currentTimeMillis() - wallStart;
+        if (cpuStart >= 0) {
+            cpuTime = (getProcessCpuTime() - cpuStart) / 1000000;
+        }
+        if (allocatedStart >= 0) {
+            threadAllocatedBytes = getThreadAllocatedBytes() - allocatedStart;
+        }
+        peakHeap = 0;
+        for (MemoryPoolMXBean pool : getHeapPools()) {
+            peakHeap += pool.getPeakUsage().getUsed();
+        }
+    }
+
+    /**
+     * @return CPU time in nanoseconds or -1 if not supported.
+     */
+    private static long getProcessCpuTime() {
+        if (!(SYSTEM_BEAN
+                instanceof com.sun.management.OperatingSystemMXBean)) {
+            return -1;
+        }
+        return ((com.sun.management.OperatingSystemMXBean) SYSTEM_BEAN)
+                .getProcessCpuTime();
+    }
+
+    /**
+     * @return Allocated bytes or -1 if not supported.
+     */
+    private static long getThreadAllocatedBytes() {
+        if (!(THREAD_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        final com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) THREAD_BEAN;
+        if (!bean.isThreadAllocatedMemorySupported()
+                || !bean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static List<MemoryPoolMXBean> getHeapPools() {
+        final List<MemoryPoolMXBean> result = new ArrayList<>(4);
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                result.add(pool);
+            }
+        }
+        return result;
+    }
+
+}
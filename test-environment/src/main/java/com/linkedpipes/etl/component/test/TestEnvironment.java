@@ -13,12 +13,18 @@ import com.linkedpipes.etl.component.api.Component.OutputPort;
 import com.linkedpipes.etl.component.api.service.AfterExecution;
 import com.linkedpipes.etl.component.api.service.ProgressReport;
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
 import org.openrdf.model.IRI;
 import org.openrdf.model.impl.SimpleValueFactory;
 import org.openrdf.repository.Repository;
 import org.openrdf.repository.sail.SailRepository;
 import org.openrdf.sail.memory.MemoryStore;
+import org.openrdf.sail.nativerdf.NativeStore;
 import com.linkedpipes.etl.component.api.Component;
 import com.linkedpipes.etl.component.api.service.ExceptionFactory;
 import com.linkedpipes.etl.component.api.service.WorkingDirectory;
@@ -42,11 +48,33 @@ public class TestEnvironment implements AutoCloseable {
 
     private final File workingDirectory;
 
+    /**
+     * Directory of the native store, null if memory store is used.
+     */
+    private final File repositoryDirectory;
+
     protected TestEnvironment(Component.Sequential dpu, File workingDirectory) {
+        this(dpu, workingDirectory, null);
+    }
+
+    /**
+     * @param dpu
+     * @param workingDirectory
+     * @param repositoryDirectory If not null native store in given
+     * directory is used instead of the memory store.
+     */
+    protected TestEnvironment(Component.Sequential dpu, File workingDirectory,
+            File repositoryDirectory) {
         this.component = dpu;
-        this.sesameRepository = new SailRepository(new MemoryStore());
+        if (repositoryDirectory == null) {
+            this.sesameRepository = new SailRepository(new MemoryStore());
+        } else {
+            this.sesameRepository = new SailRepository(
+                    new NativeStore(repositoryDirectory));
+        }
         this.sesameRepository.initialize();
         this.workingDirectory = workingDirectory;
+        this.repositoryDirectory = repositoryDirectory;
     }
 
     /**
@@ -64,11 +92,34 @@ public class TestEnvironment implements AutoCloseable {
         }
     }
 
+    /**
+     * Execute the DPU and measure used resources, see
+     * {@link ExecutionProfile} for details.
+     *
+     * @return
+     * @throws java.lang.Exception
+     */
+    public ExecutionProfile executeWithProfile() throws Exception {
+        bindExtensions();
+        final ExecutionProfile profile = ExecutionProfile.start();
+        try {
+            component.execute();
+        } finally {
+            profile.stop();
+            // Execute after execution.
+            afterExecution.execute();
+        }
+        return profile;
+    }
+
     @Override
     public void close() throws Exception {
         if (sesameRepository != null && sesameRepository.isInitialized()) {
             sesameRepository.shutDown();
         }
+        if (repositoryDirectory != null) {
+            deleteDirectory(repositoryDirectory);
+        }
     }
 
     /**
@@ -205,6 +256,15 @@ public class TestEnvironment implements AutoCloseable {
         }
     }
 
+    private static void deleteDirectory(File directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            for (Path path : (Iterable<Path>) paths.sorted(
+                    Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
     /**
      * Create test environment.
      *
@@ -217,4 +277,19 @@ public class TestEnvironment implements AutoCloseable {
         return new TestEnvironment(dpu, workingDirectory);
     }
 
+    /**
+     * Create test environment with RDF data units stored in a native store,
+     * the store is deleted when the environment is closed.
+     *
+     * @param dpu
+     * @param workingDirectory
+     * @return
+     */
+    public static final TestEnvironment createWithNativeStore(
+            Component.Sequential dpu, File workingDirectory)
+            throws IOException {
+        return new TestEnvironment(dpu, workingDirectory,
+                Files.createTempDirectory("lp-test-store-").toFile());
+    }
+
 }